@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of non-negative ints represented by a bitset: bit i of word i/64 is set iff i is a member.
+ * The set grows as necessary to accommodate its largest member.
+ * <p>
+ * Compared with a boolean[], a BitVector takes one eighth of the space (so that, for example, the visited set of a search
+ * of a large graph is more likely to fit in cache);
+ * compared with a Set of Integer, it takes nothing per member and boxes nothing.
+ * The set operations (and, or, andNot, xor) work on 64 members at a time,
+ * and so do cardinality, rank and select (using Long.bitCount).
+ * <p>
+ * rank and select use a directory of the number of members before each block of 8 words (512 bits),
+ * which is built when first needed (in one pass over the words) and discarded by any change to the set.
+ * Thus, once the set has been built, rank takes constant time and select logarithmic time.
+ * <p>
+ * See BitVector_Atomic for a (fixed-size) bitset which may be marked by several threads at once.
+ */
+public class BitVector implements Iterable<Integer> {
+
+    /**
+     * @param i a non-negative int.
+     * @return true if i is a member of this set.
+     */
+    public boolean get(int i) {
+        int w = i >>> 6;
+        return w < words.length && (words[w] & (1L << i)) != 0;
+    }
+
+    /**
+     * Add i to this set.
+     *
+     * @param i a non-negative int.
+     */
+    public void set(int i) {
+        add(i);
+    }
+
+    /**
+     * Remove i from this set.
+     *
+     * @param i a non-negative int.
+     */
+    public void clear(int i) {
+        remove(i);
+    }
+
+    /**
+     * Add i to this set.
+     *
+     * @param i a non-negative int.
+     * @return true if i was not already a member.
+     */
+    public boolean add(int i) {
+        if (i < 0) throw new IllegalArgumentException("negative index: " + i);
+        int w = i >>> 6;
+        if (w >= words.length) words = Arrays.copyOf(words, Math.max(w + 1, 2 * words.length));
+        long word = words[w], bit = 1L << i;
+        if ((word & bit) != 0) return false;
+        words[w] = word | bit;
+        changed(1);
+        return true;
+    }
+
+    /**
+     * Remove i from this set.
+     *
+     * @param i a non-negative int.
+     * @return true if i was a member.
+     */
+    public boolean remove(int i) {
+        if (!get(i)) return false;
+        words[i >>> 6] &= ~(1L << i);
+        changed(-1);
+        return true;
+    }
+
+    /**
+     * Remove all the members of this set.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+        count = 0;
+        directory = null;
+    }
+
+    /**
+     * @return the number of members of this set.
+     */
+    public int cardinality() {
+        if (count < 0) {
+            int result = 0;
+            for (long word : words) result += Long.bitCount(word);
+            count = result;
+        }
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return cardinality() == 0;
+    }
+
+    /**
+     * Update this set to its intersection with other.
+     *
+     * @param other another BitVector.
+     */
+    public void and(BitVector other) {
+        int n = Math.min(words.length, other.words.length);
+        for (int w = 0; w < n; w++) words[w] &= other.words[w];
+        Arrays.fill(words, n, words.length, 0L);
+        changed();
+    }
+
+    /**
+     * Update this set to its union with other.
+     *
+     * @param other another BitVector.
+     */
+    public void or(BitVector other) {
+        if (other.words.length > words.length) words = Arrays.copyOf(words, other.words.length);
+        for (int w = 0; w < other.words.length; w++) words[w] |= other.words[w];
+        changed();
+    }
+
+    /**
+     * Update this set by removing the members of other.
+     *
+     * @param other another BitVector.
+     */
+    public void andNot(BitVector other) {
+        int n = Math.min(words.length, other.words.length);
+        for (int w = 0; w < n; w++) words[w] &= ~other.words[w];
+        changed();
+    }
+
+    /**
+     * Update this set to its symmetric difference with other.
+     *
+     * @param other another BitVector.
+     */
+    public void xor(BitVector other) {
+        if (other.words.length > words.length) words = Arrays.copyOf(words, other.words.length);
+        for (int w = 0; w < other.words.length; w++) words[w] ^= other.words[w];
+        changed();
+    }
+
+    /**
+     * @param from a non-negative int.
+     * @return the smallest member which is at least from, or -1 if there is none.
+     */
+    public int nextSetBit(int from) {
+        if (from < 0) throw new IllegalArgumentException("negative index: " + from);
+        int w = from >>> 6;
+        if (w >= words.length) return -1;
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) return -1;
+            word = words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @param i a non-negative int.
+     * @return the number of members which are less than i.
+     */
+    public int rank(int i) {
+        if (i < 0) throw new IllegalArgumentException("negative index: " + i);
+        int w = i >>> 6;
+        if (w >= words.length) return cardinality();
+        int[] ranks = directory();
+        int result = ranks[w / BLOCK];
+        for (int k = w - w % BLOCK; k < w; k++) result += Long.bitCount(words[k]);
+        return result + Long.bitCount(words[w] & ((1L << i) - 1));
+    }
+
+    /**
+     * @param k a non-negative int which is less than cardinality.
+     * @return the member whose rank is k (that's to say the (k+1)th smallest member).
+     */
+    public int select(int k) {
+        if (k < 0 || k >= cardinality())
+            throw new IllegalArgumentException("no member has rank " + k + " (cardinality is " + cardinality() + ")");
+        int[] ranks = directory();
+        // Find the last block which begins with fewer than k+1 members before it.
+        int lo = 0, hi = ranks.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (ranks[mid] <= k) lo = mid;
+            else hi = mid - 1;
+        }
+        int remaining = k - ranks[lo], w = lo * BLOCK;
+        for (int bits = Long.bitCount(words[w]); bits <= remaining; bits = Long.bitCount(words[++w])) remaining -= bits;
+        long word = words[w];
+        for (int j = 0; j < remaining; j++) word &= word - 1;
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Apply f to each member, in increasing order.
+     *
+     * @param f an IntConsumer.
+     */
+    public void forEachInt(IntConsumer f) {
+        for (int w = 0; w < words.length; w++)
+            for (long word = words[w]; word != 0; word &= word - 1) f.accept((w << 6) + Long.numberOfTrailingZeros(word));
+    }
+
+    /**
+     * Returns an iterator over the members, in increasing order, which supports remove.
+     *
+     * @return an iterator which yields ints (as well as Integers).
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            public int nextInt() {
+                if (next < 0) throw new NoSuchElementException();
+                last = next;
+                next = nextSetBit(next + 1);
+                return last;
+            }
+
+            public void remove() {
+                if (last < 0) throw new IllegalStateException();
+                BitVector.this.remove(last);
+                last = -1;
+            }
+
+            private int next = nextSetBit(0);
+            private int last = -1;
+        };
+    }
+
+    /**
+     * @return a view of this BitVector as a Set of (non-negative) Integers.
+     */
+    public Set<Integer> asSet() {
+        return new AbstractSet<>() {
+            public int size() {
+                return cardinality();
+            }
+
+            public boolean contains(Object o) {
+                return o instanceof Integer i && i >= 0 && get(i);
+            }
+
+            public boolean add(Integer i) {
+                return BitVector.this.add(i);
+            }
+
+            public boolean remove(Object o) {
+                return o instanceof Integer i && i >= 0 && BitVector.this.remove(i);
+            }
+
+            public void clear() {
+                BitVector.this.clear();
+            }
+
+            public PrimitiveIterator.OfInt iterator() {
+                return BitVector.this.iterator();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BitVector other)) return false;
+        int n = Math.min(words.length, other.words.length);
+        for (int w = 0; w < n; w++) if (words[w] != other.words[w]) return false;
+        for (int w = n; w < words.length; w++) if (words[w] != 0) return false;
+        for (int w = n; w < other.words.length; w++) if (other.words[w] != 0) return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        long result = 0;
+        for (int w = 0; w < words.length; w++) result ^= words[w] * (w + 1);
+        return Long.hashCode(result);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner result = new StringJoiner(", ", "{", "}");
+        forEachInt(i -> result.add(Integer.toString(i)));
+        return result.toString();
+    }
+
+    /**
+     * Constructs an empty BitVector with room for the members 0 thru n-1.
+     *
+     * @param n the initial capacity (in bits).
+     */
+    public BitVector(int n) {
+        if (n < 0) throw new IllegalArgumentException("negative capacity: " + n);
+        words = new long[(n + 63) >>> 6];
+    }
+
+    /**
+     * Constructs an empty BitVector.
+     */
+    public BitVector() {
+        this(64);
+    }
+
+    /**
+     * Constructs a BitVector from the given words (which are not copied).
+     *
+     * @param words bit i of words[i/64] is set iff i is a member.
+     */
+    BitVector(long[] words) {
+        this.words = words;
+        count = -1;
+    }
+
+    /**
+     * NOTE: package-private for testing.
+     *
+     * @return the directory of ranks: element b is the number of members in the words before word b*BLOCK.
+     */
+    int[] directory() {
+        if (directory == null) {
+            int[] result = new int[(words.length + BLOCK - 1) / BLOCK + 1];
+            int rank = 0;
+            for (int w = 0; w < words.length; w++) {
+                if (w % BLOCK == 0) result[w / BLOCK] = rank;
+                rank += Long.bitCount(words[w]);
+            }
+            result[result.length - 1] = rank;
+            directory = result;
+        }
+        return directory;
+    }
+
+    private void changed(int delta) {
+        if (count >= 0) count += delta;
+        directory = null;
+    }
+
+    private void changed() {
+        count = -1;
+        directory = null;
+    }
+
+    private static final int BLOCK = 8; // the number of words for each entry of directory
+
+    private long[] words;
+    private int count = 0; // the number of members (-1 if unknown)
+    private int[] directory; // see directory() (null if unknown)
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of BitVector and BitVector_Atomic:
+ * <ol>
+ *     <li>marking: n test-and-set operations on random ints less than n (as for a visited set), using boolean[],
+ *     BitVector, BitVector_Atomic and a compare-and-set loop on an AtomicLongArray;</li>
+ *     <li>sets of Integers: n/10 adds and n/10 contains, using MySet backed by HashSet and by BitVector;</li>
+ *     <li>set operations: and, or, andNot of two random sets, using BitVector and java.util.BitSet;</li>
+ *     <li>rank and select: n/10 of each.</li>
+ * </ol>
+ * The number n may be given as the first argument (the default is 10^7).
+ */
+public class BitVectorBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Random random = new Random(0L);
+        int[] xs = new int[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt(n);
+        logger.info("BitVectorBenchmark: n=" + n);
+
+        time("boolean[] marking", () -> {
+            boolean[] marked = new boolean[n];
+            int count = 0;
+            for (int x : xs)
+                if (!marked[x]) {
+                    marked[x] = true;
+                    count++;
+                }
+            check(count, n);
+        }, 5);
+        time("BitVector marking", () -> {
+            BitVector marked = new BitVector(n);
+            int count = 0;
+            for (int x : xs) if (marked.add(x)) count++;
+            check(count, n);
+        }, 5);
+        time("BitVector_Atomic marking", () -> {
+            BitVector_Atomic marked = new BitVector_Atomic(n);
+            int count = 0;
+            for (int x : xs) if (marked.set(x)) count++;
+            check(count, n);
+        }, 5);
+        time("AtomicLongArray (CAS) marking", () -> {
+            AtomicLongArray marked = new AtomicLongArray((n + 63) >>> 6);
+            int count = 0;
+            for (int x : xs) {
+                int i = x >>> 6;
+                long bit = 1L << x, word = marked.get(i);
+                while ((word & bit) == 0)
+                    if (marked.compareAndSet(i, word, word | bit)) {
+                        count++;
+                        break;
+                    } else word = marked.get(i);
+            }
+            check(count, n);
+        }, 5);
+
+        int m = n / 10;
+        time("MySet(HashSet) add/contains", () -> addAndContains(new MySet<>(new HashSet<>()), xs, m), 5);
+        time("MySet.ofIntegers add/contains", () -> addAndContains(MySet.ofIntegers(n), xs, m), 5);
+
+        BitSet x = new BitSet(), y = new BitSet();
+        BitVector u = new BitVector(n), v = new BitVector(n);
+        for (int i = 0; i < n; i++) {
+            if (random.nextBoolean()) {
+                x.set(i);
+                u.add(i);
+            }
+            if (random.nextBoolean()) {
+                y.set(i);
+                v.add(i);
+            }
+        }
+        time("BitSet and/or/andNot", () -> {
+            BitSet z = (BitSet) x.clone();
+            z.and(y);
+            z.or(x);
+            z.andNot(y);
+            if (z.cardinality() > n) throw new RuntimeException("logic error: too many members");
+        }, 5);
+        time("BitVector and/or/andNot", () -> {
+            BitVector z = new BitVector(n);
+            z.or(u);
+            z.and(v);
+            z.or(u);
+            z.andNot(v);
+            if (z.cardinality() > n) throw new RuntimeException("logic error: too many members");
+        }, 5);
+
+        int cardinality = u.cardinality();
+        time("BitVector rank/select", () -> {
+            long sum = 0;
+            for (int i = 0; i < m; i++) sum += u.rank(xs[i]) + u.select(xs[i] % cardinality);
+            if (sum < 0) throw new RuntimeException("logic error: negative sum");
+        }, 5);
+    }
+
+    private static void addAndContains(Set<Integer> set, int[] xs, int m) {
+        for (int i = 0; i < m; i++) set.add(xs[i]);
+        int count = 0;
+        for (int i = m; i < 2 * m; i++) if (set.contains(xs[i])) count++;
+        if (count > m) throw new RuntimeException("logic error: count too large");
+    }
+
+    private static void check(int count, int n) {
+        if (count > n) throw new RuntimeException("logic error: count too large");
+    }
+
+    final static LazyLogger logger = new LazyLogger(BitVectorBenchmark.class);
+}
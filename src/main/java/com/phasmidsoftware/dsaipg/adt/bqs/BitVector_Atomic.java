@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size bitset which may be updated by several threads at once, for example to mark the vertices visited by a
+ * parallel search, such that each vertex is claimed by exactly one thread.
+ * <p>
+ * Each update is a single atomic read-modify-write of one 64-bit word (getAndBitwiseOr or getAndBitwiseAnd),
+ * rather than a loop of compare-and-set, and set does not even do that if the bit is already set.
+ * Threads which update different bits of the same word do not interfere (other than in the cache).
+ * <p>
+ * See BitVector for the (single-threaded) set operations, rank and select: snapshot yields a BitVector.
+ */
+public class BitVector_Atomic {
+
+    /**
+     * @param i an int between 0 and length-1.
+     * @return true if bit i is set.
+     */
+    public boolean get(int i) {
+        return (word(index(i)) & (1L << i)) != 0;
+    }
+
+    /**
+     * Set bit i.
+     *
+     * @param i an int between 0 and length-1.
+     * @return true if this call set bit i, or false if it was already set (by this or another thread).
+     */
+    public boolean set(int i) {
+        int w = index(i);
+        long bit = 1L << i;
+        return ((long) WORDS.getAcquire(words, w) & bit) == 0 && ((long) WORDS.getAndBitwiseOr(words, w, bit) & bit) == 0;
+    }
+
+    /**
+     * Clear bit i.
+     *
+     * @param i an int between 0 and length-1.
+     * @return true if this call cleared bit i, or false if it was already clear.
+     */
+    public boolean clear(int i) {
+        int w = index(i);
+        long bit = 1L << i;
+        return ((long) WORDS.getAndBitwiseAnd(words, w, ~bit) & bit) != 0;
+    }
+
+    /**
+     * @param w the index of a word (between 0 and words-1).
+     * @return the bits w*64 thru w*64+63, as a long.
+     */
+    public long word(int w) {
+        return (long) WORDS.getAcquire(words, w);
+    }
+
+    /**
+     * Set, in one atomic operation, all the bits of word w which are set in bits.
+     *
+     * @param w    the index of a word (between 0 and words-1).
+     * @param bits the bits to set.
+     */
+    public void orWord(int w, long bits) {
+        WORDS.getAndBitwiseOr(words, w, bits);
+    }
+
+    /**
+     * @return the number of bits.
+     */
+    public int length() {
+        return n;
+    }
+
+    /**
+     * @return the number of words.
+     */
+    public int words() {
+        return words.length;
+    }
+
+    /**
+     * @return the number of bits which are set (which is a snapshot, if other threads are updating this bitset).
+     */
+    public int cardinality() {
+        int result = 0;
+        for (int w = 0; w < words.length; w++) result += Long.bitCount(word(w));
+        return result;
+    }
+
+    /**
+     * @return a BitVector with the same bits as this (which is a snapshot, if other threads are updating this bitset).
+     */
+    public BitVector snapshot() {
+        long[] result = new long[words.length];
+        for (int w = 0; w < words.length; w++) result[w] = word(w);
+        return new BitVector(result);
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+
+    /**
+     * Constructs a BitVector_Atomic with n bits, all of which are clear.
+     *
+     * @param n the number of bits.
+     */
+    public BitVector_Atomic(int n) {
+        if (n < 0) throw new IllegalArgumentException("negative length: " + n);
+        this.n = n;
+        words = new long[(n + 63) >>> 6];
+    }
+
+    private int index(int i) {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("index " + i + " is not between 0 and " + (n - 1));
+        return i >>> 6;
+    }
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int n; // the number of bits
+    private final long[] words; // NOTE: accessed only through WORDS
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+/**
+ * Interface representing a double-ended queue, which may be used both as a Queue (FIFO) and as a Stack (LIFO).
+ * <p>
+ * The first item is the oldest item of the Queue and the top of the Stack:
+ * thus offer adds an item at the last end, while push adds an item at the first end,
+ * and both poll and pop take the first item (as for java.util.ArrayDeque).
+ * An iterator yields the items from the first to the last.
+ *
+ * @param <Item> the type of elements stored in this Deque.
+ */
+public interface Deque<Item> extends Queue<Item>, Stack<Item> {
+
+    /**
+     * Update this Deque by adding an item at the first end.
+     *
+     * @param item the item to add.
+     */
+    void offerFirst(Item item);
+
+    /**
+     * Update this Deque by adding an item at the last end.
+     *
+     * @param item the item to add.
+     */
+    void offerLast(Item item);
+
+    /**
+     * Update this Deque by taking the item at the first end.
+     *
+     * @return the item or null if there is no such item.
+     */
+    Item pollFirst();
+
+    /**
+     * Update this Deque by taking the item at the last end.
+     *
+     * @return the item or null if there is no such item.
+     */
+    Item pollLast();
+
+    /**
+     * @return the item at the first end, or null if this Deque is empty.
+     */
+    Item peekFirst();
+
+    /**
+     * @return the item at the last end, or null if this Deque is empty.
+     */
+    Item peekLast();
+
+    /**
+     * @return the number of items in this Deque.
+     */
+    int size();
+
+    default void offer(Item item) {
+        offerLast(item);
+    }
+
+    default Item poll() {
+        return pollFirst();
+    }
+
+    default void push(Item item) {
+        offerFirst(item);
+    }
+
+    default Item pop() throws BQSException {
+        if (isEmpty()) throw new BQSException("deque is empty");
+        return pollFirst();
+    }
+
+    default Item peek() {
+        return peekFirst();
+    }
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
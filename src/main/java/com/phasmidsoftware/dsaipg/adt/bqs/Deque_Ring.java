@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Deque (and so also Queue and Stack) based on a ring buffer: an array whose length is a power of two,
+ * so that an index wraps around by masking rather than by division.
+ * The array doubles in size whenever it is full (it never shrinks, except by clear).
+ * <p>
+ * Unlike Queue_Elements and Stack_LinkedList, no node is allocated for an item, and the items which are adjacent
+ * in the deque are (mostly) adjacent in memory.
+ * The methods offerAll and drainTo move many items at once, using System.arraycopy where possible.
+ *
+ * @param <Item> the type of elements stored in this Deque.
+ */
+public class Deque_Ring<Item> implements Deque<Item>, SizedIterable<Item> {
+
+    public void offerFirst(Item item) {
+        if (size == items.length) grow(size + 1);
+        first = (first - 1) & mask;
+        items[first] = item;
+        size++;
+    }
+
+    public void offerLast(Item item) {
+        if (size == items.length) grow(size + 1);
+        items[(first + size) & mask] = item;
+        size++;
+    }
+
+    public Item pollFirst() {
+        if (size == 0) return null;
+        Item result = item(first);
+        items[first] = null;
+        first = (first + 1) & mask;
+        size--;
+        return result;
+    }
+
+    public Item pollLast() {
+        if (size == 0) return null;
+        int i = (first + size - 1) & mask;
+        Item result = item(i);
+        items[i] = null;
+        size--;
+        return result;
+    }
+
+    public Item peekFirst() {
+        return size == 0 ? null : item(first);
+    }
+
+    public Item peekLast() {
+        return size == 0 ? null : item((first + size - 1) & mask);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add all the given items at the last end, in order (as if by offer).
+     *
+     * @param iterable the items.
+     */
+    public void offerAll(Iterable<? extends Item> iterable) {
+        if (iterable instanceof Collection<? extends Item> collection) {
+            Object[] xs = collection.toArray();
+            if (size + xs.length > items.length) grow(size + xs.length);
+            int from = (first + size) & mask, n = Math.min(xs.length, items.length - from);
+            System.arraycopy(xs, 0, items, from, n);
+            System.arraycopy(xs, n, items, 0, xs.length - n);
+            size += xs.length;
+        } else for (Item item : iterable) offerLast(item);
+    }
+
+    /**
+     * Take all the items of this Deque (from the first end) and add them to the given collection.
+     *
+     * @param target the collection.
+     * @return the number of items taken.
+     */
+    public int drainTo(Collection<? super Item> target) {
+        return drainTo(target, size);
+    }
+
+    /**
+     * Take up to max items of this Deque (from the first end) and add them to the given collection.
+     *
+     * @param target the collection.
+     * @param max    the maximum number of items to take.
+     * @return the number of items taken.
+     */
+    public int drainTo(Collection<? super Item> target, int max) {
+        int result = Math.min(max, size);
+        int n = Math.min(result, items.length - first);
+        List<Item> list = asList();
+        target.addAll(list.subList(first, first + n));
+        target.addAll(list.subList(0, result - n));
+        Arrays.fill(items, first, first + n, null);
+        Arrays.fill(items, 0, result - n, null);
+        first = (first + result) & mask;
+        size -= result;
+        return result;
+    }
+
+    /**
+     * Remove all the items.
+     */
+    public void clear() {
+        Arrays.fill(items, null);
+        first = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns an iterator over the items, from the first end to the last.
+     *
+     * @return an Iterator.
+     */
+    public Iterator<Item> iterator() {
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return k < size;
+            }
+
+            public Item next() {
+                if (k >= size) throw new NoSuchElementException();
+                if (items != array || first != start) throw new ConcurrentModificationException();
+                return item((first + k++) & mask);
+            }
+
+            private int k = 0;
+            private final Object[] array = items;
+            private final int start = first;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "Deque_Ring" + toList();
+    }
+
+    /**
+     * Constructs an empty Deque_Ring.
+     *
+     * @param capacity the initial capacity (rounded up to a power of two).
+     */
+    public Deque_Ring(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        items = new Object[Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1)];
+        mask = items.length - 1;
+    }
+
+    /**
+     * Constructs an empty Deque_Ring with the default capacity.
+     */
+    public Deque_Ring() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Replace the array by one whose length is the smallest power of two which is at least n,
+     * with the items starting at index zero.
+     */
+    private void grow(int n) {
+        int length = items.length;
+        while (length < n) length <<= 1;
+        Object[] result = new Object[length];
+        int k = Math.min(size, items.length - first);
+        System.arraycopy(items, first, result, 0, k);
+        System.arraycopy(items, 0, result, k, size - k);
+        items = result;
+        mask = length - 1;
+        first = 0;
+    }
+
+    private List<Item> asList() {
+        //noinspection unchecked
+        return (List<Item>) (List<?>) Arrays.asList(items);
+    }
+
+    private Item item(int i) {
+        //noinspection unchecked
+        return (Item) items[i];
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] items; // the ring buffer, whose length is a power of two
+    private int mask; // items.length - 1
+    private int first; // the index of the first item
+    private int size;
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Deque of primitive ints based on a ring buffer (see Deque_Ring), so that no int is ever boxed.
+ * <p>
+ * It may be used as a Queue (offer/poll) or as a Stack (push/pop).
+ * Since there is no null int to signify "empty", the methods which take or peek at an item
+ * throw NoSuchElementException if this deque is empty: check isEmpty first.
+ */
+public class Deque_RingInt {
+
+    /**
+     * Add x at the first end.
+     *
+     * @param x the value.
+     */
+    public void offerFirst(int x) {
+        if (size == xs.length) grow(size + 1);
+        first = (first - 1) & mask;
+        xs[first] = x;
+        size++;
+    }
+
+    /**
+     * Add x at the last end.
+     *
+     * @param x the value.
+     */
+    public void offerLast(int x) {
+        if (size == xs.length) grow(size + 1);
+        xs[(first + size) & mask] = x;
+        size++;
+    }
+
+    /**
+     * Take the value at the first end.
+     *
+     * @return the value.
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public int pollFirst() {
+        if (size == 0) throw new NoSuchElementException("deque is empty");
+        int result = xs[first];
+        first = (first + 1) & mask;
+        size--;
+        return result;
+    }
+
+    /**
+     * Take the value at the last end.
+     *
+     * @return the value.
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public int pollLast() {
+        if (size == 0) throw new NoSuchElementException("deque is empty");
+        return xs[(first + --size) & mask];
+    }
+
+    /**
+     * @return the value at the first end.
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public int peekFirst() {
+        if (size == 0) throw new NoSuchElementException("deque is empty");
+        return xs[first];
+    }
+
+    /**
+     * @return the value at the last end.
+     * @throws NoSuchElementException if this deque is empty.
+     */
+    public int peekLast() {
+        if (size == 0) throw new NoSuchElementException("deque is empty");
+        return xs[(first + size - 1) & mask];
+    }
+
+    /**
+     * Queue method: same as offerLast.
+     */
+    public void offer(int x) {
+        offerLast(x);
+    }
+
+    /**
+     * Queue method: same as pollFirst.
+     */
+    public int poll() {
+        return pollFirst();
+    }
+
+    /**
+     * Stack method: same as offerFirst.
+     */
+    public void push(int x) {
+        offerFirst(x);
+    }
+
+    /**
+     * Stack method: same as pollFirst.
+     */
+    public int pop() {
+        return pollFirst();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Add all the given values at the last end, in order.
+     *
+     * @param values the values.
+     */
+    public void offerAll(int[] values) {
+        if (size + values.length > xs.length) grow(size + values.length);
+        int from = (first + size) & mask, n = Math.min(values.length, xs.length - from);
+        System.arraycopy(values, 0, xs, from, n);
+        System.arraycopy(values, n, xs, 0, values.length - n);
+        size += values.length;
+    }
+
+    /**
+     * Take values from the first end into the given array (starting at index zero),
+     * until either this deque is empty or the array is full.
+     *
+     * @param target the array to fill.
+     * @return the number of values taken.
+     */
+    public int drainTo(int[] target) {
+        int result = Math.min(target.length, size);
+        int n = Math.min(result, xs.length - first);
+        System.arraycopy(xs, first, target, 0, n);
+        System.arraycopy(xs, 0, target, n, result - n);
+        first = (first + result) & mask;
+        size -= result;
+        return result;
+    }
+
+    /**
+     * @return a new array of the values, from the first end to the last (this deque is unchanged).
+     */
+    public int[] toArray() {
+        int[] result = new int[size];
+        int n = Math.min(size, xs.length - first);
+        System.arraycopy(xs, first, result, 0, n);
+        System.arraycopy(xs, 0, result, n, size - n);
+        return result;
+    }
+
+    /**
+     * Remove all the values.
+     */
+    public void clear() {
+        first = 0;
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deque_RingInt" + Arrays.toString(toArray());
+    }
+
+    /**
+     * Constructs an empty Deque_RingInt.
+     *
+     * @param capacity the initial capacity (rounded up to a power of two).
+     */
+    public Deque_RingInt(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        xs = new int[Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1)];
+        mask = xs.length - 1;
+    }
+
+    /**
+     * Constructs an empty Deque_RingInt with the default capacity.
+     */
+    public Deque_RingInt() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private void grow(int n) {
+        int length = xs.length;
+        while (length < n) length <<= 1;
+        int[] result = new int[length];
+        int k = Math.min(size, xs.length - first);
+        System.arraycopy(xs, first, result, 0, k);
+        System.arraycopy(xs, 0, result, k, size - k);
+        xs = result;
+        mask = length - 1;
+        first = 0;
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] xs; // the ring buffer, whose length is a power of two
+    private int mask; // xs.length - 1
+    private int first; // the index of the first value
+    private int size;
+}
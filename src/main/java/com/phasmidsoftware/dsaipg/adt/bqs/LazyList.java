@@ -13,6 +13,9 @@ import java.util.function.Supplier;
 /**
  * Class to demonstrate that it is possible to create a LazyList in Java.
  * NOTE: this does not represent a true lazy list in the sense of the Scala LazyList.
+ * The tail is memoized, however: tailFunction is evaluated at most once (even if invoked by several threads),
+ * so that traversing a list again does not evaluate it again.
+ * See LazyList_Chunked for a lazy list which evaluates its elements in chunks and which has more operators.
  *
  * @param <T> the underlying type of the lazy list.
  */
@@ -67,11 +70,11 @@ public class LazyList<T> {
      * Constructor of a lazy list.
      *
      * @param head         the head.
-     * @param tailFunction a function to evaluate the tail, if necessary.
+     * @param tailFunction a function to evaluate the tail, if necessary (it will be invoked at most once).
      */
     public LazyList(T head, Supplier<LazyList<T>> tailFunction) {
         this.head = head;
-        this.tailFunction = tailFunction;
+        this.tailFunction = memoize(tailFunction);
     }
 
     public final T head;
@@ -93,6 +96,33 @@ public class LazyList<T> {
         else throw new NullPointerException("head is null");
     }
 
+    /**
+     * Method to memoize a Supplier, such that the given supplier is invoked at most once (and then released).
+     * If several threads invoke the result at the same time, all but one of them wait for that one.
+     *
+     * @param supplier a Supplier of X.
+     * @param <X>      the underlying type.
+     * @return a thread-safe Supplier of X which always yields the same value.
+     */
+    public static <X> Supplier<X> memoize(Supplier<X> supplier) {
+        return new Supplier<>() {
+            public X get() {
+                if (!evaluated) synchronized (this) {
+                    if (!evaluated) {
+                        value = function.get();
+                        function = null;
+                        evaluated = true;
+                    }
+                }
+                return value;
+            }
+
+            private Supplier<X> function = supplier;
+            private X value; // NOTE: published by the volatile write to evaluated
+            private volatile boolean evaluated = false;
+        };
+    }
+
     /**
      * Method to create a LazyList given a starting value and a function.
      *
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.List;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of LazyList against LazyList_Chunked:
+ * <ol>
+ *     <li>taking the first n elements of a mapped list, twice (the second time, both lists are already memoized);</li>
+ *     <li>streaming the Lucas numbers (modulo a prime) through filter and zip (LazyList_Chunked only).</li>
+ * </ol>
+ * The number of elements may be given as the first argument (the default is 10^6).
+ */
+public class LazyListBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        logger.info("LazyListBenchmark: n=" + n);
+
+        time("LazyList map/take twice", () -> {
+            LazyList<Integer> list = LazyList.map(LazyList.from(0), x -> x * 2);
+            check(list.take(n), n);
+            check(list.take(n), n);
+        }, 5);
+        time("LazyList_Chunked map/take twice", () -> {
+            LazyList_Chunked<Integer> list = LazyList_Chunked.from(0).map(x -> x * 2);
+            check(list.take(n).toList(), n);
+            check(list.take(n).toList(), n);
+        }, 5);
+        time("LazyList_Chunked Lucas stream", () -> {
+            LazyList_Chunked<Long> residues = LazyList_Chunked.iterate(new long[]{2L, 1L}, p -> new long[]{p[1], (p[0] + p[1]) % 1_000_003}).map(p -> p[0]);
+            long sum = 0;
+            for (long x : residues.zip(residues.tail(), Long::sum).filter(x -> x % 2 == 0).take(n)) sum += x;
+            if (sum < 0) throw new RuntimeException("logic error: negative sum");
+        }, 5);
+    }
+
+    private static void check(List<Integer> xs, int n) {
+        if (xs.size() != n || xs.get(n - 1) != 2 * (n - 1)) throw new RuntimeException("logic error: wrong elements");
+    }
+
+    final static LazyLogger logger = new LazyLogger(LazyListBenchmark.class);
+}
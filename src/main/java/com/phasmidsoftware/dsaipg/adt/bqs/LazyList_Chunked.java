@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A lazy list (in the sense of the Scala LazyList) which is memoized, thread-safe and chunked.
+ * <p>
+ * The elements are evaluated (forced) not one at a time but in chunks of up to CHUNK (64) elements,
+ * so that the cost of forcing (a lock, a virtual call and an allocation) is shared by many elements,
+ * and the elements of a chunk are adjacent in memory.
+ * Each chunk is evaluated at most once, however many times (or by however many threads) the list is traversed:
+ * a chunk which is being forced by one thread is awaited by any other.
+ * <p>
+ * A LazyList_Chunked is an immutable view of a position in a sequence of chunks: tail and drop simply return a new view.
+ * The operators (map, filter, flatMap, zip, take, takeWhile) are themselves lazy:
+ * each takes whole chunks from its source, so that, for example, filter never forces more than one chunk of its source
+ * for each chunk of its own.
+ * <p>
+ * NOTE: since the list is memoized, all of the elements which have been forced (after a given view) remain reachable
+ * for as long as that view is reachable.
+ * To stream a long (or infinite) list in constant space, do not keep a reference to its head.
+ * <p>
+ * NOTE: if a function throws an exception while a chunk is being forced, the exception propagates and the chunk
+ * remains unforced, but the function's source may have been partly consumed, so the list should not be used further.
+ *
+ * @param <T> the underlying type of the lazy list.
+ */
+public class LazyList_Chunked<T> implements Iterable<T> {
+
+    /**
+     * @return true if this list has no elements (this may force a chunk).
+     */
+    public boolean isEmpty() {
+        return offset == chunk.size && chunk.next() == null;
+    }
+
+    /**
+     * @return the first element of this list.
+     * @throws NoSuchElementException if this list is empty.
+     */
+    public T head() {
+        if (offset < chunk.size) return chunk.get(offset);
+        Chunk<T> next = chunk.next();
+        if (next == null) throw new NoSuchElementException("head of empty list");
+        return next.get(0);
+    }
+
+    /**
+     * @return all but the first element of this list.
+     * @throws NoSuchElementException if this list is empty.
+     */
+    public LazyList_Chunked<T> tail() {
+        if (offset < chunk.size) return new LazyList_Chunked<>(chunk, offset + 1);
+        Chunk<T> next = chunk.next();
+        if (next == null) throw new NoSuchElementException("tail of empty list");
+        return new LazyList_Chunked<>(next, 1);
+    }
+
+    /**
+     * Method to get the element at index n, skipping whole chunks at a time.
+     *
+     * @param n the index.
+     * @return the element at index n.
+     * @throws IndexOutOfBoundsException if this list has no more than n elements.
+     */
+    public T get(int n) {
+        LazyList_Chunked<T> list = drop(n);
+        if (list.isEmpty()) throw new IndexOutOfBoundsException("index " + n + " is beyond the end of the list");
+        return list.head();
+    }
+
+    /**
+     * @param n the number of elements to drop.
+     * @return this list without its first n elements (or an empty list, if there are no more than n).
+     */
+    public LazyList_Chunked<T> drop(int n) {
+        if (n < 0) throw new IllegalArgumentException("n must not be negative: " + n);
+        Chunk<T> c = chunk;
+        int i = offset + n;
+        while (i > c.size) {
+            Chunk<T> next = c.next();
+            if (next == null) return new LazyList_Chunked<>(c, c.size);
+            i -= c.size;
+            c = next;
+        }
+        return new LazyList_Chunked<>(c, i);
+    }
+
+    /**
+     * Method to map this list, element by element.
+     *
+     * @param f   the function to convert a T into a U.
+     * @param <U> the underlying output type.
+     * @return a new LazyList_Chunked.
+     */
+    public <U> LazyList_Chunked<U> map(Function<? super T, ? extends U> f) {
+        Cursor<T> cursor = new Cursor<>(chunk, offset);
+        return create(buffer -> {
+            if (!cursor.ensure()) return 0;
+            int n = 0;
+            for (Chunk<T> c = cursor.chunk; cursor.offset < c.size; ) buffer[n++] = f.apply(c.get(cursor.offset++));
+            return n;
+        });
+    }
+
+    /**
+     * Method to filter this list.
+     * NOTE: the result of forcing a chunk of the result is the matching elements of (just) one chunk of this list,
+     * unless there are none, in which case the next chunk of this list is taken, and so on.
+     *
+     * @param predicate the test for T values to be included in the result.
+     * @return a new LazyList_Chunked with only elements that satisfy predicate.
+     */
+    public LazyList_Chunked<T> filter(Predicate<? super T> predicate) {
+        Cursor<T> cursor = new Cursor<>(chunk, offset);
+        return create(buffer -> {
+            int n = 0;
+            while (n == 0 && cursor.ensure())
+                for (Chunk<T> c = cursor.chunk; cursor.offset < c.size; ) {
+                    T t = c.get(cursor.offset++);
+                    if (predicate.test(t)) buffer[n++] = t;
+                }
+            return n;
+        });
+    }
+
+    /**
+     * Method to flatMap this list: that's to say to concatenate the Iterables which result from applying f to each element.
+     * Each Iterable is traversed lazily, so it may be infinite.
+     *
+     * @param f   the function to convert a T into an Iterable of U (for example, a LazyList_Chunked or a List).
+     * @param <U> the underlying output type.
+     * @return a new LazyList_Chunked.
+     */
+    public <U> LazyList_Chunked<U> flatMap(Function<? super T, ? extends Iterable<? extends U>> f) {
+        Cursor<T> cursor = new Cursor<>(chunk, offset);
+        return create(new Generator<>() {
+            public int fill(Object[] buffer) {
+                int n = 0;
+                while (n < buffer.length) {
+                    if (inner.hasNext()) buffer[n++] = inner.next();
+                    else if (n > 0 && cursor.offset == cursor.chunk.size) return n; // don't force another chunk of this list
+                    else if (cursor.ensure()) inner = f.apply(cursor.chunk.get(cursor.offset++)).iterator();
+                    else return n;
+                }
+                return n;
+            }
+
+            private Iterator<? extends U> inner = Collections.emptyIterator();
+        });
+    }
+
+    /**
+     * Method to zip this list with another, element by element, until either of them ends.
+     *
+     * @param other the other list.
+     * @param f     the function to combine a T and a U into an R.
+     * @param <U>   the underlying type of other.
+     * @param <R>   the underlying output type.
+     * @return a new LazyList_Chunked.
+     */
+    public <U, R> LazyList_Chunked<R> zip(LazyList_Chunked<U> other, BiFunction<? super T, ? super U, ? extends R> f) {
+        Cursor<T> ts = new Cursor<>(chunk, offset);
+        Cursor<U> us = new Cursor<>(other.chunk, other.offset);
+        return create(buffer -> {
+            if (!ts.ensure() || !us.ensure()) return 0;
+            int n = Math.min(ts.chunk.size - ts.offset, us.chunk.size - us.offset);
+            for (int i = 0; i < n; i++) buffer[i] = f.apply(ts.chunk.get(ts.offset++), us.chunk.get(us.offset++));
+            return n;
+        });
+    }
+
+    /**
+     * Method to take a number (n) of elements from this list.
+     *
+     * @param n the number of elements to take from this list.
+     * @return a new LazyList_Chunked with at most n elements.
+     */
+    public LazyList_Chunked<T> take(int n) {
+        if (n < 0) throw new IllegalArgumentException("n must not be negative: " + n);
+        Cursor<T> cursor = new Cursor<>(chunk, offset);
+        return create(new Generator<>() {
+            public int fill(Object[] buffer) {
+                if (remaining == 0 || !cursor.ensure()) return 0;
+                int k = Math.min(remaining, cursor.chunk.size - cursor.offset);
+                System.arraycopy(cursor.chunk.xs, cursor.offset, buffer, 0, k);
+                cursor.offset += k;
+                remaining -= k;
+                return k;
+            }
+
+            private int remaining = n;
+        });
+    }
+
+    /**
+     * Method to take elements from this list as long as they satisfy the given predicate.
+     *
+     * @param predicate the test for T values to be included in the result.
+     * @return a new LazyList_Chunked.
+     */
+    public LazyList_Chunked<T> takeWhile(Predicate<? super T> predicate) {
+        Cursor<T> cursor = new Cursor<>(chunk, offset);
+        return create(new Generator<>() {
+            public int fill(Object[] buffer) {
+                if (done || !cursor.ensure()) return 0;
+                int n = 0;
+                for (Chunk<T> c = cursor.chunk; cursor.offset < c.size; cursor.offset++) {
+                    T t = c.get(cursor.offset);
+                    if (!predicate.test(t)) {
+                        done = true;
+                        break;
+                    }
+                    buffer[n++] = t;
+                }
+                return n;
+            }
+
+            private boolean done = false;
+        });
+    }
+
+    /**
+     * Method to evaluate all the elements of this list, which must therefore be finite.
+     *
+     * @return a List of the elements.
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>();
+        Cursor<T> cursor = new Cursor<>(chunk, offset);
+        while (cursor.ensure()) {
+            //noinspection unchecked
+            result.addAll((List<T>) (List<?>) Arrays.asList(cursor.chunk.xs).subList(cursor.offset, cursor.chunk.size));
+            cursor.offset = cursor.chunk.size;
+        }
+        return result;
+    }
+
+    public Iterator<T> iterator() {
+        Cursor<T> cursor = new Cursor<>(chunk, offset);
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return cursor.ensure();
+            }
+
+            public T next() {
+                if (!cursor.ensure()) throw new NoSuchElementException();
+                return cursor.chunk.get(cursor.offset++);
+            }
+        };
+    }
+
+    /**
+     * Method to create a LazyList_Chunked given a starting value and a function.
+     *
+     * @param start the starting value.
+     * @param next  the function to yield the next value.
+     * @param <T>   the underlying type.
+     * @return a new (infinite) LazyList_Chunked.
+     */
+    public static <T> LazyList_Chunked<T> iterate(final T start, UnaryOperator<T> next) {
+        return create(new Generator<>() {
+            public int fill(Object[] buffer) {
+                for (int i = 0; i < buffer.length; i++) {
+                    if (started) t = next.apply(t);
+                    else started = true;
+                    buffer[i] = t;
+                }
+                return buffer.length;
+            }
+
+            private T t = start;
+            private boolean started = false;
+        });
+    }
+
+    /**
+     * Method to create a LazyList_Chunked whose elements are the successive results of a supplier.
+     *
+     * @param supplier the supplier of values (it is invoked CHUNK times at each force).
+     * @param <T>      the underlying type.
+     * @return a new (infinite) LazyList_Chunked.
+     */
+    public static <T> LazyList_Chunked<T> generate(Supplier<? extends T> supplier) {
+        return create(buffer -> {
+            for (int i = 0; i < buffer.length; i++) buffer[i] = supplier.get();
+            return buffer.length;
+        });
+    }
+
+    /**
+     * Method to create a LazyList_Chunked of the elements of an Iterable, which is traversed (at most) once.
+     *
+     * @param iterable the source of elements.
+     * @param <T>      the underlying type.
+     * @return a new LazyList_Chunked.
+     */
+    public static <T> LazyList_Chunked<T> from(Iterable<? extends T> iterable) {
+        Iterator<? extends T> iterator = iterable.iterator();
+        return create(buffer -> {
+            int n = 0;
+            while (n < buffer.length && iterator.hasNext()) buffer[n++] = iterator.next();
+            return n;
+        });
+    }
+
+    /**
+     * Method to create a LazyList_Chunked of Integers given a starting value and an increment.
+     *
+     * @param start the starting value.
+     * @param step  the increment.
+     * @return a new (infinite) LazyList_Chunked.
+     */
+    public static LazyList_Chunked<Integer> from(final int start, int step) {
+        return iterate(start, x -> x + step);
+    }
+
+    /**
+     * Method to create a LazyList_Chunked of Integers given a starting value.
+     *
+     * @param start the starting value.
+     * @return a new (infinite) LazyList_Chunked.
+     */
+    public static LazyList_Chunked<Integer> from(final int start) {
+        return from(start, 1);
+    }
+
+    /**
+     * @param <T> the underlying type.
+     * @return an empty LazyList_Chunked.
+     */
+    public static <T> LazyList_Chunked<T> empty() {
+        return create(buffer -> 0);
+    }
+
+    /**
+     * The number of elements which are evaluated by each force (other than at the end of a list or where an operator
+     * yields fewer).
+     */
+    public static final int CHUNK = 64;
+
+    /**
+     * A stateful source of elements, which is invoked only while forcing a chunk
+     * (and so only by one thread at a time, and in order).
+     */
+    private interface Generator<T> {
+        /**
+         * Fill the given buffer, from index 0, with between 1 and buffer.length further elements.
+         *
+         * @param buffer the buffer.
+         * @return the number of elements, or 0 if there are no more.
+         */
+        int fill(Object[] buffer);
+    }
+
+    /**
+     * A chunk of elements, with a memoized reference to the next chunk (null at the end of the list).
+     */
+    private static final class Chunk<T> {
+
+        T get(int i) {
+            //noinspection unchecked
+            return (T) xs[i];
+        }
+
+        Chunk<T> next() {
+            if (forced) return next;
+            synchronized (this) {
+                if (!forced) {
+                    Object[] buffer = new Object[CHUNK];
+                    int n = generator.fill(buffer);
+                    next = n == 0 ? null : new Chunk<>(n < CHUNK / 2 ? Arrays.copyOf(buffer, n) : buffer, n, generator);
+                    generator = null;
+                    forced = true;
+                }
+            }
+            return next;
+        }
+
+        Chunk(Object[] xs, int size, Generator<T> generator) {
+            this.xs = xs;
+            this.size = size;
+            this.generator = generator;
+        }
+
+        final Object[] xs;
+        final int size;
+        private Generator<T> generator; // the source of the next chunk: null once that has been forced
+        private Chunk<T> next; // NOTE: published by the volatile write to forced
+        private volatile boolean forced = false;
+    }
+
+    /**
+     * A mutable position in a list, used by a Generator or an Iterator (and so by only one thread at a time).
+     */
+    private static final class Cursor<T> {
+
+        /**
+         * Ensure that offset is the index of an element of chunk, if there are any more elements.
+         *
+         * @return true if there is another element.
+         */
+        boolean ensure() {
+            if (chunk == null) return false;
+            while (offset == chunk.size) {
+                chunk = chunk.next();
+                offset = 0;
+                if (chunk == null) return false;
+            }
+            return true;
+        }
+
+        Cursor(Chunk<T> chunk, int offset) {
+            this.chunk = chunk;
+            this.offset = offset;
+        }
+
+        Chunk<T> chunk;
+        int offset;
+    }
+
+    private static <T> LazyList_Chunked<T> create(Generator<T> generator) {
+        return new LazyList_Chunked<>(new Chunk<>(new Object[0], 0, generator), 0);
+    }
+
+    private LazyList_Chunked(Chunk<T> chunk, int offset) {
+        this.chunk = chunk;
+        this.offset = offset;
+    }
+
+    private final Chunk<T> chunk; // NOTE: the chunk is initially empty, with the first (real) chunk as its next.
+    private final int offset; // in the range 0 thru chunk.size (if the latter, this view begins at chunk.next())
+}
@@ -15,6 +15,18 @@ public class MySet<T> implements Set<T> {
         this.set = set;
     }
 
+    /**
+     * Method to create an empty MySet of non-negative Integers, which is backed by a BitVector:
+     * it takes one bit for each int from 0 thru the largest member (rather than an object for each member),
+     * and its iterator yields the members in increasing order.
+     *
+     * @param n the initial capacity: the set grows as necessary to accommodate members which are not less than n.
+     * @return a new MySet of Integers.
+     */
+    public static MySet<Integer> ofIntegers(int n) {
+        return new MySet<>(new BitVector(n).asSet());
+    }
+
     /**
      * Returns the number of elements in this set (its cardinality).  If this
      * set contains more than {@code Integer.MAX_VALUE} elements, returns
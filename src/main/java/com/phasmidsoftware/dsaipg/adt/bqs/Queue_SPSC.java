@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free Queue for exactly one producer thread and one consumer thread (as in a pipeline),
+ * based on a ring buffer whose length is a power of two.
+ * <p>
+ * The producer alone writes tail and the consumer alone writes head: each publishes its index with a release store
+ * (which needs no fence, unlike a volatile store) and reads the other's index with an acquire load.
+ * Moreover, each thread keeps a (plain) cached copy of the other's index
+ * and refreshes it only when the cached copy says that the buffer is full (or holds too few items),
+ * so that the two threads rarely touch the same cache line.
+ * The bulk methods, offerAll and drainTo, publish their index just once for the whole batch.
+ * <p>
+ * NOTE: nothing guards against misuse: offer, tryOffer and offerAll may be called only by the producer;
+ * poll, drainTo and iterator only by the consumer.
+ * The size method is just a snapshot if the queue is in use.
+ *
+ * @param <Item> the type of elements stored in this Queue (null is not permitted).
+ */
+public class Queue_SPSC<Item> implements Queue<Item> {
+
+    /**
+     * Producer method: add the item, if there is room.
+     *
+     * @param item the item (not null).
+     * @return true if the item was added; false if the queue is full.
+     */
+    public boolean tryOffer(Item item) {
+        if (item == null) throw new IllegalArgumentException("null item");
+        long t = tail.get();
+        if (t - headCache == items.length && t - (headCache = head.getAcquire()) == items.length) return false;
+        items[(int) t & mask] = item;
+        tail.setRelease(t + 1);
+        return true;
+    }
+
+    /**
+     * Producer method: add the item, waiting (see backOff) while the queue is full.
+     *
+     * @param item the item (not null).
+     */
+    public void offer(Item item) {
+        for (int spins = 0; !tryOffer(item); spins++) backOff(spins);
+    }
+
+    /**
+     * Producer method: add all the given items, in order, waiting (see backOff) while the queue is full.
+     *
+     * @param items the items (none may be null).
+     */
+    public void offerAll(Collection<? extends Item> items) {
+        Iterator<? extends Item> iterator = items.iterator();
+        int remaining = items.size(), spins = 0;
+        while (remaining > 0) {
+            long t = tail.get();
+            int free = this.items.length - (int) (t - headCache);
+            if (free == 0) free = this.items.length - (int) (t - (headCache = head.getAcquire()));
+            if (free == 0) {
+                backOff(spins++);
+                continue;
+            }
+            spins = 0;
+            int n = Math.min(free, remaining);
+            for (int i = 0; i < n; i++) {
+                Item item = iterator.next();
+                if (item == null) throw new IllegalArgumentException("null item");
+                this.items[(int) (t + i) & mask] = item;
+            }
+            tail.setRelease(t + n);
+            remaining -= n;
+        }
+    }
+
+    /**
+     * Consumer method: take the oldest item.
+     *
+     * @return the item or null if the queue is empty.
+     */
+    public Item poll() {
+        long h = head.get();
+        if (h == tailCache && h == (tailCache = tail.getAcquire())) return null;
+        int i = (int) h & mask;
+        Item result = item(i);
+        items[i] = null;
+        head.setRelease(h + 1);
+        return result;
+    }
+
+    /**
+     * Consumer method: take up to max of the items which are available (without waiting for more)
+     * and add them to the given collection.
+     *
+     * @param target the collection.
+     * @param max    the maximum number of items to take.
+     * @return the number of items taken.
+     */
+    public int drainTo(Collection<? super Item> target, int max) {
+        long h = head.get();
+        if (tailCache - h < max) tailCache = tail.getAcquire();
+        int n = (int) Math.min(max, tailCache - h);
+        for (int k = 0; k < n; k++) {
+            int i = (int) (h + k) & mask;
+            target.add(item(i));
+            items[i] = null;
+        }
+        if (n > 0) head.setRelease(h + n);
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return head.getAcquire() == tail.getAcquire();
+    }
+
+    public int size() {
+        long h = head.getAcquire();
+        return (int) (tail.getAcquire() - h);
+    }
+
+    /**
+     * @return the maximum number of items this queue can hold.
+     */
+    public int capacity() {
+        return items.length;
+    }
+
+    /**
+     * Consumer method: returns an iterator over a snapshot of the items, from oldest to newest.
+     *
+     * @return an Iterator.
+     */
+    public Iterator<Item> iterator() {
+        List<Item> result = new ArrayList<>();
+        for (long i = head.get(), t = tail.getAcquire(); i < t; i++) result.add(item((int) i & mask));
+        return result.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "Queue_SPSC(size=" + size() + ", capacity=" + capacity() + ")";
+    }
+
+    /**
+     * Constructs an empty Queue_SPSC.
+     *
+     * @param capacity the capacity (rounded up to a power of two).
+     */
+    public Queue_SPSC(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30)
+            throw new IllegalArgumentException("capacity must be between 1 and 2^30: " + capacity);
+        items = new Object[Integer.highestOneBit(Math.max(1, capacity - 1)) << (capacity == 1 ? 0 : 1)];
+        mask = items.length - 1;
+    }
+
+    /**
+     * Wait a little before retrying, having failed spins times in succession:
+     * spin at first (the other thread is probably running, and about to make progress)
+     * but then yield (the other thread may be waiting for a processor, most likely this one).
+     *
+     * @param spins the number of failures so far.
+     */
+    public static void backOff(int spins) {
+        if (spins < SPINS) Thread.onSpinWait();
+        else Thread.yield();
+    }
+
+    private Item item(int i) {
+        //noinspection unchecked
+        return (Item) items[i];
+    }
+
+    private static final int SPINS = 100;
+
+    private final Object[] items; // the ring buffer, whose length is a power of two
+    private final int mask; // items.length - 1
+    private final AtomicLong head = new AtomicLong(); // the number of items ever taken: written only by the consumer
+    private final AtomicLong tail = new AtomicLong(); // the number of items ever added: written only by the producer
+    private long headCache; // the producer's copy of head
+    private long tailCache; // the consumer's copy of tail
+}
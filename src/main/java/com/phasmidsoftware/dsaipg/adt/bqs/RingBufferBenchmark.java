@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of the ring-buffer deques (Deque_Ring, Deque_RingInt and Queue_SPSC) against the linked versions:
+ * <ol>
+ *     <li>as a queue: n offers interleaved with polls so that the queue holds up to n/2 items (as in a breadth-first search);</li>
+ *     <li>as a stack: n pushes followed by n pops;</li>
+ *     <li>bulk: n items offered in batches then drained, in batches, into a list;</li>
+ *     <li>pipeline: n items passed from a producer thread to a consumer thread.</li>
+ * </ol>
+ * NOTE: Queue_Elements cannot be measured here since its offer and poll methods are left as exercises:
+ * java.util.LinkedList represents the linked queue instead.
+ * The number of items may be given as the first argument (the default is 10^7).
+ */
+public class RingBufferBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Integer[] items = new Integer[n];
+        for (int i = 0; i < n; i++) items[i] = i;
+        logger.info("RingBufferBenchmark: n=" + n);
+
+        time("LinkedList queue", () -> {
+            LinkedList<Integer> queue = new LinkedList<>();
+            for (int i = 0; i < n; i++) {
+                queue.offer(items[i]);
+                if ((i & 1) == 1) queue.poll();
+            }
+            while (!queue.isEmpty()) queue.poll();
+        }, 5);
+        time("ArrayDeque queue", () -> {
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int i = 0; i < n; i++) {
+                queue.offer(items[i]);
+                if ((i & 1) == 1) queue.poll();
+            }
+            while (!queue.isEmpty()) queue.poll();
+        }, 5);
+        time("Deque_Ring queue", () -> {
+            Queue<Integer> queue = new Deque_Ring<>();
+            for (int i = 0; i < n; i++) {
+                queue.offer(items[i]);
+                if ((i & 1) == 1) queue.poll();
+            }
+            while (!queue.isEmpty()) queue.poll();
+        }, 5);
+        time("Deque_RingInt queue", () -> {
+            Deque_RingInt queue = new Deque_RingInt();
+            for (int i = 0; i < n; i++) {
+                queue.offer(i);
+                if ((i & 1) == 1) queue.poll();
+            }
+            while (!queue.isEmpty()) queue.poll();
+        }, 5);
+
+        time("Stack_LinkedList stack", () -> {
+            Stack<Integer> stack = new Stack_LinkedList<>();
+            for (Integer item : items) stack.push(item);
+            try {
+                while (!stack.isEmpty()) stack.pop();
+            } catch (BQSException e) {
+                throw new RuntimeException(e);
+            }
+        }, 5);
+        time("Deque_Ring stack", () -> {
+            Stack<Integer> stack = new Deque_Ring<>();
+            for (Integer item : items) stack.push(item);
+            try {
+                while (!stack.isEmpty()) stack.pop();
+            } catch (BQSException e) {
+                throw new RuntimeException(e);
+            }
+        }, 5);
+
+        List<Integer> batch = new ArrayList<>(Arrays.asList(items).subList(0, BATCH));
+        time("Deque_Ring offer/poll one at a time", () -> {
+            Deque_Ring<Integer> deque = new Deque_Ring<>();
+            for (int i = 0; i < n; i += BATCH) for (Integer item : batch) deque.offer(item);
+            List<Integer> result = new ArrayList<>(BATCH);
+            while (!deque.isEmpty()) {
+                for (int k = 0; k < BATCH && !deque.isEmpty(); k++) result.add(deque.poll());
+                result.clear();
+            }
+        }, 5);
+        time("Deque_Ring offerAll/drainTo", () -> {
+            Deque_Ring<Integer> deque = new Deque_Ring<>();
+            for (int i = 0; i < n; i += BATCH) deque.offerAll(batch);
+            List<Integer> result = new ArrayList<>(BATCH);
+            while (deque.drainTo(result, BATCH) > 0) result.clear();
+        }, 5);
+
+        time("Queue_SPSC pipeline", () -> pipeline(items, false), 5);
+        time("Queue_SPSC pipeline (batched)", () -> pipeline(items, true), 5);
+    }
+
+    private static void pipeline(Integer[] items, boolean batched) {
+        Queue_SPSC<Integer> queue = new Queue_SPSC<>(1024);
+        Thread producer = new Thread(() -> {
+            if (batched) for (int i = 0; i < items.length; i += BATCH)
+                queue.offerAll(Arrays.asList(items).subList(i, Math.min(items.length, i + BATCH)));
+            else for (Integer item : items) queue.offer(item);
+        });
+        producer.start();
+        int count = 0, spins = 0;
+        List<Integer> result = new ArrayList<>(BATCH);
+        while (count < items.length)
+            if (batched) {
+                int k = queue.drainTo(result, BATCH);
+                if (k == 0) Queue_SPSC.backOff(spins++);
+                else spins = 0;
+                count += k;
+                result.clear();
+            } else if (queue.poll() != null) {
+                count++;
+                spins = 0;
+            } else Queue_SPSC.backOff(spins++);
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static final int BATCH = 256;
+
+    final static LazyLogger logger = new LazyLogger(RingBufferBenchmark.class);
+}
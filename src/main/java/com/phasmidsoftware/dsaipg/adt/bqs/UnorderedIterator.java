@@ -9,6 +9,14 @@ import java.util.*;
 /**
  * Class to implement an Iterator of T based on a Collection or Array of T.
  * The order of elements in the iterator is random.
+ * <p>
+ * Each call of next chooses (by random.nextInt) the index of an element among those which remain, in their original order,
+ * so that a given seed always yields the same order.
+ * Rather than removing elements from a list (which takes linear time for each element),
+ * the elements which remain are counted by a Fenwick (binary indexed) tree over a primitive int array,
+ * so that the chosen element is found, and marked as taken, in logarithmic time.
+ * The tree is built in linear time, without any shuffling, so an iterator of which only the first few elements are
+ * taken (for example, by State.chooseMove) costs little more than a copy of the elements.
  *
  * @param <T> the underlying type.
  */
@@ -22,7 +30,7 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @return {@code true} if the iteration has more elements
      */
     public boolean hasNext() {
-        return !list.isEmpty();
+        return remaining > 0;
     }
 
     /**
@@ -32,13 +40,19 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @throws NoSuchElementException if the iteration has no more elements
      */
     public T next() {
-        if (list.isEmpty()) throw new NoSuchElementException();
-        int i = random.nextInt(list.size());
-        try {
-            return list.remove(i);
-        } catch (UnsupportedOperationException e) {
-            throw new RuntimeException("UnorderedIterator: cannot remove element " + i + " from list of type: " + list.getClass());
-        }
+        if (remaining == 0) throw new NoSuchElementException();
+        int rank = random.nextInt(remaining--);
+        // Descend the Fenwick tree to find the (rank+1)th remaining element, i.e. the element at index position.
+        int position = 0;
+        for (int step = Integer.highestOneBit(elements.length); step > 0; step >>= 1)
+            if (position + step <= elements.length && counts[position + step] <= rank) {
+                position += step;
+                rank -= counts[position];
+            }
+        for (int i = position + 1; i <= elements.length; i += i & -i) counts[i]--;
+        @SuppressWarnings("unchecked") T result = (T) elements[position];
+        elements[position] = null;
+        return result;
     }
 
     /**
@@ -48,7 +62,7 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @param random     an explicit random source.
      */
     public UnorderedIterator(Collection<T> collection, Random random) {
-        this(copyCollection(collection), random);
+        this(random, collection.toArray());
     }
 
     /**
@@ -67,7 +81,7 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @param random an explicit random source.
      */
     public UnorderedIterator(T[] array, Random random) {
-        this(copyCollection(Arrays.asList(array)), random);
+        this(random, array.clone());
     }
 
     /**
@@ -82,30 +96,28 @@ public class UnorderedIterator<T> implements Iterator<T> {
     /**
      * Primary (private) constructor.
      *
-     * @param list   a mutable list of T which will be mutated, ending as empty.
-     * @param random a Random source.
+     * @param random   a Random source.
+     * @param elements an array of the elements (which will be nulled out as they are taken).
      */
-    private UnorderedIterator(List<T> list, Random random) {
-        this.list = list;
+    private UnorderedIterator(Random random, Object[] elements) {
+        this.elements = elements;
         this.random = random;
+        this.remaining = elements.length;
+        // NOTE each element initially counts one, so each node of the tree counts its range of length (i & -i).
+        this.counts = new int[elements.length + 1];
+        for (int i = 1; i <= elements.length; i++) counts[i] = i & -i;
     }
 
     public static <X> UnorderedIterator<X> createDeterministic(Collection<X> collection, Random random) {
-        return new UnorderedIterator<>(copyCollection(collection), random);
+        return new UnorderedIterator<>(collection, random);
     }
 
     public static <X> UnorderedIterator<X> createDeterministic(Collection<X> collection, long seed) {
         return createDeterministic(collection, new Random(seed));
     }
 
-    private static <X> List<X> copyCollection(Collection<X> collection) {
-        if (collection instanceof ArrayList) {
-            ArrayList<X> result = new ArrayList<>(collection);
-            Collections.copy(result, (ArrayList<X>) collection);
-            return result;
-        } else return new ArrayList<>(collection);
-    }
-
-    private final List<T> list;
+    private final Object[] elements;
+    private final int[] counts; // Fenwick tree (indexed from 1) of the number of remaining elements
     private final Random random;
-}
\ No newline at end of file
+    private int remaining;
+}
@@ -1,21 +1,34 @@
 package com.phasmidsoftware.dsaipg.adt.pq;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 
 /**
- * A simple Fibonacci Heap implementation functioning as a min-heap.
- * Supports basic operations: give (insert) and take (remove min).
+ * A Fibonacci Heap implementation functioning as a min-heap.
+ * Supports give (insert), take (remove min), peek, decreaseKey, delete and meld.
+ * <p>
+ * insert returns a Node which the client uses as a handle for decreaseKey and delete.
+ * The amortized costs are O(1) for insert, decreaseKey and meld, and O(log n) for take and delete.
  *
  * @param <K> the type of elements held in this heap
  */
 public class FibonacciHeap<K> implements PriorityQueueInterface<K>, Iterable<K> {
 
-    private Comparator<K> comparator;
+    private final Comparator<K> comparator;
     private Node<K> min;
     private int n;
+    @SuppressWarnings("unchecked")
+    private Node<K>[] degrees = new Node[16]; // the degree table used by consolidate (reused between calls)
 
-    private static class Node<K> {
+    /**
+     * A node of the heap. Nodes returned by insert serve as handles for decreaseKey and delete.
+     *
+     * @param <K> the type of the key.
+     */
+    public static final class Node<K> {
         K key;
         int degree;
         Node<K> parent;
@@ -33,10 +46,26 @@ public class FibonacciHeap<K> implements PriorityQueueInterface<K>, Iterable<K>
             right = this;
             mark = false;
         }
+
+        /**
+         * @return the key of this node.
+         */
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public String toString() {
+            return "Node{" + key + "}";
+        }
     }
 
     public FibonacciHeap(int capacity, boolean max, Comparator<K> comparator) {
         // Capacity and max are ignored; we implement a min-heap.
+        this(comparator);
+    }
+
+    public FibonacciHeap(Comparator<K> comparator) {
         this.comparator = comparator;
         min = null;
         n = 0;
@@ -54,20 +83,32 @@ public class FibonacciHeap<K> implements PriorityQueueInterface<K>, Iterable<K>
 
     @Override
     public void give(K key) {
+        insert(key);
+    }
+
+    /**
+     * Insert the given key into this heap.
+     *
+     * @param key the key.
+     * @return the Node which holds key (a handle for decreaseKey and delete).
+     */
+    public Node<K> insert(K key) {
         Node<K> node = new Node<>(key);
-        if (min == null) {
-            min = node;
-        } else {
-            // Insert node into the root list.
-            node.left = min;
-            node.right = min.right;
-            min.right.left = node;
-            min.right = node;
-            if (comparator.compare(key, min.key) < 0) {
-                min = node;
-            }
-        }
+        addToRootList(node);
         n++;
+        return node;
+    }
+
+    /**
+     * Get (without removing) the minimum key of this heap.
+     *
+     * @return the minimum key.
+     * @throws PQException if this heap is empty.
+     */
+    public K peek() throws PQException {
+        if (isEmpty())
+            throw new PQException("Fibonacci Heap is empty");
+        return min.key;
     }
 
     @Override
@@ -75,87 +116,124 @@ public class FibonacciHeap<K> implements PriorityQueueInterface<K>, Iterable<K>
         if (isEmpty())
             throw new PQException("Fibonacci Heap is empty");
         Node<K> z = min;
-        if (z != null) {
-            if (z.child != null) {
-                Node<K> x = z.child;
-                do {
-                    x.parent = null;
-                    x = x.right;
-                } while (x != z.child);
-                // Merge z's child list into the root list.
-                Node<K> zLeft = z.left;
-                Node<K> childLeft = z.child.left;
-                z.left = childLeft;
-                childLeft.right = z;
-                z.child.left = zLeft;
-                zLeft.right = z.child;
-            }
-            // Remove z from the root list.
-            z.left.right = z.right;
-            z.right.left = z.left;
-            if (z == z.right) {
-                min = null;
-            } else {
-                min = z.right;
-                consolidate();
-            }
-            n--;
+        if (z.child != null) {
+            Node<K> x = z.child;
+            do {
+                x.parent = null;
+                x = x.right;
+            } while (x != z.child);
+            // Merge z's child list into the root list.
+            splice(z, z.child);
+            z.child = null;
+        }
+        // Remove z from the root list.
+        z.left.right = z.right;
+        z.right.left = z.left;
+        if (z == z.right) {
+            min = null;
+        } else {
+            min = z.right;
+            consolidate();
         }
+        n--;
+        z.left = z;
+        z.right = z;
+        z.degree = 0;
         return z.key;
     }
 
-    private void consolidate() {
-        int D = ((int) Math.floor(Math.log(n) / Math.log(2))) + 1;
-        Node<K>[] A = new Node[D];
-        for (int i = 0; i < D; i++) {
-            A[i] = null;
+    /**
+     * Decrease the key of the given node.
+     *
+     * @param x   a node which was returned by insert and which is still in this heap.
+     * @param key the new key which must not be greater than the current key.
+     * @throws IllegalArgumentException if key is greater than the current key of x.
+     */
+    public void decreaseKey(Node<K> x, K key) {
+        if (comparator.compare(key, x.key) > 0)
+            throw new IllegalArgumentException("decreaseKey: key " + key + " is greater than the current key " + x.key);
+        x.key = key;
+        Node<K> y = x.parent;
+        if (y != null && comparator.compare(x.key, y.key) < 0) {
+            cut(x, y);
+            cascadingCut(y);
         }
-        int rootCount = 0;
-        if (min != null) {
-            Node<K> x = min;
-            do {
-                rootCount++;
-                x = x.right;
-            } while (x != min);
+        if (comparator.compare(x.key, min.key) < 0) min = x;
+    }
+
+    /**
+     * Remove the given node from this heap.
+     *
+     * @param x a node which was returned by insert and which is still in this heap.
+     */
+    public void delete(Node<K> x) {
+        Node<K> y = x.parent;
+        if (y != null) {
+            cut(x, y);
+            cascadingCut(y);
+        }
+        min = x; // x is now a root, so we can treat it as the minimum and take it.
+        try {
+            take();
+        } catch (PQException e) {
+            throw new RuntimeException("logic error: heap cannot be empty", e);
         }
-        Node<K>[] rootNodes = new Node[rootCount];
+    }
+
+    /**
+     * Meld the other heap into this heap in constant time.
+     * The other heap is left empty.
+     *
+     * @param other another FibonacciHeap (with an equivalent comparator).
+     */
+    public void meld(FibonacciHeap<K> other) {
+        if (other == this || other.min == null) return;
+        if (min == null) min = other.min;
+        else {
+            splice(min, other.min);
+            if (comparator.compare(other.min.key, min.key) < 0) min = other.min;
+        }
+        n += other.n;
+        other.min = null;
+        other.n = 0;
+    }
+
+    private void consolidate() {
+        int rootCount = 0;
         Node<K> x = min;
-        for (int i = 0; i < rootCount; i++) {
-            rootNodes[i] = x;
+        do {
+            rootCount++;
             x = x.right;
-        }
-        for (Node<K> w : rootNodes) {
+        } while (x != min);
+        int maxDegree = -1;
+        Node<K> w = min;
+        for (int i = 0; i < rootCount; i++) {
+            Node<K> next = w.right; // NOTE that linking never removes a root which we have yet to visit.
             x = w;
             int d = x.degree;
-            while (A[d] != null) {
-                Node<K> y = A[d];
+            while (d < degrees.length && degrees[d] != null) {
+                Node<K> y = degrees[d];
                 if (comparator.compare(x.key, y.key) > 0) {
                     Node<K> temp = x;
                     x = y;
                     y = temp;
                 }
                 link(y, x);
-                A[d] = null;
+                degrees[d] = null;
                 d++;
             }
-            A[d] = x;
+            if (d >= degrees.length) degrees = Arrays.copyOf(degrees, 2 * d);
+            degrees[d] = x;
+            if (d > maxDegree) maxDegree = d;
+            w = next;
         }
+        // The surviving roots are exactly those in the degree table: find the minimum and clear the table.
         min = null;
-        for (int i = 0; i < D; i++) {
-            if (A[i] != null) {
-                if (min == null) {
-                    min = A[i];
-                    min.left = min;
-                    min.right = min;
-                } else {
-                    A[i].left = min;
-                    A[i].right = min.right;
-                    min.right.left = A[i];
-                    min.right = A[i];
-                    if (comparator.compare(A[i].key, min.key) < 0) {
-                        min = A[i];
-                    }
-                }
+        for (int i = 0; i <= maxDegree; i++) {
+            Node<K> a = degrees[i];
+            if (a != null) {
+                if (min == null || comparator.compare(a.key, min.key) < 0) min = a;
+                degrees[i] = null;
             }
         }
     }
@@ -178,8 +256,83 @@ public class FibonacciHeap<K> implements PriorityQueueInterface<K>, Iterable<K>
         y.mark = false;
     }
 
+    /**
+     * Cut x from its parent y and add it to the root list.
+     */
+    private void cut(Node<K> x, Node<K> y) {
+        if (x.right == x) y.child = null;
+        else {
+            x.left.right = x.right;
+            x.right.left = x.left;
+            if (y.child == x) y.child = x.right;
+        }
+        y.degree--;
+        x.parent = null;
+        x.mark = false;
+        x.left = x;
+        x.right = x;
+        splice(min, x);
+    }
+
+    private void cascadingCut(Node<K> y) {
+        Node<K> z = y.parent;
+        while (z != null) {
+            if (!y.mark) {
+                y.mark = true;
+                return;
+            }
+            cut(y, z);
+            y = z;
+            z = y.parent;
+        }
+    }
+
+    private void addToRootList(Node<K> node) {
+        if (min == null) {
+            min = node;
+        } else {
+            // Insert node into the root list.
+            splice(min, node);
+            if (comparator.compare(node.key, min.key) < 0) {
+                min = node;
+            }
+        }
+    }
+
+    /**
+     * Join the circular list containing b into the circular list containing a.
+     */
+    private static <K> void splice(Node<K> a, Node<K> b) {
+        Node<K> aRight = a.right;
+        Node<K> bLeft = b.left;
+        a.right = b;
+        b.left = a;
+        bLeft.right = aRight;
+        aRight.left = bLeft;
+    }
+
+    /**
+     * Non-mutating iterator over all keys of this FibonacciHeap.
+     * NOTE: after the first element, there is no definite ordering of the remaining elements.
+     *
+     * @return an iterator based on a copy of the keys.
+     */
     @Override
     public Iterator<K> iterator() {
-        throw new UnsupportedOperationException("Iterator not implemented for FibonacciHeap");
+        List<K> result = new ArrayList<>(n);
+        if (min != null) {
+            List<Node<K>> stack = new ArrayList<>();
+            stack.add(min);
+            while (!stack.isEmpty()) {
+                Node<K> start = stack.remove(stack.size() - 1);
+                Node<K> x = start;
+                do {
+                    result.add(x.key);
+                    if (x.child != null) stack.add(x.child);
+                    x = x.right;
+                } while (x != start);
+            }
+        }
+        return result.iterator();
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,8 @@ import java.util.Comparator;
  * For a 4-ary heap (with root at index 1):
  * - Parent of node at index k: (k - 2) / 4 + 1.
  * - First child of node at index k: 4*(k - 1) + 2.
+ * <p>
+ * The index arithmetic (and the scan of all four children when sinking) is handled by PriorityQueue.
  *
  * Can be used with floyd = false (basic) or floyd = true (with Floyd's trick).
  *
@@ -14,17 +16,11 @@ import java.util.Comparator;
  */
 public class FourAryHeap<K> extends PriorityQueue<K> {
 
-    public FourAryHeap(int n, boolean max, Comparator<K> comparator, boolean floyd) {
-        super(n, 1, max, comparator, floyd);
-    }
-
-    @Override
-    protected int parent(int k) {
-        return (k - 2) / 4 + 1;
+    public FourAryHeap(int n, boolean max, Comparator<K> comparator, boolean floyd, boolean growable) {
+        super(max, initialHeap(n), 1, 0, comparator, floyd, 4, growable);
     }
 
-    @Override
-    protected int firstChild(int k) {
-        return 4 * (k - 1) + 2;
+    public FourAryHeap(int n, boolean max, Comparator<K> comparator, boolean floyd) {
+        this(n, max, comparator, floyd, false);
     }
-}
\ No newline at end of file
+}
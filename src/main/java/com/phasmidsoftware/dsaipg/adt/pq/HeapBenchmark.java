@@ -63,6 +63,41 @@ public class HeapBenchmark {
         System.out.println();
     }
 
+    /**
+     * Compares building a heap by giving each element in turn with building it bottom-up (Floyd's construction).
+     *
+     * @param heapName the name of the heap (for reporting)
+     * @param n        the number of elements
+     * @param arity    the number of children of each node
+     */
+    public static void benchmarkHeapify(String heapName, int n, int arity) {
+        Random rand = new Random();
+        Integer[] keys = new Integer[n];
+        for (int i = 0; i < n; i++) keys[i] = rand.nextInt();
+        Comparator<Integer> comparator = Integer::compareTo;
+
+        Benchmark_Timer<Integer[]> giveTimer = new Benchmark_Timer<>(
+            heapName + " - Give each",
+            (Integer[] xs) -> {
+                PriorityQueue<Integer> heap = PriorityQueue.dary(n, arity, true, comparator, true, true);
+                for (Integer x : xs) heap.give(x);
+            }
+        );
+        double giveTime = giveTimer.runFromSupplier(() -> keys, 10);
+        System.out.println(heapName + " (n=" + n + ") Give each time: " + giveTime + " milliseconds");
+
+        Benchmark_Timer<Integer[]> heapifyTimer = new Benchmark_Timer<>(
+            heapName + " - Heapify",
+            (Integer[] xs) -> {
+                PriorityQueue<Integer> heap = PriorityQueue.dary(n, arity, true, comparator, true, true);
+                heap.giveAll(xs);
+            }
+        );
+        double heapifyTime = heapifyTimer.runFromSupplier(() -> keys, 10);
+        System.out.println(heapName + " (n=" + n + ") Heapify time: " + heapifyTime + " milliseconds");
+        System.out.println();
+    }
+
     public static void main(String[] args) {
         // Define different input sizes (number of insertions) for the benchmark.
         int[] inputSizes = {16000, 32000, 48000, 64000};
@@ -93,5 +128,11 @@ public class HeapBenchmark {
             benchmarkHeap(fouraryFloydHeap, "4-ary Heap with Floyd's Trick", size, numRemove);
             benchmarkHeap(fibonacciHeap, "Fibonacci Heap", size, numRemove);
         }
+
+        // Compare bulk construction with repeated insertion.
+        for (int size : inputSizes) {
+            benchmarkHeapify("Binary Heap", size * 16, 2);
+            benchmarkHeapify("4-ary Heap", size * 16, 4);
+        }
     }
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed minimum Priority Queue of int ids (for example, vertices) keyed by primitive long values.
+ * <p/>
+ * This is the primitive-specialized equivalent of IndexedPriorityQueue&lt;Long&gt; with max = false:
+ * the keys are held in a long[] (indexed by id) in parallel with the int[] heap and the int[] table of positions,
+ * so that neither insert nor decreaseKey nor take allocates any objects.
+ * It is intended for algorithms with integral priorities, such as Dijkstra's algorithm on graphs with integer weights.
+ * <p/>
+ * The heap is d-ary (binary by default) and grows as required.
+ */
+public class IndexedLongHeap {
+
+    /**
+     * Primary constructor.
+     *
+     * @param n     the initial capacity (this is a hint only: the heap will grow as required).
+     * @param arity the number of children of each node in the heap (2 for a binary heap, 4 for a 4-ary heap, etc.).
+     */
+    public IndexedLongHeap(int n, int arity) {
+        if (arity < 2) throw new IllegalArgumentException("arity must be at least 2: " + arity);
+        int capacity = Math.max(n, 1);
+        this.arity = arity;
+        heap = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        keys = new long[capacity];
+    }
+
+    /**
+     * Secondary constructor which builds a binary heap.
+     *
+     * @param n the initial capacity (this is a hint only: the heap will grow as required).
+     */
+    public IndexedLongHeap(int n) {
+        this(n, 2);
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of ids in this heap.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Method to determine if id i is in this heap.
+     *
+     * @param i the id.
+     * @return true if i is in this heap.
+     */
+    public boolean contains(int i) {
+        return i >= 0 && i < positions.length && positions[i] >= 0;
+    }
+
+    /**
+     * Insert id i with the given key.
+     *
+     * @param i   the id (a non-negative int).
+     * @param key the key.
+     * @throws IllegalArgumentException if i is negative or is already in this heap.
+     */
+    public void insert(int i, long key) {
+        if (i < 0) throw new IllegalArgumentException("id is negative: " + i);
+        ensureIdCapacity(i);
+        if (positions[i] >= 0) throw new IllegalArgumentException("id is already in the heap: " + i);
+        if (n == heap.length) heap = Arrays.copyOf(heap, 2 * heap.length);
+        keys[i] = key;
+        swimUp(n++, i);
+    }
+
+    /**
+     * Get the key of id i.
+     *
+     * @param i the id.
+     * @return the key of i.
+     * @throws NoSuchElementException if i is not in this heap.
+     */
+    public long keyOf(int i) {
+        validateId(i);
+        return keys[i];
+    }
+
+    /**
+     * Get (without removing) the id with the minimum key.
+     *
+     * @return the id at the root of the heap.
+     * @throws PQException if this heap is empty.
+     */
+    public int peek() throws PQException {
+        if (n == 0) throw new PQException("heap is empty");
+        return heap[0];
+    }
+
+    /**
+     * Get the minimum key.
+     *
+     * @return the key of the id at the root of the heap.
+     * @throws PQException if this heap is empty.
+     */
+    public long peekKey() throws PQException {
+        return keys[peek()];
+    }
+
+    /**
+     * Remove the id with the minimum key.
+     *
+     * @return the id which was at the root of the heap.
+     * @throws PQException if this heap is empty.
+     */
+    public int take() throws PQException {
+        int result = peek();
+        positions[result] = -1;
+        if (--n > 0) sink(0, heap[n]);
+        return result;
+    }
+
+    /**
+     * Set the key of id i, inserting i if it is not already present.
+     *
+     * @param i   the id.
+     * @param key the new key.
+     */
+    public void put(int i, long key) {
+        if (contains(i)) changeKey(i, key);
+        else insert(i, key);
+    }
+
+    /**
+     * Change the key of id i.
+     *
+     * @param i   the id.
+     * @param key the new key.
+     * @throws NoSuchElementException if i is not in this heap.
+     */
+    public void changeKey(int i, long key) {
+        validateId(i);
+        long old = keys[i];
+        keys[i] = key;
+        if (key < old) swimUp(positions[i], i);
+        else sink(positions[i], i);
+    }
+
+    /**
+     * Decrease the key of id i.
+     *
+     * @param i   the id.
+     * @param key the new key which must not be greater than the current key.
+     * @throws NoSuchElementException   if i is not in this heap.
+     * @throws IllegalArgumentException if key is greater than the current key.
+     */
+    public void decreaseKey(int i, long key) {
+        validateId(i);
+        if (key > keys[i])
+            throw new IllegalArgumentException("decreaseKey: key " + key + " is greater than the current key " + keys[i]);
+        keys[i] = key;
+        swimUp(positions[i], i);
+    }
+
+    /**
+     * Remove id i from this heap.
+     *
+     * @param i the id.
+     * @throws NoSuchElementException if i is not in this heap.
+     */
+    public void delete(int i) {
+        validateId(i);
+        int k = positions[i];
+        positions[i] = -1;
+        if (k == --n) return;
+        int last = heap[n];
+        if (keys[last] < keys[i]) swimUp(k, last);
+        else sink(k, last);
+    }
+
+    /**
+     * Remove all ids from this heap (the capacity is retained).
+     */
+    public void clear() {
+        for (int k = 0; k < n; k++) positions[heap[k]] = -1;
+        n = 0;
+    }
+
+    /**
+     * Place id i (whose key is already in keys) into the hole at position k and move it up as required.
+     */
+    private void swimUp(int k, int i) {
+        long key = keys[i];
+        while (k > 0) {
+            int p = (k - 1) / arity;
+            int parent = heap[p];
+            if (keys[parent] <= key) break;
+            heap[k] = parent;
+            positions[parent] = k;
+            k = p;
+        }
+        heap[k] = i;
+        positions[i] = k;
+    }
+
+    /**
+     * Place id i (whose key is already in keys) into the hole at position k and move it down as required.
+     */
+    private void sink(int k, int i) {
+        long key = keys[i];
+        while (true) {
+            int c = arity * k + 1;
+            if (c >= n) break;
+            int best = c;
+            long bestKey = keys[heap[c]];
+            int limit = Math.min(c + arity, n);
+            for (int j = c + 1; j < limit; j++) {
+                long x = keys[heap[j]];
+                if (x < bestKey) {
+                    best = j;
+                    bestKey = x;
+                }
+            }
+            if (bestKey >= key) break;
+            int child = heap[best];
+            heap[k] = child;
+            positions[child] = k;
+            k = best;
+        }
+        heap[k] = i;
+        positions[i] = k;
+    }
+
+    private void validateId(int i) {
+        if (!contains(i)) throw new NoSuchElementException("id is not in the heap: " + i);
+    }
+
+    private void ensureIdCapacity(int i) {
+        if (i < positions.length) return;
+        int capacity = Math.max(i + 1, 2 * positions.length);
+        int length = positions.length;
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, length, capacity, -1);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    private final int arity;
+    private int[] heap; // heap[k] is the id at position k of the heap (the root is at 0)
+    private int[] positions; // positions[i] is the position in heap of id i (or -1 if i is not in the heap)
+    private long[] keys; // keys[i] is the key of id i
+    private int n; // number of ids in the heap
+}
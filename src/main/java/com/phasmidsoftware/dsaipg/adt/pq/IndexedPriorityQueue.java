@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed Priority Queue which uses a d-ary heap (binary by default).
+ * <p/>
+ * Each key in the queue is associated with an integer handle (a non-negative int).
+ * The client uses the handle to test membership, to look up a key, or to change or delete a key,
+ * so that decrease-key (as required by Dijkstra's and Prim's algorithms) takes O(log n) time
+ * rather than the O(n) time of a search through the heap.
+ * <p/>
+ * Unlike PriorityQueue, this queue is not limited in capacity: the heap and the handle tables
+ * grow as required.
+ * It can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
+ * <p/>
+ * Handles may be chosen by the client (see insert(int, K)) or assigned by the queue (see insert(K) and give(K)).
+ * A client should not mix the two schemes on the same queue: a handle which has been removed from the queue
+ * may subsequently be assigned by insert(K).
+ *
+ * @param <K> the key type.
+ */
+public class IndexedPriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K> {
+
+    /**
+     * Primary constructor.
+     *
+     * @param n          the initial capacity (this is a hint only: the queue will grow as required).
+     * @param arity      the number of children of each node in the heap (2 for a binary heap, 4 for a 4-ary heap, etc.).
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public IndexedPriorityQueue(int n, int arity, boolean max, Comparator<K> comparator) {
+        if (arity < 2) throw new IllegalArgumentException("arity must be at least 2: " + arity);
+        int capacity = Math.max(n, 1);
+        this.arity = arity;
+        this.max = max;
+        this.comparator = comparator;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        this.keys = new Object[capacity];
+        this.free = new int[0];
+    }
+
+    /**
+     * Secondary constructor which builds a binary heap.
+     *
+     * @param n          the initial capacity (this is a hint only: the queue will grow as required).
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public IndexedPriorityQueue(int n, boolean max, Comparator<K> comparator) {
+        this(n, 2, max, comparator);
+    }
+
+    /**
+     * Secondary constructor which builds a binary max-heap.
+     *
+     * @param n          the initial capacity (this is a hint only: the queue will grow as required).
+     * @param comparator a comparator for the type K
+     */
+    public IndexedPriorityQueue(int n, Comparator<K> comparator) {
+        this(n, true, comparator);
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of elements actually stored in this Priority Queue
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Insert an element with the given key into this Priority Queue, using a handle assigned by the queue.
+     *
+     * @param key the value of the key to give
+     */
+    public void give(K key) {
+        insert(key);
+    }
+
+    /**
+     * Insert an element with the given key into this Priority Queue, using a handle assigned by the queue.
+     *
+     * @param key the value of the key to insert.
+     * @return the handle which has been assigned to key.
+     */
+    public int insert(K key) {
+        int i = nextHandle;
+        while (freeCount > 0)
+            if (!contains(free[--freeCount])) {
+                i = free[freeCount];
+                break;
+            }
+        insert(i, key);
+        return i;
+    }
+
+    /**
+     * Insert an element with the given key and the given handle into this Priority Queue.
+     *
+     * @param i   the handle (a non-negative int).
+     * @param key the value of the key to insert.
+     * @throws IllegalArgumentException if i is negative or is already in this Priority Queue.
+     */
+    public void insert(int i, K key) {
+        if (i < 0) throw new IllegalArgumentException("handle is negative: " + i);
+        ensureHandleCapacity(i);
+        if (positions[i] >= 0) throw new IllegalArgumentException("handle is already in the priority queue: " + i);
+        if (n == heap.length) heap = Arrays.copyOf(heap, 2 * heap.length);
+        if (i >= nextHandle) nextHandle = i + 1;
+        keys[i] = key;
+        heap[n] = i;
+        positions[i] = n;
+        swimUp(n++);
+    }
+
+    /**
+     * Method to determine if there is an element with handle i in this Priority Queue.
+     *
+     * @param i the handle.
+     * @return true if i is the handle of an element of this Priority Queue.
+     */
+    public boolean contains(int i) {
+        return i >= 0 && i < positions.length && positions[i] >= 0;
+    }
+
+    /**
+     * Get the key associated with the handle i.
+     *
+     * @param i the handle.
+     * @return the key associated with i.
+     * @throws NoSuchElementException if i is not in this Priority Queue.
+     */
+    public K keyOf(int i) {
+        validateHandle(i);
+        return key(i);
+    }
+
+    /**
+     * Get (without removing) the root element from this Priority Queue.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K peek() throws PQException {
+        return key(peekHandle());
+    }
+
+    /**
+     * Get (without removing) the handle of the root element from this Priority Queue.
+     *
+     * @return the handle of the maximum element (if max is true), otherwise of the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public int peekHandle() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return heap[0];
+    }
+
+    /**
+     * Remove the root element from this Priority Queue and adjust the heap accordingly.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K take() throws PQException {
+        int i = peekHandle();
+        K result = key(i);
+        remove(0);
+        return result;
+    }
+
+    /**
+     * Remove the root element from this Priority Queue and adjust the heap accordingly.
+     *
+     * @return the handle of the maximum element (if max is true), otherwise of the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public int takeHandle() throws PQException {
+        int i = peekHandle();
+        remove(0);
+        return i;
+    }
+
+    /**
+     * Change the key associated with handle i to the given value.
+     *
+     * @param i   the handle.
+     * @param key the new key.
+     * @throws NoSuchElementException if i is not in this Priority Queue.
+     */
+    public void changeKey(int i, K key) {
+        validateHandle(i);
+        keys[i] = key;
+        swimUp(positions[i]);
+        sink(positions[i]);
+    }
+
+    /**
+     * Decrease the key associated with handle i to the given value.
+     * For a minPQ, the element will move towards the root; for a maxPQ, it will move away from the root.
+     *
+     * @param i   the handle.
+     * @param key the new key which must not be greater than the current key.
+     * @throws NoSuchElementException   if i is not in this Priority Queue.
+     * @throws IllegalArgumentException if key is greater than the current key.
+     */
+    public void decreaseKey(int i, K key) {
+        validateHandle(i);
+        if (comparator.compare(key, key(i)) > 0)
+            throw new IllegalArgumentException("decreaseKey: key " + key + " is greater than the current key " + key(i));
+        keys[i] = key;
+        if (max) sink(positions[i]);
+        else swimUp(positions[i]);
+    }
+
+    /**
+     * Increase the key associated with handle i to the given value.
+     * For a maxPQ, the element will move towards the root; for a minPQ, it will move away from the root.
+     *
+     * @param i   the handle.
+     * @param key the new key which must not be less than the current key.
+     * @throws NoSuchElementException   if i is not in this Priority Queue.
+     * @throws IllegalArgumentException if key is less than the current key.
+     */
+    public void increaseKey(int i, K key) {
+        validateHandle(i);
+        if (comparator.compare(key, key(i)) < 0)
+            throw new IllegalArgumentException("increaseKey: key " + key + " is less than the current key " + key(i));
+        keys[i] = key;
+        if (max) swimUp(positions[i]);
+        else sink(positions[i]);
+    }
+
+    /**
+     * Remove the element with handle i from this Priority Queue.
+     *
+     * @param i the handle.
+     * @throws NoSuchElementException if i is not in this Priority Queue.
+     */
+    public void delete(int i) {
+        validateHandle(i);
+        remove(positions[i]);
+    }
+
+    /**
+     * Non-mutating iterator over all keys of this IndexedPriorityQueue.
+     * NOTE: after the first element, there is no definite ordering of the remaining elements.
+     *
+     * @return an iterator based on a copy of the keys.
+     */
+    public Iterator<K> iterator() {
+        List<K> copy = new ArrayList<>(n);
+        for (int k = 0; k < n; k++) copy.add(key(heap[k]));
+        return copy.iterator();
+    }
+
+    /**
+     * Remove the element at heap position k, restore the heap order and release its handle.
+     *
+     * @param k the position in the heap.
+     */
+    private void remove(int k) {
+        int i = heap[k];
+        swap(k, --n);
+        positions[i] = -1;
+        keys[i] = null; // prevent loitering
+        if (k < n) {
+            swimUp(k);
+            sink(k);
+        }
+        if (freeCount == free.length) free = Arrays.copyOf(free, Math.max(4, 2 * freeCount));
+        free[freeCount++] = i;
+    }
+
+    /**
+     * Swim the element at heap position k up.
+     */
+    private void swimUp(int k) {
+        while (k > 0) {
+            int p = (k - 1) / arity;
+            if (!unordered(p, k)) break;
+            swap(k, p);
+            k = p;
+        }
+    }
+
+    /**
+     * Sink the element at heap position k down.
+     */
+    private void sink(int k) {
+        while (true) {
+            int c = arity * k + 1;
+            if (c >= n) break;
+            int best = c;
+            int limit = Math.min(c + arity, n);
+            for (int j = c + 1; j < limit; j++) if (unordered(best, j)) best = j;
+            if (!unordered(k, best)) break;
+            swap(k, best);
+            k = best;
+        }
+    }
+
+    /**
+     * Compare the elements at heap positions i and j, where i is nearer the root.
+     *
+     * @return true if the values are out of order.
+     */
+    private boolean unordered(int i, int j) {
+        int cf = comparator.compare(key(heap[i]), key(heap[j]));
+        return max ? cf < 0 : cf > 0;
+    }
+
+    /**
+     * Exchange the values at heap positions i and j, maintaining the inverse mapping.
+     */
+    private void swap(int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+        positions[heap[i]] = i;
+        positions[heap[j]] = j;
+    }
+
+    private void validateHandle(int i) {
+        if (!contains(i)) throw new NoSuchElementException("handle is not in the priority queue: " + i);
+    }
+
+    private void ensureHandleCapacity(int i) {
+        if (i < positions.length) return;
+        int capacity = Math.max(i + 1, 2 * positions.length);
+        int length = positions.length;
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, length, capacity, -1);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    private K key(int i) {
+        //noinspection unchecked
+        return (K) keys[i];
+    }
+
+    private final int arity;
+    private final boolean max;
+    private final Comparator<K> comparator;
+    private int[] heap; // heap[k] is the handle of the element at position k of the heap (the root is at 0)
+    private int[] positions; // positions[i] is the position in heap of handle i (or -1 if i is not in the queue)
+    private Object[] keys; // keys[i] is the key associated with handle i
+    private int[] free; // a stack of handles which have been released
+    private int freeCount; // number of handles in free
+    private int nextHandle; // one greater than the largest handle yet used
+    private int n; // number of elements in the heap
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent, relaxed Priority Queue (a "MultiQueue") for multiple producers and multiple consumers.
+ * <p/>
+ * The queue consists of c * t sequential heaps (instances of PriorityQueue), each guarded by its own lock,
+ * where t is the expected number of threads and c is the relaxation factor.
+ * give inserts into a randomly chosen heap; take looks at the roots of two randomly chosen heaps
+ * and removes the better of the two.
+ * Threads therefore rarely contend for the same lock, at the cost of relaxed ordering:
+ * take returns an element which is close to, but not necessarily, the best element in the queue.
+ * The expected rank error grows linearly with the number of heaps, so c trades ordering quality for throughput
+ * (c = 1 gives the tightest ordering; c = 2 is the usual choice).
+ * <p/>
+ * The queue is unbounded (each heap grows as required) and elements are never lost:
+ * take throws PQException only if the queue is empty at the moment take is called.
+ *
+ * @param <K> the key type.
+ */
+public class MultiQueue<K> implements PriorityQueueInterface<K> {
+
+    /**
+     * Primary constructor.
+     *
+     * @param threads    the expected number of threads which will use this queue.
+     * @param c          the relaxation factor: the number of heaps per thread (at least 1).
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    @SuppressWarnings("unchecked")
+    public MultiQueue(int threads, int c, boolean max, Comparator<K> comparator) {
+        if (threads < 1) throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        if (c < 1) throw new IllegalArgumentException("relaxation factor must be at least 1: " + c);
+        this.ordering = max ? comparator.reversed() : comparator;
+        int m = Math.max(2, threads * c);
+        heaps = new PriorityQueue[m];
+        locks = new ReentrantLock[m];
+        tops = new AtomicReferenceArray<>(m);
+        for (int i = 0; i < m; i++) {
+            heaps[i] = new PriorityQueue<>(16, max, comparator, true, true);
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Secondary constructor which uses the number of available processors and a relaxation factor of 2.
+     *
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     */
+    public MultiQueue(boolean max, Comparator<K> comparator) {
+        this(Runtime.getRuntime().availableProcessors(), 2, max, comparator);
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * @return the number of elements in this queue (a snapshot, if other threads are active).
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * @return the number of sequential heaps in this queue.
+     */
+    public int heaps() {
+        return heaps.length;
+    }
+
+    /**
+     * Insert an element into a randomly chosen heap.
+     *
+     * @param key the value of the key to give
+     */
+    public void give(K key) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(heaps.length);
+        while (!locks[i].tryLock()) i = random.nextInt(heaps.length);
+        try {
+            PriorityQueue<K> heap = heaps[i];
+            heap.give(key);
+            updateTop(i);
+        } finally {
+            locks[i].unlock();
+        }
+        // NOTE that the element is counted only once it is actually in a heap (see take).
+        count.incrementAndGet();
+    }
+
+    /**
+     * Remove a best (or nearly best) element from this queue.
+     *
+     * @return an element which is at, or near, the root of this queue.
+     * @throws PQException if this queue is empty.
+     */
+    public K take() throws PQException {
+        // First, reserve an element: thereafter, we know that there is an element in some heap which belongs to us.
+        int n;
+        do {
+            n = count.get();
+            if (n == 0) throw new PQException("MultiQueue is empty");
+        } while (!count.compareAndSet(n, n - 1));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int i = random.nextInt(heaps.length);
+            int j = random.nextInt(heaps.length);
+            int best = better(i, j);
+            if (tops.get(best) != null && locks[best].tryLock()) {
+                try {
+                    if (!heaps[best].isEmpty()) return takeFrom(best);
+                } finally {
+                    locks[best].unlock();
+                }
+            }
+        }
+        // Fall back on a systematic search (this is only necessary when the queue holds very few elements).
+        while (true)
+            for (int i = 0; i < heaps.length; i++) {
+                locks[i].lock();
+                try {
+                    if (!heaps[i].isEmpty()) return takeFrom(i);
+                } finally {
+                    locks[i].unlock();
+                }
+            }
+    }
+
+    /**
+     * Choose the heap with the better root (an empty heap is always worse).
+     * The roots are read without locking, so the choice is only a heuristic.
+     */
+    private int better(int i, int j) {
+        K x = tops.get(i);
+        K y = tops.get(j);
+        if (x == null) return j;
+        if (y == null) return i;
+        return ordering.compare(x, y) <= 0 ? i : j;
+    }
+
+    /**
+     * Take the root of heap i, which must be locked by the current thread and non-empty.
+     */
+    private K takeFrom(int i) {
+        try {
+            K result = heaps[i].take();
+            updateTop(i);
+            return result;
+        } catch (PQException e) {
+            throw new RuntimeException("logic error: heap cannot be empty", e);
+        }
+    }
+
+    /**
+     * Update the cached root of heap i, which must be locked by the current thread.
+     */
+    private void updateTop(int i) {
+        try {
+            tops.set(i, heaps[i].isEmpty() ? null : heaps[i].peek());
+        } catch (PQException e) {
+            throw new RuntimeException("logic error: heap cannot be empty", e);
+        }
+    }
+
+    private static final int MAX_ATTEMPTS = 64;
+
+    private final Comparator<K> ordering; // the comparator, reversed if this is a maxPQ
+    private final PriorityQueue<K>[] heaps; // the sequential heaps
+    private final ReentrantLock[] locks; // locks[i] guards heaps[i]
+    private final AtomicReferenceArray<K> tops; // tops.get(i) is the root of heaps[i] (or null if empty): a hint, read without locking
+    private final AtomicInteger count = new AtomicInteger(); // number of elements given but not yet reserved by take
+}
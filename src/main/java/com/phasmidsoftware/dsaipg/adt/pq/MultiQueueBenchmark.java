@@ -0,0 +1,164 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.phasmidsoftware.dsaipg.util.Benchmark_Timer;
+
+public class MultiQueueBenchmark {
+
+    /**
+     * A PriorityQueue guarded by a single lock: the baseline against which MultiQueue is compared.
+     */
+    static class SynchronizedQueue<K> implements PriorityQueueInterface<K> {
+        SynchronizedQueue(boolean max, Comparator<K> comparator) {
+            pq = new PriorityQueue<>(16, max, comparator, true, true);
+        }
+
+        public synchronized boolean isEmpty() {
+            return pq.isEmpty();
+        }
+
+        public synchronized int size() {
+            return pq.size();
+        }
+
+        public synchronized void give(K key) {
+            pq.give(key);
+        }
+
+        public synchronized K take() throws PQException {
+            return pq.take();
+        }
+
+        private final PriorityQueue<K> pq;
+    }
+
+    /**
+     * Runs a stress/throughput test: the queue is pre-filled, then each of the given number of threads
+     * repeatedly takes an element and gives a new one (as a worklist-driven search does).
+     * Afterwards, the queue is drained (by one thread) to check that no element was lost or duplicated.
+     *
+     * @param queueSupplier a supplier of empty queues
+     * @param queueName     the name of the queue (for reporting)
+     * @param threads       the number of threads
+     * @param prefill       the number of elements given before the threads start
+     * @param operations    the number of take/give pairs performed by each thread
+     */
+    public static void benchmarkQueue(Supplier<PriorityQueueInterface<Integer>> queueSupplier, String queueName, int threads, int prefill, int operations) {
+        Benchmark_Timer<PriorityQueueInterface<Integer>> timer = new Benchmark_Timer<>(
+            queueName + " - Take/Give",
+            (PriorityQueueInterface<Integer> ignored) -> {
+                PriorityQueueInterface<Integer> queue = queueSupplier.get();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sum = 0;
+                for (int i = 0; i < prefill; i++) {
+                    int x = random.nextInt(1_000_000);
+                    queue.give(x);
+                    sum += x;
+                }
+                AtomicLong delta = new AtomicLong();
+                Thread[] workers = new Thread[threads];
+                for (int t = 0; t < threads; t++) {
+                    workers[t] = new Thread(() -> {
+                        ThreadLocalRandom r = ThreadLocalRandom.current();
+                        long d = 0;
+                        try {
+                            for (int i = 0; i < operations; i++) {
+                                int x = queue.take();
+                                int y = x + r.nextInt(1000);
+                                queue.give(y);
+                                d += y - x;
+                            }
+                        } catch (PQException e) {
+                            throw new RuntimeException("queue should never be empty", e);
+                        }
+                        delta.addAndGet(d);
+                    });
+                    workers[t].start();
+                }
+                for (Thread worker : workers)
+                    try {
+                        worker.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                // Drain the queue and check that what comes out is what went in.
+                long drained = 0;
+                int count = 0;
+                try {
+                    while (!queue.isEmpty()) {
+                        drained += queue.take();
+                        count++;
+                    }
+                } catch (PQException e) {
+                    throw new RuntimeException(e);
+                }
+                if (count != prefill || drained != sum + delta.get())
+                    throw new RuntimeException(queueName + ": elements were lost or duplicated");
+            }
+        );
+        double time = timer.runFromSupplier(() -> null, 5);
+        double throughput = 2.0 * threads * operations / time;
+        System.out.println(queueName + " (threads=" + threads + ") Take/Give time: " + time + " milliseconds; throughput: " + (long) throughput + " operations/millisecond");
+    }
+
+    /**
+     * Measures the ordering quality of a queue: the queue is filled with a random permutation of 0..n-1 and then
+     * drained, and we report the mean difference between the element taken and the best element remaining
+     * (the rank error: zero for a strict priority queue).
+     *
+     * @param queue     an empty (min) queue
+     * @param queueName the name of the queue (for reporting)
+     * @param n         the number of elements
+     */
+    public static void benchmarkQuality(PriorityQueueInterface<Integer> queue, String queueName, int n) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] xs = new int[n];
+        for (int i = 0; i < n; i++) xs[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = xs[i];
+            xs[i] = xs[j];
+            xs[j] = tmp;
+        }
+        for (int x : xs) queue.give(x);
+        boolean[] taken = new boolean[n];
+        int best = 0;
+        long error = 0;
+        try {
+            for (int i = 0; i < n; i++) {
+                int x = queue.take();
+                taken[x] = true;
+                error += x - best;
+                while (best < n && taken[best]) best++;
+            }
+        } catch (PQException e) {
+            throw new RuntimeException(e);
+        }
+        System.out.println(queueName + " (n=" + n + ") mean rank error: " + (double) error / n);
+    }
+
+    public static void main(String[] args) {
+        int[] threadCounts = {1, 2, 4, 8};
+        int[] relaxations = {1, 2, 4};
+        int prefill = 100_000;
+        int operations = 200_000;
+        Comparator<Integer> comparator = Integer::compareTo;
+
+        for (int threads : threadCounts) {
+            System.out.println("=== Benchmarking for threads: " + threads + " ===");
+            benchmarkQueue(() -> new SynchronizedQueue<>(false, comparator), "Synchronized Binary Heap", threads, prefill, operations);
+            for (int c : relaxations)
+                benchmarkQueue(() -> new MultiQueue<>(threads, c, false, comparator), "MultiQueue (c=" + c + ")", threads, prefill, operations);
+            System.out.println();
+        }
+
+        System.out.println("=== Ordering quality ===");
+        for (int threads : threadCounts)
+            for (int c : relaxations)
+                benchmarkQuality(new MultiQueue<>(threads, c, false, comparator), "MultiQueue (threads=" + threads + ", c=" + c + ")", prefill);
+    }
+}
@@ -9,13 +9,13 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.function.BiPredicate;
-import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
- * Priority Queue Data Structure which uses a binary heap.
+ * Priority Queue Data Structure which uses a binary heap (or, in subclasses such as FourAryHeap, a d-ary heap).
  * <p/>
- * It is unlimited in capacity, although there is no code to grow it after it has been constructed.
+ * By default, it is limited in capacity: once full, giving a new element trashes the least eligible element.
+ * However, if it is constructed as "growable," then the underlying array is doubled in size whenever it is full.
  * It can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
  * <p/>
  * It can support the root at index 1 or the root at index 2 variants.
@@ -24,6 +24,9 @@ import java.util.function.Consumer;
  * the methods to insert and remove the max (or min) element are called "give" and "take," respectively.
  * <p/>
  * It operates on arbitrary Object types which implies that it requires a Comparator to be passed in.
+ * The direction of the heap (max or min) is folded into that comparator at construction time,
+ * and the swim/sink operations move a "hole" rather than swapping pairs of elements,
+ * so that the hot path (give and take) does no boxing and invokes no lambdas other than the comparator.
  * <p/>
  * For all details on usage, please see PriorityQueueTest.java
  *
@@ -40,22 +43,61 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
      * @param last       the number of elements in binHeap
      * @param comparator a comparator for the type K
      * @param floyd      true if we use Floyd's trick
+     * @param arity      the number of children of each node (2 for a binary heap).
+     * @param growable   true if the binHeap should be grown when it is full.
      */
-    public PriorityQueue(boolean max, Object[] binHeap, int first, int last, Comparator<K> comparator, boolean floyd) {
+    protected PriorityQueue(boolean max, Object[] binHeap, int first, int last, Comparator<K> comparator, boolean floyd, int arity, boolean growable) {
+        if (arity < 2) throw new IllegalArgumentException("arity must be at least 2: " + arity);
         this.max = max;
         this.first = first;
-        this.comparator = comparator;
+        this.ordering = max ? comparator.reversed() : comparator;
         this.last = last;
         //noinspection unchecked
         this.binHeap = (K[]) binHeap;
         this.floyd = floyd;
+        this.arity = arity;
+        this.growable = growable;
+    }
+
+    /**
+     * Constructor that takes the max value, an actual array of elements, and a comparator.
+     *
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param binHeap    a pre-formed array with length one greater than the required capacity.
+     * @param first      the index of the root element.
+     * @param last       the number of elements in binHeap
+     * @param comparator a comparator for the type K
+     * @param floyd      true if we use Floyd's trick
+     */
+    public PriorityQueue(boolean max, Object[] binHeap, int first, int last, Comparator<K> comparator, boolean floyd) {
+        this(max, binHeap, first, last, comparator, floyd, 2, false);
+    }
+
+    /**
+     * Method to create a d-ary heap (with its root at index 1).
+     * NOTE: this is a factory method (rather than a constructor) so that arity cannot be confused with
+     * the index of the root, which is the second parameter of PriorityQueue(int, int, boolean, Comparator, boolean).
+     *
+     * @param n          the desired (initial) capacity.
+     * @param arity      the number of children of each node (2 for a binary heap, 4 for a 4-ary heap, etc.).
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     * @param floyd      true if we use Floyd's trick
+     * @param growable   true if the capacity should be grown as required.
+     * @param <K>        the type of the elements.
+     * @return a new, empty PriorityQueue.
+     * @throws IllegalArgumentException if arity is less than 2.
+     */
+    public static <K> PriorityQueue<K> dary(int n, int arity, boolean max, Comparator<K> comparator, boolean floyd, boolean growable) {
+        return new PriorityQueue<>(max, initialHeap(n), 1, 0, comparator, floyd, arity, growable);
     }
 
     /**
      * Secondary constructor which takes only the priority queue's maximum capacity and a comparator
+     * NOTE: the second parameter is the index of the root (not the arity): for a d-ary heap, see dary.
      *
      * @param n          the desired maximum capacity.
-     * @param first      the index to use for the first (root) element.
+     * @param first      the index to use for the first (root) element (1 or 2).
      * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
      * @param comparator a comparator for the type K
      */
@@ -65,6 +107,19 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
         this(max, new Object[n + first], first, 0, comparator, floyd);
     }
 
+    /**
+     * Secondary constructor which takes the priority queue's (initial) capacity and a comparator
+     *
+     * @param n          the desired (initial) capacity.
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     * @param floyd      true if we use Floyd's trick
+     * @param growable   true if the capacity should be grown as required.
+     */
+    public PriorityQueue(int n, boolean max, Comparator<K> comparator, boolean floyd, boolean growable) {
+        this(max, initialHeap(n), 1, 0, comparator, floyd, 2, growable);
+    }
+
     /**
      * Secondary constructor which takes only the priority queue's maximum capacity and a comparator
      *
@@ -101,6 +156,22 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
         this(n, 1, true, comparator, true);
     }
 
+    /**
+     * Factory method to create a growable binary heap from an array of keys, using Floyd's bottom-up construction.
+     *
+     * @param keys       the keys (the array is not modified).
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K
+     * @param floyd      true if we use Floyd's trick
+     * @param <K>        the key type.
+     * @return a new PriorityQueue containing all the keys.
+     */
+    public static <K> PriorityQueue<K> create(K[] keys, boolean max, Comparator<K> comparator, boolean floyd) {
+        PriorityQueue<K> result = new PriorityQueue<>(keys.length, max, comparator, floyd, true);
+        result.giveAll(keys);
+        return result;
+    }
+
     /**
      * @return true if the current size is zero.
      */
@@ -121,13 +192,50 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
      * @param key the value of the key to give
      */
     public void give(K key) {
-        if (last == binHeap.length - first)
-            last--; // if we are already at capacity, then we arbitrarily trash the least eligible element
-        // (even if it's more eligible than key).
-        binHeap[++last + first - 1] = key; // insert the key into the binary heap just after the last element
+        if (last == binHeap.length - first) {
+            if (growable) binHeap = Arrays.copyOf(binHeap, 2 * binHeap.length);
+            else last--; // if we are already at capacity, then we arbitrarily trash the least eligible element
+            // (even if it's more eligible than key).
+        }
+        binHeap[last++ + first] = key; // insert the key into the binary heap just after the last element
         swimUp(last + first - 1); // reorder the binary heap
     }
 
+    /**
+     * Insert all the given keys into this Priority Queue.
+     * The keys are appended to the heap which is then rebuilt bottom-up (Floyd's heap construction),
+     * which takes linear time rather than the n log n time of giving each key in turn.
+     * <p>
+     * NOTE: if this Priority Queue is not growable and there is insufficient capacity,
+     * then the keys are given one at a time (and the least eligible elements are trashed).
+     *
+     * @param keys the keys to be inserted.
+     */
+    public void giveAll(K[] keys) {
+        int required = last + keys.length;
+        if (required > binHeap.length - first) {
+            if (!growable) {
+                for (K key : keys) give(key);
+                return;
+            }
+            binHeap = Arrays.copyOf(binHeap, Math.max(required + first, 2 * binHeap.length));
+        }
+        System.arraycopy(keys, 0, binHeap, last + first, keys.length);
+        last = required;
+        for (int k = parent(last + first - 1); k >= first; k--) sink(k);
+    }
+
+    /**
+     * Get (without removing) the root element from this Priority Queue.
+     *
+     * @return If max is true, then the maximum element, otherwise the minimum element.
+     * @throws PQException if this priority queue is empty
+     */
+    public K peek() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        return binHeap[first];
+    }
+
     /**
      * Remove the root element from this Priority Queue and adjust the binary heap accordingly.
      * If max is true, then the result will be the maximum element, else the minimum element.
@@ -138,8 +246,11 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
      */
     public K take() throws PQException {
         if (isEmpty()) throw new PQException("Priority queue is empty");
-        if (floyd) return doTake(this::snake);
-        else return doTake(this::sink);
+        K result = detachRoot();
+        if (last > 0)
+            if (floyd) snake(first);
+            else sink(first);
+        return result;
     }
 
     /**
@@ -147,42 +258,55 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
      * reorganizes the heap to maintain the priority queue properties,
      * and applies the provided function to the root index.
      *
-     * @param f a consumer function that manipulates the root index to maintain the heap order.
+     * @param f a function that manipulates the root index to maintain the heap order.
      * @return the root element of the priority queue before reorganization.
      */
-    K doTake(Consumer<Integer> f) {
-        K result = binHeap[first]; // get the root element (the largest or smallest, according to field max)
-        swap(first, last-- + first - 1); // swap the root element with the last element
+    K doTake(IntConsumer f) {
+        K result = detachRoot();
         f.accept(first); // invoke the function f so that it is ordered again
-        binHeap[last + first] = null; // prevent loitering
         return result;
     }
 
     /**
      * Sink the element at index k down
      */
-    void sink(@SuppressWarnings("SameParameterValue") int k) {
-        doHeapify(k, (a, b) -> !unordered(a, b));
+    void sink(int k) {
+        K x = binHeap[k];
+        int end = last + first;
+        int i = k;
+        for (int j = firstChild(i); j < end; j = firstChild(i)) {
+            j = bestChild(j, end);
+            if (ordering.compare(x, binHeap[j]) <= 0) break;
+            binHeap[i] = binHeap[j];
+            i = j;
+        }
+        binHeap[i] = x;
     }
 
     /**
-     * Special sink method that sinks the element and then swim the element back
+     * Special sink method (Floyd's trick) that sinks the element all the way to the bottom of the heap
+     * (without comparing it with the children) and then swims the element back up (but no further than k).
      *
      * @param k the starting index of the element in the heap to be adjusted.
      */
-    void snake(@SuppressWarnings("SameParameterValue") int k) {
-        swimUp(doHeapify(k, (a, b) -> !unordered(a, b)));
+    void snake(int k) {
+        K x = binHeap[k];
+        int end = last + first;
+        int i = k;
+        for (int j = firstChild(i); j < end; j = firstChild(i)) {
+            j = bestChild(j, end);
+            binHeap[i] = binHeap[j];
+            i = j;
+        }
+        binHeap[i] = x;
+        swimUp(i, k);
     }
 
     /**
      * Swim the element at index k up
      */
     void swimUp(int k) {
-        int i = k;
-        while (i > first && unordered(parent(i), i)) {
-            swap(i, parent(i));
-            i = parent(i);
-        }
+        swimUp(k, first);
     }
 
     /**
@@ -195,7 +319,7 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
      * @return true if the values are out of order.
      */
     boolean unordered(int i, int j) {
-        return (comparator.compare(binHeap[i], binHeap[j]) > 0) ^ max;
+        return ordering.compare(binHeap[i], binHeap[j]) > 0;
     }
 
     /**
@@ -214,49 +338,71 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
     }
 
     /**
-     * Adjusts a subtree rooted at index k to ensure it satisfies the heap property.
-     * The method reorganizes the binary heap by comparing parent and child nodes,
-     * swapping their positions if necessary, until the correct heap order is maintained.
+     * Move the last element into the root position, prevent loitering and decrement last.
      *
-     * @param k the starting index of the element in the heap that needs to be adjusted.
-     * @param p a predicate that determines the heap condition to be satisfied.
-     *          It takes two indices (parent and child) and returns true if the parent satisfies the heap property relative to the child.
-     * @return the final position of the element originally at index k after reorganization.
+     * @return the root element (before it was replaced).
      */
-    private int doHeapify(int k, BiPredicate<Integer, Integer> p) {
+    private K detachRoot() {
+        K result = binHeap[first]; // get the root element (the largest or smallest, according to field max)
+        int end = --last + first;
+        binHeap[first] = binHeap[end]; // move the last element into the root position
+        binHeap[end] = null; // prevent loitering
+        return result;
+    }
+
+    /**
+     * Swim the element at index k up, but not beyond index top.
+     *
+     * @param k   the index of the element to swim up.
+     * @param top the index beyond which the element may not rise.
+     */
+    private void swimUp(int k, int top) {
+        K x = binHeap[k];
         int i = k;
-        while (firstChild(i) <= last + first - 1) {
-            int j = firstChild(i);
-            if (j < last + first - 1 && unordered(j, j + 1)) j++;
-            if (p.test(i, j)) break;
-            swap(i, j);
-            i = j;
+        while (i > top) {
+            int p = parent(i);
+            if (ordering.compare(binHeap[p], x) <= 0) break;
+            binHeap[i] = binHeap[p];
+            i = p;
         }
-        return i;
+        binHeap[i] = x;
     }
 
     /**
-     * Exchange the values at indices i and j
+     * Get the index of the most eligible of the children which begin at index j.
+     *
+     * @param j   the index of the first child.
+     * @param end the index one beyond the last element of the heap.
+     * @return the index of the most eligible child.
      */
-    private void swap(int i, int j) {
-        K tmp = binHeap[i];
-        binHeap[i] = binHeap[j];
-        binHeap[j] = tmp;
+    private int bestChild(int j, int end) {
+        int result = j;
+        int limit = Math.min(j + arity, end);
+        for (int c = j + 1; c < limit; c++) if (ordering.compare(binHeap[result], binHeap[c]) > 0) result = c;
+        return result;
     }
 
     /**
      * Get the index of the parent of the element at index k
      */
     protected int parent(int k) {
-        return (k + 1 - first) / 2 + first - 1;
+        return (k - first - 1) / arity + first;
     }
 
     /**
      * Get the index of the first child of the element at index k.
-     * The index of the second child will be one greater than the result.
+     * The indices of the other children will follow consecutively.
      */
     protected int firstChild(int k) {
-        return (k + 1 - first) * 2 + first - 1;
+        return (k - first) * arity + first + 1;
+    }
+
+    /**
+     * @param n the desired (initial) capacity.
+     * @return an array for a heap of n elements whose root is at index 1.
+     */
+    static Object[] initialHeap(int n) {
+        return new Object[Math.max(n, 1) + 1];
     }
 
     /**
@@ -275,10 +421,12 @@ public class PriorityQueue<K> implements PriorityQueueInterface<K>, Iterable<K>
 
     private final boolean max;
     private final int first;
-    private final Comparator<K> comparator;
-    private final K[] binHeap; // binHeap[i] is ith element of binary heap (first element is reserved)
+    private final Comparator<K> ordering; // the comparator, reversed if max is true
+    private K[] binHeap; // binHeap[i] is ith element of binary heap (first element is reserved)
     private int last; // number of elements in the binary heap
     private final boolean floyd; //Determine whether floyd's snake method is on or off inside the take method
+    private final int arity; // the number of children of each node
+    private final boolean growable; // whether binHeap is grown when it is full
 
     public static void main(String[] args) {
         doMain();
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.Arrays;
+
+/**
+ * Radix heap: a monotone minimum Priority Queue of int ids keyed by non-negative long values.
+ * <p/>
+ * A radix heap requires that no key given to it is less than the key most recently taken from it
+ * (this is always the case for Dijkstra's algorithm with non-negative integer edge weights).
+ * Entries are held in 65 buckets: bucket 0 holds the entries whose key is equal to the last key taken,
+ * and bucket b (b > 0) holds the entries whose key first differs from the last key at bit b-1.
+ * When bucket 0 is empty, the smallest non-empty bucket is redistributed into lower buckets, and because
+ * each entry only ever moves to a lower bucket, take runs in O(log C) amortized time where C is the range of keys.
+ * <p/>
+ * There is no decrease-key operation: as with the lazy version of Dijkstra's algorithm, the client gives the id again
+ * with the smaller key and ignores the stale entry when it is eventually taken.
+ * Each bucket is a pair of parallel arrays (int ids and long keys), so that no objects are allocated per entry.
+ */
+public class RadixHeap {
+
+    /**
+     * Constructor.
+     * NOTE: each bucket starts small (no larger than INITIAL_CAPACITY) and doubles in length as required,
+     * so that a heap for a large graph occupies space in proportion to the entries actually given to it.
+     *
+     * @param n the expected number of entries (this is a hint only: the buckets grow as required).
+     */
+    public RadixHeap(int n) {
+        int capacity = Math.max(1, Math.min(n, INITIAL_CAPACITY));
+        for (int b = 0; b < BUCKETS; b++) {
+            ids[b] = new int[capacity];
+            keys[b] = new long[capacity];
+        }
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of entries in this heap (including any stale entries).
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Insert id i with the given key.
+     *
+     * @param i   the id.
+     * @param key the key, which must be no less than the last key taken.
+     * @throws IllegalArgumentException if key is less than the last key taken.
+     */
+    public void give(int i, long key) {
+        if (key < last)
+            throw new IllegalArgumentException("key " + key + " is less than the last key taken: " + last);
+        add(bucket(key), i, key);
+        n++;
+    }
+
+    /**
+     * Remove an id with the minimum key.
+     * The corresponding key is then available from lastKey().
+     *
+     * @return an id whose key is minimal.
+     * @throws PQException if this heap is empty.
+     */
+    public int take() throws PQException {
+        if (n == 0) throw new PQException("heap is empty");
+        if (sizes[0] == 0) refill();
+        n--;
+        return ids[0][--sizes[0]];
+    }
+
+    /**
+     * @return the key of the id most recently taken (initially zero).
+     */
+    public long lastKey() {
+        return last;
+    }
+
+    /**
+     * Remove all entries from this heap and reset the last key to zero (the capacity is retained).
+     */
+    public void clear() {
+        Arrays.fill(sizes, 0);
+        n = 0;
+        last = 0;
+    }
+
+    /**
+     * NOTE: package-private for testing.
+     *
+     * @return the total length of the buckets.
+     */
+    int capacity() {
+        int result = 0;
+        for (int[] bucket : ids) result += bucket.length;
+        return result;
+    }
+
+    /**
+     * Find the smallest non-empty bucket, advance last to its minimum key and redistribute its entries.
+     */
+    private void refill() {
+        int b = 1;
+        while (sizes[b] == 0) b++;
+        int[] bIds = ids[b];
+        long[] bKeys = keys[b];
+        int size = sizes[b];
+        long min = bKeys[0];
+        for (int j = 1; j < size; j++) if (bKeys[j] < min) min = bKeys[j];
+        last = min;
+        sizes[b] = 0;
+        // NOTE that every entry moves to a bucket lower than b, so that we never add to the bucket we are reading.
+        for (int j = 0; j < size; j++) add(bucket(bKeys[j]), bIds[j], bKeys[j]);
+    }
+
+    private int bucket(long key) {
+        return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void add(int b, int i, long key) {
+        int size = sizes[b];
+        if (size == ids[b].length) {
+            ids[b] = Arrays.copyOf(ids[b], 2 * size);
+            keys[b] = Arrays.copyOf(keys[b], 2 * size);
+        }
+        ids[b][size] = i;
+        keys[b][size] = key;
+        sizes[b] = size + 1;
+    }
+
+    private static final int BUCKETS = 65;
+
+    private static final int INITIAL_CAPACITY = 16; // the greatest initial length of a bucket
+
+    private final int[][] ids = new int[BUCKETS][]; // ids[b] holds the ids of the entries in bucket b
+    private final long[][] keys = new long[BUCKETS][]; // keys[b] holds the corresponding keys
+    private final int[] sizes = new int[BUCKETS]; // sizes[b] is the number of entries in bucket b
+    private long last; // the last key taken
+    private int n; // total number of entries
+}
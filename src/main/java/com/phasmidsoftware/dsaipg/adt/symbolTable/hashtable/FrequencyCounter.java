@@ -26,6 +26,18 @@ public class FrequencyCounter<Key> extends BaseImmutableSymbolTable<Key, Integer
         this.map = map;
     }
 
+    /**
+     * Constructor to create a FrequencyCounter from counts which have already been made.
+     * NOTE: this is package-private because it is used by ParallelFrequencyCounter.
+     *
+     * @param map   the symbol table (ST<Key, Integer>) of counts.
+     * @param total the sum of the counts.
+     */
+    FrequencyCounter(ST<Key, Integer> map, long total) {
+        this.map = map;
+        this.total = total;
+    }
+
     /**
      * Default constructor to create a FrequencyCounter.
      * This constructor initializes the FrequencyCounter with a default instance of STMap.
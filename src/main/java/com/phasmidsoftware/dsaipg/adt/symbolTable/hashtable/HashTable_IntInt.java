@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Class which implements a symbol table from int to int by linear probing, without boxing:
+ * the keys and values are held in two parallel int arrays.
+ * <p>
+ * A slot is empty if its key is zero (the key zero itself is held outside the arrays).
+ * The home slot of a key is given by Fibonacci hashing (the high bits of the key times 2^32 / phi).
+ * Deletion is by backward shift, so no tombstones are needed.
+ * The table doubles in length when it becomes three-quarters full.
+ * <p>
+ * The primitive methods (get(int), put(int, int), add(int, int), etc.) treat an absent key as having the value zero,
+ * which suits counters: for example, this class may be used as the map of a FrequencyCounter&lt;Integer&gt;.
+ * The (boxed) methods of ST follow the ST conventions (in particular, get returns null for an absent key).
+ */
+public class HashTable_IntInt implements ST<Integer, Integer> {
+
+    /**
+     * @param key the key.
+     * @return the value associated with key, or zero if there is none.
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * @param key          the key.
+     * @param defaultValue the value to return if key is absent.
+     * @return the value associated with key, or defaultValue if there is none.
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == FREE) return hasFree ? freeValue : defaultValue;
+        int i = find(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public boolean containsKey(int key) {
+        return key == FREE ? hasFree : find(key) >= 0;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with key, or zero if there was none.
+     */
+    public int put(int key, int value) {
+        if (key == FREE) {
+            int result = hasFree ? freeValue : 0;
+            if (!hasFree) size++;
+            hasFree = true;
+            freeValue = value;
+            return result;
+        }
+        int i = slot(key);
+        if (keys[i] == FREE) {
+            insert(i, key, value);
+            return 0;
+        }
+        int result = values[i];
+        values[i] = value;
+        return result;
+    }
+
+    /**
+     * Add delta to the value associated with key (an absent key is treated as having the value zero).
+     *
+     * @param key   the key.
+     * @param delta the increment.
+     * @return the new value associated with key.
+     */
+    public int add(int key, int delta) {
+        if (key == FREE) {
+            if (!hasFree) size++;
+            hasFree = true;
+            return freeValue += delta;
+        }
+        int i = slot(key);
+        if (keys[i] == FREE) {
+            insert(i, key, delta);
+            return delta;
+        }
+        return values[i] += delta;
+    }
+
+    /**
+     * Delete the given key (and its value).
+     *
+     * @param key the key.
+     * @return true if key was present.
+     */
+    public boolean delete(int key) {
+        if (key == FREE) {
+            boolean result = hasFree;
+            if (hasFree) size--;
+            hasFree = false;
+            freeValue = 0;
+            return result;
+        }
+        int i = find(key);
+        if (i < 0) return false;
+        // Backward shift: move back each following entry whose home slot is not between i and its slot.
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask)
+            if (((j - home(keys[j])) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        keys[i] = FREE;
+        values[i] = 0;
+        size--;
+        return true;
+    }
+
+    /**
+     * @return the keys of this symbol table, in ascending order.
+     */
+    public int[] keyArray() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasFree) result[n++] = FREE;
+        for (int key : keys) if (key != FREE) result[n++] = key;
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Get the size of this symbol table.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Integer get(Integer key) {
+        return containsKey(key.intValue()) ? get(key.intValue()) : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     *
+     * @param key   the key.
+     * @param value the value (which must not be null).
+     * @return the original value associated with key, if any, otherwise null.
+     */
+    public Integer put(Integer key, Integer value) {
+        boolean present = containsKey(key.intValue());
+        int result = put(key.intValue(), value.intValue());
+        return present ? result : null;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Integer> keys() {
+        Set<Integer> result = new TreeSet<>();
+        for (int key : keyArray()) result.add(key);
+        return result;
+    }
+
+    /**
+     * Constructs a HashTable_IntInt which can hold the given number of entries without resizing.
+     *
+     * @param capacity the expected number of entries.
+     */
+    public HashTable_IntInt(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity is negative: " + capacity);
+        int bits = 1;
+        while (bits < 30 && (1 << bits) * LOAD_FACTOR < capacity) bits++;
+        allocate(bits);
+    }
+
+    /**
+     * Constructs a HashTable_IntInt with a small initial capacity.
+     */
+    public HashTable_IntInt() {
+        this(12);
+    }
+
+    /**
+     * NOTE: package-private for testing.
+     *
+     * @return the number of slots.
+     */
+    int length() {
+        return keys.length;
+    }
+
+    /**
+     * @return the index of the slot with the given (non-zero) key, or -1 if there is none.
+     */
+    private int find(int key) {
+        int i = slot(key);
+        return keys[i] == FREE ? -1 : i;
+    }
+
+    /**
+     * @return the index of the slot with the given (non-zero) key, or else of the empty slot where it belongs.
+     */
+    private int slot(int key) {
+        int i = home(key);
+        while (keys[i] != FREE && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void insert(int i, int key, int value) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) grow();
+    }
+
+    private void grow() {
+        int[] oldKeys = keys, oldValues = values;
+        if (oldKeys.length == 1 << 30) throw new HashTable_LP.HashTableException("table is full");
+        allocate(33 - shift);
+        for (int j = 0; j < oldKeys.length; j++)
+            if (oldKeys[j] != FREE) {
+                int i = home(oldKeys[j]);
+                while (keys[i] != FREE) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+    }
+
+    private void allocate(int bits) {
+        keys = new int[1 << bits];
+        values = new int[1 << bits];
+        mask = (1 << bits) - 1;
+        shift = 32 - bits;
+        threshold = (int) ((1 << bits) * LOAD_FACTOR);
+    }
+
+    private int home(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    private static final int FREE = 0;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private int[] keys; // keys[i] is the key in slot i, or FREE if slot i is empty
+    private int[] values;
+    private int mask; // the length minus one
+    private int shift; // 32 minus the number of bits in an index
+    private int threshold; // the size at which the table must grow
+    private int size; // the number of keys (including the key FREE, if present)
+    private boolean hasFree; // true if the key FREE is present
+    private int freeValue; // the value of the key FREE
+}
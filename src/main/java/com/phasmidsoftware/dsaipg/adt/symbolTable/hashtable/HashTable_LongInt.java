@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Class which implements a symbol table from long to int by linear probing, without boxing:
+ * the keys and values are held in a long array and a parallel int array.
+ * <p>
+ * A slot is empty if its key is zero (the key zero itself is held outside the arrays).
+ * The home slot of a key is given by Fibonacci hashing (the high bits of the key times 2^64 / phi).
+ * Deletion is by backward shift, so no tombstones are needed.
+ * The table doubles in length when it becomes three-quarters full.
+ * <p>
+ * The primitive methods (get(int), put(int, int), add(int, int), etc.) treat an absent key as having the value zero,
+ * which suits counters: for example, this class may be used as the map of a FrequencyCounter&lt;Long&gt;.
+ * The (boxed) methods of ST follow the ST conventions (in particular, get returns null for an absent key).
+ */
+public class HashTable_LongInt implements ST<Long, Integer> {
+
+    /**
+     * @param key the key.
+     * @return the value associated with key, or zero if there is none.
+     */
+    public int get(long key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * @param key          the key.
+     * @param defaultValue the value to return if key is absent.
+     * @return the value associated with key, or defaultValue if there is none.
+     */
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == FREE) return hasFree ? freeValue : defaultValue;
+        int i = find(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public boolean containsKey(long key) {
+        return key == FREE ? hasFree : find(key) >= 0;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with key, or zero if there was none.
+     */
+    public int put(long key, int value) {
+        if (key == FREE) {
+            int result = hasFree ? freeValue : 0;
+            if (!hasFree) size++;
+            hasFree = true;
+            freeValue = value;
+            return result;
+        }
+        int i = slot(key);
+        if (keys[i] == FREE) {
+            insert(i, key, value);
+            return 0;
+        }
+        int result = values[i];
+        values[i] = value;
+        return result;
+    }
+
+    /**
+     * Add delta to the value associated with key (an absent key is treated as having the value zero).
+     *
+     * @param key   the key.
+     * @param delta the increment.
+     * @return the new value associated with key.
+     */
+    public int add(long key, int delta) {
+        if (key == FREE) {
+            if (!hasFree) size++;
+            hasFree = true;
+            return freeValue += delta;
+        }
+        int i = slot(key);
+        if (keys[i] == FREE) {
+            insert(i, key, delta);
+            return delta;
+        }
+        return values[i] += delta;
+    }
+
+    /**
+     * Delete the given key (and its value).
+     *
+     * @param key the key.
+     * @return true if key was present.
+     */
+    public boolean delete(long key) {
+        if (key == FREE) {
+            boolean result = hasFree;
+            if (hasFree) size--;
+            hasFree = false;
+            freeValue = 0;
+            return result;
+        }
+        int i = find(key);
+        if (i < 0) return false;
+        // Backward shift: move back each following entry whose home slot is not between i and its slot.
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask)
+            if (((j - home(keys[j])) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        keys[i] = FREE;
+        values[i] = 0;
+        size--;
+        return true;
+    }
+
+    /**
+     * @return the keys of this symbol table, in ascending order.
+     */
+    public long[] keyArray() {
+        long[] result = new long[size];
+        int n = 0;
+        if (hasFree) result[n++] = FREE;
+        for (long key : keys) if (key != FREE) result[n++] = key;
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Get the size of this symbol table.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Integer get(Long key) {
+        return containsKey(key.longValue()) ? get(key.longValue()) : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     *
+     * @param key   the key.
+     * @param value the value (which must not be null).
+     * @return the original value associated with key, if any, otherwise null.
+     */
+    public Integer put(Long key, Integer value) {
+        boolean present = containsKey(key.longValue());
+        int result = put(key.longValue(), value.intValue());
+        return present ? result : null;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Long> keys() {
+        Set<Long> result = new TreeSet<>();
+        for (long key : keyArray()) result.add(key);
+        return result;
+    }
+
+    /**
+     * Constructs a HashTable_LongInt which can hold the given number of entries without resizing.
+     *
+     * @param capacity the expected number of entries.
+     */
+    public HashTable_LongInt(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity is negative: " + capacity);
+        int bits = 1;
+        while (bits < 30 && (1 << bits) * LOAD_FACTOR < capacity) bits++;
+        allocate(bits);
+    }
+
+    /**
+     * Constructs a HashTable_LongInt with a small initial capacity.
+     */
+    public HashTable_LongInt() {
+        this(12);
+    }
+
+    /**
+     * NOTE: package-private for testing.
+     *
+     * @return the number of slots.
+     */
+    int length() {
+        return keys.length;
+    }
+
+    /**
+     * @return the index of the slot with the given (non-zero) key, or -1 if there is none.
+     */
+    private int find(long key) {
+        int i = slot(key);
+        return keys[i] == FREE ? -1 : i;
+    }
+
+    /**
+     * @return the index of the slot with the given (non-zero) key, or else of the empty slot where it belongs.
+     */
+    private int slot(long key) {
+        int i = home(key);
+        while (keys[i] != FREE && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void insert(int i, long key, int value) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) grow();
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        if (oldKeys.length == 1 << 30) throw new HashTable_LP.HashTableException("table is full");
+        allocate(65 - shift);
+        for (int j = 0; j < oldKeys.length; j++)
+            if (oldKeys[j] != FREE) {
+                int i = home(oldKeys[j]);
+                while (keys[i] != FREE) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+    }
+
+    private void allocate(int bits) {
+        keys = new long[1 << bits];
+        values = new int[1 << bits];
+        mask = (1 << bits) - 1;
+        shift = 64 - bits;
+        threshold = (int) ((1 << bits) * LOAD_FACTOR);
+    }
+
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static final long FREE = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private long[] keys; // keys[i] is the key in slot i, or FREE if slot i is empty
+    private int[] values;
+    private int mask; // the length minus one
+    private int shift; // 64 minus the number of bits in an index
+    private int threshold; // the size at which the table must grow
+    private int size; // the number of keys (including the key FREE, if present)
+    private boolean hasFree; // true if the key FREE is present
+    private int freeValue; // the value of the key FREE
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Class which implements a symbol table from long to Value by linear probing, without boxing the keys:
+ * the keys and values are held in a long array and a parallel Object array (there is no object per entry).
+ * <p>
+ * A slot is empty if its key is zero (the key zero itself is held outside the arrays).
+ * The home slot of a key is given by Fibonacci hashing (the high bits of the key times 2^64 / phi).
+ * Deletion is by backward shift, so no tombstones are needed.
+ * The table doubles in length when it becomes three-quarters full.
+ * <p>
+ * A typical use is as the memo of a dynamic program whose sub-problems are identified by two ints
+ * (see key(int, int)).
+ *
+ * @param <Value> the value type.
+ */
+public class HashTable_LongObject<Value> implements ST<Long, Value> {
+
+    /**
+     * Pack two ints into a long key.
+     *
+     * @param x the high half of the key.
+     * @param y the low half of the key.
+     * @return a key which is unique to (x, y).
+     */
+    public static long key(int x, int y) {
+        return (long) x << 32 | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(long key) {
+        if (key == FREE) return freeValue;
+        int i = slot(key);
+        //noinspection unchecked
+        return (Value) values[i];
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public boolean containsKey(long key) {
+        return key == FREE ? hasFree : keys[slot(key)] != FREE;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with key, if any, otherwise null.
+     */
+    public Value put(long key, Value value) {
+        if (key == FREE) {
+            Value result = freeValue;
+            if (!hasFree) size++;
+            hasFree = true;
+            freeValue = value;
+            return result;
+        }
+        int i = slot(key);
+        //noinspection unchecked
+        Value result = (Value) values[i];
+        values[i] = value;
+        if (keys[i] == FREE) {
+            keys[i] = key;
+            if (++size > threshold) grow();
+        }
+        return result;
+    }
+
+    /**
+     * Delete the given key (and its value).
+     *
+     * @param key the key.
+     * @return the value which was associated with key, if any, otherwise null.
+     */
+    public Value delete(long key) {
+        if (key == FREE) {
+            Value result = freeValue;
+            if (hasFree) size--;
+            hasFree = false;
+            freeValue = null;
+            return result;
+        }
+        int i = slot(key);
+        if (keys[i] == FREE) return null;
+        //noinspection unchecked
+        Value result = (Value) values[i];
+        // Backward shift: move back each following entry whose home slot is not between i and its slot.
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask)
+            if (((j - home(keys[j])) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        keys[i] = FREE;
+        values[i] = null;
+        size--;
+        return result;
+    }
+
+    /**
+     * @return the keys of this symbol table, in ascending order.
+     */
+    public long[] keyArray() {
+        long[] result = new long[size];
+        int n = 0;
+        if (hasFree) result[n++] = FREE;
+        for (long key : keys) if (key != FREE) result[n++] = key;
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Get the size of this symbol table.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Long key) {
+        return get(key.longValue());
+    }
+
+    /**
+     * Insert a key/value pair.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with key, if any, otherwise null.
+     */
+    public Value put(Long key, Value value) {
+        return put(key.longValue(), value);
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Long> keys() {
+        Set<Long> result = new TreeSet<>();
+        for (long key : keyArray()) result.add(key);
+        return result;
+    }
+
+    /**
+     * Constructs a HashTable_LongObject which can hold the given number of entries without resizing.
+     *
+     * @param capacity the expected number of entries.
+     */
+    public HashTable_LongObject(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity is negative: " + capacity);
+        int bits = 1;
+        while (bits < 30 && (1 << bits) * LOAD_FACTOR < capacity) bits++;
+        allocate(bits);
+    }
+
+    /**
+     * Constructs a HashTable_LongObject with a small initial capacity.
+     */
+    public HashTable_LongObject() {
+        this(12);
+    }
+
+    /**
+     * NOTE: package-private for testing.
+     *
+     * @return the number of slots.
+     */
+    int length() {
+        return keys.length;
+    }
+
+    /**
+     * @return the index of the slot with the given (non-zero) key, or else of the empty slot where it belongs.
+     */
+    private int slot(long key) {
+        int i = home(key);
+        while (keys[i] != FREE && keys[i] != key) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        if (oldKeys.length == 1 << 30) throw new HashTable_LP.HashTableException("table is full");
+        allocate(65 - shift);
+        for (int j = 0; j < oldKeys.length; j++)
+            if (oldKeys[j] != FREE) {
+                int i = home(oldKeys[j]);
+                while (keys[i] != FREE) i = (i + 1) & mask;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+    }
+
+    private void allocate(int bits) {
+        keys = new long[1 << bits];
+        values = new Object[1 << bits];
+        mask = (1 << bits) - 1;
+        shift = 64 - bits;
+        threshold = (int) ((1 << bits) * LOAD_FACTOR);
+    }
+
+    private int home(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private static final long FREE = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private long[] keys; // keys[i] is the key in slot i, or FREE if slot i is empty
+    private Object[] values;
+    private int mask; // the length minus one
+    private int shift; // 64 minus the number of bits in an index
+    private int threshold; // the size at which the table must grow
+    private int size; // the number of keys (including the key FREE, if present)
+    private boolean hasFree; // true if the key FREE is present
+    private Value freeValue; // the value of the key FREE
+}
@@ -0,0 +1,601 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Class which implements ST (symbol table) on disk, so that a table survives from one run of a program to the next.
+ * <p>
+ * The table lives in a directory which holds two files:
+ * <dl>
+ *     <dt>log.<i>g</i></dt>
+ *     <dd>an append-only log of records, each of which is a key and a value (or a tombstone, for a deletion)
+ *     followed by a checksum;</dd>
+ *     <dt>index</dt>
+ *     <dd>a memory-mapped open-addressing (linear probing) hash table whose slots hold the hash of a key
+ *     and the position in the log of its latest record.</dd>
+ * </dl>
+ * Opening a table which was closed properly simply maps the index, so it takes milliseconds however large the table.
+ * The index is marked as dirty while a table is open: if a program dies without closing a table, the next open
+ * rebuilds the index by replaying the log, truncating any torn record at its end (detected by its checksum).
+ * Only records that reached the disk can survive a crash: appends are buffered, and sync forces them out.
+ * <p>
+ * A put or delete leaves the superseded record in the log as garbage.
+ * When the garbage exceeds both the live data and COMPACTION_THRESHOLD, the table is compacted:
+ * the live records are copied to a new log (generation <i>g</i>+1), with a new index,
+ * which atomically replaces the old index before the old log is deleted.
+ * A crash at any point of a compaction leaves either the old or the new generation complete.
+ * <p>
+ * Keys are hashed (and compared) by their encoded bytes, so that the index remains valid from one run to the next
+ * even for keys whose hashCode is not stable.
+ * A table may be used by only one thread (and only one program) at a time.
+ * The methods of ST report I/O errors by UncheckedIOException.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class HashTable_Persistent<Key, Value> implements ST<Key, Value>, Closeable {
+
+    /**
+     * Interface to define how keys or values are represented on disk.
+     *
+     * @param <T> the underlying type.
+     */
+    public interface Codec<T> {
+        /**
+         * @param t a value.
+         * @return the representation of t as bytes.
+         */
+        byte[] encode(T t);
+
+        /**
+         * @param bytes  an array which contains a representation (yielded by encode).
+         * @param offset the index of the representation in bytes.
+         * @param length the length of the representation.
+         * @return the value represented.
+         */
+        T decode(byte[] bytes, int offset, int length);
+
+        Codec<String> STRING = new Codec<>() {
+            public byte[] encode(String s) {
+                return s.getBytes(StandardCharsets.UTF_8);
+            }
+
+            public String decode(byte[] bytes, int offset, int length) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8);
+            }
+        };
+
+        Codec<Integer> INTEGER = new Codec<>() {
+            public byte[] encode(Integer x) {
+                return ByteBuffer.allocate(Integer.BYTES).putInt(x).array();
+            }
+
+            public Integer decode(byte[] bytes, int offset, int length) {
+                return ByteBuffer.wrap(bytes, offset, length).getInt();
+            }
+        };
+    }
+
+    /**
+     * Open (or create) the table in the given directory.
+     *
+     * @param directory  the directory (which is created if necessary).
+     * @param keyCodec   the codec for keys.
+     * @param valueCodec the codec for values.
+     * @return an open HashTable_Persistent, which should eventually be closed.
+     * @throws IOException if the table cannot be opened.
+     */
+    public static <Key, Value> HashTable_Persistent<Key, Value> open(Path directory, Codec<Key> keyCodec, Codec<Value> valueCodec) throws IOException {
+        Files.createDirectories(directory);
+        return new HashTable_Persistent<>(directory, keyCodec, valueCodec);
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        byte[] k = keyCodec.encode(key);
+        int i = find(k, hash(k));
+        return i >= 0 ? value(readRecord(offset(i))) : null;
+    }
+
+    /**
+     * Insert a key/value pair (by appending a record to the log).
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with <code>key</code>, if any, otherwise null.
+     */
+    public Value put(Key key, Value value) {
+        byte[] k = keyCodec.encode(key);
+        int h = hash(k);
+        int i = find(k, h);
+        Value result = null;
+        if (i >= 0) {
+            byte[] old = readRecord(offset(i));
+            result = value(old);
+            live -= old.length;
+        } else {
+            if (size + 1 > (capacity >> 1)) {
+                resize(2 * capacity);
+                i = find(k, h);
+            }
+            i = -1 - i;
+            size++;
+        }
+        byte[] record = record(k, valueCodec.encode(value));
+        setSlot(i, h, append(record));
+        live += record.length;
+        maybeCompact();
+        return result;
+    }
+
+    /**
+     * Delete the given key (and its value) from this symbol table, by appending a tombstone to the log.
+     *
+     * @param key the key.
+     * @return the value which was associated with <code>key</code>, if any, otherwise null.
+     */
+    public Value delete(Key key) {
+        byte[] k = keyCodec.encode(key);
+        int i = find(k, hash(k));
+        if (i < 0) return null;
+        byte[] old = readRecord(offset(i));
+        append(record(k, null));
+        live -= old.length;
+        removeSlot(i);
+        size--;
+        maybeCompact();
+        return value(old);
+    }
+
+    /**
+     * Get the size of this symbol table.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new TreeSet<>();
+        for (int i = 0; i < capacity; i++)
+            if (slotHash(i) != 0) {
+                byte[] record = readRecord(offset(i));
+                result.add(keyCodec.decode(record, RECORD_HEADER, keyLength(record)));
+            }
+        return result;
+    }
+
+    /**
+     * Write out all buffered records, and force both the log and the index to the disk.
+     *
+     * @throws IOException if the table cannot be written.
+     */
+    public void sync() throws IOException {
+        flush();
+        log.force(false);
+        writeHeader(false);
+        index.force();
+    }
+
+    /**
+     * Copy the live records to a new log (and index), discarding the garbage.
+     * This is done automatically when the garbage exceeds the live data (and COMPACTION_THRESHOLD).
+     *
+     * @throws IOException if the table cannot be compacted.
+     */
+    public void compact() throws IOException {
+        flush();
+        int nextGeneration = generation + 1;
+        Path nextLogPath = directory.resolve(LOG + nextGeneration);
+        FileChannel nextLog = FileChannel.open(nextLogPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer nextIndex = mapIndex(directory.resolve(INDEX_TEMPORARY), capacity, true);
+        ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+        long written = 0, position = 0;
+        // NOTE the slots keep their positions (only their offsets change), so that the probe sequences remain valid.
+        for (int i = 0; i < capacity; i++) {
+            int h = slotHash(i);
+            if (h == 0) continue;
+            byte[] record = readRecord(offset(i));
+            if (record.length > out.remaining()) written = write(nextLog, out, written);
+            if (record.length > out.capacity()) written = writeFully(nextLog, ByteBuffer.wrap(record), written);
+            else out.put(record);
+            nextIndex.putInt(slot(i), h).putLong(slot(i) + Integer.BYTES, position);
+            position += record.length;
+        }
+        write(nextLog, out, written);
+        nextLog.force(false);
+        log.close();
+        Path oldLogPath = directory.resolve(LOG + generation);
+        log = nextLog;
+        index = nextIndex;
+        generation = nextGeneration;
+        flushed = logLength = live = position;
+        writeHeader(false);
+        Files.move(directory.resolve(INDEX_TEMPORARY), directory.resolve(INDEX), StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(oldLogPath);
+    }
+
+    /**
+     * Close this table, leaving it in a state which allows it to be opened again without replaying its log.
+     *
+     * @throws IOException if the table cannot be written.
+     */
+    public void close() throws IOException {
+        flush();
+        log.force(false);
+        writeHeader(true);
+        index.force();
+        log.close();
+    }
+
+    /**
+     * @return the number of bytes in the log (including garbage).
+     * NOTE: package-private for testing.
+     */
+    long logLength() {
+        return logLength;
+    }
+
+    /**
+     * @return the generation of the log.
+     * NOTE: package-private for testing.
+     */
+    int generation() {
+        return generation;
+    }
+
+    private HashTable_Persistent(Path directory, Codec<Key> keyCodec, Codec<Value> valueCodec) throws IOException {
+        this.directory = directory;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        Path indexPath = directory.resolve(INDEX);
+        boolean clean = false;
+        if (Files.exists(indexPath) && Files.size(indexPath) >= HEADER) {
+            int slots = (int) ((Files.size(indexPath) - HEADER) / SLOT);
+            index = mapIndex(indexPath, slots, false);
+            if (index.getInt(0) == MAGIC && index.getInt(8) == slots) {
+                generation = index.getInt(4);
+                capacity = slots;
+                size = index.getInt(12);
+                logLength = index.getLong(16);
+                live = index.getLong(24);
+                clean = index.getInt(32) == 1;
+            }
+        }
+        List<Integer> generations = new ArrayList<>();
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, LOG + "*")) {
+            for (Path path : logs) generations.add(Integer.parseInt(path.getFileName().toString().substring(LOG.length())));
+        }
+        if (capacity == 0) {
+            // NOTE without a valid index, the oldest log is the one which is certainly complete.
+            generation = generations.isEmpty() ? 0 : Collections.min(generations);
+            index = mapIndex(indexPath, capacity = INITIAL_CAPACITY, true);
+        }
+        mask = capacity - 1;
+        Files.deleteIfExists(directory.resolve(INDEX_TEMPORARY));
+        // NOTE any other generation of the log was left by an interrupted compaction.
+        for (int g : generations) if (g != generation) Files.delete(directory.resolve(LOG + g));
+        log = FileChannel.open(directory.resolve(LOG + generation), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (!clean || log.size() != logLength) replay();
+        flushed = logLength;
+        writeHeader(false);
+        index.force();
+    }
+
+    /**
+     * Rebuild the index from the log, truncating the log after its last complete record.
+     */
+    private void replay() throws IOException {
+        for (int i = 0; i < capacity; i++) index.putInt(slot(i), 0);
+        size = 0;
+        live = 0;
+        long end = log.size(), position = 0;
+        flushed = logLength = end;
+        while (position < end) {
+            byte[] record;
+            try {
+                record = readRecord(position);
+            } catch (UncheckedIOException e) {
+                if (e.getCause() instanceof EOFException) break;
+                throw e;
+            }
+            int keyLength = keyLength(record), valueLength = valueLength(record);
+            CRC32 crc = new CRC32();
+            crc.update(record, 0, record.length - Integer.BYTES);
+            if ((int) crc.getValue() != ByteBuffer.wrap(record, record.length - Integer.BYTES, Integer.BYTES).getInt()) break;
+            byte[] k = Arrays.copyOfRange(record, RECORD_HEADER, RECORD_HEADER + keyLength);
+            int h = hash(k);
+            int i = find(k, h);
+            if (i >= 0) {
+                live -= readRecord(offset(i)).length;
+                if (valueLength < 0) {
+                    removeSlot(i);
+                    size--;
+                } else {
+                    setSlot(i, h, position);
+                    live += record.length;
+                }
+            } else if (valueLength >= 0) {
+                if (size + 1 > (capacity >> 1)) {
+                    resize(2 * capacity);
+                    i = find(k, h);
+                }
+                setSlot(-1 - i, h, position);
+                size++;
+                live += record.length;
+            }
+            position += record.length;
+        }
+        if (position < end) log.truncate(position);
+        flushed = logLength = position;
+    }
+
+    private void maybeCompact() {
+        if (logLength - live > live && logLength - live > COMPACTION_THRESHOLD)
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+    }
+
+    /**
+     * Replace the index by one with the given capacity, re-inserting each slot by its hash.
+     */
+    private void resize(int newCapacity) {
+        try {
+            MappedByteBuffer newIndex = mapIndex(directory.resolve(INDEX_TEMPORARY), newCapacity, true);
+            int newMask = newCapacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                int h = slotHash(i);
+                if (h == 0) continue;
+                int j = h & newMask;
+                while (newIndex.getInt(slot(j)) != 0) j = (j + 1) & newMask;
+                newIndex.putInt(slot(j), h).putLong(slot(j) + Integer.BYTES, offset(i));
+            }
+            index = newIndex;
+            capacity = newCapacity;
+            mask = newMask;
+            writeHeader(false);
+            Files.move(directory.resolve(INDEX_TEMPORARY), directory.resolve(INDEX), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the slot of the key whose encoding is k (with hash h), if present,
+     * otherwise -1 minus the (empty) slot where it belongs.
+     */
+    private int find(byte[] k, int h) {
+        for (int i = h & mask; ; i = (i + 1) & mask) {
+            int slotHash = slotHash(i);
+            if (slotHash == 0) return -1 - i;
+            if (slotHash == h && keyEquals(readRecord(offset(i)), k)) return i;
+        }
+    }
+
+    /**
+     * Remove the entry in slot i, shifting back any later entries of the same cluster which cannot otherwise be found.
+     */
+    private void removeSlot(int i) {
+        for (int j = (i + 1) & mask; ; j = (j + 1) & mask) {
+            int h = slotHash(j);
+            if (h == 0) break;
+            int ideal = h & mask;
+            if (((j - ideal) & mask) >= ((j - i) & mask)) {
+                setSlot(i, h, offset(j));
+                i = j;
+            }
+        }
+        index.putInt(slot(i), 0);
+    }
+
+    private void setSlot(int i, int h, long offset) {
+        index.putInt(slot(i), h).putLong(slot(i) + Integer.BYTES, offset);
+    }
+
+    private int slotHash(int i) {
+        return index.getInt(slot(i));
+    }
+
+    private long offset(int i) {
+        return index.getLong(slot(i) + Integer.BYTES);
+    }
+
+    private void writeHeader(boolean clean) {
+        index.putInt(0, MAGIC).putInt(4, generation).putInt(8, capacity).putInt(12, size);
+        index.putLong(16, logLength).putLong(24, live).putInt(32, clean ? 1 : 0);
+    }
+
+    /**
+     * @return a record (with its checksum) for the given key and value (null for a tombstone).
+     */
+    private static byte[] record(byte[] k, byte[] v) {
+        int valueLength = v == null ? 0 : v.length;
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER + k.length + valueLength + Integer.BYTES);
+        buffer.putInt(k.length).putInt(v == null ? -1 : v.length).put(k);
+        if (v != null) buffer.put(v);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        return buffer.putInt((int) crc.getValue()).array();
+    }
+
+    /**
+     * Append a record to the log (via the buffer).
+     *
+     * @return the offset of the record in the log.
+     */
+    private long append(byte[] record) {
+        long result = logLength;
+        try {
+            if (record.length > buffer.remaining()) flush();
+            if (record.length > buffer.capacity()) flushed = writeFully(log, ByteBuffer.wrap(record), flushed);
+            else buffer.put(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logLength += record.length;
+        return result;
+    }
+
+    private void flush() throws IOException {
+        flushed = write(log, buffer, flushed);
+    }
+
+    /**
+     * Write the contents of a staging buffer (which is then cleared) to a channel at the given position.
+     *
+     * @return the position following the contents.
+     */
+    private static long write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        position = writeFully(channel, buffer, position);
+        buffer.clear();
+        return position;
+    }
+
+    /**
+     * Write the remaining bytes of a buffer (for example, a record too large for a staging buffer) to a channel at the given position.
+     * NOTE the buffer is not flipped: see write(FileChannel, ByteBuffer, long) for a staging buffer.
+     *
+     * @return the position following the bytes written.
+     */
+    private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+        return position;
+    }
+
+    /**
+     * Read the record at the given offset of the log.
+     * NOTE a record is never split between the disk and the buffer.
+     */
+    private byte[] readRecord(long offset) {
+        if (offset >= flushed) {
+            int start = (int) (offset - flushed);
+            byte[] bytes = buffer.array();
+            int length = RECORD_HEADER + ByteBuffer.wrap(bytes, start, RECORD_HEADER).getInt() + Math.max(0, ByteBuffer.wrap(bytes, start + 4, 4).getInt()) + Integer.BYTES;
+            return Arrays.copyOfRange(bytes, start, start + length);
+        }
+        try {
+            // Most records are short, so a single read usually yields the whole record.
+            ByteBuffer prefix = ByteBuffer.allocate((int) Math.min(PREFETCH, flushed - offset));
+            readFully(prefix, offset);
+            int keyLength = prefix.getInt(0), valueLength = prefix.getInt(4);
+            if (keyLength < 0 || valueLength < -1) throw new EOFException("corrupt record at " + offset);
+            long length = RECORD_HEADER + (long) keyLength + Math.max(0, valueLength) + Integer.BYTES;
+            if (offset + length > flushed) throw new EOFException("truncated record at " + offset);
+            if (length <= prefix.capacity()) return Arrays.copyOf(prefix.array(), (int) length);
+            ByteBuffer result = ByteBuffer.allocate((int) length);
+            result.put(prefix.array());
+            readFully(result, offset + prefix.capacity());
+            return result.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int n = log.read(target, position);
+            if (n < 0) throw new EOFException("unexpected end of log at " + position);
+            position += n;
+        }
+    }
+
+    private Value value(byte[] record) {
+        return valueCodec.decode(record, RECORD_HEADER + keyLength(record), valueLength(record));
+    }
+
+    private static boolean keyEquals(byte[] record, byte[] k) {
+        return keyLength(record) == k.length && Arrays.equals(record, RECORD_HEADER, RECORD_HEADER + k.length, k, 0, k.length);
+    }
+
+    private static int keyLength(byte[] record) {
+        return ByteBuffer.wrap(record, 0, Integer.BYTES).getInt();
+    }
+
+    private static int valueLength(byte[] record) {
+        return ByteBuffer.wrap(record, Integer.BYTES, Integer.BYTES).getInt();
+    }
+
+    private static int hash(byte[] k) {
+        int h = Arrays.hashCode(k) * 0x9E3779B9;
+        return (h ^ h >>> 16) | 0x80000000; // NOTE the top bit is set so that a zero hash signifies an empty slot.
+    }
+
+    private static int slot(int i) {
+        return HEADER + i * SLOT;
+    }
+
+    private static MappedByteBuffer mapIndex(Path path, int capacity, boolean create) throws IOException {
+        if (create) Files.deleteIfExists(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // NOTE the mapping remains valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER + (long) capacity * SLOT);
+        }
+    }
+
+    private static final String INDEX = "index";
+    private static final String INDEX_TEMPORARY = "index.tmp";
+    private static final String LOG = "log.";
+    private static final int MAGIC = 0x53544D50;
+    private static final int HEADER = 64; // the index header: magic, generation, capacity, size, log length, live bytes, clean flag
+    private static final int SLOT = Integer.BYTES + Long.BYTES; // hash, offset
+    private static final int RECORD_HEADER = 2 * Integer.BYTES; // key length, value length (-1 for a tombstone)
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int PREFETCH = 64;
+    private static final long COMPACTION_THRESHOLD = 1 << 20;
+
+    private final Path directory;
+    private final Codec<Key> keyCodec;
+    private final Codec<Value> valueCodec;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE); // records appended to the log but not yet written
+    private MappedByteBuffer index;
+    private FileChannel log;
+    private int generation;
+    private int capacity; // the number of slots in the index (a power of two)
+    private int mask;
+    private int size;
+    private long logLength; // the length of the log, including the buffer
+    private long flushed; // the length of the log on disk (i.e. the offset of the first buffered record)
+    private long live; // the number of bytes in the log taken by records in the index
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+/**
+ * Class which implements ST (symbol table) by open addressing with Robin Hood linear probing.
+ * <p>
+ * Unlike HashTable_LP, this table grows as needed, supports deletion, and allocates no object per entry:
+ * the keys, values and (cached) hash codes are held in parallel arrays.
+ * <p>
+ * Robin Hood probing: on insertion, an entry which is further from its home slot than the occupant of a slot
+ * takes that slot, and the displaced occupant continues probing.
+ * This keeps the probe sequences short and even, and it allows an unsuccessful search to stop as soon as it reaches
+ * an occupant which is closer to its home than the key would be.
+ * <p>
+ * Deletion is by backward shift: the entries following the deleted entry (up to an empty slot or an entry in its home slot)
+ * are each moved back one slot, so no tombstones are needed.
+ * <p>
+ * Resizing is incremental: when the load factor is exceeded, a table of twice the length is allocated
+ * and each subsequent put or delete migrates a few slots of the old table, in order, to the new table.
+ * Thus no single put has to rehash the whole table.
+ * While the migration is in progress, a key may be in either table: the new table is searched first.
+ * Migrated slots of the old table are empty, so a search of the old table skips over them (to the migration cursor).
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class HashTable_RH<Key, Value> implements ST<Key, Value> {
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     * @throws NullPointerException if key is null.
+     */
+    public Value get(Key key) {
+        int h = hash(key);
+        int index = table.find(key, h, 0);
+        if (index >= 0) return table.value(index);
+        if (old != null) {
+            index = old.find(key, h, migrated);
+            if (index >= 0) return old.value(index);
+        }
+        return null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with <code>key</code>, if any, otherwise null.
+     * @throws NullPointerException if key is null.
+     */
+    public Value put(Key key, Value value) {
+        int h = hash(key);
+        int index = table.find(key, h, 0);
+        if (index >= 0) return table.replace(index, value);
+        if (old != null) {
+            index = old.find(key, h, migrated);
+            if (index >= 0) return old.replace(index, value);
+        }
+        if (size >= threshold) grow();
+        table.insert(h, key, value);
+        size++;
+        migrate();
+        return null;
+    }
+
+    /**
+     * Delete the given key (and its value) from this symbol table.
+     *
+     * @param key the key.
+     * @return the value which was associated with <code>key</code>, if any, otherwise null.
+     * @throws NullPointerException if key is null.
+     */
+    public Value delete(Key key) {
+        int h = hash(key);
+        Value result;
+        int index = table.find(key, h, 0);
+        if (index >= 0) {
+            result = table.value(index);
+            table.remove(index, 0);
+        } else if (old != null && (index = old.find(key, h, migrated)) >= 0) {
+            result = old.value(index);
+            old.remove(index, migrated);
+        } else return null;
+        size--;
+        migrate();
+        return result;
+    }
+
+    /**
+     * Get the size of this HashTable_RH.
+     *
+     * @return the current size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new TreeSet<>();
+        table.addKeys(result, 0);
+        if (old != null) old.addKeys(result, migrated);
+        return result;
+    }
+
+    /**
+     * Perform the given action on each key-value pair of this symbol table (in no particular order).
+     *
+     * @param action the action.
+     */
+    public void forEach(BiConsumer<? super Key, ? super Value> action) {
+        table.forEach(action, 0);
+        if (old != null) old.forEach(action, migrated);
+    }
+
+    /**
+     * Constructs a HashTable_RH which can hold the given number of entries without resizing.
+     *
+     * @param capacity   the expected number of entries.
+     * @param loadFactor the maximum ratio of entries to slots (greater than 0 and less than 1).
+     * @throws IllegalArgumentException if capacity is negative or loadFactor is out of range.
+     */
+    public HashTable_RH(int capacity, double loadFactor) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity is negative: " + capacity);
+        if (!(loadFactor > 0 && loadFactor < 1)) throw new IllegalArgumentException("invalid load factor: " + loadFactor);
+        this.loadFactor = loadFactor;
+        int length = 2;
+        while (length < MAXIMUM_LENGTH && length * loadFactor < capacity) length <<= 1;
+        this.table = new Table(length);
+        this.threshold = threshold(length);
+    }
+
+    /**
+     * Constructs a HashTable_RH which can hold the given number of entries without resizing.
+     *
+     * @param capacity the expected number of entries.
+     */
+    public HashTable_RH(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a HashTable_RH with a small initial capacity.
+     */
+    public HashTable_RH() {
+        this(12);
+    }
+
+    /**
+     * NOTE: package-private for testing.
+     *
+     * @return the number of slots in the current (newest) table.
+     */
+    int length() {
+        return table.hashes.length;
+    }
+
+    /**
+     * NOTE: package-private for testing.
+     *
+     * @return true if a resize is in progress.
+     */
+    boolean isMigrating() {
+        return old != null;
+    }
+
+    /**
+     * Start a resize: the current table becomes the old table, to be migrated to a new table of twice the length.
+     * If a resize is already in progress (which can only happen with a load factor close to 1), it is finished first.
+     */
+    private void grow() {
+        while (old != null) migrate();
+        int length = table.hashes.length;
+        if (length >= MAXIMUM_LENGTH) throw new HashTable_LP.HashTableException("table is full");
+        old = table;
+        migrated = 0;
+        table = new Table(length << 1);
+        threshold = threshold(length << 1);
+    }
+
+    /**
+     * Migrate the next MIGRATION_STEP slots (if any) of the old table to the new table.
+     * <p>
+     * NOTE: when a resize of a table of length L starts, there are about loadFactor * L entries.
+     * The new table (of length 2L) reaches its threshold only after about loadFactor * L more insertions,
+     * during which MIGRATION_STEP * loadFactor * L slots are migrated.
+     * So, provided that MIGRATION_STEP is at least 1 / loadFactor, a resize is finished before the next one begins.
+     */
+    private void migrate() {
+        if (old == null) return;
+        int[] hashes = old.hashes;
+        int end = Math.min(hashes.length, migrated + MIGRATION_STEP);
+        for (; migrated < end; migrated++)
+            if (hashes[migrated] != 0) {
+                table.insert(hashes[migrated], old.keys[migrated], old.values[migrated]);
+                old.clear(migrated);
+            }
+        if (migrated == hashes.length) old = null;
+    }
+
+    private int threshold(int length) {
+        return (int) Math.min(length - 1, length * loadFactor);
+    }
+
+    /**
+     * Get the (cached) hash code for a key: the hash code of the key, with the high bits folded into the low bits
+     * (which determine the home slot) and with the sign bit set (so that zero can mark an empty slot).
+     *
+     * @param key the key.
+     * @return a non-zero hash code.
+     */
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) | 0x80000000;
+    }
+
+    /**
+     * One table: parallel arrays of hash codes, keys and values.
+     * The length is a power of two and a slot whose hash code is zero is empty.
+     * <p>
+     * The search and deletion methods take a "migrated" parameter: the number of leading slots which have been migrated
+     * to another table (and so are empty, even though they may lie within a probe sequence).
+     * This is zero except for the old table during a resize.
+     */
+    private class Table {
+        Table(int length) {
+            hashes = new int[length];
+            keys = new Object[length];
+            values = new Object[length];
+            mask = length - 1;
+        }
+
+        /**
+         * @return the index of the slot with the given key, or -1 if there is no such slot.
+         */
+        int find(Object key, int h, int migrated) {
+            int home = h & mask;
+            int i = home;
+            for (int distance = 0; distance <= mask; distance++) {
+                if (i < migrated) {
+                    distance += migrated - i;
+                    i = migrated;
+                    if (i > mask || distance > mask) return -1;
+                }
+                int stored = hashes[i];
+                if (stored == 0 || ((i - stored) & mask) < distance) return -1;
+                if (stored == h && key.equals(keys[i])) return i;
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Insert an entry (whose key is not in this table) by Robin Hood probing.
+         */
+        void insert(int h, Object key, Object value) {
+            int i = h & mask;
+            for (int distance = 0; ; distance++) {
+                int stored = hashes[i];
+                if (stored == 0) {
+                    hashes[i] = h;
+                    keys[i] = key;
+                    values[i] = value;
+                    return;
+                }
+                int d = (i - stored) & mask;
+                if (d < distance) {
+                    Object k = keys[i], v = values[i];
+                    hashes[i] = h;
+                    keys[i] = key;
+                    values[i] = value;
+                    h = stored;
+                    key = k;
+                    value = v;
+                    distance = d;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        /**
+         * Remove the entry in slot i by backward shift.
+         * <p>
+         * NOTE: if the shift wraps into the migrated slots, it skips over them (to the migration cursor), as find does.
+         * An entry moves back to slot i only if that is not before its home slot,
+         * that's to say if its distance from home is at least the distance from slot i.
+         */
+        void remove(int i, int migrated) {
+            for (int next = (i + 1) & mask; ; next = (next + 1) & mask) {
+                if (next < migrated) next = migrated;
+                if (next == i) break;
+                int stored = hashes[next];
+                if (stored == 0 || ((next - stored) & mask) < ((next - i) & mask)) break;
+                hashes[i] = stored;
+                keys[i] = keys[next];
+                values[i] = values[next];
+                i = next;
+            }
+            clear(i);
+        }
+
+        Value value(int i) {
+            //noinspection unchecked
+            return (Value) values[i];
+        }
+
+        Value replace(int i, Value value) {
+            Value result = value(i);
+            values[i] = value;
+            return result;
+        }
+
+        void clear(int i) {
+            hashes[i] = 0;
+            keys[i] = null;
+            values[i] = null;
+        }
+
+        void forEach(BiConsumer<? super Key, ? super Value> action, int from) {
+            for (int i = from; i < keys.length; i++)
+                //noinspection unchecked
+                if (hashes[i] != 0) action.accept((Key) keys[i], value(i));
+        }
+
+        void addKeys(Set<Key> result, int from) {
+            for (int i = from; i < keys.length; i++)
+                //noinspection unchecked
+                if (hashes[i] != 0) result.add((Key) keys[i]);
+        }
+
+        final int[] hashes; // hashes[i] is the (cached) hash code of keys[i] or zero if slot i is empty
+        final Object[] keys;
+        final Object[] values;
+        final int mask; // the length minus one
+    }
+
+    /**
+     * The number of old-table slots migrated by each put or delete during a resize.
+     */
+    private static final int MIGRATION_STEP = 4;
+
+    private static final double DEFAULT_LOAD_FACTOR = 0.8;
+
+    private static final int MAXIMUM_LENGTH = 1 << 30;
+
+    private final double loadFactor;
+    private Table table; // the current table, to which all insertions go
+    private Table old; // the table being migrated to table, or null if there is no resize in progress
+    private int migrated; // the number of leading slots of old which have been migrated
+    private int threshold; // the size at which table must grow
+    private int size;
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BinaryOperator;
+
+/**
+ * Class which implements ST (symbol table) safely for concurrent use, by lock striping.
+ * <p>
+ * The table is divided into a fixed number of stripes (segments), each of which is a HashTable_RH
+ * guarded by its own lock: a key belongs to the stripe given by the high bits of its (mixed) hash code,
+ * while its slot within the stripe is given by the low bits.
+ * Thus threads working on keys in different stripes do not contend, and each stripe resizes independently
+ * (while holding its own lock) without blocking the others.
+ * <p>
+ * The method merge performs a read-modify-write atomically (for example, incrementing a count).
+ * The methods size and keys lock each stripe in turn, so they are exact only when there are no concurrent updates.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class HashTable_Striped<Key, Value> implements ST<Key, Value> {
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        HashTable_RH<Key, Value> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with <code>key</code>, if any, otherwise null.
+     */
+    public Value put(Key key, Value value) {
+        HashTable_RH<Key, Value> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.put(key, value);
+        }
+    }
+
+    /**
+     * Delete the given key (and its value) from this symbol table.
+     *
+     * @param key the key.
+     * @return the value which was associated with <code>key</code>, if any, otherwise null.
+     */
+    public Value delete(Key key) {
+        HashTable_RH<Key, Value> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.delete(key);
+        }
+    }
+
+    /**
+     * Atomically combine a value with the value (if any) associated with a key.
+     *
+     * @param key      the key.
+     * @param value    the value to associate with key if it is absent.
+     * @param function the function which combines the existing value and value, if key is present.
+     * @return the new value associated with key.
+     */
+    public Value merge(Key key, Value value, BinaryOperator<Value> function) {
+        HashTable_RH<Key, Value> stripe = stripe(key);
+        synchronized (stripe) {
+            Value existing = stripe.get(key);
+            Value result = existing == null ? value : function.apply(existing, value);
+            stripe.put(key, result);
+            return result;
+        }
+    }
+
+    /**
+     * Get the size of this symbol table.
+     *
+     * @return the total number of keys in all stripes.
+     */
+    public int size() {
+        int result = 0;
+        for (HashTable_RH<Key, Value> stripe : stripes)
+            synchronized (stripe) {
+                result += stripe.size();
+            }
+        return result;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new TreeSet<>();
+        for (HashTable_RH<Key, Value> stripe : stripes)
+            synchronized (stripe) {
+                result.addAll(stripe.keys());
+            }
+        return result;
+    }
+
+    /**
+     * Constructs a HashTable_Striped.
+     *
+     * @param stripes  the number of stripes (rounded up to a power of two):
+     *                 this should be several times the number of threads which will use the table.
+     * @param capacity the expected number of entries.
+     * @throws IllegalArgumentException if stripes is not positive.
+     */
+    public HashTable_Striped(int stripes, int capacity) {
+        if (stripes < 1) throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        int bits = 0;
+        while (bits < 16 && 1 << bits < stripes) bits++;
+        //noinspection unchecked
+        this.stripes = new HashTable_RH[1 << bits];
+        for (int i = 0; i < this.stripes.length; i++) this.stripes[i] = new HashTable_RH<>(capacity >> bits);
+        this.shift = 32 - bits;
+    }
+
+    /**
+     * Constructs a HashTable_Striped with DEFAULT_STRIPES stripes and a small initial capacity.
+     */
+    public HashTable_Striped() {
+        this(DEFAULT_STRIPES, 0);
+    }
+
+    private HashTable_RH<Key, Value> stripe(Key key) {
+        // NOTE the shift of an int by 32 is the same as by 0, so a single stripe must be treated specially.
+        return shift == 32 ? stripes[0] : stripes[(key.hashCode() * 0x9E3779B9) >>> shift];
+    }
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final HashTable_RH<Key, Value>[] stripes;
+    private final int shift; // 32 minus the number of bits in a stripe index
+}
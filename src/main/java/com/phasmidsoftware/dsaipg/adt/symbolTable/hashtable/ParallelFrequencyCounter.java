@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Builder of FrequencyCounters from large texts, using several threads.
+ * <p>
+ * The lines of the text are divided into chunks, each of which is tokenized and counted by a separate task
+ * in a table of its own (so that the counting itself involves no contention).
+ * Each task then merges its counts into a shared HashTable_Striped, which allows different tasks to merge
+ * into different stripes at the same time.
+ */
+public class ParallelFrequencyCounter {
+
+    /**
+     * Count the tokens in the given lines.
+     *
+     * @param lines       the lines of text.
+     * @param tokenizer   a function which yields the tokens of a line.
+     * @param parallelism the number of tasks into which the lines are divided (1 for a sequential count).
+     * @param <Key>       the token type.
+     * @return a FrequencyCounter of the tokens.
+     */
+    public static <Key> FrequencyCounter<Key> build(List<String> lines, Function<String, ? extends Collection<Key>> tokenizer, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        HashTable_Striped<Key, Integer> counts = new HashTable_Striped<>(STRIPES_PER_TASK * parallelism, 0);
+        int tasks = Math.min(parallelism, 1 + lines.size() / MIN_CHUNK);
+        if (tasks == 1) return new FrequencyCounter<>(counts, count(lines, tokenizer, counts));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            //noinspection unchecked
+            CompletableFuture<Long>[] futures = new CompletableFuture[tasks];
+            for (int t = 0; t < tasks; t++) {
+                int from = (int) ((long) lines.size() * t / tasks), to = (int) ((long) lines.size() * (t + 1) / tasks);
+                futures[t] = CompletableFuture.supplyAsync(() -> count(lines.subList(from, to), tokenizer, counts), pool);
+            }
+            long total = 0;
+            for (CompletableFuture<Long> future : futures) total += join(future);
+            return new FrequencyCounter<>(counts, total);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Count the tokens in the given file.
+     *
+     * @param file        the file (in UTF-8).
+     * @param tokenizer   a function which yields the tokens of a line.
+     * @param parallelism the number of tasks into which the lines are divided (1 for a sequential count).
+     * @param <Key>       the token type.
+     * @return a FrequencyCounter of the tokens.
+     * @throws IOException if the file cannot be read.
+     */
+    public static <Key> FrequencyCounter<Key> build(File file, Function<String, ? extends Collection<Key>> tokenizer, int parallelism) throws IOException {
+        return build(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8), tokenizer, parallelism);
+    }
+
+    /**
+     * Count the tokens of some lines in a local table and then merge the counts into counts.
+     *
+     * @return the number of tokens.
+     */
+    private static <Key> long count(List<String> lines, Function<String, ? extends Collection<Key>> tokenizer, HashTable_Striped<Key, Integer> counts) {
+        HashTable_RH<Key, int[]> local = new HashTable_RH<>();
+        long result = 0;
+        for (String line : lines)
+            for (Key token : tokenizer.apply(line)) {
+                int[] count = local.get(token);
+                if (count == null) local.put(token, new int[]{1});
+                else count[0]++;
+                result++;
+            }
+        local.forEach((token, count) -> counts.merge(token, count[0], Integer::sum));
+        return result;
+    }
+
+    private static long join(CompletableFuture<Long> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private static final int MIN_CHUNK = 256; // the least number of lines worth giving to a separate task
+    private static final int STRIPES_PER_TASK = 8;
+}
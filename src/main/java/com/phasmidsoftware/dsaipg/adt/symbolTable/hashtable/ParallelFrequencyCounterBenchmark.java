@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+import com.phasmidsoftware.dsaipg.util.SymbolTableBenchmark;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of ParallelFrequencyCounter on a Leipzig corpus (the 10K English sentences, repeated to make a larger text),
+ * compared with a sequential count in a HashMap.
+ */
+public class ParallelFrequencyCounterBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int copies = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        List<String> sentences = readLines("eng-uk_web_2002_10K-sentences.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < copies; i++) lines.addAll(sentences);
+        int processors = Runtime.getRuntime().availableProcessors();
+        logger.info("Processors: " + processors + ", lines: " + lines.size());
+        time("HashMap (sequential)", () -> {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String line : lines) for (String word : SymbolTableBenchmark.getLeipzigWords(line)) counts.merge(word, 1, Integer::sum);
+        }, 5);
+        for (int threads = 1; threads <= Math.max(8, processors); threads *= 2) {
+            int t = threads;
+            time("ParallelFrequencyCounter (" + t + " threads)", () -> ParallelFrequencyCounter.build(lines, SymbolTableBenchmark::getLeipzigWords, t), 5);
+        }
+    }
+
+    private static List<String> readLines(String resource) throws IOException {
+        InputStream stream = ParallelFrequencyCounterBenchmark.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) throw new FileNotFoundException(resource);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+
+    final static LazyLogger logger = new LazyLogger(ParallelFrequencyCounterBenchmark.class);
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ImmutableSymbolTable;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of the primitive hash tables against HashMap on workloads of 10^7 operations:
+ * <ol>
+ *     <li>counting the frequencies of 10^7 random ints (HashTable_IntInt against HashMap&lt;Integer, Integer&gt;);</li>
+ *     <li>putting and then getting 10^7 long keys (HashTable_LongObject against HashMap&lt;Long, Object&gt;).</li>
+ * </ol>
+ * For each, the time per run and the memory retained by the resulting table are shown.
+ * NOTE: run with a heap of at least 2 GB (e.g. -Xmx4g).
+ */
+public class PrimitiveHashTableBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Random random = new Random(0L);
+        int[] ints = new int[n];
+        for (int i = 0; i < n; i++) ints[i] = random.nextInt(n);
+        long[] longs = new long[n];
+        for (int i = 0; i < n; i++) longs[i] = random.nextLong();
+
+        time("HashMap<Integer, Integer> frequencies", () -> countFrequencies(ints), 3);
+        time("HashTable_IntInt frequencies", () -> countFrequencies(new HashTable_IntInt(), ints), 3);
+        memory("HashMap<Integer, Integer> frequencies", () -> countFrequencies(ints));
+        memory("HashTable_IntInt frequencies", () -> countFrequencies(new HashTable_IntInt(), ints));
+
+        time("HashMap<Long, Object> put/get", () -> putAndGet(longs), 3);
+        time("HashTable_LongObject put/get", () -> putAndGet(new HashTable_LongObject<>(), longs), 3);
+        memory("HashMap<Long, Object> put/get", () -> putAndGet(longs));
+        memory("HashTable_LongObject put/get", () -> putAndGet(new HashTable_LongObject<>(), longs));
+    }
+
+    private static Map<Integer, Integer> countFrequencies(int[] xs) {
+        Map<Integer, Integer> result = new HashMap<>();
+        for (int x : xs) result.merge(x, 1, Integer::sum);
+        return result;
+    }
+
+    private static HashTable_IntInt countFrequencies(HashTable_IntInt result, int[] xs) {
+        for (int x : xs) result.add(x, 1);
+        return result;
+    }
+
+    private static Map<Long, Object> putAndGet(long[] xs) {
+        Map<Long, Object> result = new HashMap<>();
+        for (long x : xs) result.put(x, VALUE);
+        for (long x : xs) if (result.get(x) != VALUE) throw new RuntimeException("logic error: missing key " + x);
+        return result;
+    }
+
+    private static HashTable_LongObject<Object> putAndGet(HashTable_LongObject<Object> result, long[] xs) {
+        for (long x : xs) result.put(x, VALUE);
+        for (long x : xs) if (result.get(x) != VALUE) throw new RuntimeException("logic error: missing key " + x);
+        return result;
+    }
+
+    private static void memory(String name, Supplier<Object> supplier) {
+        long before = usedMemory();
+        Object table = supplier.get();
+        long after = usedMemory();
+        logger.info(name + " memory: " + (after - before) / 1_000_000 + " MB (size " + size(table) + ")");
+    }
+
+    private static int size(Object table) {
+        if (table instanceof Map<?, ?> map) return map.size();
+        return ((ImmutableSymbolTable<?, ?>) table).size();
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static final Object VALUE = new Object();
+
+    final static LazyLogger logger = new LazyLogger(PrimitiveHashTableBenchmark.class);
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import java.util.NoSuchElementException;
+
+/**
+ * AVL tree (Adelson-Velsky and Landis): the heights of the two subtrees of every node differ by at most one,
+ * so the height is at most about 1.44 lg n.
+ * <p>
+ * Insertion is iterative (see BalancedBST.put).
+ * Deletion is recursive (with the successor, if any, replacing a deleted node which has two children).
+ * In each case, every node on the path to the change is rebalanced (by one or two rotations) bottom up.
+ *
+ * @param <Key>   the type of keys, which must be Comparable.
+ * @param <Value> the type of values associated with the keys.
+ */
+public class AVLTree<Key extends Comparable<Key>, Value> extends BalancedBST<Key, Value> {
+
+    /**
+     * Delete the given key (if present).
+     *
+     * @param key the key to be deleted.
+     */
+    public void delete(Key key) {
+        root = delete(root, key);
+    }
+
+    /**
+     * Delete the smallest key.
+     *
+     * @throws NoSuchElementException if this tree is empty.
+     */
+    public void deleteMin() {
+        if (root == null) throw new NoSuchElementException("tree is empty");
+        root = deleteMin(root);
+    }
+
+    /**
+     * Check the invariants of this tree: symmetric order, sizes, heights and balance.
+     * NOTE: package-private for testing.
+     *
+     * @throws AssertionError if an invariant does not hold.
+     */
+    void validate() {
+        validate(root, null, null);
+    }
+
+    Node<Key, Value> makeNode(Key key, Value value) {
+        return new Node<>(key, value, 1);
+    }
+
+    Node<Key, Value> balance(Node<Key, Value> h) {
+        update(h);
+        int factor = height(h.left) - height(h.right);
+        if (factor > 1) {
+            if (height(h.left.left) < height(h.left.right)) h.left = rotateLeft(h.left);
+            h = rotateRight(h);
+        } else if (factor < -1) {
+            if (height(h.right.right) < height(h.right.left)) h.right = rotateRight(h.right);
+            h = rotateLeft(h);
+        }
+        return h;
+    }
+
+    private Node<Key, Value> delete(Node<Key, Value> h, Key key) {
+        if (h == null) return null;
+        int cf = key.compareTo(h.key);
+        if (cf < 0) h.left = delete(h.left, key);
+        else if (cf > 0) h.right = delete(h.right, key);
+        else {
+            if (h.left == null) return h.right;
+            if (h.right == null) return h.left;
+            Node<Key, Value> t = h;
+            h = t.right;
+            while (h.left != null) h = h.left;
+            h.right = deleteMin(t.right);
+            h.left = t.left;
+        }
+        return balance(h);
+    }
+
+    private Node<Key, Value> deleteMin(Node<Key, Value> h) {
+        if (h.left == null) return h.right;
+        h.left = deleteMin(h.left);
+        return balance(h);
+    }
+
+    private Node<Key, Value> rotateLeft(Node<Key, Value> h) {
+        Node<Key, Value> x = h.right;
+        h.right = x.left;
+        x.left = h;
+        update(h);
+        update(x);
+        return x;
+    }
+
+    private Node<Key, Value> rotateRight(Node<Key, Value> h) {
+        Node<Key, Value> x = h.left;
+        h.left = x.right;
+        x.right = h;
+        update(h);
+        update(x);
+        return x;
+    }
+
+    private static void update(Node<?, ?> x) {
+        x.tag = 1 + Math.max(height(x.left), height(x.right));
+        x.size = 1 + size(x.left) + size(x.right);
+    }
+
+    private static int height(Node<?, ?> x) {
+        return x == null ? 0 : x.tag;
+    }
+
+    private void validate(Node<Key, Value> x, Key lo, Key hi) {
+        if (x == null) return;
+        if (lo != null && x.key.compareTo(lo) <= 0 || hi != null && x.key.compareTo(hi) >= 0)
+            throw new AssertionError("symmetric order violated at " + x.key);
+        if (x.size != 1 + size(x.left) + size(x.right)) throw new AssertionError("wrong size at " + x.key);
+        if (x.tag != 1 + Math.max(height(x.left), height(x.right))) throw new AssertionError("wrong height at " + x.key);
+        if (Math.abs(height(x.left) - height(x.right)) > 1) throw new AssertionError("imbalance at " + x.key);
+        validate(x.left, lo, x.key);
+        validate(x.right, x.key, hi);
+    }
+}
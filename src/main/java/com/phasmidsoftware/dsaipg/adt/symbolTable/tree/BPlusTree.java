@@ -0,0 +1,684 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import com.phasmidsoftware.dsaipg.sort.NonInstrumentingComparableHelper;
+import com.phasmidsoftware.dsaipg.sort.linearithmic.QuickSort_DualPivot;
+import com.phasmidsoftware.dsaipg.util.Config;
+import org.ini4j.Ini;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * In-memory B+-tree, an ordered symbol table whose nodes are wide arrays rather than single keys.
+ * <p>
+ * Every node (other than the root) holds between (fanout-1)/2 and fanout-1 keys in an array,
+ * so that the height of the tree is about log(n)/log(fanout/2) and a search visits only that many nodes,
+ * each of which is a contiguous array that can be binary-searched.
+ * The keys and values themselves live only in the leaves, which are linked (in both directions) in key order,
+ * so that a range query descends once and then simply scans the leaves.
+ * The internal nodes hold separator keys and record the number of keys in their subtrees (for rank and select).
+ * <p>
+ * A tree may be built incrementally (by put) or bulk-loaded from sorted keys (see bulkLoad).
+ * NOTE: depth and meanDepth are given in terms of nodes: all keys are in leaves, which are all at the same depth.
+ *
+ * @param <Key>   the type of keys, which must be Comparable.
+ * @param <Value> the type of values associated with the keys.
+ */
+public class BPlusTree<Key extends Comparable<Key>, Value> implements OrderedBST<Key, Value> {
+
+    /**
+     * Build a B+-tree from keys which are already in strictly ascending order.
+     * The leaves are packed as fully as the fanout allows (which suits a table which is mostly read).
+     *
+     * @param fanout the maximum number of children of a node (at least 3).
+     * @param keys   the keys, in strictly ascending order.
+     * @param values the values, such that values[i] is associated with keys[i].
+     * @return a new BPlusTree.
+     * @throws IllegalArgumentException if the keys are out of order or the arrays differ in length.
+     */
+    public static <Key extends Comparable<Key>, Value> BPlusTree<Key, Value> bulkLoad(int fanout, Key[] keys, Value[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("keys and values differ in length: " + keys.length + ", " + values.length);
+        for (int i = 1; i < keys.length; i++)
+            if (keys[i - 1].compareTo(keys[i]) >= 0)
+                throw new IllegalArgumentException("keys are not in strictly ascending order at index " + i);
+        BPlusTree<Key, Value> result = new BPlusTree<>(fanout);
+        if (keys.length > 0) result.load(keys, values);
+        return result;
+    }
+
+    /**
+     * Build a B+-tree from keys in any order, by sorting a copy of them (with the dual-pivot quicksort of the sort package)
+     * and then bulk-loading them. Duplicate keys are loaded only once.
+     *
+     * @param fanout   the maximum number of children of a node (at least 3).
+     * @param keys     the keys (which are not changed).
+     * @param function the function which yields the value for each key.
+     * @return a new BPlusTree.
+     */
+    public static <Key extends Comparable<Key>, Value> BPlusTree<Key, Value> bulkLoad(int fanout, Key[] keys, Function<Key, Value> function) {
+        Key[] sorted = new QuickSort_DualPivot<Key>(new NonInstrumentingComparableHelper<>("BPlusTree", keys.length, new Config(new Ini()))).sort(keys, true);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++)
+            if (n == 0 || sorted[n - 1].compareTo(sorted[i]) != 0) sorted[n++] = sorted[i];
+        Key[] distinct = Arrays.copyOf(sorted, n);
+        //noinspection unchecked
+        Value[] values = (Value[]) new Object[n];
+        for (int i = 0; i < n; i++) values[i] = function.apply(distinct[i]);
+        return bulkLoad(fanout, distinct, values);
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        //noinspection unchecked
+        return i < leaf.n && key.compareTo(key(leaf, i)) == 0 ? (Value) leaf.values[i] : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with <code>key</code>, if any, otherwise null.
+     */
+    public Value put(Key key, Value value) {
+        int depth = descend(key);
+        Leaf leaf = (Leaf) (depth == 0 ? root : path[depth - 1].children[index[depth - 1]]);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.n && key.compareTo(key(leaf, i)) == 0) {
+            //noinspection unchecked
+            Value result = (Value) leaf.values[i];
+            leaf.values[i] = value;
+            return result;
+        }
+        System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.n - i);
+        System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.n - i);
+        leaf.keys[i] = key;
+        leaf.values[i] = value;
+        leaf.n++;
+        count++;
+        for (int d = 0; d < depth; d++) path[d].size++;
+        // Split each overflowing node on the path, bottom up, inserting the new sibling (and its separator) into the parent.
+        Node sibling = leaf.n == fanout ? splitLeaf(leaf) : null;
+        Object separator = sibling != null ? sibling.keys[0] : null;
+        while (sibling != null && depth > 0) {
+            Internal parent = path[--depth];
+            int j = index[depth];
+            System.arraycopy(parent.keys, j, parent.keys, j + 1, parent.n - j);
+            System.arraycopy(parent.children, j + 1, parent.children, j + 2, parent.n - j);
+            parent.keys[j] = separator;
+            parent.children[j + 1] = sibling;
+            parent.n++;
+            if (parent.n == fanout) {
+                separator = parent.keys[fanout / 2];
+                sibling = splitInternal(parent);
+            } else sibling = null;
+        }
+        if (sibling != null) {
+            Internal newRoot = new Internal(fanout);
+            newRoot.keys[0] = separator;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.n = 1;
+            newRoot.size = count;
+            root = newRoot;
+        }
+        return null;
+    }
+
+    /**
+     * Delete the given key (and its value), if present.
+     *
+     * @param key the key to be deleted.
+     */
+    public void delete(Key key) {
+        int depth = descend(key);
+        Leaf leaf = (Leaf) (depth == 0 ? root : path[depth - 1].children[index[depth - 1]]);
+        int i = lowerBound(leaf, key);
+        if (i == leaf.n || key.compareTo(key(leaf, i)) != 0) return;
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+        System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.n - i - 1);
+        leaf.n--;
+        leaf.keys[leaf.n] = null;
+        leaf.values[leaf.n] = null;
+        count--;
+        for (int d = 0; d < depth; d++) path[d].size--;
+        // Repair each underflowing node on the path, bottom up, by borrowing from a sibling or else merging with one.
+        Node x = leaf;
+        while (depth > 0 && x.n < minKeys) {
+            Internal parent = path[--depth];
+            int j = index[depth];
+            Node left = j > 0 ? parent.children[j - 1] : null;
+            Node right = j < parent.n ? parent.children[j + 1] : null;
+            if (left != null && left.n > minKeys) borrowFromLeft(parent, j, x, left);
+            else if (right != null && right.n > minKeys) borrowFromRight(parent, j, x, right);
+            else if (left != null) merge(parent, j - 1, left, x);
+            else merge(parent, j, x, right);
+            x = parent;
+        }
+        if (root instanceof Internal r && r.n == 0) root = r.children[0];
+    }
+
+    /**
+     * Delete the smallest key.
+     *
+     * @throws NoSuchElementException if this tree is empty.
+     */
+    public void deleteMin() {
+        delete(min());
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public Boolean contains(Key key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        return i < leaf.n && key.compareTo(key(leaf, i)) == 0;
+    }
+
+    /**
+     * Put all the entries of a map into this tree.
+     *
+     * @param map the map.
+     */
+    public void putAll(Map<Key, Value> map) {
+        for (Map.Entry<Key, Value> entry : map.entrySet()) put(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * @return the number of keys.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Apply f to each key-value pair, in key order (by scanning the linked leaves).
+     *
+     * @param f the function (whose result is ignored).
+     */
+    public void inOrderTraverse(BiFunction<Key, Value, Void> f) {
+        for (Leaf leaf = first; leaf != null; leaf = leaf.next)
+            for (int i = 0; i < leaf.n; i++) //noinspection unchecked
+                f.apply(key(leaf, i), (Value) leaf.values[i]);
+    }
+
+    /**
+     * @return the keys, in order.
+     */
+    public Set<Key> keySet() {
+        Set<Key> result = new LinkedHashSet<>();
+        inOrderTraverse((k, v) -> {
+            result.add(k);
+            return null;
+        });
+        return result;
+    }
+
+    /**
+     * @return the height of this tree: the number of nodes on a path from the root to a leaf (zero if empty).
+     */
+    public int depth() {
+        if (count == 0) return 0;
+        int result = 1;
+        for (Node x = root; x instanceof Internal internal; x = internal.children[0]) result++;
+        return result;
+    }
+
+    /**
+     * @param key the key.
+     * @return the depth of the leaf which holds key (the root has depth zero), or -1 if key is not present.
+     */
+    public int depth(Key key) {
+        return contains(key) ? depth() - 1 : -1;
+    }
+
+    /**
+     * @return the mean depth of the keys, which is the depth of the leaves (or zero if this tree is empty).
+     */
+    public double meanDepth() {
+        return count == 0 ? 0 : depth() - 1;
+    }
+
+    public Key min() {
+        if (count == 0) throw new NoSuchElementException("tree is empty");
+        return key(first, 0);
+    }
+
+    public Key max() {
+        if (count == 0) throw new NoSuchElementException("tree is empty");
+        Node x = root;
+        while (x instanceof Internal internal) x = internal.children[internal.n];
+        return key(x, x.n - 1);
+    }
+
+    public Key floor(Key key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.n && key.compareTo(key(leaf, i)) == 0) return key(leaf, i);
+        if (i > 0) return key(leaf, i - 1);
+        return leaf.prev != null ? key(leaf.prev, leaf.prev.n - 1) : null;
+    }
+
+    public Key ceiling(Key key) {
+        Leaf leaf = findLeaf(key);
+        int i = lowerBound(leaf, key);
+        if (i < leaf.n) return key(leaf, i);
+        return leaf.next != null ? key(leaf.next, 0) : null;
+    }
+
+    public int rank(Key key) {
+        int result = 0;
+        Node x = root;
+        while (x instanceof Internal internal) {
+            int i = childIndex(internal, key);
+            for (int c = 0; c < i; c++) result += size(internal.children[c]);
+            x = internal.children[i];
+        }
+        return result + lowerBound((Leaf) x, key);
+    }
+
+    public Key select(int rank) {
+        if (rank < 0 || rank >= count) throw new IllegalArgumentException("rank out of range: " + rank);
+        Node x = root;
+        while (x instanceof Internal internal) {
+            int c = 0;
+            for (int t; rank >= (t = size(internal.children[c])); c++) rank -= t;
+            x = internal.children[c];
+        }
+        return key(x, rank);
+    }
+
+    public int size(Key lo, Key hi) {
+        if (lo.compareTo(hi) > 0) return 0;
+        return rank(hi) - rank(lo) + (contains(hi) ? 1 : 0);
+    }
+
+    /**
+     * Get the keys in a range by descending to the leaf for lo and then scanning the linked leaves.
+     *
+     * @param lo the lower bound (inclusive).
+     * @param hi the upper bound (inclusive).
+     * @return the keys between lo and hi, in order.
+     */
+    public List<Key> keys(Key lo, Key hi) {
+        List<Key> result = new ArrayList<>();
+        Leaf leaf = findLeaf(lo);
+        for (int i = lowerBound(leaf, lo); leaf != null; leaf = leaf.next, i = 0)
+            for (; i < leaf.n; i++) {
+                Key key = key(leaf, i);
+                if (key.compareTo(hi) > 0) return result;
+                result.add(key);
+            }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+        inOrderTraverse((k, v) -> {
+            if (result.length() > 1) result.append(", ");
+            result.append(k).append("=").append(v);
+            return null;
+        });
+        return result.append("}").toString();
+    }
+
+    /**
+     * Constructs an empty BPlusTree.
+     *
+     * @param fanout the maximum number of children of a node (so a node holds at most fanout-1 keys).
+     * @throws IllegalArgumentException if fanout is less than 3.
+     */
+    public BPlusTree(int fanout) {
+        if (fanout < 3) throw new IllegalArgumentException("fanout must be at least 3: " + fanout);
+        this.fanout = fanout;
+        this.minKeys = (fanout - 1) / 2;
+        this.root = this.first = new Leaf(fanout);
+    }
+
+    /**
+     * Constructs an empty BPlusTree with DEFAULT_FANOUT.
+     */
+    public BPlusTree() {
+        this(DEFAULT_FANOUT);
+    }
+
+    /**
+     * Check the invariants of this tree: key order, occupancy, subtree sizes, uniform leaf depth and leaf links.
+     * NOTE: package-private for testing.
+     *
+     * @throws AssertionError if an invariant is violated.
+     */
+    void validate() {
+        int height = depth();
+        if (count != validate(root, null, null, 1, height == 0 ? 1 : height))
+            throw new AssertionError("size is not the number of keys");
+        int n = 0;
+        Leaf previous = null;
+        for (Leaf leaf = first; leaf != null; previous = leaf, leaf = leaf.next) {
+            if (leaf.prev != previous) throw new AssertionError("broken leaf link");
+            n += leaf.n;
+        }
+        if (n != count) throw new AssertionError("leaf chain holds " + n + " keys, not " + count);
+    }
+
+    private int validate(Node x, Key lo, Key hi, int level, int height) {
+        if (x != root && (x.n < minKeys || x.n >= fanout))
+            throw new AssertionError("node occupancy " + x.n + " out of range at level " + level);
+        for (int i = 0; i < x.n; i++) {
+            Key key = key(x, i);
+            if (i > 0 && key(x, i - 1).compareTo(key) >= 0) throw new AssertionError("keys out of order at " + key);
+            if (lo != null && key.compareTo(lo) < 0 || hi != null && key.compareTo(hi) >= 0)
+                throw new AssertionError("key " + key + " out of range of its parent");
+        }
+        if (x instanceof Internal internal) {
+            int result = 0;
+            for (int c = 0; c <= x.n; c++)
+                result += validate(internal.children[c], c == 0 ? lo : key(x, c - 1), c == x.n ? hi : key(x, c), level + 1, height);
+            if (result != internal.size) throw new AssertionError("wrong subtree size at level " + level);
+            return result;
+        }
+        if (level != height) throw new AssertionError("leaf at level " + level + " in a tree of height " + height);
+        return x.n;
+    }
+
+    /**
+     * Build the tree bottom up from sorted keys: first the leaves, then each level of internal nodes,
+     * dividing the nodes of each level as evenly as possible between the fewest parents.
+     */
+    private void load(Key[] keys, Value[] values) {
+        int capacity = fanout - 1;
+        int leaves = (keys.length + capacity - 1) / capacity;
+        Node[] level = new Node[leaves];
+        Leaf leftmost = null;
+        Object[] firsts = new Object[leaves]; // the smallest key in the subtree of each node of level
+        Leaf previous = null;
+        for (int l = 0; l < leaves; l++) {
+            int from = (int) ((long) keys.length * l / leaves), to = (int) ((long) keys.length * (l + 1) / leaves);
+            Leaf leaf = new Leaf(fanout);
+            System.arraycopy(keys, from, leaf.keys, 0, to - from);
+            System.arraycopy(values, from, leaf.values, 0, to - from);
+            leaf.n = to - from;
+            leaf.prev = previous;
+            if (previous != null) previous.next = leaf;
+            previous = leaf;
+            if (leftmost == null) leftmost = leaf;
+            level[l] = leaf;
+            firsts[l] = keys[from];
+        }
+        while (level.length > 1) {
+            int parents = (level.length + fanout - 1) / fanout;
+            Node[] next = new Node[parents];
+            Object[] nextFirsts = new Object[parents];
+            for (int p = 0; p < parents; p++) {
+                int from = (int) ((long) level.length * p / parents), to = (int) ((long) level.length * (p + 1) / parents);
+                Internal parent = new Internal(fanout);
+                for (int c = from; c < to; c++) {
+                    parent.children[c - from] = level[c];
+                    if (c > from) parent.keys[c - from - 1] = firsts[c];
+                    parent.size += size(level[c]);
+                }
+                parent.n = to - from - 1;
+                next[p] = parent;
+                nextFirsts[p] = firsts[from];
+            }
+            level = next;
+            firsts = nextFirsts;
+        }
+        root = level[0];
+        first = leftmost;
+        count = keys.length;
+    }
+
+    /**
+     * Descend from the root towards the leaf for key, recording each internal node and the index of the child taken.
+     *
+     * @return the number of internal nodes on the path (so that the leaf is the child path[d-1].children[index[d-1]]).
+     */
+    private int descend(Key key) {
+        int depth = 0;
+        for (Node x = root; x instanceof Internal internal; x = internal.children[index[depth++]]) {
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, 2 * depth);
+                index = Arrays.copyOf(index, 2 * depth);
+            }
+            path[depth] = internal;
+            index[depth] = childIndex(internal, key);
+        }
+        return depth;
+    }
+
+    private Leaf findLeaf(Key key) {
+        Node x = root;
+        while (x instanceof Internal internal) x = internal.children[childIndex(internal, key)];
+        return (Leaf) x;
+    }
+
+    /**
+     * @return the index of the child of x whose subtree may contain key (i.e. the number of separators not greater than key).
+     */
+    private int childIndex(Internal x, Key key) {
+        int lo = 0, hi = x.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key.compareTo(key(x, mid)) >= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the index of the first key of leaf which is not less than key (leaf.n if there is none).
+     */
+    private int lowerBound(Leaf leaf, Key key) {
+        int lo = 0, hi = leaf.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (key.compareTo(key(leaf, mid)) > 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Split a full leaf, moving its upper half into a new leaf which follows it in the chain.
+     *
+     * @return the new leaf.
+     */
+    private Leaf splitLeaf(Leaf leaf) {
+        int k = leaf.n / 2, m = leaf.n - k;
+        Leaf result = new Leaf(fanout);
+        System.arraycopy(leaf.keys, k, result.keys, 0, m);
+        System.arraycopy(leaf.values, k, result.values, 0, m);
+        Arrays.fill(leaf.keys, k, leaf.n, null);
+        Arrays.fill(leaf.values, k, leaf.n, null);
+        leaf.n = k;
+        result.n = m;
+        result.next = leaf.next;
+        if (leaf.next != null) leaf.next.prev = result;
+        result.prev = leaf;
+        leaf.next = result;
+        return result;
+    }
+
+    /**
+     * Split a full internal node: its middle key moves up (the caller having taken it) and the keys and children
+     * above the middle key move into a new node.
+     *
+     * @return the new node.
+     */
+    private Internal splitInternal(Internal x) {
+        int k = x.n / 2, m = x.n - k - 1;
+        Internal result = new Internal(fanout);
+        System.arraycopy(x.keys, k + 1, result.keys, 0, m);
+        System.arraycopy(x.children, k + 1, result.children, 0, m + 1);
+        Arrays.fill(x.keys, k, x.n, null);
+        Arrays.fill(x.children, k + 1, x.n + 1, null);
+        x.n = k;
+        result.n = m;
+        for (int c = 0; c <= m; c++) result.size += size(result.children[c]);
+        x.size -= result.size;
+        return result;
+    }
+
+    /**
+     * Move the last entry of left (the sibling preceding x, the jth child of parent) to the front of x.
+     */
+    private void borrowFromLeft(Internal parent, int j, Node x, Node left) {
+        System.arraycopy(x.keys, 0, x.keys, 1, x.n);
+        if (x instanceof Leaf leaf) {
+            Leaf l = (Leaf) left;
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.n);
+            leaf.keys[0] = l.keys[l.n - 1];
+            leaf.values[0] = l.values[l.n - 1];
+            l.keys[l.n - 1] = null;
+            l.values[l.n - 1] = null;
+            parent.keys[j - 1] = leaf.keys[0];
+        } else {
+            Internal internal = (Internal) x, l = (Internal) left;
+            System.arraycopy(internal.children, 0, internal.children, 1, internal.n + 1);
+            internal.keys[0] = parent.keys[j - 1];
+            internal.children[0] = l.children[l.n];
+            parent.keys[j - 1] = l.keys[l.n - 1];
+            l.keys[l.n - 1] = null;
+            l.children[l.n] = null;
+            int moved = size(internal.children[0]);
+            internal.size += moved;
+            l.size -= moved;
+        }
+        x.n++;
+        left.n--;
+    }
+
+    /**
+     * Move the first entry of right (the sibling following x, the jth child of parent) to the end of x.
+     */
+    private void borrowFromRight(Internal parent, int j, Node x, Node right) {
+        if (x instanceof Leaf leaf) {
+            Leaf r = (Leaf) right;
+            leaf.keys[leaf.n] = r.keys[0];
+            leaf.values[leaf.n] = r.values[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+            System.arraycopy(r.values, 1, r.values, 0, r.n - 1);
+            r.keys[r.n - 1] = null;
+            r.values[r.n - 1] = null;
+            parent.keys[j] = r.keys[0];
+        } else {
+            Internal internal = (Internal) x, r = (Internal) right;
+            internal.keys[internal.n] = parent.keys[j];
+            internal.children[internal.n + 1] = r.children[0];
+            parent.keys[j] = r.keys[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+            System.arraycopy(r.children, 1, r.children, 0, r.n);
+            r.keys[r.n - 1] = null;
+            r.children[r.n] = null;
+            int moved = size(internal.children[internal.n + 1]);
+            internal.size += moved;
+            r.size -= moved;
+        }
+        x.n++;
+        right.n--;
+    }
+
+    /**
+     * Merge the (j+1)th child of parent (right) into the jth child (left) and remove the separator between them.
+     */
+    private void merge(Internal parent, int j, Node left, Node right) {
+        if (left instanceof Leaf l) {
+            Leaf r = (Leaf) right;
+            System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+            System.arraycopy(r.values, 0, l.values, l.n, r.n);
+            l.n += r.n;
+            l.next = r.next;
+            if (r.next != null) r.next.prev = l;
+        } else {
+            Internal l = (Internal) left, r = (Internal) right;
+            l.keys[l.n] = parent.keys[j];
+            System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+            System.arraycopy(r.children, 0, l.children, l.n + 1, r.n + 1);
+            l.n += r.n + 1;
+            l.size += r.size;
+        }
+        System.arraycopy(parent.keys, j + 1, parent.keys, j, parent.n - j - 1);
+        System.arraycopy(parent.children, j + 2, parent.children, j + 1, parent.n - j - 1);
+        parent.n--;
+        parent.keys[parent.n] = null;
+        parent.children[parent.n + 1] = null;
+    }
+
+    private Key key(Node x, int i) {
+        //noinspection unchecked
+        return (Key) x.keys[i];
+    }
+
+    private static int size(Node x) {
+        return x instanceof Internal internal ? internal.size : x.n;
+    }
+
+    /**
+     * Node of a B+-tree: an array of keys, of which the first n are in use.
+     * NOTE: each array has room for one more entry than a node may hold, so that a node can overflow before it is split.
+     */
+    private static class Node {
+        Node(int fanout) {
+            keys = new Object[fanout];
+        }
+
+        final Object[] keys;
+        int n; // the number of keys
+    }
+
+    private static final class Leaf extends Node {
+        Leaf(int fanout) {
+            super(fanout);
+            values = new Object[fanout];
+        }
+
+        final Object[] values;
+        Leaf prev; // the preceding leaf (in key order)
+        Leaf next; // the following leaf (in key order)
+    }
+
+    private static final class Internal extends Node {
+        Internal(int fanout) {
+            super(fanout);
+            children = new Node[fanout + 1];
+        }
+
+        final Node[] children; // n + 1 children: the keys of children[i] are less than keys[i], which is not greater than those of children[i+1]
+        int size; // the number of keys in the subtree rooted here
+    }
+
+    private static final int DEFAULT_FANOUT = 64;
+
+    private final int fanout; // the maximum number of children of a node
+    private final int minKeys; // the minimum number of keys in a node other than the root
+    private Node root;
+    private Leaf first; // the leftmost leaf (which survives all merges, since a merge always retains the left node)
+    private int count;
+
+    private Internal[] path = new Internal[16]; // the internal nodes from the root to a leaf (see descend)
+    private int[] index = new int[16]; // index[d] is the index of the child taken from path[d]
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of BPlusTree (with several fanouts) against BSTSimple and TreeMap for n random keys:
+ * <ol>
+ *     <li>n puts followed by n gets (in a different random order);</li>
+ *     <li>building from sorted keys (bulk-loading in the case of BPlusTree);</li>
+ *     <li>range scans (BPlusTree and TreeMap only, since BSTSimple has no range query).</li>
+ * </ol>
+ * The number of keys may be given as the first argument (the default is 10^6).
+ * NOTE: run with a large heap (e.g. -Xmx4g): each boxed key costs some 16 bytes before it is placed in any tree.
+ */
+public class BPlusTreeBenchmark {
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; i++) sorted[i] = 2 * i;
+        Integer[] puts = sorted.clone();
+        Collections.shuffle(Arrays.asList(puts), new Random(0L));
+        Integer[] gets = sorted.clone();
+        Collections.shuffle(Arrays.asList(gets), new Random(1L));
+        logger.info("BPlusTreeBenchmark: n=" + n);
+
+        time("BSTSimple put/get", () -> putAndGet(new BSTSimple<>(), puts, gets), 5);
+        time("TreeMap put/get", () -> {
+            TreeMap<Integer, Integer> map = new TreeMap<>();
+            for (Integer key : puts) map.put(key, key);
+            for (Integer key : gets) if (!key.equals(map.get(key))) throw new RuntimeException("logic error: missing key " + key);
+        }, 5);
+        for (int fanout : FANOUTS)
+            time("BPlusTree(" + fanout + ") put/get", () -> putAndGet(new BPlusTree<>(fanout), puts, gets), 5);
+
+        TreeMap<Integer, Integer> sortedMap = new TreeMap<>();
+        for (Integer key : sorted) sortedMap.put(key, key);
+        time("TreeMap build from sorted", () -> new TreeMap<>(sortedMap), 5);
+        for (int fanout : FANOUTS)
+            time("BPlusTree(" + fanout + ") bulk load", () -> BPlusTree.bulkLoad(fanout, sorted, sorted), 5);
+
+        Random random = new Random(2L);
+        int[] starts = new int[SCANS];
+        for (int i = 0; i < SCANS; i++) starts[i] = 2 * random.nextInt(Math.max(1, n - SCAN_LENGTH));
+        time("TreeMap range scans", () -> {
+            for (int start : starts) {
+                List<Integer> keys = new ArrayList<>(sortedMap.subMap(start, true, start + 2 * SCAN_LENGTH - 2, true).keySet());
+                if (keys.size() > SCAN_LENGTH) throw new RuntimeException("logic error: scan too long");
+            }
+        }, 5);
+        for (int fanout : FANOUTS) {
+            BPlusTree<Integer, Integer> tree = BPlusTree.bulkLoad(fanout, sorted, sorted);
+            time("BPlusTree(" + fanout + ") range scans", () -> {
+                for (int start : starts)
+                    if (tree.keys(start, start + 2 * SCAN_LENGTH - 2).size() > SCAN_LENGTH)
+                        throw new RuntimeException("logic error: scan too long");
+            }, 5);
+        }
+    }
+
+    private static void putAndGet(BST<Integer, Integer> bst, Integer[] puts, Integer[] gets) {
+        for (Integer key : puts) bst.put(key, key);
+        for (Integer key : gets) if (!key.equals(bst.get(key))) throw new RuntimeException("logic error: missing key " + key);
+    }
+
+    private static final List<Integer> FANOUTS = List.of(16, 64, 256);
+    private static final int SCANS = 1000;
+    private static final int SCAN_LENGTH = 1000; // the number of keys in each range scan
+
+    final static LazyLogger logger = new LazyLogger(BPlusTreeBenchmark.class);
+}
@@ -8,8 +8,11 @@ import com.phasmidsoftware.dsaipg.util.*;
 
 import java.io.FileNotFoundException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Random;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -18,6 +21,7 @@ import java.util.stream.Stream;
 import static com.phasmidsoftware.dsaipg.adt.symbolTable.tree.BSTOptimisedDeletion.random;
 import static com.phasmidsoftware.dsaipg.util.SortBenchmarkHelper.getWords;
 import static com.phasmidsoftware.dsaipg.util.Utilities.formatDecimal3Places;
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
 
 
 /**
@@ -42,7 +46,57 @@ public class BSTBenchmark<K extends Comparable<K>, V> extends Benchmark_Timer<K[
     public static void main(final String[] args) {
         logger.info("BSTBenchmark: with args: " + Arrays.toString(args));
         final Stream<Integer> stream = Arrays.stream(args).map(Integer::parseInt);
-        stream.forEach(BSTBenchmark::doBenchmark);
+        stream.forEach(x -> {
+            doBenchmark(x);
+            compareTrees(x);
+        });
+    }
+
+    /**
+     * Compares the unbalanced BSTOptimisedDeletion with the self-balancing RedBlackBST and AVLTree,
+     * by mean depth and by throughput (n puts followed by n gets), for each of three insertion orders:
+     * sorted, random and zigzag (alternately the smallest and the largest of the remaining keys,
+     * which is adversarial for an unbalanced tree).
+     * <p>
+     * NOTE: the unbalanced tree is skipped for the sorted and zigzag orders if n exceeds UNBALANCED_LIMIT,
+     * because it then takes quadratic time and recurses to depth n.
+     *
+     * @param n the number of keys.
+     */
+    static void compareTrees(final int n) {
+        final Map<String, Supplier<BstDetail<Integer, Integer>>> trees = new LinkedHashMap<>();
+        trees.put("BSTOptimisedDeletion", () -> new BSTOptimisedDeletion<>(2));
+        trees.put("RedBlackBST", RedBlackBST::new);
+        trees.put("AVLTree", AVLTree::new);
+        final Map<String, Integer[]> orders = new LinkedHashMap<>();
+        final Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; i++) sorted[i] = i;
+        orders.put("sorted", sorted);
+        final Integer[] shuffled = sorted.clone();
+        Collections.shuffle(Arrays.asList(shuffled), new Random(0L));
+        orders.put("random", shuffled);
+        final Integer[] zigzag = new Integer[n];
+        for (int i = 0; i < n; i++) zigzag[i] = i % 2 == 0 ? i / 2 : n - 1 - i / 2;
+        orders.put("zigzag", zigzag);
+        for (Map.Entry<String, Integer[]> order : orders.entrySet())
+            for (Map.Entry<String, Supplier<BstDetail<Integer, Integer>>> tree : trees.entrySet()) {
+                final String name = tree.getKey() + " (" + order.getKey() + ", n=" + n + ")";
+                if (tree.getKey().equals("BSTOptimisedDeletion") && !order.getKey().equals("random") && n > UNBALANCED_LIMIT) {
+                    logger.info(name + ": skipped");
+                    continue;
+                }
+                final Supplier<BstDetail<Integer, Integer>> supplier = tree.getValue();
+                final Benchmark<Integer[]> benchmark = new Benchmark_Timer<>(name, null, keys -> putAndGet(supplier.get(), keys), null);
+                final double milliseconds = benchmark.runFromSupplier(order::getValue, 10);
+                final BstDetail<Integer, Integer> bst = putAndGet(supplier.get(), order.getValue());
+                logger.info(name + ": mean depth " + formatDecimal3Places(bst.meanDepth()) + ", ops/sec " + formatWhole((int) (2000.0 * n / milliseconds)));
+            }
+    }
+
+    private static BstDetail<Integer, Integer> putAndGet(final BstDetail<Integer, Integer> bst, final Integer[] keys) {
+        for (Integer key : keys) bst.put(key, key);
+        for (Integer key : keys) if (!key.equals(bst.get(key))) throw new RuntimeException("logic error: missing key " + key);
+        return bst;
     }
 
     /**
@@ -222,5 +276,7 @@ public class BSTBenchmark<K extends Comparable<K>, V> extends Benchmark_Timer<K[
 
     final static LazyLogger logger = new LazyLogger(BSTBenchmark.class);
 
+    private static final int UNBALANCED_LIMIT = 2_000;
+
     private final int nRuns;
 }
\ No newline at end of file
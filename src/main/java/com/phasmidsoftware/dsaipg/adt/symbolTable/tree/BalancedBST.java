@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Abstract base class for self-balancing binary search trees (see RedBlackBST and AVLTree).
+ * <p>
+ * Each node records the size of its subtree (so that rank and select take time proportional to the height)
+ * and a tag whose meaning depends on the kind of tree (its color or its height).
+ * The searches, the ordered operations and put are iterative:
+ * put records the path from the root to the new node and then rebalances each node of that path, bottom up.
+ * Deletion (which is implemented by the subclasses) is recursive, but the recursion is no deeper than the tree.
+ *
+ * @param <Key>   the type of keys, which must be Comparable.
+ * @param <Value> the type of values associated with the keys.
+ */
+public abstract class BalancedBST<Key extends Comparable<Key>, Value> implements OrderedBST<Key, Value> {
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        Node<Key, Value> node = getNode(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Insert a key/value pair.
+     * If the key already exists, then its value will simply be overwritten.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the original value associated with <code>key</code>, if any, otherwise null.
+     */
+    public Value put(Key key, Value value) {
+        int n = 0;
+        Node<Key, Value> x = root;
+        while (x != null) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) {
+                Value result = x.value;
+                x.value = value;
+                return result;
+            }
+            if (n == path.length) {
+                path = Arrays.copyOf(path, 2 * n);
+                smaller = Arrays.copyOf(smaller, 2 * n);
+            }
+            path[n] = x;
+            smaller[n++] = cf < 0;
+            x = cf < 0 ? x.left : x.right;
+        }
+        Node<Key, Value> h = makeNode(key, value);
+        while (n-- > 0) {
+            Node<Key, Value> parent = path[n];
+            path[n] = null;
+            if (smaller[n]) parent.left = h;
+            else parent.right = h;
+            h = balance(parent);
+        }
+        root = h;
+        afterUpdate();
+        return null;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present.
+     */
+    public Boolean contains(Key key) {
+        return getNode(key) != null;
+    }
+
+    /**
+     * Put all the entries of a map into this tree.
+     *
+     * @param map the map.
+     */
+    public void putAll(Map<Key, Value> map) {
+        for (Map.Entry<Key, Value> entry : map.entrySet()) put(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * @return the number of keys.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Apply f to each key-value pair, in key order.
+     *
+     * @param f the function (whose result is ignored).
+     */
+    public void inOrderTraverse(BiFunction<Key, Value, Void> f) {
+        Deque<Node<Key, Value>> stack = new ArrayDeque<>();
+        Node<Key, Value> x = root;
+        while (x != null || !stack.isEmpty()) {
+            for (; x != null; x = x.left) stack.push(x);
+            x = stack.pop();
+            f.apply(x.key, x.value);
+            x = x.right;
+        }
+    }
+
+    /**
+     * @return the keys, in order.
+     */
+    public Set<Key> keySet() {
+        Set<Key> result = new LinkedHashSet<>();
+        inOrderTraverse((k, v) -> {
+            result.add(k);
+            return null;
+        });
+        return result;
+    }
+
+    /**
+     * @return the height of this tree: the number of nodes on its longest path from the root (zero if empty).
+     */
+    public int depth() {
+        int result = 0;
+        Deque<Node<Key, Value>> level = new ArrayDeque<>();
+        if (root != null) level.add(root);
+        while (!level.isEmpty()) {
+            result++;
+            for (int i = level.size(); i > 0; i--) {
+                Node<Key, Value> x = level.remove();
+                if (x.left != null) level.add(x.left);
+                if (x.right != null) level.add(x.right);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param key the key.
+     * @return the depth of key (the root has depth zero), or -1 if key is not present.
+     */
+    public int depth(Key key) {
+        int result = 0;
+        for (Node<Key, Value> x = root; x != null; result++) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return result;
+            x = cf < 0 ? x.left : x.right;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the mean depth of the nodes (the root has depth zero), or zero if this tree is empty.
+     */
+    public double meanDepth() {
+        if (root == null) return 0;
+        long total = 0;
+        int depth = 0;
+        Deque<Node<Key, Value>> level = new ArrayDeque<>();
+        level.add(root);
+        while (!level.isEmpty()) {
+            total += (long) depth++ * level.size();
+            for (int i = level.size(); i > 0; i--) {
+                Node<Key, Value> x = level.remove();
+                if (x.left != null) level.add(x.left);
+                if (x.right != null) level.add(x.right);
+            }
+        }
+        return 1.0 * total / size(root);
+    }
+
+    public Key min() {
+        if (root == null) throw new NoSuchElementException("tree is empty");
+        Node<Key, Value> x = root;
+        while (x.left != null) x = x.left;
+        return x.key;
+    }
+
+    public Key max() {
+        if (root == null) throw new NoSuchElementException("tree is empty");
+        Node<Key, Value> x = root;
+        while (x.right != null) x = x.right;
+        return x.key;
+    }
+
+    public Key floor(Key key) {
+        Key result = null;
+        for (Node<Key, Value> x = root; x != null; ) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return x.key;
+            if (cf < 0) x = x.left;
+            else {
+                result = x.key;
+                x = x.right;
+            }
+        }
+        return result;
+    }
+
+    public Key ceiling(Key key) {
+        Key result = null;
+        for (Node<Key, Value> x = root; x != null; ) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return x.key;
+            if (cf > 0) x = x.right;
+            else {
+                result = x.key;
+                x = x.left;
+            }
+        }
+        return result;
+    }
+
+    public int rank(Key key) {
+        int result = 0;
+        for (Node<Key, Value> x = root; x != null; ) {
+            int cf = key.compareTo(x.key);
+            if (cf < 0) x = x.left;
+            else {
+                result += size(x.left);
+                if (cf == 0) break;
+                result++;
+                x = x.right;
+            }
+        }
+        return result;
+    }
+
+    public Key select(int rank) {
+        if (rank < 0 || rank >= size()) throw new IllegalArgumentException("rank out of range: " + rank);
+        Node<Key, Value> x = root;
+        while (true) {
+            int t = size(x.left);
+            if (rank < t) x = x.left;
+            else if (rank > t) {
+                rank -= t + 1;
+                x = x.right;
+            } else return x.key;
+        }
+    }
+
+    public int size(Key lo, Key hi) {
+        if (lo.compareTo(hi) > 0) return 0;
+        return rank(hi) - rank(lo) + (contains(hi) ? 1 : 0);
+    }
+
+    public List<Key> keys(Key lo, Key hi) {
+        List<Key> result = new ArrayList<>();
+        Deque<Node<Key, Value>> stack = new ArrayDeque<>();
+        Node<Key, Value> x = root;
+        while (x != null || !stack.isEmpty()) {
+            // Descend to the smallest node not less than lo, stacking the nodes which are not less than lo.
+            while (x != null)
+                if (x.key.compareTo(lo) >= 0) {
+                    stack.push(x);
+                    x = x.left;
+                } else x = x.right;
+            if (stack.isEmpty()) break;
+            x = stack.pop();
+            if (x.key.compareTo(hi) > 0) break;
+            result.add(x.key);
+            x = x.right;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+        inOrderTraverse((k, v) -> {
+            if (result.length() > 1) result.append(", ");
+            result.append(k).append("=").append(v);
+            return null;
+        });
+        return result.append("}").toString();
+    }
+
+    /**
+     * Node of a balanced tree.
+     */
+    static class Node<Key, Value> {
+        Node(Key key, Value value, int tag) {
+            this.key = key;
+            this.value = value;
+            this.tag = tag;
+            this.size = 1;
+        }
+
+        Key key; // NOTE not final because a deletion may replace a key by its successor
+        Value value;
+        Node<Key, Value> left;
+        Node<Key, Value> right;
+        int size; // the number of nodes in the subtree rooted here
+        int tag; // the color of the node (red-black tree) or the height of its subtree (AVL tree)
+    }
+
+    /**
+     * @return a new node for the given key and value.
+     */
+    abstract Node<Key, Value> makeNode(Key key, Value value);
+
+    /**
+     * Restore the balance of the subtree rooted at h (whose children are balanced) and update its size.
+     *
+     * @return the (new) root of the subtree.
+     */
+    abstract Node<Key, Value> balance(Node<Key, Value> h);
+
+    /**
+     * Hook called after the root has been updated by put (by default, does nothing).
+     */
+    void afterUpdate() {
+    }
+
+    static int size(Node<?, ?> x) {
+        return x == null ? 0 : x.size;
+    }
+
+    Node<Key, Value> getNode(Key key) {
+        for (Node<Key, Value> x = root; x != null; ) {
+            int cf = key.compareTo(x.key);
+            if (cf == 0) return x;
+            x = cf < 0 ? x.left : x.right;
+        }
+        return null;
+    }
+
+    Node<Key, Value> root;
+
+    @SuppressWarnings("unchecked")
+    private Node<Key, Value>[] path = new Node[32]; // the path from the root to the parent of a new node (see put)
+    private boolean[] smaller = new boolean[32]; // smaller[i] is true if the path goes left from path[i]
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import java.util.List;
+
+/**
+ * Interface defining the ordered operations of a Binary Search Tree, in addition to those of BstDetail:
+ * minimum and maximum, floor and ceiling, rank and select, and range queries.
+ *
+ * @param <Key>   the type of keys, which must be Comparable.
+ * @param <Value> the type of values associated with the keys.
+ */
+public interface OrderedBST<Key extends Comparable<Key>, Value> extends BstDetail<Key, Value> {
+
+    /**
+     * @return the smallest key.
+     * @throws java.util.NoSuchElementException if this tree is empty.
+     */
+    Key min();
+
+    /**
+     * @return the largest key.
+     * @throws java.util.NoSuchElementException if this tree is empty.
+     */
+    Key max();
+
+    /**
+     * @param key a key.
+     * @return the largest key which is less than or equal to key, or null if there is none.
+     */
+    Key floor(Key key);
+
+    /**
+     * @param key a key.
+     * @return the smallest key which is greater than or equal to key, or null if there is none.
+     */
+    Key ceiling(Key key);
+
+    /**
+     * @param key a key (which need not be present).
+     * @return the number of keys which are less than key.
+     */
+    int rank(Key key);
+
+    /**
+     * @param rank the rank of a key.
+     * @return the key with the given rank (i.e. the key such that exactly rank keys are smaller).
+     * @throws IllegalArgumentException if rank is negative or not less than the size.
+     */
+    Key select(int rank);
+
+    /**
+     * @param lo the lower bound (inclusive).
+     * @param hi the upper bound (inclusive).
+     * @return the number of keys between lo and hi.
+     */
+    int size(Key lo, Key hi);
+
+    /**
+     * @param lo the lower bound (inclusive).
+     * @param hi the upper bound (inclusive).
+     * @return the keys between lo and hi, in order.
+     */
+    List<Key> keys(Key lo, Key hi);
+}
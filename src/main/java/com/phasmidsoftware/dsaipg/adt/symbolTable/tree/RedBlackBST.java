@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Left-leaning red-black tree (Sedgewick), which corresponds to a 2-3 tree:
+ * a red link joins two nodes which together form a 3-node.
+ * No node has two red links, red links lean left, and every path from the root to a null link has the same number of
+ * black links; so the height is at most 2 lg n.
+ * <p>
+ * Insertion is iterative (see BalancedBST.put).
+ * Deletion is recursive: on the way down, it ensures (by moveRedLeft and moveRedRight) that the current node is not
+ * a 2-node, and on the way up it restores the invariants (by balance).
+ *
+ * @param <Key>   the type of keys, which must be Comparable.
+ * @param <Value> the type of values associated with the keys.
+ */
+public class RedBlackBST<Key extends Comparable<Key>, Value> extends BalancedBST<Key, Value> {
+
+    /**
+     * Delete the given key (if present).
+     *
+     * @param key the key to be deleted.
+     */
+    public void delete(Key key) {
+        if (!contains(key)) return;
+        if (!isRed(root.left) && !isRed(root.right)) root.tag = RED;
+        root = delete(root, key);
+        if (root != null) root.tag = BLACK;
+    }
+
+    /**
+     * Delete the smallest key.
+     *
+     * @throws NoSuchElementException if this tree is empty.
+     */
+    public void deleteMin() {
+        if (root == null) throw new NoSuchElementException("tree is empty");
+        if (!isRed(root.left) && !isRed(root.right)) root.tag = RED;
+        root = deleteMin(root);
+        if (root != null) root.tag = BLACK;
+    }
+
+    /**
+     * Check the invariants of this tree: symmetric order, sizes, and the red-black properties.
+     * NOTE: package-private for testing.
+     *
+     * @throws AssertionError if an invariant does not hold.
+     */
+    void validate() {
+        if (isRed(root)) throw new AssertionError("red root");
+        validate(root, null, null);
+    }
+
+    Node<Key, Value> makeNode(Key key, Value value) {
+        return new Node<>(key, value, RED);
+    }
+
+    Node<Key, Value> balance(Node<Key, Value> h) {
+        if (isRed(h.right) && !isRed(h.left)) h = rotateLeft(h);
+        if (isRed(h.left) && isRed(h.left.left)) h = rotateRight(h);
+        if (isRed(h.left) && isRed(h.right)) flipColors(h);
+        h.size = 1 + size(h.left) + size(h.right);
+        return h;
+    }
+
+    void afterUpdate() {
+        root.tag = BLACK;
+    }
+
+    private Node<Key, Value> delete(Node<Key, Value> h, Key key) {
+        if (key.compareTo(h.key) < 0) {
+            if (!isRed(h.left) && !isRed(h.left.left)) h = moveRedLeft(h);
+            h.left = delete(h.left, key);
+        } else {
+            if (isRed(h.left)) h = rotateRight(h);
+            if (key.compareTo(h.key) == 0 && h.right == null) return null;
+            if (!isRed(h.right) && !isRed(h.right.left)) h = moveRedRight(h);
+            if (key.compareTo(h.key) == 0) {
+                Node<Key, Value> x = h.right;
+                while (x.left != null) x = x.left;
+                h.key = x.key;
+                h.value = x.value;
+                h.right = deleteMin(h.right);
+            } else h.right = delete(h.right, key);
+        }
+        return balance(h);
+    }
+
+    private Node<Key, Value> deleteMin(Node<Key, Value> h) {
+        if (h.left == null) return null;
+        if (!isRed(h.left) && !isRed(h.left.left)) h = moveRedLeft(h);
+        h.left = deleteMin(h.left);
+        return balance(h);
+    }
+
+    private Node<Key, Value> moveRedLeft(Node<Key, Value> h) {
+        flipColors(h);
+        if (isRed(h.right.left)) {
+            h.right = rotateRight(h.right);
+            h = rotateLeft(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    private Node<Key, Value> moveRedRight(Node<Key, Value> h) {
+        flipColors(h);
+        if (isRed(h.left.left)) {
+            h = rotateRight(h);
+            flipColors(h);
+        }
+        return h;
+    }
+
+    private Node<Key, Value> rotateLeft(Node<Key, Value> h) {
+        Node<Key, Value> x = h.right;
+        h.right = x.left;
+        x.left = h;
+        x.tag = h.tag;
+        h.tag = RED;
+        x.size = h.size;
+        h.size = 1 + size(h.left) + size(h.right);
+        return x;
+    }
+
+    private Node<Key, Value> rotateRight(Node<Key, Value> h) {
+        Node<Key, Value> x = h.left;
+        h.left = x.right;
+        x.right = h;
+        x.tag = h.tag;
+        h.tag = RED;
+        x.size = h.size;
+        h.size = 1 + size(h.left) + size(h.right);
+        return x;
+    }
+
+    private void flipColors(Node<Key, Value> h) {
+        h.tag ^= 1;
+        h.left.tag ^= 1;
+        h.right.tag ^= 1;
+    }
+
+    private static boolean isRed(Node<?, ?> x) {
+        return x != null && x.tag == RED;
+    }
+
+    /**
+     * @return the number of black links on every path from x to a null link.
+     */
+    private int validate(Node<Key, Value> x, Key lo, Key hi) {
+        if (x == null) return 0;
+        if (lo != null && x.key.compareTo(lo) <= 0 || hi != null && x.key.compareTo(hi) >= 0)
+            throw new AssertionError("symmetric order violated at " + x.key);
+        if (x.size != 1 + size(x.left) + size(x.right)) throw new AssertionError("wrong size at " + x.key);
+        if (isRed(x.right)) throw new AssertionError("red right link at " + x.key);
+        if (isRed(x) && isRed(x.left)) throw new AssertionError("two red links in a row at " + x.key);
+        int left = validate(x.left, lo, x.key), right = validate(x.right, x.key, hi);
+        if (left != right) throw new AssertionError("black imbalance at " + x.key);
+        return left + (isRed(x) ? 0 : 1);
+    }
+
+    private static final int BLACK = 0;
+    private static final int RED = 1;
+}
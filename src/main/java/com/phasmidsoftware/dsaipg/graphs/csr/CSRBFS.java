@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first search of a CSRGraph.
+ * The queue is a plain int[] (each vertex is enqueued at most once), so the search allocates nothing per vertex.
+ */
+public class CSRBFS {
+
+    /**
+     * Constructor which performs a breadth-first search of G from s.
+     *
+     * @param G the graph.
+     * @param s the source vertex.
+     */
+    public CSRBFS(CSRGraph<?> G, int s) {
+        int n = G.V();
+        if (s < 0 || s >= n) throw new IllegalArgumentException("vertex " + s + " is not between 0 and " + (n - 1));
+        distTo = new int[n];
+        parent = new int[n];
+        Arrays.fill(distTo, -1);
+        Arrays.fill(parent, -1);
+        queue = new int[n];
+        int[] offsets = G.offsets;
+        int[] targets = G.targets;
+        int head = 0, tail = 0;
+        distTo[s] = 0;
+        queue[tail++] = s;
+        while (head < tail) {
+            int v = queue[head++];
+            int d = distTo[v] + 1;
+            for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                int w = targets[e];
+                if (distTo[w] < 0) {
+                    distTo[w] = d;
+                    parent[w] = v;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        count = tail;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return true if v is reachable from the source.
+     */
+    public boolean hasPathTo(int v) {
+        return distTo[v] >= 0;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the number of edges in a shortest path from the source to v (or -1 if v is not reachable).
+     */
+    public int distTo(int v) {
+        return distTo[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the vertex before v on a shortest path from the source to v (or -1).
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the vertices on a shortest path from the source to v (inclusive), or null if v is not reachable.
+     */
+    public int[] pathTo(int v) {
+        if (!hasPathTo(v)) return null;
+        int[] result = new int[distTo[v] + 1];
+        for (int i = result.length - 1; i >= 0; i--, v = parent[v]) result[i] = v;
+        return result;
+    }
+
+    /**
+     * @return the reachable vertices in the order in which they were visited.
+     */
+    public int[] order() {
+        return Arrays.copyOf(queue, count);
+    }
+
+    private final int[] distTo; // distTo[v] is the number of edges on a shortest path to v (-1 if unreachable)
+    private final int[] parent; // parent[v] is the previous vertex on a shortest path to v (-1 for the source)
+    private final int[] queue; // the vertices in the order in which they were visited
+    private final int count; // the number of vertices visited
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.Dijkstra;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+import com.phasmidsoftware.dsaipg.graphs.traversal.BFS;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark which compares CSRGraph (and its algorithms) with the pointer-based graphs:
+ * the memory taken by each representation and the time taken by BFS and by Dijkstra's algorithm.
+ */
+public class CSRBenchmark {
+
+    public static void main(String[] args) {
+        int[] sizes = {100_000, 1_000_000};
+        int degree = 8;
+        for (int n : sizes) {
+            logger.info("=== Benchmarking for V=" + n + ", E=" + (long) n * degree + " ===");
+            Random random = new Random(0L);
+            int m = n * degree;
+            int[] froms = new int[m];
+            int[] tos = new int[m];
+            int[] weights = new int[m];
+            for (int k = 0; k < m; k++) {
+                froms[k] = k < n ? k : random.nextInt(n);
+                tos[k] = k < n ? (k + 1) % n : random.nextInt(n);
+                weights[k] = 1 + random.nextInt(1000);
+            }
+
+            EdgeWeightedDigraph digraph = measure("EdgeWeightedDigraph", () -> {
+                EdgeWeightedDigraph result = new EdgeWeightedDigraph(n);
+                for (int k = 0; k < m; k++) result.addEdge(new DirectedEdge(froms[k], tos[k], weights[k]));
+                return result;
+            });
+            BFS bfs = measure("traversal.BFS", () -> {
+                BFS result = new BFS(n);
+                for (int k = 0; k < m; k++) result.addEdge(froms[k], tos[k]);
+                return result;
+            });
+            CSRGraph<Integer> csr = measure("CSRGraph (double weights)", () -> CSRGraph.create(digraph));
+            CSRGraph<Integer> csrInt = measure("CSRGraph (int weights)", () -> {
+                CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<Integer>().withIntWeights();
+                for (int v = 0; v < n; v++) builder.addVertex(v);
+                for (int k = 0; k < m; k++) builder.addEdge(froms[k], tos[k], weights[k]);
+                return builder.build();
+            });
+            logger.info("CSRGraph (double weights) array bytes: " + csr.arrayBytes());
+
+            time("traversal.BFS", () -> bfs.traverse(0), 5);
+            time("CSRBFS", () -> new CSRBFS(csr, 0), 5);
+            time("Dijkstra (EdgeWeightedDigraph)", () -> new Dijkstra(digraph).shortestPaths(0), 5);
+            time("CSRDijkstra (double weights)", () -> new CSRDijkstra(csr, 0), 5);
+            time("CSRDijkstra (int weights, radix heap)", () -> new CSRDijkstra(csrInt, 0), 5);
+        }
+    }
+
+    /**
+     * Build a structure and report (approximately) how much heap it occupies.
+     */
+    private static <T> T measure(String name, Supplier<T> supplier) {
+        long before = usedMemory();
+        T result = supplier.get();
+        long after = usedMemory();
+        logger.info(name + " memory: " + (after - before) / 1024 / 1024 + " MB");
+        return result;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    final static LazyLogger logger = new LazyLogger(CSRBenchmark.class);
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first search of a CSRGraph.
+ * The search is iterative: the explicit stack holds, for each vertex on the current path,
+ * the index of the next edge to be explored, so that very deep graphs cannot overflow the call stack.
+ * The pre-order and post-order of the vertices are recorded (the reverse of the post-order is a topological order
+ * if the graph is acyclic).
+ */
+public class CSRDFS {
+
+    /**
+     * Constructor which performs a depth-first search of G from s.
+     *
+     * @param G the graph.
+     * @param s the source vertex.
+     */
+    public CSRDFS(CSRGraph<?> G, int s) {
+        this(G);
+        if (s < 0 || s >= G.V()) throw new IllegalArgumentException("vertex " + s + " is not between 0 and " + (G.V() - 1));
+        dfs(G, s);
+    }
+
+    /**
+     * Method to perform a depth-first search of all of G (starting from each unmarked vertex in turn).
+     *
+     * @param G the graph.
+     * @return a CSRDFS which has marked every vertex of G.
+     */
+    public static CSRDFS create(CSRGraph<?> G) {
+        CSRDFS result = new CSRDFS(G);
+        for (int v = 0; v < G.V(); v++) if (!result.marked[v]) result.dfs(G, v);
+        return result;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return true if v was visited.
+     */
+    public boolean marked(int v) {
+        return marked[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the vertex from which v was discovered (or -1 for a root of the search).
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * @return the number of vertices visited.
+     */
+    public int count() {
+        return preCount;
+    }
+
+    /**
+     * @return the visited vertices in pre-order.
+     */
+    public int[] preOrder() {
+        return Arrays.copyOf(pre, preCount);
+    }
+
+    /**
+     * @return the visited vertices in post-order.
+     */
+    public int[] postOrder() {
+        return Arrays.copyOf(post, postCount);
+    }
+
+    private CSRDFS(CSRGraph<?> G) {
+        int n = G.V();
+        marked = new boolean[n];
+        parent = new int[n];
+        Arrays.fill(parent, -1);
+        pre = new int[n];
+        post = new int[n];
+        stack = new int[n];
+        next = new int[n];
+    }
+
+    private void dfs(CSRGraph<?> G, int s) {
+        int[] offsets = G.offsets;
+        int[] targets = G.targets;
+        int top = 0;
+        marked[s] = true;
+        pre[preCount++] = s;
+        stack[top] = s;
+        next[top++] = offsets[s];
+        while (top > 0) {
+            int v = stack[top - 1];
+            int e = next[top - 1];
+            int end = offsets[v + 1];
+            while (e < end && marked[targets[e]]) e++;
+            if (e < end) {
+                int w = targets[e];
+                next[top - 1] = e + 1;
+                marked[w] = true;
+                parent[w] = v;
+                pre[preCount++] = w;
+                stack[top] = w;
+                next[top++] = offsets[w];
+            } else {
+                post[postCount++] = v;
+                top--;
+            }
+        }
+    }
+
+    private final boolean[] marked; // marked[v] is true if v has been visited
+    private final int[] parent; // parent[v] is the vertex from which v was discovered
+    private final int[] pre; // the vertices in pre-order
+    private final int[] post; // the vertices in post-order
+    private final int[] stack; // the vertices on the current path
+    private final int[] next; // next[i] is the next edge to explore from stack[i]
+    private int preCount; // number of vertices in pre
+    private int postCount; // number of vertices in post
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedDoubleHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+import com.phasmidsoftware.dsaipg.adt.pq.RadixHeap;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra's single-source shortest paths algorithm on a CSRGraph (whose weights must be non-negative).
+ * <p/>
+ * If the graph has int weights, the vertices are kept in a RadixHeap (lazy deletion);
+ * otherwise, they are kept in an IndexedDoubleHeap (with decrease-key).
+ * Neither the graph nor the heap holds any objects, so the algorithm does no boxing.
+ */
+public class CSRDijkstra {
+
+    /**
+     * Constructor which solves the shortest-paths problem for G from s.
+     *
+     * @param G the graph.
+     * @param s the source vertex.
+     */
+    public CSRDijkstra(CSRGraph<?> G, int s) {
+        int n = G.V();
+        if (s < 0 || s >= n) throw new IllegalArgumentException("vertex " + s + " is not between 0 and " + (n - 1));
+        distTo = new double[n];
+        parent = new int[n];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        distTo[s] = 0.0;
+        try {
+            if (G.hasIntWeights()) solveInt(G, s);
+            else solve(G, s);
+        } catch (PQException e) {
+            throw new RuntimeException("logic error: priority queue is empty", e);
+        }
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the length of a shortest path to v (or infinity if v is not reachable).
+     */
+    public double distTo(int v) {
+        return distTo[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return true if v is reachable from the source.
+     */
+    public boolean hasPathTo(int v) {
+        return distTo[v] < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the vertex before v on a shortest path to v (or -1).
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the vertices on a shortest path from the source to v (inclusive), or null if v is not reachable.
+     */
+    public int[] pathTo(int v) {
+        if (!hasPathTo(v)) return null;
+        int length = 1;
+        for (int x = v; parent[x] >= 0; x = parent[x]) length++;
+        int[] result = new int[length];
+        for (int i = length - 1; i >= 0; i--, v = parent[v]) result[i] = v;
+        return result;
+    }
+
+    private void solve(CSRGraph<?> G, int s) throws PQException {
+        int[] offsets = G.offsets;
+        int[] targets = G.targets;
+        double[] weights = G.weights;
+        IndexedDoubleHeap pq = new IndexedDoubleHeap(G.V());
+        pq.insert(s, 0.0);
+        while (!pq.isEmpty()) {
+            int v = pq.take();
+            double d = distTo[v];
+            for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                int w = targets[e];
+                double x = d + weights[e];
+                if (x < distTo[w]) {
+                    if (pq.contains(w)) pq.decreaseKey(w, x);
+                    else pq.insert(w, x);
+                    distTo[w] = x;
+                    parent[w] = v;
+                }
+            }
+        }
+    }
+
+    private void solveInt(CSRGraph<?> G, int s) throws PQException {
+        int[] offsets = G.offsets;
+        int[] targets = G.targets;
+        int[] weights = G.intWeights;
+        long[] dist = new long[G.V()];
+        Arrays.fill(dist, Long.MAX_VALUE);
+        dist[s] = 0;
+        RadixHeap pq = new RadixHeap(G.V());
+        pq.give(s, 0);
+        while (!pq.isEmpty()) {
+            int v = pq.take();
+            long d = pq.lastKey();
+            if (d > dist[v]) continue; // stale entry
+            for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                int w = targets[e];
+                long x = d + weights[e];
+                if (x < dist[w]) {
+                    dist[w] = x;
+                    parent[w] = v;
+                    pq.give(w, x);
+                }
+            }
+        }
+        for (int v = 0; v < dist.length; v++) if (dist[v] < Long.MAX_VALUE) distTo[v] = dist[v];
+    }
+
+    private final double[] distTo; // distTo[v] is the length of a shortest path to v
+    private final int[] parent; // parent[v] is the previous vertex on a shortest path to v (-1 for the source)
+}
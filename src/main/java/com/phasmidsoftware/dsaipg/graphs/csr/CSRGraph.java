@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+
+import java.util.Arrays;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable directed graph in CSR (compressed sparse row) form.
+ * <p/>
+ * The vertices are the ints 0..V-1. The out-edges of vertex v are the edges offsets[v] .. offsets[v+1]-1,
+ * and edge e goes to targets[e] with weight weights[e] (or intWeights[e] if the graph has integer weights).
+ * Compared with adjacency lists of edge objects, this takes a small fraction of the memory
+ * (4 bytes per vertex plus 8 or 12 bytes per edge) and a traversal reads the edges of each vertex sequentially.
+ * <p/>
+ * An undirected graph is represented by giving each edge in both directions.
+ * Graphs whose vertices are objects are converted via an Interner (see Builder);
+ * for graphs which are built from EdgeWeightedDigraph, the vertices are already ints and there is no Interner.
+ *
+ * @param <V> the type of the original vertices.
+ */
+public class CSRGraph<V> {
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return the number of (directed) edges.
+     */
+    public int E() {
+        return targets.length;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the number of edges out of v.
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the index of the first edge out of v.
+     */
+    public int firstEdge(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return one more than the index of the last edge out of v.
+     */
+    public int endEdge(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * @param e an edge.
+     * @return the vertex to which e leads.
+     */
+    public int target(int e) {
+        return targets[e];
+    }
+
+    /**
+     * @param e an edge.
+     * @return the weight of e.
+     */
+    public double weight(int e) {
+        return weights != null ? weights[e] : intWeights[e];
+    }
+
+    /**
+     * @return true if the weights of this graph are held as ints (see Builder.withIntWeights).
+     */
+    public boolean hasIntWeights() {
+        return intWeights != null;
+    }
+
+    /**
+     * @param e an edge.
+     * @return the weight of e as an int.
+     * @throws IllegalStateException if this graph does not have integer weights.
+     */
+    public int intWeight(int e) {
+        if (intWeights == null) throw new IllegalStateException("graph does not have integer weights");
+        return intWeights[e];
+    }
+
+    /**
+     * @param v an original vertex.
+     * @return the int id of v in this graph, or -1 if v is not in this graph.
+     */
+    public int indexOf(V v) {
+        if (interner != null) return interner.indexOf(v);
+        int result = (Integer) v;
+        return result >= 0 && result < V() ? result : -1;
+    }
+
+    /**
+     * @param id the int id of a vertex.
+     * @return the original vertex.
+     */
+    public V vertex(int id) {
+        //noinspection unchecked
+        return interner != null ? interner.vertex(id) : (V) Integer.valueOf(id);
+    }
+
+    /**
+     * @return the approximate number of bytes taken by the arrays of this graph.
+     */
+    public long arrayBytes() {
+        return 4L * offsets.length + 4L * targets.length + (weights != null ? 8L * weights.length : 4L * intWeights.length);
+    }
+
+    /**
+     * Method to yield the transpose (reverse) of this graph, i.e. the graph whose out-edges are the in-edges of this graph.
+     * The in-edges of each vertex are in the order of their source vertices.
+     *
+     * @return a new CSRGraph with the same vertices (and weights) as this graph but with every edge reversed.
+     */
+    public CSRGraph<V> transpose() {
+        int n = V(), m = E();
+        int[] rOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) rOffsets[targets[e] + 1]++;
+        for (int v = 0; v < n; v++) rOffsets[v + 1] += rOffsets[v];
+        int[] next = Arrays.copyOf(rOffsets, n);
+        int[] rTargets = new int[m];
+        double[] rWeights = weights != null ? new double[m] : null;
+        int[] rIntWeights = intWeights != null ? new int[m] : null;
+        for (int v = 0; v < n; v++)
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int r = next[targets[e]]++;
+                rTargets[r] = v;
+                if (rWeights != null) rWeights[r] = weights[e];
+                else rIntWeights[r] = intWeights[e];
+            }
+        return new CSRGraph<>(rOffsets, rTargets, rWeights, rIntWeights, interner);
+    }
+
+    @Override
+    public String toString() {
+        return "CSRGraph{V=" + V() + ", E=" + E() + "}";
+    }
+
+    /**
+     * Create a CSRGraph from an (undirected) EdgeGraph: each edge is represented in both directions.
+     *
+     * @param graph  the EdgeGraph.
+     * @param weight a function to yield the weight of an edge from its attribute.
+     * @param <V>    the vertex type.
+     * @param <E>    the edge-attribute type.
+     * @return a new CSRGraph.
+     */
+    public static <V, E> CSRGraph<V> create(EdgeGraph<V, E> graph, ToDoubleFunction<E> weight) {
+        Builder<V> builder = new Builder<>();
+        for (V v : graph.vertices()) builder.addVertex(v);
+        for (Edge<V, E> e : graph.edges()) {
+            V v = e.get();
+            builder.addUndirectedEdge(v, e.getOther(v), weight.applyAsDouble(e.getAttribute()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Create a CSRGraph from a directed graph, such as a DiGraph, whose adjacencies are directed edges.
+     *
+     * @param graph  the directed graph.
+     * @param weight a function to yield the weight of an edge from its attributes.
+     * @param <V>    the vertex type.
+     * @param <E>    the edge-attribute type.
+     * @return a new CSRGraph.
+     */
+    public static <V, E> CSRGraph<V> create(Graph<V, com.phasmidsoftware.dsaipg.graphs.dag.Edge<V, E>> graph, ToDoubleFunction<E> weight) {
+        Builder<V> builder = new Builder<>();
+        for (V v : graph.vertices()) builder.addVertex(v);
+        for (V v : graph.vertices())
+            for (com.phasmidsoftware.dsaipg.graphs.dag.Edge<V, E> e : graph.adjacent(v))
+                builder.addEdge(e.getFrom(), e.getTo(), weight.applyAsDouble(e.getAttributes()));
+        return builder.build();
+    }
+
+    /**
+     * Create a CSRGraph from an EdgeWeightedDigraph (whose vertices are already ints, so no Interner is required).
+     * The out-edges of each vertex are in the same order as in graph.adj(v).
+     *
+     * @param graph the EdgeWeightedDigraph.
+     * @return a new CSRGraph.
+     */
+    public static CSRGraph<Integer> create(EdgeWeightedDigraph graph) {
+        int n = graph.V();
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) offsets[v + 1] = offsets[v] + graph.outdegree(v);
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            int e = offsets[v];
+            for (DirectedEdge edge : graph.adj(v)) {
+                targets[e] = edge.to();
+                weights[e++] = edge.weight();
+            }
+        }
+        return new CSRGraph<>(offsets, targets, weights, null, null);
+    }
+
+    /**
+     * Builder of CSRGraphs.
+     * Vertices are interned in the order in which they are first seen; edges may be added in any order.
+     * The build method sorts the edges by their source vertex (a stable counting sort, so that the out-edges of each vertex
+     * are in the order in which they were added).
+     *
+     * @param <V> the vertex type.
+     */
+    public static class Builder<V> {
+
+        /**
+         * Specify that the graph should hold its weights as ints (which saves memory and allows the use of a RadixHeap).
+         *
+         * @return this Builder.
+         */
+        public Builder<V> withIntWeights() {
+            intWeights = true;
+            return this;
+        }
+
+        /**
+         * Add a vertex (which need not have any edges).
+         *
+         * @param v the vertex.
+         * @return the id of v.
+         */
+        public int addVertex(V v) {
+            return interner.intern(v);
+        }
+
+        /**
+         * Add a directed edge.
+         *
+         * @param from   the from vertex.
+         * @param to     the to vertex.
+         * @param weight the weight.
+         * @return this Builder.
+         * @throws IllegalArgumentException if this Builder is withIntWeights and weight is not an int.
+         */
+        public Builder<V> addEdge(V from, V to, double weight) {
+            add(interner.intern(from), interner.intern(to), weight);
+            return this;
+        }
+
+        /**
+         * Add an unweighted directed edge (its weight is 1).
+         *
+         * @param from the from vertex.
+         * @param to   the to vertex.
+         * @return this Builder.
+         */
+        public Builder<V> addEdge(V from, V to) {
+            return addEdge(from, to, 1);
+        }
+
+        /**
+         * Add an undirected edge, i.e. an edge in each direction.
+         *
+         * @param v      one vertex.
+         * @param w      the other vertex.
+         * @param weight the weight.
+         * @return this Builder.
+         */
+        public Builder<V> addUndirectedEdge(V v, V w, double weight) {
+            int i = interner.intern(v);
+            int j = interner.intern(w);
+            add(i, j, weight);
+            add(j, i, weight);
+            return this;
+        }
+
+        /**
+         * @return a new CSRGraph with the vertices and edges given to this Builder.
+         */
+        public CSRGraph<V> build() {
+            int n = interner.size();
+            int[] offsets = new int[n + 1];
+            for (int k = 0; k < m; k++) offsets[froms[k] + 1]++;
+            for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+            int[] next = Arrays.copyOf(offsets, n);
+            int[] targets = new int[m];
+            double[] ws = intWeights ? null : new double[m];
+            int[] iws = intWeights ? new int[m] : null;
+            for (int k = 0; k < m; k++) {
+                int e = next[froms[k]]++;
+                targets[e] = tos[k];
+                if (intWeights) iws[e] = (int) weights[k];
+                else ws[e] = weights[k];
+            }
+            return new CSRGraph<>(offsets, targets, ws, iws, interner);
+        }
+
+        private void add(int from, int to, double weight) {
+            if (intWeights && weight != (int) weight)
+                throw new IllegalArgumentException("weight is not an int: " + weight);
+            if (m == froms.length) {
+                int capacity = 2 * m;
+                froms = Arrays.copyOf(froms, capacity);
+                tos = Arrays.copyOf(tos, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            froms[m] = from;
+            tos[m] = to;
+            weights[m++] = weight;
+        }
+
+        private final Interner<V> interner = new Interner<>();
+        private int[] froms = new int[16]; // the from vertex of each edge, in the order of addition
+        private int[] tos = new int[16]; // the to vertex of each edge
+        private double[] weights = new double[16]; // the weight of each edge
+        private int m; // number of edges added
+        private boolean intWeights; // whether to build a graph with int weights
+    }
+
+    CSRGraph(int[] offsets, int[] targets, double[] weights, int[] intWeights, Interner<V> interner) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.intWeights = intWeights;
+        this.interner = interner;
+    }
+
+    final int[] offsets; // offsets[v] is the index of the first edge out of v; offsets[V] = E
+    final int[] targets; // targets[e] is the vertex to which edge e leads
+    final double[] weights; // weights[e] is the weight of edge e (null if the graph has int weights)
+    final int[] intWeights; // intWeights[e] is the weight of edge e (null unless the graph has int weights)
+    private final Interner<V> interner; // maps original vertices to ids (null if the original vertices are ints)
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedDoubleHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+
+import java.util.Arrays;
+
+/**
+ * Prim's minimum spanning tree algorithm (eager version) on a CSRGraph.
+ * <p/>
+ * The graph is treated as undirected: each edge should be present in both directions
+ * (as it is for a CSRGraph created from an EdgeGraph or by Builder.addUndirectedEdge).
+ * If the graph is not connected, the result is a minimum spanning forest.
+ */
+public class CSRPrim {
+
+    /**
+     * Constructor which finds a minimum spanning tree (or forest) of G.
+     *
+     * @param G the graph.
+     */
+    public CSRPrim(CSRGraph<?> G) {
+        int n = G.V();
+        parent = new int[n];
+        edgeTo = new int[n];
+        Arrays.fill(parent, -1);
+        Arrays.fill(edgeTo, -1);
+        double[] distTo = new double[n];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        boolean[] marked = new boolean[n];
+        IndexedDoubleHeap pq = new IndexedDoubleHeap(n);
+        int[] offsets = G.offsets;
+        int[] targets = G.targets;
+        try {
+            for (int s = 0; s < n; s++) {
+                if (marked[s]) continue;
+                distTo[s] = 0.0;
+                pq.insert(s, 0.0);
+                while (!pq.isEmpty()) {
+                    int v = pq.take();
+                    marked[v] = true;
+                    if (edgeTo[v] >= 0) {
+                        weight += distTo[v];
+                        edges++;
+                    }
+                    for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                        int w = targets[e];
+                        if (marked[w]) continue;
+                        double x = G.weight(e);
+                        if (x < distTo[w]) {
+                            distTo[w] = x;
+                            parent[w] = v;
+                            edgeTo[w] = e;
+                            if (pq.contains(w)) pq.decreaseKey(w, x);
+                            else pq.insert(w, x);
+                        }
+                    }
+                }
+            }
+        } catch (PQException e) {
+            throw new RuntimeException("logic error: priority queue is empty", e);
+        }
+    }
+
+    /**
+     * @return the total weight of the minimum spanning tree (or forest).
+     */
+    public double weight() {
+        return weight;
+    }
+
+    /**
+     * @return the number of edges in the minimum spanning tree (or forest).
+     */
+    public int size() {
+        return edges;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the vertex which connects v to the tree (or -1 if v is a root).
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the index (in the CSRGraph) of the edge from parent(v) to v (or -1 if v is a root).
+     */
+    public int edgeTo(int v) {
+        return edgeTo[v];
+    }
+
+    private final int[] parent; // parent[v] is the vertex which connects v to the tree
+    private final int[] edgeTo; // edgeTo[v] is the edge from parent[v] to v
+    private double weight; // total weight of the tree
+    private int edges; // number of edges in the tree
+}
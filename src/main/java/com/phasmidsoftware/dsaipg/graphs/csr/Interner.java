@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interning table which assigns consecutive int ids (0, 1, 2, ...) to vertices of an arbitrary type.
+ * It allows graphs whose vertices are objects (Strings, GeoPoints, etc.) to be represented by primitive arrays.
+ *
+ * @param <V> the vertex type.
+ */
+public class Interner<V> {
+
+    /**
+     * Get the id of vertex v, assigning the next id if v has not been seen before.
+     *
+     * @param v the vertex.
+     * @return the id of v.
+     */
+    public int intern(V v) {
+        Integer id = ids.get(v);
+        if (id != null) return id;
+        int result = vertices.size();
+        ids.put(v, result);
+        vertices.add(v);
+        return result;
+    }
+
+    /**
+     * Get the id of vertex v.
+     *
+     * @param v the vertex.
+     * @return the id of v, or -1 if v has not been interned.
+     */
+    public int indexOf(V v) {
+        Integer id = ids.get(v);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Get the vertex with the given id.
+     *
+     * @param id the id.
+     * @return the vertex.
+     * @throws IndexOutOfBoundsException if no vertex has been assigned id.
+     */
+    public V vertex(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * @return the number of vertices interned.
+     */
+    public int size() {
+        return vertices.size();
+    }
+
+    private final Map<V, Integer> ids = new HashMap<>(); // the id of each vertex
+    private final List<V> vertices = new ArrayList<>(); // the vertex of each id
+}
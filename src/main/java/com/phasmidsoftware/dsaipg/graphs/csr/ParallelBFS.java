@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.adt.bqs.BitVector_Atomic;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Level-synchronous, parallel, direction-optimizing breadth-first search of a CSRGraph.
+ * <p/>
+ * Each level of the search is expanded by several tasks in parallel, and the levels are separated by a barrier
+ * (the join of the tasks).
+ * The visited set is a bitset (one bit per vertex, see BitVector_Atomic) which is updated atomically,
+ * so that each vertex is claimed by exactly one task.
+ * <p/>
+ * Following Beamer, Asanović and Patterson ("Direction-Optimizing Breadth-First Search", 2012),
+ * each level is expanded either top-down (the edges out of the frontier are examined)
+ * or bottom-up (each unvisited vertex looks for a parent in the frontier among its in-edges, stopping at the first).
+ * The search switches to bottom-up when the frontier has more than 1/alpha of the unexplored edges,
+ * and back to top-down when the frontier has fewer than 1/beta of the vertices.
+ * Bottom-up expansion needs the in-edges of each vertex, i.e. the transpose of the graph;
+ * for an undirected graph (each edge present in both directions), the graph is its own transpose.
+ * <p/>
+ * The result is, for each vertex, its distance (number of edges) from the source and its parent in a BFS tree.
+ * The distances are the same as for CSRBFS; the parents may differ (any vertex of the previous level is a valid parent).
+ */
+public class ParallelBFS {
+
+    /**
+     * Primary constructor.
+     *
+     * @param G           the graph.
+     * @param reverse     the transpose of G (or G itself if G is undirected); may be null if directionOptimizing is false.
+     * @param s           the source vertex.
+     * @param parallelism the number of tasks into which each level is divided (1 for a sequential search).
+     * @param alpha       the top-down to bottom-up threshold (or zero never to go bottom-up).
+     * @param beta        the bottom-up to top-down threshold.
+     */
+    public ParallelBFS(CSRGraph<?> G, CSRGraph<?> reverse, int s, int parallelism, int alpha, int beta) {
+        n = G.V();
+        if (s < 0 || s >= n) throw new IllegalArgumentException("vertex " + s + " is not between 0 and " + (n - 1));
+        if (alpha > 0 && (reverse == null || reverse.V() != n))
+            throw new IllegalArgumentException("bottom-up search requires the transpose of the graph");
+        this.G = G;
+        this.reverse = reverse;
+        this.parallelism = Math.max(1, parallelism);
+        distTo = new int[n];
+        parent = new int[n];
+        Arrays.fill(distTo, -1);
+        Arrays.fill(parent, -1);
+        visited = new BitVector_Atomic(n);
+        ForkJoinPool pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+        try {
+            search(s, alpha, beta, pool);
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
+    /**
+     * Constructor which uses the default thresholds (alpha = 14, beta = 24) and one task per processor.
+     *
+     * @param G       the graph.
+     * @param reverse the transpose of G (or G itself if G is undirected).
+     * @param s       the source vertex.
+     */
+    public ParallelBFS(CSRGraph<?> G, CSRGraph<?> reverse, int s) {
+        this(G, reverse, s, Runtime.getRuntime().availableProcessors(), ALPHA, BETA);
+    }
+
+    /**
+     * Method to search an undirected graph (in which each edge is present in both directions).
+     *
+     * @param G the graph (which is its own transpose).
+     * @param s the source vertex.
+     * @return a ParallelBFS.
+     */
+    public static ParallelBFS undirected(CSRGraph<?> G, int s) {
+        return new ParallelBFS(G, G, s);
+    }
+
+    /**
+     * Method to search a directed graph (the transpose is built first, which takes time and space proportional to E).
+     *
+     * @param G the graph.
+     * @param s the source vertex.
+     * @return a ParallelBFS.
+     */
+    public static ParallelBFS directed(CSRGraph<?> G, int s) {
+        return new ParallelBFS(G, G.transpose(), s);
+    }
+
+    /**
+     * @param v a vertex.
+     * @return true if v is reachable from the source.
+     */
+    public boolean hasPathTo(int v) {
+        return distTo[v] >= 0;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the number of edges in a shortest path from the source to v (or -1 if v is not reachable).
+     */
+    public int distTo(int v) {
+        return distTo[v];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the parent of v in the BFS tree (or -1 for the source and for unreachable vertices).
+     */
+    public int parent(int v) {
+        return parent[v];
+    }
+
+    /**
+     * @return a copy of the array of distances (-1 for unreachable vertices).
+     */
+    public int[] distances() {
+        return distTo.clone();
+    }
+
+    /**
+     * @return a copy of the array of parents (-1 for the source and for unreachable vertices).
+     */
+    public int[] parents() {
+        return parent.clone();
+    }
+
+    /**
+     * @return the number of levels which were expanded bottom-up.
+     */
+    public int bottomUpLevels() {
+        return bottomUpLevels;
+    }
+
+    /**
+     * @return the number of vertices reachable from the source.
+     */
+    public int count() {
+        return count;
+    }
+
+    private void search(int s, int alpha, int beta, ForkJoinPool pool) {
+        distTo[s] = 0;
+        visited.set(s);
+        count = 1;
+        int[] queue = {s}; // the frontier when top-down
+        long[] frontier = null; // the frontier when bottom-up
+        int frontierSize = 1;
+        long frontierEdges = G.degree(s); // number of edges out of the frontier
+        long unexplored = G.E() - frontierEdges; // number of edges out of unvisited vertices
+        int level = 0;
+        while (frontierSize > 0) {
+            level++;
+            if (frontier == null && alpha > 0 && frontierEdges > unexplored / alpha) frontier = toBitset(queue);
+            else if (frontier != null && frontierSize < n / beta) queue = toQueue(frontier, frontierSize);
+            if (frontier != null) {
+                bottomUpLevels++;
+                long[] next = new long[frontier.length];
+                long[] stats = bottomUp(frontier, next, level, pool);
+                frontier = next;
+                frontierSize = (int) stats[0];
+                frontierEdges = stats[1];
+                queue = null;
+            } else {
+                queue = topDown(queue, level, pool);
+                frontierSize = queue.length;
+                frontierEdges = 0;
+                for (int v : queue) frontierEdges += G.degree(v);
+            }
+            count += frontierSize;
+            unexplored -= frontierEdges;
+        }
+    }
+
+    /**
+     * Expand the frontier (a list of vertices) top-down.
+     *
+     * @return the next frontier.
+     */
+    private int[] topDown(int[] queue, int level, ForkJoinPool pool) {
+        int tasks = Math.min(parallelism, 1 + queue.length / MIN_CHUNK);
+        if (tasks == 1) return topDown(queue, 0, queue.length, level);
+        @SuppressWarnings("unchecked")
+        CompletableFuture<int[]>[] futures = new CompletableFuture[tasks];
+        for (int t = 0; t < tasks; t++) {
+            int from = (int) ((long) queue.length * t / tasks), to = (int) ((long) queue.length * (t + 1) / tasks);
+            futures[t] = CompletableFuture.supplyAsync(() -> topDown(queue, from, to, level), pool);
+        }
+        int total = 0;
+        for (CompletableFuture<int[]> future : futures) total += future.join().length;
+        int[] result = new int[total];
+        int k = 0;
+        for (CompletableFuture<int[]> future : futures) {
+            int[] xs = future.join();
+            System.arraycopy(xs, 0, result, k, xs.length);
+            k += xs.length;
+        }
+        return result;
+    }
+
+    private int[] topDown(int[] queue, int from, int to, int level) {
+        int[] offsets = G.offsets;
+        int[] targets = G.targets;
+        int[] result = new int[Math.max(16, to - from)];
+        int k = 0;
+        for (int i = from; i < to; i++) {
+            int v = queue[i];
+            for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                int w = targets[e];
+                if (visited.set(w)) {
+                    distTo[w] = level;
+                    parent[w] = v;
+                    if (k == result.length) result = Arrays.copyOf(result, 2 * k);
+                    result[k++] = w;
+                }
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    /**
+     * Expand the frontier (a bitset) bottom-up into next.
+     * Each task deals with a range of vertices which is aligned to a 64-bit word, so that it alone writes to the
+     * corresponding words of next and visited.
+     *
+     * @return an array of the number of vertices in next and the number of edges out of them.
+     */
+    private long[] bottomUp(long[] frontier, long[] next, int level, ForkJoinPool pool) {
+        int words = frontier.length;
+        int tasks = Math.min(parallelism, 1 + words / (MIN_CHUNK / 64));
+        if (tasks == 1) return bottomUp(frontier, next, 0, words, level);
+        @SuppressWarnings("unchecked")
+        CompletableFuture<long[]>[] futures = new CompletableFuture[tasks];
+        for (int t = 0; t < tasks; t++) {
+            int from = (int) ((long) words * t / tasks), to = (int) ((long) words * (t + 1) / tasks);
+            futures[t] = CompletableFuture.supplyAsync(() -> bottomUp(frontier, next, from, to, level), pool);
+        }
+        long[] result = new long[2];
+        for (CompletableFuture<long[]> future : futures) {
+            long[] xs = future.join();
+            result[0] += xs[0];
+            result[1] += xs[1];
+        }
+        return result;
+    }
+
+    private long[] bottomUp(long[] frontier, long[] next, int fromWord, int toWord, int level) {
+        int[] offsets = reverse.offsets;
+        int[] targets = reverse.targets;
+        long vertices = 0, edges = 0;
+        for (int i = fromWord; i < toWord; i++) {
+            long unvisited = ~visited.word(i);
+            if (unvisited == 0) continue;
+            long found = 0;
+            int base = i << 6;
+            while (unvisited != 0) {
+                int bit = Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                int v = base + bit;
+                if (v >= n) break;
+                for (int e = offsets[v], end = offsets[v + 1]; e < end; e++) {
+                    int u = targets[e];
+                    if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                        distTo[v] = level;
+                        parent[v] = u;
+                        found |= 1L << bit;
+                        vertices++;
+                        edges += G.degree(v);
+                        break;
+                    }
+                }
+            }
+            if (found != 0) {
+                next[i] = found;
+                visited.orWord(i, found); // NOTE no other task writes to word i during this level
+            }
+        }
+        return new long[]{vertices, edges};
+    }
+
+    private long[] toBitset(int[] queue) {
+        long[] result = new long[words(n)];
+        for (int v : queue) result[v >>> 6] |= 1L << v;
+        return result;
+    }
+
+    private static int[] toQueue(long[] frontier, int size) {
+        int[] result = new int[size];
+        int k = 0;
+        for (int i = 0; i < frontier.length; i++)
+            for (long word = frontier[i]; word != 0; word &= word - 1)
+                result[k++] = (i << 6) + Long.numberOfTrailingZeros(word);
+        return result;
+    }
+
+    private static int words(int n) {
+        return (n + 63) >>> 6;
+    }
+
+    public static final int ALPHA = 14;
+    public static final int BETA = 24;
+
+    private static final int MIN_CHUNK = 4096; // the smallest number of vertices worth giving to a separate task
+
+    private final CSRGraph<?> G;
+    private final CSRGraph<?> reverse; // the transpose of G
+    private final int n; // the number of vertices
+    private final int parallelism;
+    private final int[] distTo; // distTo[v] is the number of edges on a shortest path to v (-1 if unreachable)
+    private final int[] parent; // parent[v] is the parent of v in the BFS tree (-1 for the source)
+    private final BitVector_Atomic visited; // bit v is set when v has been visited
+    private int count; // the number of vertices visited
+    private int bottomUpLevels; // the number of levels expanded bottom-up
+}
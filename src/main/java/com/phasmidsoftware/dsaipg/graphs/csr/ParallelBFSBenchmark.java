@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.traversal.BFS;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.Random;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark which compares breadth-first searches of random undirected graphs with 10^6 and 10^7 (directed) edges:
+ * traversal.BFS (linked lists), CSRBFS (sequential, on a CSRGraph) and ParallelBFS (top-down only and direction-optimizing,
+ * with one task and with one task per processor).
+ */
+public class ParallelBFSBenchmark {
+
+    public static void main(String[] args) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int degree = 16;
+        long[] edgeCounts = {1_000_000L, 10_000_000L};
+        logger.info("Processors: " + processors);
+        for (long m : edgeCounts) {
+            int n = (int) (m / degree);
+            logger.info("=== Benchmarking for V=" + n + ", E=" + m + " ===");
+            Random random = new Random(0L);
+            CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+            for (int v = 0; v < n; v++) builder.addVertex(v);
+            BFS bfs = m <= 1_000_000L ? new BFS(n) : null; // the linked lists of traversal.BFS are too big for 10^7 edges
+            for (long k = 0; k < m / 2; k++) {
+                int v = random.nextInt(n), w = random.nextInt(n);
+                builder.addUndirectedEdge(v, w, 1);
+                if (bfs != null) {
+                    bfs.addEdge(v, w);
+                    bfs.addEdge(w, v);
+                }
+            }
+            CSRGraph<Integer> graph = builder.build();
+
+            if (bfs != null) time("traversal.BFS", () -> bfs.traverse(0), 5);
+            time("CSRBFS", () -> new CSRBFS(graph, 0), 5);
+            time("ParallelBFS (top-down, 1 task)", () -> new ParallelBFS(graph, graph, 0, 1, 0, ParallelBFS.BETA), 5);
+            time("ParallelBFS (direction-optimizing, 1 task)", () -> new ParallelBFS(graph, graph, 0, 1, ParallelBFS.ALPHA, ParallelBFS.BETA), 5);
+            if (processors > 1) {
+                time("ParallelBFS (top-down, " + processors + " tasks)", () -> new ParallelBFS(graph, graph, 0, processors, 0, ParallelBFS.BETA), 5);
+                time("ParallelBFS (direction-optimizing, " + processors + " tasks)", () -> new ParallelBFS(graph, graph, 0, processors, ParallelBFS.ALPHA, ParallelBFS.BETA), 5);
+            }
+            ParallelBFS search = ParallelBFS.undirected(graph, 0);
+            logger.info("Reachable: " + search.count() + "; levels expanded bottom-up: " + search.bottomUpLevels());
+        }
+    }
+
+    final static LazyLogger logger = new LazyLogger(ParallelBFSBenchmark.class);
+}
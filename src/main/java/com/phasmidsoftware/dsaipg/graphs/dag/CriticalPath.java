@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Critical-path scheduling of a dependency graph (the critical path method).
+ * <p/>
+ * Each edge u-&gt;v means that v cannot start until the time given by the weight of the edge has passed since u started
+ * (typically, the weight is the duration of u, and the same for every edge out of u;
+ * a task with no successors can be given a duration by adding an edge to a "finish" vertex).
+ * The earliest start of v is the longest path to v from any vertex without predecessors (which start at time zero);
+ * the makespan is the greatest earliest start.
+ * The latest start of v is the latest time at which v can start without delaying the makespan;
+ * its slack is the difference between its latest and earliest starts.
+ * The critical vertices are those with no slack, and a critical path is a longest path in the graph.
+ * <p/>
+ * The earliest starts are computed forwards and the latest starts backwards, one layer of the TopologicalSort at a time
+ * and (within each layer) in parallel.
+ *
+ * @param <V> the vertex type.
+ * @param <E> the type of the edge attributes (the durations).
+ */
+public class CriticalPath<V, E extends Number> {
+
+    /**
+     * Constructor.
+     *
+     * @param sort the topological sort of the dependency graph.
+     */
+    public CriticalPath(TopologicalSort<V, E> sort) {
+        this.sort = sort;
+        int n = sort.size();
+        double[] weights = DagPaths.weights(sort);
+        earliest = new double[n];
+        latest = new double[n];
+        edgeTo = new int[n];
+        int[] offsets = sort.offsets, targets = sort.targets;
+        int[] reverseOffsets = sort.reverseOffsets, reverseEdges = sort.reverseEdges, sources = sort.sources;
+        sort.forEachLayer(false, v -> {
+            double best = 0;
+            int edge = -1;
+            for (int k = reverseOffsets[v]; k < reverseOffsets[v + 1]; k++) {
+                int e = reverseEdges[k];
+                double d = earliest[sources[e]] + weights[e];
+                if (edge < 0 || d > best) {
+                    best = d;
+                    edge = e;
+                }
+            }
+            earliest[v] = best;
+            edgeTo[v] = edge;
+        });
+        double max = 0;
+        int last = -1;
+        for (int v = 0; v < n; v++)
+            if (last < 0 || earliest[v] > max) {
+                max = earliest[v];
+                last = v;
+            }
+        makespan = max;
+        finish = last;
+        sort.forEachLayer(true, v -> {
+            double best = makespan;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) best = Math.min(best, latest[targets[e]] - weights[e]);
+            latest[v] = best;
+        });
+    }
+
+    /**
+     * @return the makespan: the earliest time by which every vertex can have started.
+     */
+    public double makespan() {
+        return makespan;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the earliest time at which v can start.
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public double earliestStart(V v) {
+        return earliest[sort.id(v)];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the latest time at which v can start without increasing the makespan.
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public double latestStart(V v) {
+        return latest[sort.id(v)];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the slack of v: how long its start can be delayed without increasing the makespan.
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public double slack(V v) {
+        int id = sort.id(v);
+        return latest[id] - earliest[id];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return true if v has no slack (allowing for rounding).
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public boolean isCritical(V v) {
+        return slack(v) <= TOLERANCE * Math.max(1, Math.abs(makespan));
+    }
+
+    /**
+     * @return the edges of a critical path, in order (empty if the graph has no edges).
+     */
+    public List<Edge<V, E>> criticalPath() {
+        List<Edge<V, E>> result = new ArrayList<>();
+        if (finish < 0) return result;
+        for (int e = edgeTo[finish]; e >= 0; e = edgeTo[sort.sources[e]]) result.add(sort.edge(e));
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static final double TOLERANCE = 1E-9;
+
+    private final TopologicalSort<V, E> sort;
+    private final double[] earliest; // earliest[v] is the earliest start of v
+    private final double[] latest; // latest[v] is the latest start of v
+    private final int[] edgeTo; // edgeTo[v] is the last edge on a longest path to v (-1 if v has no predecessors)
+    private final double makespan;
+    private final int finish; // a vertex whose earliest start is the makespan (-1 if there are no vertices)
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shortest or longest paths from a source vertex in a directed acyclic graph.
+ * <p/>
+ * Since the graph is acyclic, each vertex can be finalized as soon as all of its predecessors have been:
+ * no priority queue is needed, the edge weights may be negative, and the longest-path problem is no harder than the shortest.
+ * The vertices are taken one layer at a time (see TopologicalSort.forEachLayer),
+ * and each one "pulls" its cost from its in-edges, so that the vertices of a layer can be processed in parallel without locking.
+ *
+ * @param <V> the vertex type.
+ * @param <E> the type of the edge attributes (the weights).
+ */
+public class DagPaths<V, E extends Number> {
+
+    /**
+     * Method to find the shortest paths from source.
+     *
+     * @param sort   the topological sort of the graph.
+     * @param source the source vertex.
+     * @param <V>    the vertex type.
+     * @param <E>    the type of the edge attributes.
+     * @return a DagPaths.
+     * @throws IllegalArgumentException if source is not a vertex of the graph.
+     */
+    public static <V, E extends Number> DagPaths<V, E> shortest(TopologicalSort<V, E> sort, V source) {
+        return new DagPaths<>(sort, source, false);
+    }
+
+    /**
+     * Method to find the longest paths from source.
+     *
+     * @param sort   the topological sort of the graph.
+     * @param source the source vertex.
+     * @param <V>    the vertex type.
+     * @param <E>    the type of the edge attributes.
+     * @return a DagPaths.
+     * @throws IllegalArgumentException if source is not a vertex of the graph.
+     */
+    public static <V, E extends Number> DagPaths<V, E> longest(TopologicalSort<V, E> sort, V source) {
+        return new DagPaths<>(sort, source, true);
+    }
+
+    /**
+     * @param v a vertex.
+     * @return true if there is a path from the source to v.
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public boolean hasPathTo(V v) {
+        return reached(sort.id(v));
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the cost of the shortest (or longest) path to v
+     * (positive infinity for shortest or negative infinity for longest if there is no path).
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public double cost(V v) {
+        return distTo[sort.id(v)];
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the edges of the shortest (or longest) path from the source to v, in order (empty if there is no such path).
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public List<Edge<V, E>> pathTo(V v) {
+        int id = sort.id(v);
+        if (!reached(id)) return Collections.emptyList();
+        List<Edge<V, E>> result = new ArrayList<>();
+        for (int e = edgeTo[id]; e >= 0; e = edgeTo[sort.sources[e]]) result.add(sort.edge(e));
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * @return the weights of the edges of the graph of sort, indexed as in sort.
+     */
+    static <V, E extends Number> double[] weights(TopologicalSort<V, E> sort) {
+        double[] result = new double[sort.targets.length];
+        for (int e = 0; e < result.length; e++) result[e] = sort.edge(e).getAttributes().doubleValue();
+        return result;
+    }
+
+    private boolean reached(int v) {
+        return distTo[v] != unreached;
+    }
+
+    private DagPaths(TopologicalSort<V, E> sort, V source, boolean longest) {
+        this.sort = sort;
+        int s = sort.id(source), n = sort.size();
+        double[] weights = weights(sort);
+        unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        distTo = new double[n];
+        edgeTo = new int[n];
+        Arrays.fill(distTo, unreached);
+        Arrays.fill(edgeTo, -1);
+        distTo[s] = 0;
+        int[] reverseOffsets = sort.reverseOffsets, reverseEdges = sort.reverseEdges, sources = sort.sources;
+        sort.forEachLayer(false, v -> {
+            if (v == s) return;
+            double best = unreached;
+            int edge = -1;
+            for (int k = reverseOffsets[v]; k < reverseOffsets[v + 1]; k++) {
+                int e = reverseEdges[k];
+                double d = distTo[sources[e]];
+                if (d == unreached) continue;
+                d += weights[e];
+                if (edge < 0 || (longest ? d > best : d < best)) {
+                    best = d;
+                    edge = e;
+                }
+            }
+            distTo[v] = best;
+            edgeTo[v] = edge;
+        });
+    }
+
+    private final TopologicalSort<V, E> sort;
+    private final double unreached; // the cost of a vertex which cannot be reached from the source
+    private final double[] distTo; // distTo[v] is the cost of the shortest (or longest) path to v
+    private final int[] edgeTo; // edgeTo[v] is the last edge on that path (-1 for the source or if v cannot be reached)
+}
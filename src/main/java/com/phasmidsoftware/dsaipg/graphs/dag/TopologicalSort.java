@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.Interner;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Layered, parallel topological sort (Kahn's algorithm) of a directed acyclic graph.
+ * <p/>
+ * Layer 0 holds the vertices with no in-edges; layer k+1 holds the vertices all of whose in-edges come from layers 0 .. k
+ * (so that the layer of a vertex is the number of edges on the longest path which leads to it).
+ * Each layer is expanded by several tasks in parallel, each decrementing (atomically) the in-degrees of the targets of the
+ * out-edges of its share of the layer: the task which brings an in-degree to zero places that vertex in the next layer.
+ * The layers are separated by a barrier (the join of the tasks), and each layer is sorted by vertex id,
+ * so that the result does not depend on the parallelism.
+ * Unlike the depth-first search of DAG_Impl.sorted, nothing is recursive, so there is no limit on the depth of the graph.
+ * <p/>
+ * The vertices are interned (assigned consecutive ids in order of their appearance in vertices()) and the edges held
+ * in compressed (CSR) arrays, both forwards and backwards; DagPaths and CriticalPath use these arrays
+ * and the layers (see forEachLayer) to compute paths in parallel.
+ *
+ * @param <V> the vertex type.
+ * @param <E> the type of the edge attributes.
+ */
+public class TopologicalSort<V, E> {
+
+    /**
+     * Method to sort a directed acyclic graph.
+     *
+     * @param graph       the graph.
+     * @param parallelism the number of tasks into which each layer is divided (1 for a sequential sort).
+     * @param <V>         the vertex type.
+     * @param <E>         the type of the edge attributes.
+     * @return a TopologicalSort.
+     * @throws IllegalArgumentException if the graph has a cycle.
+     */
+    public static <V, E> TopologicalSort<V, E> create(Graph<V, Edge<V, E>> graph, int parallelism) {
+        return new TopologicalSort<>(graph, Math.max(1, parallelism));
+    }
+
+    /**
+     * Method to sort a directed acyclic graph using one task per processor.
+     *
+     * @param graph the graph.
+     * @param <V>   the vertex type.
+     * @param <E>   the type of the edge attributes.
+     * @return a TopologicalSort.
+     * @throws IllegalArgumentException if the graph has a cycle.
+     */
+    public static <V, E> TopologicalSort<V, E> create(Graph<V, Edge<V, E>> graph) {
+        return create(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @return the vertices in topological order (every edge leads from an earlier vertex to a later one).
+     */
+    public List<V> sorted() {
+        return vertices(0, order.length);
+    }
+
+    /**
+     * @return the number of layers.
+     */
+    public int layers() {
+        return layerStarts.length - 1;
+    }
+
+    /**
+     * @param k the index of a layer.
+     * @return the vertices of layer k.
+     */
+    public List<V> layer(int k) {
+        return vertices(layerStarts[k], layerStarts[k + 1]);
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the layer of v: the number of edges on the longest path which leads to v.
+     * @throws IllegalArgumentException if v is not a vertex of the graph.
+     */
+    public int depth(V v) {
+        return depths[id(v)];
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int size() {
+        return order.length;
+    }
+
+    int id(V v) {
+        int result = interner.indexOf(v);
+        if (result < 0) throw new IllegalArgumentException("vertex is not in the graph: " + v);
+        return result;
+    }
+
+    V vertex(int id) {
+        return interner.vertex(id);
+    }
+
+    Edge<V, E> edge(int e) {
+        return edges[e];
+    }
+
+    /**
+     * Method to apply action to the id of every vertex, one layer at a time,
+     * dividing each layer among several tasks in parallel (so action must be safe to run concurrently on different vertices).
+     * When action is applied to a vertex, it has already been applied (and completed) for every vertex in every earlier layer.
+     *
+     * @param backwards true to take the layers in reverse order (so that each vertex follows all its successors).
+     * @param action    the action.
+     */
+    void forEachLayer(boolean backwards, IntConsumer action) {
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            for (int i = 0; i < layers(); i++) {
+                int k = backwards ? layers() - 1 - i : i;
+                int start = layerStarts[k], end = layerStarts[k + 1];
+                int tasks = Math.min(parallelism, 1 + (end - start) / MIN_CHUNK);
+                if (tasks == 1) {
+                    for (int j = start; j < end; j++) action.accept(order[j]);
+                    continue;
+                }
+                CompletableFuture<?>[] futures = new CompletableFuture[tasks];
+                for (int t = 0; t < tasks; t++) {
+                    int from = start + (int) ((long) (end - start) * t / tasks), to = start + (int) ((long) (end - start) * (t + 1) / tasks);
+                    futures[t] = CompletableFuture.runAsync(() -> {
+                        for (int j = from; j < to; j++) action.accept(order[j]);
+                    }, pool);
+                }
+                join(futures);
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
+    private TopologicalSort(Graph<V, Edge<V, E>> graph, int parallelism) {
+        this.parallelism = parallelism;
+        interner = new Interner<>();
+        for (V v : graph.vertices()) interner.intern(v);
+        List<Edge<V, E>> edgeList = new ArrayList<>();
+        int n = interner.size();
+        offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            for (Edge<V, E> edge : graph.adjacent(interner.vertex(v))) {
+                edgeList.add(edge);
+                interner.intern(edge.getTo());
+            }
+            offsets[v + 1] = edgeList.size();
+        }
+        if (interner.size() != n)
+            throw new IllegalArgumentException("graph has an edge to a vertex which is not one of its vertices: " + interner.vertex(n));
+        //noinspection unchecked
+        edges = edgeList.toArray(new Edge[0]);
+        int m = edges.length;
+        targets = new int[m];
+        for (int e = 0; e < m; e++) targets[e] = interner.indexOf(edges[e].getTo());
+        reverseOffsets = new int[n + 1];
+        for (int e = 0; e < m; e++) reverseOffsets[targets[e] + 1]++;
+        for (int v = 0; v < n; v++) reverseOffsets[v + 1] += reverseOffsets[v];
+        reverseEdges = new int[m];
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for (int v = 0; v < n; v++)
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) reverseEdges[next[targets[e]]++] = e;
+        sources = new int[m];
+        for (int v = 0; v < n; v++) Arrays.fill(sources, offsets[v], offsets[v + 1], v);
+        order = new int[n];
+        depths = new int[n];
+        layerStarts = sort();
+    }
+
+    /**
+     * Kahn's algorithm, one layer at a time.
+     *
+     * @return the start of each layer in order (and, finally, the number of vertices).
+     */
+    private int[] sort() {
+        int n = order.length;
+        AtomicIntegerArray inDegrees = new AtomicIntegerArray(n);
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            int degree = reverseOffsets[v + 1] - reverseOffsets[v];
+            inDegrees.set(v, degree);
+            if (degree == 0) order[size++] = v;
+        }
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        try {
+            for (int start = 0, depth = 0; start < size; depth++) {
+                int end = size;
+                starts.add(end);
+                for (int j = start; j < end; j++) depths[order[j]] = depth;
+                int[] layer = expand(start, end, inDegrees, pool);
+                System.arraycopy(layer, 0, order, end, layer.length);
+                size += layer.length;
+                Arrays.sort(order, end, size);
+                start = end;
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+        if (size < n) throw new IllegalArgumentException("graph has a cycle (" + (n - size) + " vertices are on or after a cycle)");
+        int[] result = new int[starts.size()];
+        for (int k = 0; k < result.length; k++) result[k] = starts.get(k);
+        return result;
+    }
+
+    /**
+     * @return the vertices whose in-degrees fall to zero when the edges out of order[start] .. order[end-1] are removed.
+     */
+    private int[] expand(int start, int end, AtomicIntegerArray inDegrees, ForkJoinPool pool) {
+        int tasks = Math.min(parallelism, 1 + (end - start) / MIN_CHUNK);
+        if (tasks == 1) return expand(start, end, inDegrees);
+        @SuppressWarnings("unchecked")
+        CompletableFuture<int[]>[] futures = new CompletableFuture[tasks];
+        for (int t = 0; t < tasks; t++) {
+            int from = start + (int) ((long) (end - start) * t / tasks), to = start + (int) ((long) (end - start) * (t + 1) / tasks);
+            futures[t] = CompletableFuture.supplyAsync(() -> expand(from, to, inDegrees), pool);
+        }
+        join(futures);
+        int total = 0;
+        for (CompletableFuture<int[]> future : futures) total += future.join().length;
+        int[] result = new int[total];
+        int k = 0;
+        for (CompletableFuture<int[]> future : futures) {
+            int[] part = future.join();
+            System.arraycopy(part, 0, result, k, part.length);
+            k += part.length;
+        }
+        return result;
+    }
+
+    private int[] expand(int from, int to, AtomicIntegerArray inDegrees) {
+        int[] result = new int[16];
+        int size = 0;
+        for (int j = from; j < to; j++) {
+            int v = order[j];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++)
+                if (inDegrees.decrementAndGet(targets[e]) == 0) {
+                    if (size == result.length) result = Arrays.copyOf(result, 2 * size);
+                    result[size++] = targets[e];
+                }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static void join(CompletableFuture<?>[] futures) {
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw e;
+        }
+    }
+
+    private List<V> vertices(int from, int to) {
+        return new AbstractList<V>() {
+            public V get(int index) {
+                if (index < 0 || index >= to - from) throw new IndexOutOfBoundsException(index);
+                return interner.vertex(order[from + index]);
+            }
+
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    private static final int MIN_CHUNK = 4096; // the least number of vertices worth giving to a separate task
+
+    private final int parallelism;
+    private final Interner<V> interner;
+    private final Edge<V, E>[] edges; // the edges, grouped by from vertex
+    final int[] offsets; // the out-edges of v are offsets[v] .. offsets[v+1]-1
+    final int[] sources; // sources[e] is the from vertex of edge e
+    final int[] targets; // targets[e] is the to vertex of edge e
+    final int[] reverseOffsets; // the in-edges of v are reverseEdges[reverseOffsets[v]] .. reverseEdges[reverseOffsets[v+1]-1]
+    final int[] reverseEdges; // the edges, grouped by to vertex
+    private final int[] order; // the vertex ids in topological order
+    private final int[] depths; // depths[v] is the layer of v
+    private final int[] layerStarts; // layer k is order[layerStarts[k]] .. order[layerStarts[k+1]-1]
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of TopologicalSort and CriticalPath on large dependency graphs:
+ * a random DAG of 10^6 tasks (each depending on a few earlier tasks), and a chain of 10^6 tasks
+ * (far too deep for the recursive depth-first search of DAG_Impl.sorted).
+ */
+public class TopologicalSortBenchmark {
+
+    public static void main(String[] args) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int n = 1_000_000;
+        IntDag random = IntDag.random(n, 4, 1000, new Random(0L));
+        IntDag chain = IntDag.random(n, 1, 1, new Random(0L));
+        logger.info("Processors: " + processors);
+        for (IntDag dag : List.of(random, chain)) {
+            TopologicalSort<Integer, Double> sort = TopologicalSort.create(dag, 1);
+            logger.info("V=" + sort.size() + ", layers=" + sort.layers() + ", makespan=" + new CriticalPath<>(sort).makespan());
+            for (int threads = 1; threads <= Math.max(4, processors); threads *= 2) {
+                int t = threads;
+                time("TopologicalSort (" + t + " threads)", () -> TopologicalSort.create(dag, t), 3);
+                TopologicalSort<Integer, Double> sorted = TopologicalSort.create(dag, t);
+                time("CriticalPath (" + t + " threads)", () -> new CriticalPath<>(sorted), 3);
+            }
+        }
+    }
+
+    /**
+     * A DAG whose vertices are 0 .. n-1 and in which every edge leads from a lower-numbered vertex to a higher one.
+     */
+    static class IntDag implements Graph<Integer, Edge<Integer, Double>> {
+        /**
+         * Create a random DAG in which each vertex v (other than 0) depends on (has edges from) up to degree vertices
+         * chosen from the span vertices preceding it.
+         * Each vertex has a random duration (between 1 and 10) which is the weight of all of its out-edges.
+         */
+        static IntDag random(int n, int degree, int span, Random random) {
+            IntDag result = new IntDag(n);
+            double[] durations = new double[n];
+            for (int v = 0; v < n; v++) durations[v] = 1 + random.nextInt(10);
+            for (int v = 1; v < n; v++)
+                for (int k = 0; k < degree; k++) {
+                    int u = v - 1 - random.nextInt(Math.min(v, span));
+                    result.adjacent.get(u).add(new Edge<>(u, v, durations[u]));
+                }
+            return result;
+        }
+
+        IntDag(int n) {
+            for (int v = 0; v < n; v++) {
+                vertices.add(v);
+                adjacent.add(new ArrayList<>());
+            }
+        }
+
+        public SizedIterable<Integer> vertices() {
+            return SizedIterableImpl.create(vertices);
+        }
+
+        public Iterable<Edge<Integer, Double>> adjacent(Integer v) {
+            return adjacent.get(v);
+        }
+
+        private final List<Integer> vertices = new ArrayList<>();
+        private final List<List<Edge<Integer, Double>>> adjacent = new ArrayList<>();
+    }
+
+    final static LazyLogger logger = new LazyLogger(TopologicalSortBenchmark.class);
+}
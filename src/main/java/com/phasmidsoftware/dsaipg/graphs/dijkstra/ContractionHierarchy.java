@@ -0,0 +1,637 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedDoubleHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A contraction hierarchy of an edge-weighted digraph, for answering many shortest-path queries on the same graph.
+ * <p/>
+ * Preprocessing (build) contracts the vertices one at a time, in order of increasing importance.
+ * To contract v is to remove it from the graph, adding a shortcut u-&gt;w (whose weight is that of u-&gt;v-&gt;w)
+ * for each pair of edges u-&gt;v and v-&gt;w unless a (local, "witness") search shows that there is a path from u to w
+ * which is no longer and does not pass through v.
+ * The importance of a vertex is (twice) its edge difference (the number of shortcuts its contraction would add less the number of
+ * edges it would remove) plus the number of its neighbours already contracted and its level (the depth of the hierarchy below it),
+ * both of which spread the contractions evenly over the graph.
+ * Importances are kept up to date lazily: a vertex taken from the priority queue is re-evaluated and, if it is no longer
+ * the least important, put back.
+ * <p/>
+ * The rank of a vertex is its position in the contraction order, and every shortest path in the original graph has a
+ * counterpart in the hierarchy (the original edges together with the shortcuts) which first climbs and then descends in rank.
+ * So a query is a bidirectional Dijkstra search in which the forward search (from s) follows only edges to higher-ranked vertices,
+ * and the backward search (from t) follows only edges from higher-ranked vertices.
+ * Both searches are tiny (a few hundred vertices on a road-like graph of 10^5 vertices: see ContractionHierarchyBenchmark).
+ * <p/>
+ * A hierarchy can be saved to a (binary) file and loaded again, so that the preprocessing need only be done once for a given graph.
+ */
+public class ContractionHierarchy {
+
+    /**
+     * Method to build the contraction hierarchy of a graph.
+     *
+     * @param G the graph.
+     * @return a ContractionHierarchy.
+     * @throws IllegalArgumentException if any edge of G has negative weight.
+     */
+    public static ContractionHierarchy build(EdgeWeightedDigraph G) {
+        return new Builder(G).build();
+    }
+
+    /**
+     * Method to load a contraction hierarchy from a file written by save.
+     *
+     * @param file the file.
+     * @return a ContractionHierarchy.
+     * @throws IOException if the file cannot be read or was not written by save.
+     */
+    public static ContractionHierarchy load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("not a contraction hierarchy file: " + file);
+            int n = in.readInt();
+            if (n < 0) throw new IOException("corrupt contraction hierarchy file: " + file);
+            int[] rank = readInts(in, n);
+            Upward forward = Upward.read(in, n), backward = Upward.read(in, n);
+            return new ContractionHierarchy(rank, forward, backward);
+        }
+    }
+
+    /**
+     * Method to save this contraction hierarchy to a file.
+     *
+     * @param file the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rank.length);
+            for (int r : rank) out.writeInt(r);
+            forward.write(out);
+            backward.write(out);
+        }
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return rank.length;
+    }
+
+    /**
+     * @return the number of edges (original edges and shortcuts) in the hierarchy.
+     */
+    public int E() {
+        return forward.others.length + backward.others.length;
+    }
+
+    /**
+     * @return the number of shortcuts in the hierarchy.
+     */
+    public int shortcuts() {
+        return forward.shortcuts() + backward.shortcuts();
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the position of v in the contraction order.
+     */
+    public int rank(int v) {
+        validateVertex(v);
+        return rank[v];
+    }
+
+    /**
+     * Method to create a Query. A Query may be used for any number of queries, but by only one thread at a time.
+     *
+     * @return a new Query.
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Point-to-point queries on the hierarchy.
+     * The working storage is allocated once, when the Query is created, so that each query takes time proportional
+     * only to the number of vertices it visits.
+     */
+    public class Query {
+
+        /**
+         * Method to find the cost of the shortest path from s to t.
+         *
+         * @param s the source vertex.
+         * @param t the target vertex.
+         * @return the cost (infinity if there is no path).
+         * @throws IllegalArgumentException unless both s and t are vertices.
+         */
+        public double distance(int s, int t) {
+            search(s, t);
+            return best;
+        }
+
+        /**
+         * Method to find the shortest path from s to t (shortcuts are unpacked into the edges of the original graph).
+         *
+         * @param s the source vertex.
+         * @param t the target vertex.
+         * @return the edges of the path, in order from s (null if there is no path).
+         * @throws IllegalArgumentException unless both s and t are vertices.
+         */
+        public List<DirectedEdge> path(int s, int t) {
+            search(s, t);
+            if (meeting < 0) return null;
+            List<Integer> vertices = new ArrayList<>();
+            for (int v = meeting; v != s; v = forwardSide.parent[v]) vertices.add(v);
+            vertices.add(s);
+            Collections.reverse(vertices);
+            for (int v = meeting; v != t; ) vertices.add(v = backwardSide.parent[v]);
+            List<DirectedEdge> result = new ArrayList<>();
+            for (int i = 1; i < vertices.size(); i++) unpack(vertices.get(i - 1), vertices.get(i), result);
+            return result;
+        }
+
+        /**
+         * @return the number of vertices settled by the last query (both searches).
+         */
+        public int settled() {
+            return settled;
+        }
+
+        private void search(int s, int t) {
+            validateVertex(s);
+            validateVertex(t);
+            if (++stamp == Integer.MAX_VALUE) {
+                forwardSide.reset();
+                backwardSide.reset();
+                stamp = 1;
+            }
+            best = Double.POSITIVE_INFINITY;
+            meeting = -1;
+            settled = 0;
+            forwardSide.start(s);
+            backwardSide.start(t);
+            while (true) {
+                boolean f = forwardSide.active(), b = backwardSide.active();
+                if (!f && !b) break;
+                if (f && (!b || forwardSide.minKey() <= backwardSide.minKey())) forwardSide.settleNext(backwardSide);
+                else backwardSide.settleNext(forwardSide);
+            }
+            forwardSide.heap.clear();
+            backwardSide.heap.clear();
+        }
+
+        /**
+         * Unpack the hierarchy edge u-&gt;w into edges of the original graph, adding them (in order) to result.
+         */
+        private void unpack(int u, int w, List<DirectedEdge> result) {
+            Deque<int[]> stack = new ArrayDeque<>();
+            stack.push(new int[]{u, w});
+            while (!stack.isEmpty()) {
+                int[] pair = stack.pop();
+                int from = pair[0], to = pair[1];
+                boolean up = rank[from] < rank[to];
+                Upward upward = up ? forward : backward;
+                int k = up ? forward.find(from, to) : backward.find(to, from);
+                int middle = upward.middles[k];
+                if (middle < 0) result.add(new DirectedEdge(from, to, upward.weights[k]));
+                else {
+                    stack.push(new int[]{middle, to});
+                    stack.push(new int[]{from, middle});
+                }
+            }
+        }
+
+        private Query() {
+            int n = rank.length;
+            forwardSide = new Side(forward, n);
+            backwardSide = new Side(backward, n);
+        }
+
+        /**
+         * One half of the bidirectional search.
+         */
+        private class Side {
+            Side(Upward upward, int n) {
+                this.upward = upward;
+                dist = new double[n];
+                parent = new int[n];
+                visited = new int[n];
+                heap = new IndexedDoubleHeap(n, 4);
+            }
+
+            void reset() {
+                Arrays.fill(visited, 0);
+            }
+
+            void start(int v) {
+                visited[v] = stamp;
+                dist[v] = 0;
+                parent[v] = v;
+                heap.insert(v, 0);
+            }
+
+            boolean active() {
+                return !heap.isEmpty() && minKey() < best;
+            }
+
+            double minKey() {
+                try {
+                    return heap.peekKey();
+                } catch (PQException e) {
+                    throw new RuntimeException("logic error: priority queue is empty", e);
+                }
+            }
+
+            double cost(int v) {
+                return visited[v] == stamp ? dist[v] : Double.POSITIVE_INFINITY;
+            }
+
+            void settleNext(Side other) {
+                int v;
+                try {
+                    v = heap.take();
+                } catch (PQException e) {
+                    throw new RuntimeException("logic error: priority queue is empty", e);
+                }
+                settled++;
+                double d = dist[v];
+                double through = d + other.cost(v);
+                if (through < best) {
+                    best = through;
+                    meeting = v;
+                }
+                for (int k = upward.offsets[v], end = upward.offsets[v + 1]; k < end; k++) {
+                    int w = upward.others[k];
+                    double x = d + upward.weights[k];
+                    if (visited[w] != stamp) {
+                        visited[w] = stamp;
+                        dist[w] = x;
+                        parent[w] = v;
+                        heap.insert(w, x);
+                    } else if (x < dist[w]) {
+                        dist[w] = x;
+                        parent[w] = v;
+                        // NOTE w cannot have been settled already: it was reached from a vertex nearer than itself.
+                        if (heap.contains(w)) heap.decreaseKey(w, x);
+                    }
+                }
+            }
+
+            private final Upward upward;
+            private final double[] dist; // dist[v] is the cost of the best known path (valid only if visited[v] == stamp)
+            private final int[] parent; // parent[v] is the previous vertex on that path
+            private final int[] visited; // visited[v] == stamp if v has been reached by the current query
+            private final IndexedDoubleHeap heap;
+        }
+
+        private final Side forwardSide;
+        private final Side backwardSide;
+        private int stamp; // identifies the current query
+        private double best; // the cost of the best path found so far
+        private int meeting; // the highest-ranked vertex on that path (-1 if there is none)
+        private int settled;
+    }
+
+    /**
+     * The edges of the hierarchy which lead upwards (in rank) from each vertex, in compressed (CSR) form.
+     * For the forward graph, the edges out of v are those of the hierarchy v-&gt;w with rank[w] &gt; rank[v];
+     * for the backward graph, they are the edges of the hierarchy w-&gt;v with rank[w] &gt; rank[v].
+     */
+    private static class Upward {
+        Upward(int[] offsets, int[] others, double[] weights, int[] middles) {
+            this.offsets = offsets;
+            this.others = others;
+            this.weights = weights;
+            this.middles = middles;
+        }
+
+        /**
+         * @return the index of the edge between v and (higher-ranked) w.
+         */
+        int find(int v, int w) {
+            int result = -1;
+            for (int k = offsets[v], end = offsets[v + 1]; k < end; k++)
+                if (others[k] == w && (result < 0 || weights[k] < weights[result])) result = k;
+            if (result < 0) throw new RuntimeException("logic error: missing edge between " + v + " and " + w);
+            return result;
+        }
+
+        int shortcuts() {
+            int result = 0;
+            for (int middle : middles) if (middle >= 0) result++;
+            return result;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            for (int x : offsets) out.writeInt(x);
+            for (int x : others) out.writeInt(x);
+            for (double x : weights) out.writeDouble(x);
+            for (int x : middles) out.writeInt(x);
+        }
+
+        static Upward read(DataInputStream in, int n) throws IOException {
+            int[] offsets = readInts(in, n + 1);
+            int m = offsets[n];
+            if (m < 0) throw new IOException("corrupt contraction hierarchy file");
+            int[] others = readInts(in, m);
+            double[] weights = new double[m];
+            for (int k = 0; k < m; k++) weights[k] = in.readDouble();
+            return new Upward(offsets, others, weights, readInts(in, m));
+        }
+
+        final int[] offsets; // the edges of v are offsets[v] .. offsets[v+1]-1
+        final int[] others; // others[k] is the higher-ranked end of edge k
+        final double[] weights; // weights[k] is the weight of edge k
+        final int[] middles; // middles[k] is the vertex whose contraction created shortcut k (-1 for an original edge)
+    }
+
+    /**
+     * The preprocessing: a mutable copy of the graph, from which vertices are contracted one at a time.
+     */
+    private static class Builder {
+        Builder(EdgeWeightedDigraph G) {
+            n = G.V();
+            out = new int[n][];
+            in = new int[n][];
+            outSize = new int[n];
+            inSize = new int[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new int[4];
+                in[v] = new int[4];
+            }
+            contracted = new boolean[n];
+            deleted = new int[n];
+            level = new int[n];
+            rank = new int[n];
+            witnessDist = new double[n];
+            witnessStamp = new int[n];
+            targetStamp = new int[n];
+            witnessHeap = new IndexedDoubleHeap(n, 4);
+            for (DirectedEdge e : G.edges()) {
+                if (e.weight() < 0) throw new IllegalArgumentException("edge " + e + " has negative weight");
+                // NOTE a self-loop can never be part of a shortest path.
+                if (e.from() != e.to()) addEdge(e.from(), e.to(), e.weight(), -1);
+            }
+        }
+
+        ContractionHierarchy build() {
+            IndexedDoubleHeap pq = new IndexedDoubleHeap(n, 4);
+            for (int v = 0; v < n; v++) pq.insert(v, priority(v));
+            int order = 0;
+            try {
+                while (!pq.isEmpty()) {
+                    int v = pq.take();
+                    double p = priority(v);
+                    if (!pq.isEmpty() && p > pq.peekKey()) {
+                        pq.insert(v, p);
+                        continue;
+                    }
+                    shortcuts(v, WITNESS_LIMIT, true);
+                    contracted[v] = true;
+                    rank[v] = order++;
+                    for (int k = 0; k < outSize[v]; k++) detach(out[v][k], true);
+                    for (int k = 0; k < inSize[v]; k++) detach(in[v][k], false);
+                    for (int k = 0; k < outSize[v]; k++) neighbourContracted(pq, v, to[out[v][k]]);
+                    for (int k = 0; k < inSize[v]; k++) neighbourContracted(pq, v, from[in[v][k]]);
+                }
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: priority queue is empty", e);
+            }
+            return new ContractionHierarchy(rank, upward(true), upward(false));
+        }
+
+        /**
+         * Remove edge e from the adjacency list of its uncontracted end: the in-list of its to vertex (if out) or else the out-list of its from vertex.
+         */
+        private void detach(int e, boolean out) {
+            int[][] lists = out ? in : this.out;
+            int[] sizes = out ? inSize : outSize;
+            int w = out ? to[e] : from[e];
+            int[] list = lists[w];
+            for (int k = 0; k < sizes[w]; k++)
+                if (list[k] == e) {
+                    list[k] = list[--sizes[w]];
+                    return;
+                }
+        }
+
+        private void neighbourContracted(IndexedDoubleHeap pq, int v, int w) {
+            if (contracted[w]) return;
+            deleted[w]++;
+            level[w] = Math.max(level[w], level[v] + 1);
+            pq.changeKey(w, priority(w));
+        }
+
+        /**
+         * @return the importance of v: twice its edge difference, plus the number of its contracted neighbours, plus its level.
+         */
+        private double priority(int v) {
+            return 2 * (shortcuts(v, SIMULATION_LIMIT, false) - outSize[v] - inSize[v]) + deleted[v] + level[v];
+        }
+
+        /**
+         * Method to determine the shortcuts required to contract v.
+         * NOTE the adjacency lists of an uncontracted vertex hold only edges to (or from) other uncontracted vertices.
+         *
+         * @param v     the vertex to be contracted.
+         * @param limit the greatest number of vertices that a witness search may settle.
+         * @param add   true to add the shortcuts; false merely to count them.
+         * @return the number of shortcuts.
+         */
+        private int shortcuts(int v, int limit, boolean add) {
+            int result = 0;
+            for (int i = 0; i < inSize[v]; i++) {
+                int e = in[v][i], u = from[e];
+                double max = -1;
+                int targets = 0;
+                for (int j = 0; j < outSize[v]; j++) {
+                    int f = out[v][j];
+                    if (to[f] != u) {
+                        max = Math.max(max, weight[e] + weight[f]);
+                        targets++;
+                    }
+                }
+                if (targets == 0) continue;
+                witnessSearch(u, v, max, targets, limit);
+                for (int j = 0; j < outSize[v]; j++) {
+                    int f = out[v][j], w = to[f];
+                    if (w == u) continue;
+                    double via = weight[e] + weight[f];
+                    if (witnessCost(w) > via) {
+                        result++;
+                        if (add) addEdge(u, w, via, v);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Dijkstra search from u among the uncontracted vertices other than v, stopping when the nearest unsettled vertex is further than max,
+         * when all the targets (the out-neighbours of v) have been settled, or when limit vertices have been settled.
+         */
+        private void witnessSearch(int u, int v, double max, int targets, int limit) {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(witnessStamp, 0);
+                Arrays.fill(targetStamp, 0);
+                stamp = 1;
+            }
+            for (int j = 0; j < outSize[v]; j++) targetStamp[to[out[v][j]]] = stamp;
+            witnessStamp[u] = stamp;
+            witnessDist[u] = 0;
+            witnessHeap.insert(u, 0);
+            try {
+                for (int count = 0; !witnessHeap.isEmpty() && count < limit; count++) {
+                    if (witnessHeap.peekKey() > max) break;
+                    int x = witnessHeap.take();
+                    if (targetStamp[x] == stamp && x != u && --targets == 0) break;
+                    double d = witnessDist[x];
+                    for (int k = 0; k < outSize[x]; k++) {
+                        int e = out[x][k], y = to[e];
+                        if (y == v) continue;
+                        double z = d + weight[e];
+                        if (witnessStamp[y] != stamp) {
+                            witnessStamp[y] = stamp;
+                            witnessDist[y] = z;
+                            witnessHeap.insert(y, z);
+                        } else if (z < witnessDist[y] && witnessHeap.contains(y)) {
+                            witnessDist[y] = z;
+                            witnessHeap.decreaseKey(y, z);
+                        }
+                    }
+                }
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: priority queue is empty", e);
+            }
+            witnessHeap.clear();
+        }
+
+        private double witnessCost(int w) {
+            return witnessStamp[w] == stamp ? witnessDist[w] : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Add the edge u-&gt;w, unless there is already an edge u-&gt;w which is no heavier (in which case we keep the lighter one).
+         */
+        private void addEdge(int u, int w, double x, int middle) {
+            for (int k = 0; k < outSize[u]; k++) {
+                int e = out[u][k];
+                if (to[e] == w) {
+                    if (x < weight[e]) {
+                        weight[e] = x;
+                        middles[e] = middle;
+                    }
+                    return;
+                }
+            }
+            if (m == from.length) {
+                int capacity = 2 * m;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                middles = Arrays.copyOf(middles, capacity);
+            }
+            from[m] = u;
+            to[m] = w;
+            weight[m] = x;
+            middles[m] = middle;
+            if (outSize[u] == out[u].length) out[u] = Arrays.copyOf(out[u], 2 * outSize[u]);
+            out[u][outSize[u]++] = m;
+            if (inSize[w] == in[w].length) in[w] = Arrays.copyOf(in[w], 2 * inSize[w]);
+            in[w][inSize[w]++] = m;
+            m++;
+        }
+
+        /**
+         * @return the forward (or backward) upward graph.
+         */
+        private Upward upward(boolean forward) {
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                int lower = rank[from[e]] < rank[to[e]] ? from[e] : to[e];
+                if ((lower == from[e]) == forward) offsets[lower + 1]++;
+            }
+            for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+            int size = offsets[n];
+            int[] others = new int[size], edgeMiddles = new int[size];
+            double[] weights = new double[size];
+            int[] next = Arrays.copyOf(offsets, n);
+            for (int e = 0; e < m; e++) {
+                boolean up = rank[from[e]] < rank[to[e]];
+                if (up != forward) continue;
+                int lower = up ? from[e] : to[e], k = next[lower]++;
+                others[k] = up ? to[e] : from[e];
+                weights[k] = weight[e];
+                edgeMiddles[k] = middles[e];
+            }
+            return new Upward(offsets, others, weights, edgeMiddles);
+        }
+
+        private static final int WITNESS_LIMIT = 500; // for the witness searches of a contraction
+        private static final int SIMULATION_LIMIT = 50; // for the witness searches which estimate the importance of a vertex
+
+        private final int n;
+        private final int[][] out; // out[v][0 .. outSize[v]-1] are the edges from v
+        private final int[][] in; // in[v][0 .. inSize[v]-1] are the edges to v
+        private final int[] outSize;
+        private final int[] inSize;
+        private final boolean[] contracted;
+        private final int[] deleted; // deleted[v] is the number of contracted neighbours of v
+        private final int[] level; // level[v] is an upper bound on the depth of the hierarchy below v
+        private final int[] rank;
+        private final double[] witnessDist;
+        private final int[] witnessStamp;
+        private final int[] targetStamp; // targetStamp[w] == stamp if w is a target of the current witness search
+        private final IndexedDoubleHeap witnessHeap;
+        private int stamp; // identifies the current witness search
+        private int m; // the number of edges
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] weight = new double[16];
+        private int[] middles = new int[16]; // the contracted vertex of a shortcut (-1 for an original edge)
+    }
+
+    private static int[] readInts(DataInputStream in, int n) throws IOException {
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = in.readInt();
+        return result;
+    }
+
+    private void validateVertex(int v) {
+        int V = rank.length;
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    private ContractionHierarchy(int[] rank, Upward forward, Upward backward) {
+        this.rank = rank;
+        this.forward = forward;
+        this.backward = backward;
+    }
+
+    private static final int MAGIC = 0x43483031; // "CH01"
+
+    private final int[] rank; // rank[v] is the position of v in the contraction order
+    private final Upward forward;
+    private final Upward backward;
+}
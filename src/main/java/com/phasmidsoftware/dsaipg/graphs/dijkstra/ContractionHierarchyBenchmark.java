@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of ContractionHierarchy queries against Dijkstra on the same road-like graph:
+ * a square grid of intersections, each joined (in both directions) to its neighbours by roads of random (integer) length,
+ * with an arterial road (on which travel is four times as fast) along every tenth row and column.
+ * <p/>
+ * NOTE contraction hierarchies depend on the graph having a hierarchy of "important" vertices, as road networks do.
+ * On a random expander graph (such as DijkstraHeapBenchmark.randomGraph) the contraction adds so many shortcuts
+ * that preprocessing is impractical.
+ */
+public class ContractionHierarchyBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 316; // about 10^5 vertices
+        EdgeWeightedDigraph G = gridGraph(side, new Random(0L));
+        logger.info("V=" + G.V() + ", E=" + G.E());
+        long start = System.currentTimeMillis();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(G);
+        logger.info("Preprocessing: " + (System.currentTimeMillis() - start) + " milliseconds; shortcuts: " + hierarchy.shortcuts());
+        File file = File.createTempFile("hierarchy", ".ch");
+        try {
+            hierarchy.save(file);
+            start = System.currentTimeMillis();
+            hierarchy = ContractionHierarchy.load(file);
+            logger.info("Load (" + file.length() / 1024 + " KB): " + (System.currentTimeMillis() - start) + " milliseconds");
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+        Random random = new Random(1L);
+        int queries = 10_000, dijkstraQueries = 50;
+        int[] sources = new int[queries], targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            sources[q] = random.nextInt(G.V());
+            targets[q] = random.nextInt(G.V());
+        }
+        Dijkstra dijkstra = new Dijkstra(G);
+        ContractionHierarchy.Query query = hierarchy.query();
+        long settled = 0;
+        for (int q = 0; q < dijkstraQueries; q++) {
+            double expected = dijkstra.shortestPaths(sources[q]).distTo(targets[q]);
+            if (query.distance(sources[q], targets[q]) != expected)
+                throw new RuntimeException("mismatch for query " + sources[q] + "->" + targets[q]);
+        }
+        for (int q = 0; q < queries; q++) {
+            query.distance(sources[q], targets[q]);
+            settled += query.settled();
+        }
+        logger.info("Mean vertices settled by hierarchy query: " + settled / queries);
+        double dijkstraTime = time("Dijkstra x " + dijkstraQueries, () -> {
+            for (int q = 0; q < dijkstraQueries; q++) dijkstra.shortestPaths(sources[q]).distTo(targets[q]);
+        }, 3);
+        double queryTime = time("ContractionHierarchy.Query.distance x " + queries, () -> {
+            for (int q = 0; q < queries; q++) query.distance(sources[q], targets[q]);
+        }, 3);
+        double pathTime = time("ContractionHierarchy.Query.path x " + queries, () -> {
+            for (int q = 0; q < queries; q++) query.path(sources[q], targets[q]);
+        }, 3);
+        logger.info(String.format("Per query: Dijkstra %.0f us; hierarchy distance %.1f us; hierarchy path %.1f us",
+                1000 * dijkstraTime / dijkstraQueries, 1000 * queryTime / queries, 1000 * pathTime / queries));
+    }
+
+    /**
+     * Create a grid of side x side vertices in which each vertex has an edge to (and from) each of its neighbours.
+     *
+     * @param side   the number of vertices along each side.
+     * @param random a source of randomness.
+     * @return a new EdgeWeightedDigraph.
+     */
+    static EdgeWeightedDigraph gridGraph(int side, Random random) {
+        EdgeWeightedDigraph result = new EdgeWeightedDigraph(side * side);
+        for (int v = 0; v < side * side; v++) {
+            int x = v % side, y = v / side;
+            // NOTE every tenth row and column is an arterial road, on which travel is four times as fast.
+            if (x + 1 < side) addBoth(result, v, v + 1, (100 + random.nextInt(100)) / (y % 10 == 0 ? 4 : 1));
+            if (y + 1 < side) addBoth(result, v, v + side, (100 + random.nextInt(100)) / (x % 10 == 0 ? 4 : 1));
+        }
+        return result;
+    }
+
+    private static void addBoth(EdgeWeightedDigraph G, int v, int w, double weight) {
+        G.addEdge(new DirectedEdge(v, w, weight));
+        G.addEdge(new DirectedEdge(w, v, weight));
+    }
+
+    final static LazyLogger logger = new LazyLogger(ContractionHierarchyBenchmark.class);
+}
@@ -33,8 +33,10 @@
 
 package com.phasmidsoftware.dsaipg.graphs.dijkstra;
 
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedDoubleHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+
 import java.util.Stack;
-import java.util.function.BiConsumer;
 
 public class Dijkstra {
 
@@ -83,20 +85,22 @@ public class Dijkstra {
             distTo[s] = 0.0;
             validateVertex(s);
             pq.insert(s, distTo[s]);
-            while (!pq.isEmpty()) {
-                int v = pq.delMin();
-                for (DirectedEdge e : G.adj(v))
-                    relax(e);
+            try {
+                while (!pq.isEmpty()) {
+                    int v = pq.take();
+                    for (DirectedEdge e : G.adj(v))
+                        relax(e);
+                }
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: priority queue is empty", e);
             }
             assert check(G, s);
         }
 
         ShortestPaths() {
-            pq = new IndexMinPQ<>(n);
+            pq = new IndexedDoubleHeap(n);
             distTo = new double[n];
             edgeTo = new DirectedEdge[n];
-            keyDecreaser = pq::decreaseKey;
-            keyInserter = pq::insert;
         }
 
         private void relax(DirectedEdge e) {
@@ -106,7 +110,8 @@ public class Dijkstra {
             if (distTo[w] > eDistance) {
                 distTo[w] = eDistance;
                 edgeTo[w] = e;
-                (pq.contains(w) ? keyDecreaser : keyInserter).accept(w, distTo[w]);
+                if (pq.contains(w)) pq.decreaseKey(w, eDistance);
+                else pq.insert(w, eDistance);
             }
         }
 
@@ -158,11 +163,9 @@ public class Dijkstra {
                 throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
         }
 
-        private final BiConsumer<Integer, Double> keyDecreaser;
-        private final BiConsumer<Integer, Double> keyInserter;
         private final double[] distTo;          // distTo[v] = distance  of shortest s->v path
         private final DirectedEdge[] edgeTo;    // edgeTo[v] = last edge on shortest s->v path
-        private final IndexMinPQ<Double> pq;    // priority queue of vertices
+        private final IndexedDoubleHeap pq;    // priority queue of vertices (keyed by unboxed distances)
     }
 
     private final EdgeWeightedDigraph G;    // G is the original graph passed in to the constructor.
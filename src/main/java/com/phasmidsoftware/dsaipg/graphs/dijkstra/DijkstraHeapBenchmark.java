@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.adt.pq.FibonacciHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedDoubleHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedPriorityQueue;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+import com.phasmidsoftware.dsaipg.adt.pq.RadixHeap;
+import com.phasmidsoftware.dsaipg.util.Benchmark_Timer;
+
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmark which compares decrease-key heaps (binary, 4-ary and Fibonacci) when used by
+ * Dijkstra's shortest-paths algorithm and by (eager) Prim's minimum-spanning-tree algorithm
+ * on large, sparse, random graphs.
+ * The d-ary heaps are run both with boxed keys (IndexedPriorityQueue&lt;Double&gt;) and with primitive keys (IndexedDoubleHeap).
+ * Because the random graphs have integer weights, Dijkstra is also run with a (lazy) RadixHeap.
+ */
+public class DijkstraHeapBenchmark {
+
+    /**
+     * The operations which Dijkstra and Prim require of a priority queue of vertices keyed by distance.
+     */
+    interface VertexQueue {
+        boolean isEmpty();
+
+        boolean contains(int v);
+
+        void insert(int v, double key);
+
+        void decreaseKey(int v, double key);
+
+        int takeMin() throws PQException;
+    }
+
+    /**
+     * VertexQueue based on IndexedPriorityQueue (a d-ary heap).
+     */
+    static class DAryVertexQueue implements VertexQueue {
+        DAryVertexQueue(int n, int arity) {
+            pq = new IndexedPriorityQueue<>(n, arity, false, Double::compare);
+        }
+
+        public boolean isEmpty() {
+            return pq.isEmpty();
+        }
+
+        public boolean contains(int v) {
+            return pq.contains(v);
+        }
+
+        public void insert(int v, double key) {
+            pq.insert(v, key);
+        }
+
+        public void decreaseKey(int v, double key) {
+            pq.decreaseKey(v, key);
+        }
+
+        public int takeMin() throws PQException {
+            return pq.takeHandle();
+        }
+
+        private final IndexedPriorityQueue<Double> pq;
+    }
+
+    /**
+     * VertexQueue based on IndexedDoubleHeap (a d-ary heap with primitive keys).
+     */
+    static class PrimitiveVertexQueue implements VertexQueue {
+        PrimitiveVertexQueue(int n, int arity) {
+            pq = new IndexedDoubleHeap(n, arity);
+        }
+
+        public boolean isEmpty() {
+            return pq.isEmpty();
+        }
+
+        public boolean contains(int v) {
+            return pq.contains(v);
+        }
+
+        public void insert(int v, double key) {
+            pq.insert(v, key);
+        }
+
+        public void decreaseKey(int v, double key) {
+            pq.decreaseKey(v, key);
+        }
+
+        public int takeMin() throws PQException {
+            return pq.take();
+        }
+
+        private final IndexedDoubleHeap pq;
+    }
+
+    /**
+     * VertexQueue based on FibonacciHeap, using the nodes returned by insert as handles.
+     */
+    static class FibonacciVertexQueue implements VertexQueue {
+        FibonacciVertexQueue(int n) {
+            //noinspection unchecked
+            nodes = new FibonacciHeap.Node[n];
+        }
+
+        public boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        public boolean contains(int v) {
+            return nodes[v] != null;
+        }
+
+        public void insert(int v, double key) {
+            nodes[v] = heap.insert(new Entry(v, key));
+        }
+
+        public void decreaseKey(int v, double key) {
+            heap.decreaseKey(nodes[v], new Entry(v, key));
+        }
+
+        public int takeMin() throws PQException {
+            int v = heap.take().v;
+            nodes[v] = null;
+            return v;
+        }
+
+        record Entry(int v, double key) {
+        }
+
+        private final FibonacciHeap<Entry> heap = new FibonacciHeap<>((e1, e2) -> Double.compare(e1.key, e2.key));
+        private final FibonacciHeap.Node<Entry>[] nodes;
+    }
+
+    /**
+     * Dijkstra's algorithm from vertex s.
+     *
+     * @param G  the graph.
+     * @param s  the source vertex.
+     * @param pq an empty VertexQueue with capacity for all the vertices of G.
+     * @return the array of distances from s.
+     */
+    static double[] dijkstra(EdgeWeightedDigraph G, int s, VertexQueue pq) throws PQException {
+        double[] distTo = new double[G.V()];
+        java.util.Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        distTo[s] = 0.0;
+        pq.insert(s, 0.0);
+        while (!pq.isEmpty()) {
+            int v = pq.takeMin();
+            for (DirectedEdge e : G.adj(v)) {
+                int w = e.to();
+                double d = distTo[v] + e.weight();
+                if (d < distTo[w]) {
+                    if (pq.contains(w)) pq.decreaseKey(w, d);
+                    else pq.insert(w, d);
+                    distTo[w] = d;
+                }
+            }
+        }
+        return distTo;
+    }
+
+    /**
+     * Lazy version of Dijkstra's algorithm from vertex s, using a RadixHeap.
+     * All edge weights of G must be non-negative integers.
+     *
+     * @param G  the graph.
+     * @param s  the source vertex.
+     * @param pq an empty RadixHeap.
+     * @return the array of distances from s.
+     */
+    static long[] dijkstra(EdgeWeightedDigraph G, int s, RadixHeap pq) throws PQException {
+        long[] distTo = new long[G.V()];
+        java.util.Arrays.fill(distTo, Long.MAX_VALUE);
+        distTo[s] = 0;
+        pq.give(s, 0);
+        while (!pq.isEmpty()) {
+            int v = pq.take();
+            if (pq.lastKey() > distTo[v]) continue; // stale entry
+            for (DirectedEdge e : G.adj(v)) {
+                int w = e.to();
+                long d = distTo[v] + (long) e.weight();
+                if (d < distTo[w]) {
+                    distTo[w] = d;
+                    pq.give(w, d);
+                }
+            }
+        }
+        return distTo;
+    }
+
+    /**
+     * Eager Prim's algorithm starting from vertex 0 (G is treated as undirected, with each edge given in both directions).
+     *
+     * @param G  the graph.
+     * @param pq an empty VertexQueue with capacity for all the vertices of G.
+     * @return the total weight of the minimum spanning tree (forest) of the component containing vertex 0.
+     */
+    static double prim(EdgeWeightedDigraph G, VertexQueue pq) throws PQException {
+        double[] distTo = new double[G.V()];
+        java.util.Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        boolean[] marked = new boolean[G.V()];
+        double result = 0.0;
+        distTo[0] = 0.0;
+        pq.insert(0, 0.0);
+        while (!pq.isEmpty()) {
+            int v = pq.takeMin();
+            marked[v] = true;
+            result += distTo[v];
+            for (DirectedEdge e : G.adj(v)) {
+                int w = e.to();
+                if (marked[w]) continue;
+                if (e.weight() < distTo[w]) {
+                    distTo[w] = e.weight();
+                    if (pq.contains(w)) pq.decreaseKey(w, distTo[w]);
+                    else pq.insert(w, distTo[w]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create a random sparse graph with each edge present in both directions.
+     *
+     * @param n      the number of vertices.
+     * @param degree the mean out-degree.
+     * @param random a source of randomness.
+     * @return a new EdgeWeightedDigraph.
+     */
+    static EdgeWeightedDigraph randomGraph(int n, int degree, Random random) {
+        EdgeWeightedDigraph result = new EdgeWeightedDigraph(n);
+        // A ring ensures that the graph is connected.
+        for (int v = 0; v < n; v++) addBoth(result, v, (v + 1) % n, 1 + random.nextInt(1000));
+        for (int i = 0; i < n * (degree - 2) / 2; i++)
+            addBoth(result, random.nextInt(n), random.nextInt(n), 1 + random.nextInt(1000));
+        return result;
+    }
+
+    private static void addBoth(EdgeWeightedDigraph G, int v, int w, double weight) {
+        G.addEdge(new DirectedEdge(v, w, weight));
+        G.addEdge(new DirectedEdge(w, v, weight));
+    }
+
+    private static void benchmark(String name, EdgeWeightedDigraph G, IntFunction<VertexQueue> queueFactory, int runs) {
+        int n = G.V();
+        Benchmark_Timer<EdgeWeightedDigraph> dijkstraTimer = new Benchmark_Timer<>(
+                name + " - Dijkstra",
+                (EdgeWeightedDigraph g) -> {
+                    try {
+                        dijkstra(g, 0, queueFactory.apply(n));
+                    } catch (PQException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+        );
+        Benchmark_Timer<EdgeWeightedDigraph> primTimer = new Benchmark_Timer<>(
+                name + " - Prim",
+                (EdgeWeightedDigraph g) -> {
+                    try {
+                        prim(g, queueFactory.apply(n));
+                    } catch (PQException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+        );
+        System.out.println(name + " (V=" + n + ", E=" + G.E() + ") Dijkstra time: " + dijkstraTimer.runFromSupplier(() -> G, runs) + " milliseconds");
+        System.out.println(name + " (V=" + n + ", E=" + G.E() + ") Prim time: " + primTimer.runFromSupplier(() -> G, runs) + " milliseconds");
+    }
+
+    private static void benchmarkRadix(EdgeWeightedDigraph G, int runs) {
+        int n = G.V();
+        Benchmark_Timer<EdgeWeightedDigraph> timer = new Benchmark_Timer<>(
+                "Radix Heap - Dijkstra",
+                (EdgeWeightedDigraph g) -> {
+                    try {
+                        dijkstra(g, 0, new RadixHeap(n));
+                    } catch (PQException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+        );
+        System.out.println("Radix Heap (V=" + n + ", E=" + G.E() + ") Dijkstra time: " + timer.runFromSupplier(() -> G, runs) + " milliseconds");
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = {100_000, 400_000, 1_000_000};
+        int degree = 8;
+        Random random = new Random(0L);
+        for (int n : sizes) {
+            System.out.println("=== Benchmarking for V=" + n + ", mean degree=" + degree + " ===");
+            EdgeWeightedDigraph G = randomGraph(n, degree, random);
+            benchmark("Binary Heap", G, k -> new DAryVertexQueue(k, 2), 5);
+            benchmark("4-ary Heap", G, k -> new DAryVertexQueue(k, 4), 5);
+            benchmark("Fibonacci Heap", G, FibonacciVertexQueue::new, 5);
+            benchmark("Primitive Binary Heap", G, k -> new PrimitiveVertexQueue(k, 2), 5);
+            benchmark("Primitive 4-ary Heap", G, k -> new PrimitiveVertexQueue(k, 4), 5);
+            benchmarkRadix(G, 5);
+            System.out.println();
+        }
+    }
+}
@@ -5,8 +5,7 @@
 package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack;
 
 import com.google.common.collect.ImmutableList;
-import com.phasmidsoftware.dsaipg.adt.bqs.Dictionary;
-import com.phasmidsoftware.dsaipg.adt.bqs.Dictionary_Hash;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_LongObject;
 
 import java.util.List;
 import java.util.Objects;
@@ -40,7 +39,7 @@ public class Knapsack {
      * a weight not exceeding <code>omega</code>.
      */
     Solution mu(int kappa, int omega) {
-        Key key = new Key(kappa, omega);
+        long key = HashTable_LongObject.key(kappa, omega);
         Solution value = memo.get(key);
         if (value != null) return value;
         if (kappa < 1) return empty;
@@ -60,8 +59,8 @@ public class Knapsack {
     }
 
     private final List<Item> items;
-    // The following is to memoize the sub-solutions: key is of type Key, and value is value (an Integer).
-    private final Dictionary<Key, Solution> memo = new Dictionary_Hash<>();
+    // The following is to memoize the sub-solutions: the key packs kappa and omega into a long (so there is no boxing).
+    private final HashTable_LongObject<Solution> memo = new HashTable_LongObject<>();
     final static Solution empty = new Solution(0, ImmutableList.of());
 
     /**
@@ -115,36 +114,6 @@ public class Knapsack {
         }
     }
 
-    /**
-     * Inner class <code>Key</code> which represents the parameters of a subproblem (in this case, evaluating mu).
-     */
-    static class Key {
-        @Override
-        public String toString() {
-            return "Key{" + kappa + ", " + omega + '}';
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof Key key)) return false;
-            return kappa == key.kappa && Objects.equals(omega, key.omega);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(kappa, omega);
-        }
-
-        public Key(int kappa, int omega) {
-            this.kappa = kappa;
-            this.omega = omega;
-        }
-
-        private final int kappa;
-        private final int omega;
-    }
-
     public static class Item {
         @Override
         public String toString() {
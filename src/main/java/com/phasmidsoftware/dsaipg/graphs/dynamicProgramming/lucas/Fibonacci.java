@@ -4,6 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.lucas;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.LazyList_Chunked;
+
 import java.util.ArrayList;
 
 public class Fibonacci {
@@ -18,6 +20,16 @@ public class Fibonacci {
         return evaluate(n);
     }
 
+    /**
+     * Method to yield the Fibonacci numbers as a lazy, memoized sequence (see Lucas.sequence).
+     * NOTE: like get, this overflows beyond element 45.
+     *
+     * @return a LazyList_Chunked whose element n is the same as get(n).
+     */
+    public static LazyList_Chunked<Integer> sequence() {
+        return LazyList_Chunked.iterate(new int[]{1, 1}, p -> new int[]{p[1], p[0] + p[1]}).map(p -> p[0]);
+    }
+
     private int evaluate(int n) {
         for (int i = fib.size(); i <= n; i++) fib.add(i, fib.get(i - 2) + fib.get(i - 1));
         return fib.get(n);
@@ -4,6 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.lucas;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.LazyList_Chunked;
+
 import java.util.ArrayList;
 
 public class Lucas {
@@ -25,6 +27,16 @@ public class Lucas {
         return bad(n - 2) + bad(n - 1);
     }
 
+    /**
+     * Method to yield the (infinite) sequence of Lucas numbers, evaluated lazily, 64 at a time, and memoized,
+     * such that the sequence may be streamed (or traversed again) without recomputation.
+     *
+     * @return a LazyList_Chunked whose element n is the same as get(n).
+     */
+    public static LazyList_Chunked<Long> sequence() {
+        return LazyList_Chunked.iterate(new long[]{2L, 1L}, p -> new long[]{p[1], p[0] + p[1]}).map(p -> p[0]);
+    }
+
     private long evaluate(int n) {
         for (int i = lucas.size(); i <= n; i++) lucas.add(i, lucas.get(i - 2) + lucas.get(i - 1));
         return lucas.get(n);
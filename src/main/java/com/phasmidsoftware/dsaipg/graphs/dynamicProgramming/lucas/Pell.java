@@ -4,6 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.lucas;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.LazyList_Chunked;
+
 import java.util.ArrayList;
 
 public class Pell {
@@ -18,6 +20,13 @@ public class Pell {
         return evaluate(n);
     }
 
+    /**
+     * @return the Pell numbers as a lazy, memoized sequence (see Lucas.sequence).
+     */
+    public static LazyList_Chunked<Long> sequence() {
+        return LazyList_Chunked.iterate(new long[]{0L, 1L}, p -> new long[]{p[1], p[0] + 2 * p[1]}).map(p -> p[0]);
+    }
+
     private long evaluate(int n) {
         for (int i = pell.size(); i <= n; i++) pell.add(i, pell.get(i - 2) + 2 * pell.get(i - 1));
         return pell.get(n);
@@ -4,9 +4,12 @@
 
 package com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_prims;
 
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.Map;
 
 public class Graph<T> {
     private final int V;   // No. of vertices
@@ -45,4 +48,18 @@ public class Graph<T> {
     public Iterator<T> adj(T v) {
         return adj.get(v).iterator();
     }
-}
\ No newline at end of file
+
+    /**
+     * Method to convert this graph to CSR form (for example, for ParallelBFS or CSRBFS).
+     * Each edge appears in both directions (as it does here).
+     *
+     * @return a CSRGraph whose vertices are interned from the vertices of this graph.
+     */
+    public CSRGraph<T> toCSRGraph() {
+        CSRGraph.Builder<T> builder = new CSRGraph.Builder<>();
+        for (T v : adj.keySet()) builder.addVertex(v);
+        for (Map.Entry<T, LinkedList<T>> entry : adj.entrySet())
+            for (T w : entry.getValue()) builder.addEdge(entry.getKey(), w);
+        return builder.build();
+    }
+}
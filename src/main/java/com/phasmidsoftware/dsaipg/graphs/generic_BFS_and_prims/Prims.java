@@ -12,33 +12,35 @@
 
 package com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_prims;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.BitVector;
+
 import java.util.LinkedList;
 import java.util.Queue;
 
 public class Prims {
-    private final boolean[] marked; // MST vertices
+    private final BitVector marked; // MST vertices
     private final Queue<Edge> mst; // MST edges
     private final MinPQ<Edge> pq; // crossing (and ineligible) edges
 
     public Prims(EdgeWeightedGraph G) {
         pq = new MinPQ<>();
-        marked = new boolean[G.V()];
+        marked = new BitVector(G.V());
         mst = new LinkedList<>();
         visit(G, 0); // assumes G is connected
         while (!pq.isEmpty()) {
             Edge e = pq.delMin(); // Get lowest-weight
             int v = e.either(), w = e.other(v); // edge from pq.
-            if (marked[v] && marked[w]) continue; // Skip if ineligible.
+            if (marked.get(v) && marked.get(w)) continue; // Skip if ineligible.
             mst.add(e); // Add edge to tree.
-            if (!marked[v]) visit(G, v); // Add vertex to tree
-            if (!marked[w]) visit(G, w); // (either v or w).
+            if (!marked.get(v)) visit(G, v); // Add vertex to tree
+            if (!marked.get(w)) visit(G, w); // (either v or w).
         }
     }
 
     private void visit(EdgeWeightedGraph G, int v) { // Mark v and add to pq all edges from v to unmarked vertices.
-        marked[v] = true;
+        marked.set(v);
         for (Edge e : G.adj(v))
-            if (!marked[e.other(v)]) pq.insert(e);
+            if (!marked.get(e.other(v))) pq.insert(e);
     }
 
     public Iterable<Edge> edges() {
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedDoubleHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Point-to-point shortest paths in a ShortestPaths.Network by A* search.
+ * <p/>
+ * A* is Dijkstra's algorithm with each vertex v keyed not on the cost of the best known path to v,
+ * but on that cost plus a lower bound (the heuristic) on the cost from v to the target.
+ * The search is thereby drawn towards the target and settles far fewer vertices than route does,
+ * while still finding a shortest path (provided only that the heuristic never overestimates).
+ * <p/>
+ * Two heuristics are provided: the great-circle distance to the target (see greatCircle), which needs no preprocessing;
+ * and the landmark (ALT) bounds of Landmarks, which need a few complete searches beforehand but are much tighter.
+ * Since the maximum of two lower bounds is also a lower bound, the two may be combined (see max).
+ *
+ * @param <V> the vertex type.
+ * @param <E> the type of the edge attributes (the costs).
+ */
+public class AStar<V, E extends Number> {
+
+    /**
+     * A lower bound on the cost of a path between two vertices, identified by their ids in the Network.
+     */
+    public interface Heuristic {
+        /**
+         * @param v      the id of a vertex.
+         * @param target the id of the target vertex.
+         * @return a value no greater than the cost of the shortest path from v to target.
+         */
+        double estimate(int v, int target);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param network   the network to be searched.
+     * @param heuristic the heuristic, which must never overestimate the cost to the target.
+     */
+    public AStar(ShortestPaths.Network<V, E> network, Heuristic heuristic) {
+        this.network = network;
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Method to find the shortest path from source to target.
+     *
+     * @param source the source vertex.
+     * @param target the target vertex.
+     * @return a Route.
+     * @throws IllegalArgumentException if source or target is not a vertex of the Network.
+     */
+    public ShortestPaths.Route<V, E> route(V source, V target) {
+        int s = network.id(source), t = network.id(target);
+        int n = network.size();
+        double[] distTo = new double[n];
+        double[] estimates = new double[n];
+        int[] edgeTo = new int[n];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        Arrays.fill(estimates, Double.NaN);
+        Arrays.fill(edgeTo, -1);
+        IndexedDoubleHeap heap = new IndexedDoubleHeap(n);
+        distTo[s] = 0;
+        heap.insert(s, 0);
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int v;
+            try {
+                v = heap.take();
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: priority queue is empty", e);
+            }
+            settled++;
+            if (v == t) return new ShortestPaths.Route<>(distTo[t], network.forwardPath(edgeTo, t), settled);
+            for (int e = network.offsets[v], end = network.offsets[v + 1]; e < end; e++) {
+                int w = network.targets[e];
+                double d = distTo[v] + network.weights[e];
+                if (d >= distTo[w]) continue;
+                distTo[w] = d;
+                edgeTo[w] = e;
+                if (Double.isNaN(estimates[w])) estimates[w] = heuristic.estimate(w, t);
+                // NOTE w may be reopened (after being settled) if the heuristic is not consistent.
+                if (estimates[w] < Double.POSITIVE_INFINITY) heap.put(w, d + estimates[w]);
+            }
+        }
+        return new ShortestPaths.Route<>(Double.POSITIVE_INFINITY, null, settled);
+    }
+
+    /**
+     * Method to create the great-circle heuristic for a network whose vertices are GeoPoints.
+     * It is a lower bound provided that the cost of every edge is at least costPerMeter times the great-circle distance
+     * between its ends (as it is, with costPerMeter = 1, if the costs are the lengths in meters of roads, tunnels, etc.).
+     *
+     * @param network      the network.
+     * @param costPerMeter the least cost of an edge per meter of its great-circle length.
+     * @param <V>          the vertex type.
+     * @param <E>          the type of the edge attributes.
+     * @return a Heuristic.
+     * @throws IllegalArgumentException if costPerMeter is negative.
+     */
+    public static <V extends GeoPoint, E extends Number> Heuristic greatCircle(ShortestPaths.Network<V, E> network, double costPerMeter) {
+        if (costPerMeter < 0) throw new IllegalArgumentException("costPerMeter must not be negative: " + costPerMeter);
+        List<V> points = new ArrayList<>(network.size());
+        for (int i = 0; i < network.size(); i++) points.add(network.vertex(i));
+        GreatCircle greatCircle = new GreatCircle(points);
+        // NOTE allow for rounding in the haversine formula, lest the bound exceed the cost of a straight edge.
+        double factor = costPerMeter * (1 - 1E-12);
+        return (v, target) -> factor * greatCircle.distance(v, target);
+    }
+
+    /**
+     * Method to combine heuristics: the result is the greatest of their estimates.
+     *
+     * @param heuristics the heuristics.
+     * @return a Heuristic.
+     */
+    public static Heuristic max(Heuristic... heuristics) {
+        return (v, target) -> {
+            double result = 0;
+            for (Heuristic heuristic : heuristics) result = Math.max(result, heuristic.estimate(v, target));
+            return result;
+        };
+    }
+
+    private final ShortestPaths.Network<V, E> network;
+    private final Heuristic heuristic;
+}
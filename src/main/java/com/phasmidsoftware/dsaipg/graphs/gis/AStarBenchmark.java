@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Position;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of AStar (with the great-circle and landmark heuristics) against Dijkstra (ShortestPaths.Network.route)
+ * on a street map: a square grid of intersections, about 100 meters apart, in and around Boston,
+ * each joined (in both directions) to its neighbours by streets somewhat longer than the straight line between them.
+ */
+public class AStarBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int side = 500; // 250,000 intersections and about 10^6 streets
+        int k = 16; // landmarks
+        GeoGridGraph graph = new GeoGridGraph(side, new Random(0L));
+        ShortestPaths.Network<Intersection, Double> network = ShortestPaths.Network.create(graph);
+        logger.info("V=" + network.size());
+        long start = System.currentTimeMillis();
+        Landmarks landmarks = Landmarks.select(network, k, new Random(0L));
+        logger.info("Preprocessing (" + k + " landmarks): " + (System.currentTimeMillis() - start) + " milliseconds");
+        File file = File.createTempFile("landmarks", ".alt");
+        try {
+            landmarks.save(file);
+            start = System.currentTimeMillis();
+            landmarks = Landmarks.load(file, network);
+            logger.info("Load (" + file.length() / 1024 / 1024 + " MB): " + (System.currentTimeMillis() - start) + " milliseconds");
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+        AStar.Heuristic greatCircle = AStar.greatCircle(network, 1);
+        AStar<Intersection, Double> geo = new AStar<>(network, greatCircle);
+        AStar<Intersection, Double> alt = new AStar<>(network, landmarks);
+        AStar<Intersection, Double> both = new AStar<>(network, AStar.max(greatCircle, landmarks));
+        Random random = new Random(1L);
+        int queries = 20;
+        List<Intersection> sources = new ArrayList<>(), targets = new ArrayList<>();
+        for (int q = 0; q < queries; q++) {
+            sources.add(network.vertex(random.nextInt(network.size())));
+            targets.add(network.vertex(random.nextInt(network.size())));
+        }
+        long[] settled = new long[4];
+        for (int q = 0; q < queries; q++) {
+            Intersection s = sources.get(q), t = targets.get(q);
+            settled[0] += network.route(s, t).settled();
+            settled[1] += geo.route(s, t).settled();
+            settled[2] += alt.route(s, t).settled();
+            settled[3] += both.route(s, t).settled();
+        }
+        logger.info("Mean vertices settled: Dijkstra=" + settled[0] / queries + ", great-circle=" + settled[1] / queries + ", ALT=" + settled[2] / queries + ", both=" + settled[3] / queries);
+        time("Dijkstra x " + queries, () -> {
+            for (int q = 0; q < queries; q++) network.route(sources.get(q), targets.get(q));
+        }, 3);
+        time("A* (great-circle) x " + queries, () -> {
+            for (int q = 0; q < queries; q++) geo.route(sources.get(q), targets.get(q));
+        }, 3);
+        time("A* (ALT) x " + queries, () -> {
+            for (int q = 0; q < queries; q++) alt.route(sources.get(q), targets.get(q));
+        }, 3);
+        time("A* (both) x " + queries, () -> {
+            for (int q = 0; q < queries; q++) both.route(sources.get(q), targets.get(q));
+        }, 3);
+    }
+
+    static class Intersection implements GeoPoint {
+        Intersection(String name, Position position) {
+            this.name = name;
+            this.position = position;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Position getPosition() {
+            return position;
+        }
+
+        private final String name;
+        private final Position position;
+    }
+
+    /**
+     * A grid of side x side intersections in which each intersection has a street to (and from) each of its neighbours.
+     * Each street is between 1 and 1.5 times as long as the great-circle distance between its ends.
+     */
+    static class GeoGridGraph implements Graph<Intersection, Edge<Intersection, Double>> {
+        GeoGridGraph(int side, Random random) {
+            int n = side * side;
+            double[] latitudes = new double[n], longitudes = new double[n];
+            for (int v = 0; v < n; v++) {
+                int x = v % side, y = v / side;
+                latitudes[v] = 42.3 + (y + 0.3 * random.nextDouble()) * 0.0009; // about 100 m
+                longitudes[v] = -71.1 + (x + 0.3 * random.nextDouble()) * 0.0012; // about 100 m at this latitude
+                vertices.add(new Intersection("v" + v, new Position_Spherical(latitudes[v], longitudes[v])));
+                adjacent.add(new ArrayList<>());
+            }
+            GreatCircle greatCircle = new GreatCircle(latitudes, longitudes);
+            for (int v = 0; v < n; v++) {
+                int x = v % side, y = v / side;
+                if (x + 1 < side) addStreet(v, v + 1, greatCircle.distance(v, v + 1) * (1 + 0.5 * random.nextDouble()));
+                if (y + 1 < side) addStreet(v, v + side, greatCircle.distance(v, v + side) * (1 + 0.5 * random.nextDouble()));
+            }
+        }
+
+        public SizedIterable<Intersection> vertices() {
+            return SizedIterableImpl.create(vertices);
+        }
+
+        public Iterable<Edge<Intersection, Double>> adjacent(Intersection v) {
+            return adjacent.get(Integer.parseInt(v.getName().substring(1)));
+        }
+
+        private void addStreet(int v, int w, double length) {
+            adjacent.get(v).add(new Edge<>(vertices.get(v), vertices.get(w), length));
+            adjacent.get(w).add(new Edge<>(vertices.get(w), vertices.get(v), length));
+        }
+
+        private final List<Intersection> vertices = new ArrayList<>();
+        private final List<List<Edge<Intersection, Double>>> adjacent = new ArrayList<>();
+    }
+
+    final static LazyLogger logger = new LazyLogger(AStarBenchmark.class);
+}
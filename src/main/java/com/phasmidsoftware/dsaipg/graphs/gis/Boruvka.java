@@ -4,7 +4,7 @@
 
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
-import com.phasmidsoftware.dsaipg.adt.bqs.Queue_Elements;
+import com.phasmidsoftware.dsaipg.adt.bqs.Deque_Ring;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
 import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
@@ -28,7 +28,7 @@ public class Boruvka<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
     private final EdgeGraph<V, X> graph;
 
     // The queue to store the edges in the MST.
-    private final Queue_Elements<Edge<V, X>> queue;
+    private final Deque_Ring<Edge<V, X>> queue;
 
     // The union-find data structure.
     private final TypedUF<V> uf;  // Change the type from Integer to V.
@@ -46,7 +46,7 @@ public class Boruvka<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
             vertexToInteger.put(vertex, count++);
         }
         this.graph = graph;
-        this.queue = new Queue_Elements<>();
+        this.queue = new Deque_Ring<>();
         SizedIterable<V> vertices = graph.vertices();
         this.uf = createUF(vertices);  // Pass the vertices directly to createUF.
         this.size = vertices.size();
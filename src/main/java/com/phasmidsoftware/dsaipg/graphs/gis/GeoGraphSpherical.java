@@ -14,6 +14,12 @@ import com.phasmidsoftware.dsaipg.graphs.undirected.Position;
  * @param <E> the edge type
  */
 public class GeoGraphSpherical<V extends GeoPoint, E> extends BaseGeoGraph<V, E> {
+    /**
+     * Method to yield the length of an edge.
+     *
+     * @param edge the edge.
+     * @return the length of the edge in meters.
+     */
     public double length(Edge<V, E> edge) {
         V v1 = edge.get();
         V v2 = edge.getOther(v1);
@@ -26,6 +32,7 @@ public class GeoGraphSpherical<V extends GeoPoint, E> extends BaseGeoGraph<V, E>
 
     /**
      * Method to calculate distance between given longitudes and latitudes.
+     * For the distances between many points, see GreatCircle.
      *
      * @param p1 The first point.
      * @param p2 The second point.
@@ -34,13 +41,9 @@ public class GeoGraphSpherical<V extends GeoPoint, E> extends BaseGeoGraph<V, E>
     private static double distance(Position p1, Position p2) {
         Position_Spherical v1 = (Position_Spherical) p1;
         Position_Spherical v2 = (Position_Spherical) p2;
-        double latArc = Math.toRadians(v2.getLatitude() - v1.getLatitude());
-        double lonArc = Math.toRadians(v2.getLongitude() - v1.getLongitude());
-        double a = Math.sin(latArc / 2) * Math.sin(latArc / 2)
-                + Math.cos(Math.toRadians(v1.getLatitude())) * Math.cos(Math.toRadians(v2.getLatitude()))
-                * Math.sin(lonArc / 2) * Math.sin(lonArc / 2);
-        return R * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        double lat1 = Math.toRadians(v1.getLatitude());
+        double lat2 = Math.toRadians(v2.getLatitude());
+        double lonArc = Math.toRadians(v2.getLongitude()) - Math.toRadians(v1.getLongitude());
+        return GreatCircle.haversine(lat1, Math.cos(lat1), lat2, Math.cos(lat2), lonArc);
     }
-
-    private final static int R = 6378100; // Radius of the earth (meters)
-}
\ No newline at end of file
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import java.util.List;
+
+/**
+ * Kernel for great-circle distances between many points on the Earth's surface.
+ * <p/>
+ * The latitudes and longitudes of the points are held (in radians) in primitive arrays, together with the cosine of each latitude,
+ * so that the distance between two points takes no Position objects, no conversions to radians,
+ * and two trigonometric functions fewer than GeoGraphSpherical would otherwise take.
+ * The batch methods compute many distances in one tight loop over these arrays.
+ * <p/>
+ * For short distances, there is also the equirectangular approximation, which takes no trigonometric functions at all.
+ * Its relative error is less than (d/R)^2 / cos^2(lat), where d is the distance, R is the radius of the Earth,
+ * and lat is the latitude (of either point) furthest from the equator: at most 1 part in 10^8 for a 250 m tunnel in Boston
+ * (see approximationError).
+ */
+public class GreatCircle {
+
+    /**
+     * Constructor.
+     *
+     * @param points the points (whose positions must be Position_Spherical).
+     */
+    public GreatCircle(List<? extends GeoPoint> points) {
+        int n = points.size();
+        latitudes = new double[n];
+        longitudes = new double[n];
+        cosines = new double[n];
+        for (int i = 0; i < n; i++) {
+            Position_Spherical position = (Position_Spherical) points.get(i).getPosition();
+            set(i, position.getLatitude(), position.getLongitude());
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param latitudes  the latitudes of the points (in degrees).
+     * @param longitudes the longitudes of the points (in degrees).
+     * @throws IllegalArgumentException if the arrays are of different lengths.
+     */
+    public GreatCircle(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length)
+            throw new IllegalArgumentException("latitudes and longitudes must have the same length");
+        int n = latitudes.length;
+        this.latitudes = new double[n];
+        this.longitudes = new double[n];
+        cosines = new double[n];
+        for (int i = 0; i < n; i++) set(i, latitudes[i], longitudes[i]);
+    }
+
+    /**
+     * @return the number of points.
+     */
+    public int size() {
+        return latitudes.length;
+    }
+
+    /**
+     * Method to yield the great-circle (haversine) distance between points i and j.
+     *
+     * @param i a point.
+     * @param j another point.
+     * @return the distance in meters.
+     */
+    public double distance(int i, int j) {
+        return haversine(latitudes[i], cosines[i], latitudes[j], cosines[j], longitudes[j] - longitudes[i]);
+    }
+
+    /**
+     * Method to yield the equirectangular approximation to the distance between points i and j.
+     * See approximationError for the error bound.
+     *
+     * @param i a point.
+     * @param j another point.
+     * @return the approximate distance in meters.
+     */
+    public double approximateDistance(int i, int j) {
+        return equirectangular(latitudes[j] - latitudes[i], (cosines[i] + cosines[j]) / 2, longitudes[j] - longitudes[i]);
+    }
+
+    /**
+     * Method to determine, as cheaply as possible, whether points i and j are within radius of each other.
+     * The equirectangular approximation decides unless the points are so close to radius apart that its error might matter,
+     * in which case the haversine distance is computed.
+     *
+     * @param i      a point.
+     * @param j      another point.
+     * @param radius a distance in meters.
+     * @return true if distance(i, j) &lt;= radius.
+     */
+    public boolean isWithin(int i, int j, double radius) {
+        double approximate = approximateDistance(i, j);
+        double error = approximationError(Math.max(approximate, radius), Math.max(Math.abs(latitudes[i]), Math.abs(latitudes[j])));
+        if (error < MAX_ERROR) {
+            double margin = 2 * error * radius;
+            if (approximate > radius + margin) return false;
+            if (approximate < radius - margin) return true;
+        }
+        return distance(i, j) <= radius;
+    }
+
+    /**
+     * Batch method to compute the distances from point i to points js[0], ... js[count-1].
+     *
+     * @param i      a point.
+     * @param js     other points.
+     * @param count  the number of elements of js to consider.
+     * @param result an array (at least count long) to receive the distances in meters.
+     */
+    public void distances(int i, int[] js, int count, double[] result) {
+        double lat = latitudes[i], cos = cosines[i], lon = longitudes[i];
+        for (int k = 0; k < count; k++) {
+            int j = js[k];
+            result[k] = haversine(lat, cos, latitudes[j], cosines[j], longitudes[j] - lon);
+        }
+    }
+
+    /**
+     * Batch method to compute the distances between pairs of points, (is[0], js[0]), (is[1], js[1]), ....
+     *
+     * @param is     points.
+     * @param js     other points (the same length as is).
+     * @param result an array (at least as long as is) to receive the distances in meters.
+     */
+    public void distances(int[] is, int[] js, double[] result) {
+        for (int k = 0; k < is.length; k++) {
+            int i = is[k], j = js[k];
+            result[k] = haversine(latitudes[i], cosines[i], latitudes[j], cosines[j], longitudes[j] - longitudes[i]);
+        }
+    }
+
+    /**
+     * Method to yield a bound on the relative error of approximateDistance.
+     *
+     * @param distance the distance in meters.
+     * @param latitude the latitude (in radians) furthest from the equator.
+     * @return the bound on the relative error (or infinity at the poles).
+     */
+    public static double approximationError(double distance, double latitude) {
+        double arc = distance / R;
+        double cos = Math.cos(latitude);
+        return arc * arc / (cos * cos);
+    }
+
+    /**
+     * Method to calculate the (haversine) distance between two points.
+     *
+     * @param lat1 the latitude of the first point (radians).
+     * @param cos1 the cosine of lat1.
+     * @param lat2 the latitude of the second point (radians).
+     * @param cos2 the cosine of lat2.
+     * @param dLon the difference in longitude (radians).
+     * @return the distance between the points in meters.
+     */
+    static double haversine(double lat1, double cos1, double lat2, double cos2, double dLon) {
+        double sinLat = Math.sin((lat2 - lat1) / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat + cos1 * cos2 * sinLon * sinLon;
+        return R * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static double equirectangular(double dLat, double cos, double dLon) {
+        if (dLon > Math.PI) dLon -= 2 * Math.PI;
+        else if (dLon < -Math.PI) dLon += 2 * Math.PI;
+        double x = dLon * cos;
+        return R * Math.sqrt(x * x + dLat * dLat);
+    }
+
+    private void set(int i, double latitude, double longitude) {
+        latitudes[i] = Math.toRadians(latitude);
+        longitudes[i] = Math.toRadians(longitude);
+        cosines[i] = Math.cos(latitudes[i]);
+    }
+
+    final static int R = 6378100; // Radius of the earth (meters)
+
+    private static final double MAX_ERROR = 1E-3; // the greatest relative error for which we trust the equirectangular approximation
+
+    private final double[] latitudes; // radians
+    private final double[] longitudes; // radians
+    private final double[] cosines; // cosines[i] = cos(latitudes[i])
+}
@@ -4,8 +4,7 @@
 
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
-import com.phasmidsoftware.dsaipg.adt.bqs.Queue;
-import com.phasmidsoftware.dsaipg.adt.bqs.Queue_Elements;
+import com.phasmidsoftware.dsaipg.adt.bqs.Deque_Ring;
 import com.phasmidsoftware.dsaipg.adt.pq.PQException;
 import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
@@ -28,7 +27,7 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
 
     // CONSIDER having a simpler constructor which just sets up the necessary structures, then having a run method which takes a graph and outputs an Iterable.
     public Kruskal(EdgeGraph<V, X> graph) {
-        this.queue = new Queue_Elements<>();
+        this.queue = new Deque_Ring<>();
 //        showEdgesInSequence(graph);
         this.pq = createPQ(graph.edges());
         this.uf = createUF(graph.vertices());
@@ -52,7 +51,7 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
 
 
     private Iterable<Edge<V, X>> runKruskal() throws PQException, UFException {
-        while (!pq.isEmpty() && ((SizedIterable<?>) queue).size() < size - 1) {
+        while (!pq.isEmpty() && queue.size() < size - 1) {
             Edge<V, X> edge = pq.take();
             V s1 = edge.get(), s2 = edge.getOther(s1);
             if (!uf.connected(s1, s2)) {
@@ -87,7 +86,7 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
         }
     }
 
-    private final Queue<Edge<V, X>> queue;
+    private final Deque_Ring<Edge<V, X>> queue;
     private final PriorityQueue<Edge<V, X>> pq;
     private final TypedUF<V> uf;
     private final int size;
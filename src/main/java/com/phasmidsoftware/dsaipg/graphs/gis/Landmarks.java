@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The landmark (ALT: A*, Landmarks, Triangle inequality) heuristic for AStar.
+ * <p/>
+ * For each of a few landmark vertices L, we compute beforehand the cost d(L, v) from L to every vertex v
+ * and the cost d(v, L) from every vertex v to L.
+ * By the triangle inequality, d(v, t) &gt;= d(L, t) - d(L, v) and d(v, t) &gt;= d(v, L) - d(t, L),
+ * so the greatest of these differences (over all landmarks) is a lower bound on the cost from v to any target t.
+ * It is also consistent, so that AStar never needs to reopen a vertex.
+ * The bound is tight when t lies "behind" L as seen from v (or v behind L as seen from t),
+ * so the landmarks are chosen to be far apart, on the edges of the network (see select).
+ * <p/>
+ * The costs are held in two primitive arrays (with the costs for landmark i at i*n .. i*n+n-1),
+ * which may be saved to a file and loaded again, so that the preprocessing need only be done once for a given network.
+ */
+public class Landmarks implements AStar.Heuristic {
+
+    /**
+     * Method to choose landmarks for a network and to compute their costs.
+     * The first landmark is the vertex farthest from a random vertex; each subsequent landmark is the vertex
+     * farthest from (i.e. whose nearest landmark is farthest from) the landmarks already chosen.
+     *
+     * @param network the network.
+     * @param k       the number of landmarks (at most the number of vertices).
+     * @param random  the source of randomness.
+     * @param <V>     the vertex type.
+     * @param <E>     the type of the edge attributes.
+     * @return a Landmarks.
+     * @throws IllegalArgumentException if k is not positive or exceeds the number of vertices.
+     */
+    public static <V, E extends Number> Landmarks select(ShortestPaths.Network<V, E> network, int k, Random random) {
+        int n = network.size();
+        if (k <= 0 || k > n) throw new IllegalArgumentException("number of landmarks must be between 1 and " + n + ": " + k);
+        int[] landmarks = new int[k];
+        double[] from = new double[k * n], to = new double[k * n];
+        double[] nearest = network.distances(random.nextInt(n), false);
+        for (int i = 0; i < k; i++) {
+            int landmark = farthest(nearest);
+            landmarks[i] = landmark;
+            double[] costs = network.distances(landmark, false);
+            System.arraycopy(costs, 0, from, i * n, n);
+            System.arraycopy(network.distances(landmark, true), 0, to, i * n, n);
+            if (i == 0) Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+            for (int v = 0; v < n; v++) nearest[v] = Math.min(nearest[v], costs[v]);
+            // NOTE a landmark must not be chosen twice.
+            for (int j = 0; j <= i; j++) nearest[landmarks[j]] = -1;
+        }
+        return new Landmarks(n, landmarks, from, to);
+    }
+
+    /**
+     * Method to load landmarks from a file written by save.
+     *
+     * @param file the file.
+     * @return a Landmarks.
+     * @throws IOException if the file cannot be read or was not written by save.
+     */
+    public static Landmarks load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("not a landmarks file: " + file);
+            int n = in.readInt(), k = in.readInt();
+            if (n <= 0 || k <= 0 || (long) k * n > Integer.MAX_VALUE)
+                throw new IOException("corrupt landmarks file: " + file);
+            int[] landmarks = new int[k];
+            for (int i = 0; i < k; i++) landmarks[i] = in.readInt();
+            double[] from = new double[k * n], to = new double[k * n];
+            for (int i = 0; i < from.length; i++) from[i] = in.readDouble();
+            for (int i = 0; i < to.length; i++) to[i] = in.readDouble();
+            return new Landmarks(n, landmarks, from, to);
+        }
+    }
+
+    /**
+     * Method to load landmarks from a file written by save, checking that they belong to network.
+     *
+     * @param file    the file.
+     * @param network the network for which the landmarks were selected.
+     * @return a Landmarks.
+     * @throws IOException              if the file cannot be read or was not written by save.
+     * @throws IllegalArgumentException if the landmarks were selected for a network of a different size.
+     */
+    public static Landmarks load(File file, ShortestPaths.Network<?, ?> network) throws IOException {
+        Landmarks result = load(file);
+        if (result.n != network.size())
+            throw new IllegalArgumentException("landmarks are for a network of " + result.n + " vertices, not " + network.size());
+        return result;
+    }
+
+    /**
+     * Method to save these landmarks to a file (about 16 * k * n bytes).
+     *
+     * @param file the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(n);
+            out.writeInt(landmarks.length);
+            for (int landmark : landmarks) out.writeInt(landmark);
+            for (double x : from) out.writeDouble(x);
+            for (double x : to) out.writeDouble(x);
+        }
+    }
+
+    /**
+     * @return the number of landmarks.
+     */
+    public int size() {
+        return landmarks.length;
+    }
+
+    /**
+     * @param i the index of a landmark.
+     * @return the id of the landmark vertex.
+     */
+    public int landmark(int i) {
+        return landmarks[i];
+    }
+
+    /**
+     * Method to yield the landmark lower bound on the cost of the shortest path from v to target.
+     *
+     * @param v      the id of a vertex.
+     * @param target the id of the target vertex.
+     * @return the bound (infinity if the landmarks show that there is no path).
+     */
+    public double estimate(int v, int target) {
+        double result = 0;
+        for (int i = 0, base = 0; i < landmarks.length; i++, base += n) {
+            // NOTE an infinite cost may only be subtracted from an infinite cost: we skip those terms.
+            double fromV = from[base + v], toT = to[base + target];
+            if (fromV < Double.POSITIVE_INFINITY) result = Math.max(result, from[base + target] - fromV);
+            if (toT < Double.POSITIVE_INFINITY) result = Math.max(result, to[base + v] - toT);
+        }
+        return result;
+    }
+
+    private static int farthest(double[] costs) {
+        int result = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int v = 0; v < costs.length; v++)
+            if (costs[v] < Double.POSITIVE_INFINITY && costs[v] > max) {
+                max = costs[v];
+                result = v;
+            }
+        return result;
+    }
+
+    private Landmarks(int n, int[] landmarks, double[] from, double[] to) {
+        this.n = n;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    private static final int MAGIC = 0x414C5431; // "ALT1"
+
+    private final int n; // the number of vertices in the network
+    private final int[] landmarks; // the ids of the landmark vertices
+    private final double[] from; // from[i*n+v] is the cost from landmark i to v
+    private final double[] to; // to[i*n+v] is the cost from v to landmark i
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Generator of candidate edges for geographic graphs: it yields only those pairs of points which are within a given radius
+ * of each other, rather than all N(N-1)/2 pairs.
+ * <p/>
+ * The points are hashed into a grid of cells (on latitude and longitude) whose sides are at least the radius,
+ * so that the neighbours of a point can only be in its own cell or in one of the eight cells around it.
+ * For points which are spread over a region (such as the buildings of a city), the time taken is therefore
+ * proportional to N times the mean number of points per cell rather than to N^2.
+ * <p/>
+ * The cell width in longitude is based on the latitude furthest from the equator (where a degree of longitude is shortest),
+ * so no neighbour is ever missed (provided that the distance function is the great-circle distance or longer).
+ * Point sets which straddle the antimeridian (longitude ±180) are not supported.
+ *
+ * @param <V> the type of the points.
+ */
+public class NearNeighbours<V extends GeoPoint> {
+
+    /**
+     * Function to be called for each pair of near neighbours.
+     *
+     * @param <V> the type of the points.
+     */
+    public interface PairConsumer<V> {
+        /**
+         * @param v1       a point.
+         * @param v2       another point (which comes after v1 in the list of points).
+         * @param distance the distance between v1 and v2 (not greater than the radius).
+         */
+        void accept(V v1, V v2, double distance);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param points   the points.
+     * @param radius   the greatest distance (in meters) between two points which are to be considered as neighbours.
+     * @param distance the function which yields the distance (in meters) between two points,
+     *                 such as GeoGraphSpherical::getDistance.
+     * @throws IllegalArgumentException if radius is not positive.
+     */
+    public NearNeighbours(List<V> points, double radius, ToDoubleBiFunction<? super V, ? super V> distance) {
+        this(points, radius, distance, null);
+    }
+
+    /**
+     * Constructor which uses the great-circle distance, computed by a GreatCircle kernel
+     * (the distances are exactly those given by GeoGraphSpherical::getDistance).
+     * Candidates which are clearly too far apart are rejected by the (cheaper) equirectangular approximation.
+     *
+     * @param points the points.
+     * @param radius the greatest distance (in meters) between two points which are to be considered as neighbours.
+     * @throws IllegalArgumentException if radius is not positive.
+     */
+    public NearNeighbours(List<V> points, double radius) {
+        this(points, radius, null, new GreatCircle(points));
+    }
+
+    private NearNeighbours(List<V> points, double radius, ToDoubleBiFunction<? super V, ? super V> distance, GreatCircle greatCircle) {
+        if (!(radius > 0)) throw new IllegalArgumentException("radius must be positive: " + radius);
+        this.points = points;
+        this.radius = radius;
+        this.distance = distance;
+        this.greatCircle = greatCircle;
+        int n = points.size();
+        latitudes = new double[n];
+        longitudes = new double[n];
+        double maxLatitude = 0;
+        for (int i = 0; i < n; i++) {
+            Position_Spherical position = (Position_Spherical) points.get(i).getPosition();
+            latitudes[i] = position.getLatitude();
+            longitudes[i] = position.getLongitude();
+            maxLatitude = Math.max(maxLatitude, Math.abs(latitudes[i]));
+        }
+        // By the haversine formula, hav(d/R) >= cos(lat1) cos(lat2) hav(dLon), which bounds the difference in longitude.
+        double arc = radius / R;
+        double sin = Math.sin(Math.min(arc, Math.PI) / 2) / Math.cos(Math.toRadians(maxLatitude));
+        cellLatitude = Math.toDegrees(arc);
+        cellLongitude = sin < 1 ? Math.toDegrees(2 * Math.asin(sin)) : 360;
+        for (int i = 0; i < n; i++)
+            cells.computeIfAbsent(key(row(i), column(i)), k -> new ArrayList<>()).add(i);
+        double error = GreatCircle.approximationError(radius, Math.toRadians(maxLatitude));
+        approximateRadius = error < MAX_ERROR ? radius * (1 + 2 * error) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Method to yield each pair of points which are within radius of each other.
+     * The pairs are given in the same order as that of a nested loop over the points (i &lt; j),
+     * so that a graph built from them has the same edges, in the same order, as one built by considering every pair.
+     *
+     * @param consumer the function to be called for each pair.
+     */
+    public void forEachPair(PairConsumer<V> consumer) {
+        int[] candidates = new int[16];
+        double[] distances = new double[16];
+        for (int i = 0; i < points.size(); i++) {
+            int row = row(i), column = column(i);
+            int k = 0;
+            for (int r = row - 1; r <= row + 1; r++)
+                for (int c = column - 1; c <= column + 1; c++) {
+                    List<Integer> cell = cells.get(key(r, c));
+                    if (cell == null) continue;
+                    for (int j : cell)
+                        if (j > i) {
+                            if (k == candidates.length) candidates = Arrays.copyOf(candidates, 2 * k);
+                            candidates[k++] = j;
+                        }
+                }
+            Arrays.sort(candidates, 0, k);
+            V v1 = points.get(i);
+            if (greatCircle != null) {
+                int m = 0;
+                for (int x = 0; x < k; x++)
+                    if (greatCircle.approximateDistance(i, candidates[x]) <= approximateRadius) candidates[m++] = candidates[x];
+                if (distances.length < m) distances = new double[candidates.length];
+                greatCircle.distances(i, candidates, m, distances);
+                for (int x = 0; x < m; x++)
+                    if (distances[x] <= radius) consumer.accept(v1, points.get(candidates[x]), distances[x]);
+            } else
+                for (int x = 0; x < k; x++) {
+                    V v2 = points.get(candidates[x]);
+                    double d = distance.applyAsDouble(v1, v2);
+                    if (d <= radius) consumer.accept(v1, v2, d);
+                }
+        }
+    }
+
+    /**
+     * @return the number of (non-empty) cells in the grid.
+     */
+    public int cells() {
+        return cells.size();
+    }
+
+    private int row(int i) {
+        return (int) Math.floor(latitudes[i] / cellLatitude);
+    }
+
+    private int column(int i) {
+        return (int) Math.floor(longitudes[i] / cellLongitude);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private final static int R = GreatCircle.R; // Radius of the earth (meters)
+    private static final double MAX_ERROR = 1E-3; // the greatest relative error for which we trust the equirectangular approximation
+
+    private final List<V> points;
+    private final double radius; // meters
+    private final ToDoubleBiFunction<? super V, ? super V> distance; // the distance function (null if greatCircle is used)
+    private final GreatCircle greatCircle; // the kernel for great-circle distances (null if distance is used)
+    private final double approximateRadius; // candidates whose approximate distance is greater than this are rejected
+    private final double[] latitudes; // degrees
+    private final double[] longitudes; // degrees
+    private final double cellLatitude; // the height of a cell (degrees)
+    private final double cellLongitude; // the width of a cell (degrees)
+    private final Map<Long, List<Integer>> cells = new HashMap<>(); // the indices of the points in each cell, in increasing order
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
+import com.phasmidsoftware.dsaipg.graphs.union_find.UF_LockFree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * This is a parallel version of Boruvka's algorithm to find the minimum spanning tree (or forest) of an edge-weighted graph.
+ * <p/>
+ * Each round has two phases, each of which is divided among several tasks:
+ * in the first, every edge whose ends are in different components offers itself as the cheapest edge out of each of those
+ * components (an atomic minimum per component); in the second, the cheapest edge out of each component is added to the MST
+ * and its components are merged in a lock-free union-find (UF_LockFree).
+ * Edges whose ends are in the same component are dropped from the next round, so each round examines fewer edges.
+ * There are at most lg V rounds.
+ * <p/>
+ * The edges are ranked by their attributes (ties being broken by the order of graph.edges()) so that no two edges compare as equal.
+ * The MST is therefore unique: it is the same as the MST found by Kruskal's algorithm (with the same tie-breaking)
+ * whatever the number of tasks, and its edges are given in the same order as Kruskal would give them.
+ *
+ * @param <V> is the type of each vertex.
+ * @param <X> is the type of each edge attribute.
+ */
+public class ParallelBoruvka<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
+
+    /**
+     * Primary constructor.
+     *
+     * @param graph       the graph whose MST is required.
+     * @param parallelism the number of tasks into which each phase of a round is divided (1 for a sequential search).
+     */
+    public ParallelBoruvka(EdgeGraph<V, X> graph, int parallelism) {
+        Map<V, Integer> vertexToInteger = new HashMap<>();
+        for (V vertex : graph.vertices()) vertexToInteger.putIfAbsent(vertex, vertexToInteger.size());
+        List<Edge<V, X>> edges = new ArrayList<>();
+        for (Edge<V, X> edge : graph.edges()) edges.add(edge);
+        edges.sort(Comparator.comparing(Edge::getAttribute)); // NOTE stable, so that ties keep the order of graph.edges()
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int e = 0; e < m; e++) {
+            Edge<V, X> edge = edges.get(e);
+            V v = edge.get();
+            from[e] = vertexToInteger.computeIfAbsent(v, x -> vertexToInteger.size());
+            to[e] = vertexToInteger.computeIfAbsent(edge.getOther(v), x -> vertexToInteger.size());
+        }
+        int[] chosen = spanningForest(vertexToInteger.size(), from, to, null, parallelism);
+        List<Edge<V, X>> result = new ArrayList<>(chosen.length);
+        for (int e : chosen) result.add(edges.get(e));
+        mst = result;
+    }
+
+    /**
+     * Constructor which uses one task per processor.
+     *
+     * @param graph the graph whose MST is required.
+     */
+    public ParallelBoruvka(EdgeGraph<V, X> graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    public EdgeGraph<V, X> getMST() {
+        int sequence = 0;
+        EdgeGraph<V, X> result = new Graph_Edges<>();
+        for (Edge<V, X> edge : mst) {
+            edge.getAttribute().setSequence(sequence++);
+            result.addEdge(edge);
+        }
+        return result;
+    }
+
+    /**
+     * Method to find the minimum spanning forest of a graph whose vertices are 0..n-1 and whose edges are given as arrays.
+     * Edge e joins from[e] and to[e] and has weight weights[e]; edges of equal weight are ranked by their index.
+     * If weights is null, the edges are ranked by their index alone (that's to say, they are already in order of weight).
+     *
+     * @param n           the number of vertices.
+     * @param from        one end of each edge.
+     * @param to          the other end of each edge.
+     * @param weights     the weight of each edge (or null).
+     * @param parallelism the number of tasks into which each phase of a round is divided (1 for a sequential search).
+     * @return the indices of the edges of the minimum spanning forest, in increasing order of index.
+     * @throws IllegalArgumentException if the arrays are of different lengths or an edge has an end which is not a vertex.
+     */
+    public static int[] spanningForest(int n, int[] from, int[] to, double[] weights, int parallelism) {
+        int m = from.length;
+        if (to.length != m || (weights != null && weights.length != m))
+            throw new IllegalArgumentException("edge arrays must all have the same length");
+        for (int e = 0; e < m; e++)
+            if (from[e] < 0 || from[e] >= n || to[e] < 0 || to[e] >= n)
+                throw new IllegalArgumentException("edge " + e + " has an end which is not between 0 and " + (n - 1));
+        int tasks = Math.max(1, parallelism);
+        ForkJoinPool pool = tasks > 1 ? new ForkJoinPool(tasks) : null;
+        try {
+            return new Rounds(n, from, to, weights, tasks, pool).run();
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+    }
+
+    /**
+     * The state of a run of parallel Boruvka over primitive arrays.
+     */
+    private static class Rounds {
+
+        Rounds(int n, int[] from, int[] to, double[] weights, int parallelism, ForkJoinPool pool) {
+            this.n = n;
+            this.from = from;
+            this.to = to;
+            this.weights = weights;
+            this.parallelism = parallelism;
+            this.pool = pool;
+            uf = new UF_LockFree(n, new Random(0L));
+            cheapest = new AtomicIntegerArray(n);
+            for (int v = 0; v < n; v++) cheapest.set(v, NONE);
+            chosen = new boolean[from.length];
+        }
+
+        int[] run() {
+            int[] live = new int[from.length];
+            for (int e = 0; e < live.length; e++) live[e] = e;
+            int count = 0;
+            while (live.length > 0 && count < n - 1) {
+                live = findCheapest(live);
+                int added = contract();
+                if (added == 0) break;
+                count += added;
+            }
+            int[] result = new int[count];
+            int k = 0;
+            for (int e = 0; e < chosen.length; e++) if (chosen[e]) result[k++] = e;
+            return result;
+        }
+
+        /**
+         * Phase one: record the cheapest edge out of each component.
+         *
+         * @param live the edges which may join different components.
+         * @return those edges of live which do join different components.
+         */
+        private int[] findCheapest(int[] live) {
+            int tasks = Math.min(parallelism, 1 + live.length / MIN_CHUNK);
+            if (tasks == 1) return findCheapest(live, 0, live.length);
+            @SuppressWarnings("unchecked")
+            CompletableFuture<int[]>[] futures = new CompletableFuture[tasks];
+            for (int t = 0; t < tasks; t++) {
+                int lo = (int) ((long) live.length * t / tasks), hi = (int) ((long) live.length * (t + 1) / tasks);
+                futures[t] = CompletableFuture.supplyAsync(() -> findCheapest(live, lo, hi), pool);
+            }
+            int total = 0;
+            for (CompletableFuture<int[]> future : futures) total += future.join().length;
+            int[] result = new int[total];
+            int k = 0;
+            for (CompletableFuture<int[]> future : futures) {
+                int[] xs = future.join();
+                System.arraycopy(xs, 0, result, k, xs.length);
+                k += xs.length;
+            }
+            return result;
+        }
+
+        private int[] findCheapest(int[] live, int lo, int hi) {
+            int[] result = new int[hi - lo];
+            int k = 0;
+            for (int i = lo; i < hi; i++) {
+                int e = live[i];
+                int i1 = uf.find(from[e]), i2 = uf.find(to[e]);
+                if (i1 == i2) continue; // same tree
+                offer(i1, e);
+                offer(i2, e);
+                result[k++] = e;
+            }
+            return Arrays.copyOf(result, k);
+        }
+
+        /**
+         * Atomically replace the cheapest edge out of component c by e, if e is cheaper.
+         */
+        private void offer(int c, int e) {
+            int current = cheapest.get(c);
+            while (current == NONE || less(e, current)) {
+                if (cheapest.compareAndSet(c, current, e)) return;
+                current = cheapest.get(c);
+            }
+        }
+
+        private boolean less(int e, int f) {
+            if (weights != null) {
+                int cf = Double.compare(weights[e], weights[f]);
+                if (cf != 0) return cf < 0;
+            }
+            return e < f;
+        }
+
+        /**
+         * Phase two: add the cheapest edge out of each component to the MST and merge the components.
+         * An edge which is the cheapest out of both of its components is added only once (by the task whose union succeeds).
+         *
+         * @return the number of edges added.
+         */
+        private int contract() {
+            int tasks = Math.min(parallelism, 1 + n / MIN_CHUNK);
+            if (tasks == 1) return contract(0, n);
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Integer>[] futures = new CompletableFuture[tasks];
+            for (int t = 0; t < tasks; t++) {
+                int lo = (int) ((long) n * t / tasks), hi = (int) ((long) n * (t + 1) / tasks);
+                futures[t] = CompletableFuture.supplyAsync(() -> contract(lo, hi), pool);
+            }
+            int result = 0;
+            for (CompletableFuture<Integer> future : futures) result += future.join();
+            return result;
+        }
+
+        private int contract(int lo, int hi) {
+            int result = 0;
+            for (int c = lo; c < hi; c++) {
+                int e = cheapest.get(c);
+                if (e == NONE) continue;
+                cheapest.set(c, NONE);
+                if (uf.merge(from[e], to[e])) {
+                    chosen[e] = true; // NOTE only the task whose union succeeded writes to chosen[e]
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        private static final int NONE = -1;
+        private static final int MIN_CHUNK = 4096; // the smallest number of edges (or vertices) worth giving to a separate task
+
+        private final int n; // the number of vertices
+        private final int[] from; // one end of each edge
+        private final int[] to; // the other end of each edge
+        private final double[] weights; // the weight of each edge (null if the edges are in order of weight)
+        private final int parallelism;
+        private final ForkJoinPool pool; // null if parallelism is 1
+        private final UF_LockFree uf; // the components of the forest so far
+        private final AtomicIntegerArray cheapest; // cheapest[c] is the cheapest edge out of component c (NONE if none yet)
+        private final boolean[] chosen; // chosen[e] is true if edge e is in the MST
+    }
+}
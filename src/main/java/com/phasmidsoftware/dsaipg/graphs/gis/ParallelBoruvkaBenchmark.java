@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPrim;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark which measures how ParallelBoruvka scales with the number of tasks on large random geometric graphs
+ * (points at random in the unit square, joined whenever they are within a radius chosen to give a mean degree of about 10),
+ * compared with Prim's algorithm on the equivalent CSRGraph.
+ */
+public class ParallelBoruvkaBenchmark {
+
+    public static void main(String[] args) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int[] sizes = {100_000, 1_000_000};
+        logger.info("Processors: " + processors);
+        for (int n : sizes) {
+            double radius = Math.sqrt(DEGREE / (Math.PI * n));
+            RandomGeometricGraph edges = new RandomGeometricGraph(n, radius, new Random(0L));
+            int[] from = edges.from, to = edges.to;
+            double[] weights = edges.lengths;
+            logger.info("=== Benchmarking for V=" + n + ", E=" + from.length + " ===");
+            CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+            for (int v = 0; v < n; v++) builder.addVertex(v);
+            for (int e = 0; e < from.length; e++) builder.addUndirectedEdge(from[e], to[e], weights[e]);
+            CSRGraph<Integer> graph = builder.build();
+            time("CSRPrim", () -> new CSRPrim(graph), 5);
+            for (int tasks = 1; tasks <= Math.max(4, processors); tasks *= 2) {
+                int t = tasks;
+                time("ParallelBoruvka (" + t + " tasks)", () -> ParallelBoruvka.spanningForest(n, from, to, weights, t), 5);
+            }
+            int[] mst = ParallelBoruvka.spanningForest(n, from, to, weights, processors);
+            double weight = 0;
+            for (int e : mst) weight += weights[e];
+            logger.info("MST edges: " + mst.length + "; weight: " + weight + "; CSRPrim weight: " + new CSRPrim(graph).weight());
+        }
+    }
+
+    /**
+     * The edges of a random geometric graph, as arrays.
+     */
+    private static class RandomGeometricGraph {
+        RandomGeometricGraph(int n, double radius, Random random) {
+            double[] xs = new double[n], ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = random.nextDouble();
+                ys[i] = random.nextDouble();
+            }
+            // bucket the points into square cells of side (at least) radius, so that neighbours are in adjacent cells.
+            int cells = Math.max(1, (int) (1 / radius));
+            int[] start = new int[cells * cells + 1];
+            for (int i = 0; i < n; i++) start[cell(xs[i], ys[i], cells) + 1]++;
+            for (int c = 0; c < cells * cells; c++) start[c + 1] += start[c];
+            int[] next = Arrays.copyOf(start, cells * cells);
+            int[] points = new int[n];
+            for (int i = 0; i < n; i++) points[next[cell(xs[i], ys[i], cells)]++] = i;
+            int[] from = new int[16], to = new int[16];
+            double[] lengths = new double[16];
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                int cx = Math.min(cells - 1, (int) (xs[i] * cells)), cy = Math.min(cells - 1, (int) (ys[i] * cells));
+                for (int x = Math.max(0, cx - 1); x <= Math.min(cells - 1, cx + 1); x++)
+                    for (int y = Math.max(0, cy - 1); y <= Math.min(cells - 1, cy + 1); y++)
+                        for (int k = start[x * cells + y]; k < start[x * cells + y + 1]; k++) {
+                            int j = points[k];
+                            double d = Math.hypot(xs[i] - xs[j], ys[i] - ys[j]);
+                            if (i >= j || d > radius) continue;
+                            if (m == from.length) {
+                                from = Arrays.copyOf(from, 2 * m);
+                                to = Arrays.copyOf(to, 2 * m);
+                                lengths = Arrays.copyOf(lengths, 2 * m);
+                            }
+                            from[m] = i;
+                            to[m] = j;
+                            lengths[m++] = d;
+                        }
+            }
+            this.from = Arrays.copyOf(from, m);
+            this.to = Arrays.copyOf(to, m);
+            this.lengths = Arrays.copyOf(lengths, m);
+        }
+
+        final int[] from; // one end of each edge
+        final int[] to; // the other end of each edge
+        final double[] lengths; // the length of each edge
+    }
+
+    private static int cell(double x, double y, int cells) {
+        return Math.min(cells - 1, (int) (x * cells)) * cells + Math.min(cells - 1, (int) (y * cells));
+    }
+
+    private static final double DEGREE = 10; // the mean degree of the random geometric graphs
+
+    final static LazyLogger logger = new LazyLogger(ParallelBoruvkaBenchmark.class);
+}
@@ -4,8 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
-import com.phasmidsoftware.dsaipg.adt.bqs.Queue;
-import com.phasmidsoftware.dsaipg.adt.bqs.Queue_Elements;
+import com.phasmidsoftware.dsaipg.adt.bqs.BitVector;
+import com.phasmidsoftware.dsaipg.adt.bqs.Deque_Ring;
 import com.phasmidsoftware.dsaipg.adt.pq.PQException;
 import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
@@ -25,11 +25,11 @@ public class Prim<V, X extends Comparable<X> & Sequenced> extends MST<V, X> impl
 
     // CONSIDER having a simpler constructor which just sets up the necessary structures, then having a run method which takes a graph and outputs an Iterable.
     public Prim(EdgeGraph<V, X> graph) {
-        this.queue = new Queue_Elements<>();
+        this.queue = new Deque_Ring<>();
         this.vertexToInteger = new HashMap<>();
         this.graph = graph;
         int size = graph.vertices().size();
-        marked = new boolean[size];
+        marked = new BitVector(size);
         // TO BE IMPLEMENTED  : finish construction
          this.pq = null;
          this.mst = null;
@@ -67,24 +67,24 @@ throw new RuntimeException("implementation missing");
             Edge<V, X> e = pq.take();                      // smallest edge on pq
             V u = e.get(), w = e.getOther(u);        // two endpoints
             int ui = vertexToInteger.get(u), wi = vertexToInteger.get(w); // their indices
-            assert marked[ui] || marked[wi];
-            if (marked[ui] && marked[wi]) continue;      // lazy, both v and w already scanned
+            assert marked.get(ui) || marked.get(wi);
+            if (marked.get(ui) && marked.get(wi)) continue;      // lazy, both v and w already scanned
             queue.offer(e);                            // add e to queue
             //weight += e.weight();
-            if (!marked[ui]) scan(v);               // v becomes part of tree
-            if (!marked[wi]) scan(w);               // w becomes part of tree
+            if (!marked.get(ui)) scan(v);               // v becomes part of tree
+            if (!marked.get(wi)) scan(w);               // w becomes part of tree
         }
     }
 
     // add all edges e incident to v onto pq if the other endpoint has not yet been scanned
     private void scan(V v) {
         int vi = vertexToInteger.get(v);
-        assert !marked[vi];
-        marked[vi] = true;
+        assert !marked.get(vi);
+        marked.set(vi);
         for (Edge<V, X> e : graph.adjacent(v)) {
             V w = e.getOther(v);
             int wi = vertexToInteger.get(w);
-            if (!marked[wi])
+            if (!marked.get(wi))
                 pq.give(e);
         }
     }
@@ -97,10 +97,10 @@ throw new RuntimeException("implementation missing");
         return result;
     }
 
-    private final Queue<Edge<V, X>> queue; // edges in the MST
+    private final Deque_Ring<Edge<V, X>> queue; // edges in the MST
     private Iterable<Edge<V, X>> mst;
     private final PriorityQueue<Edge<V, X>> pq; // edges with one endpoint in tree
-    private final boolean[] marked;    // marked[v] = true iff v on tree
+    private final BitVector marked;    // marked.get(v) iff v on tree
     private final EdgeGraph<V, X> graph;
     private final Map<V, Integer> vertexToInteger;
 
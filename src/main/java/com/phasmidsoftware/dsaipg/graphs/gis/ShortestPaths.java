@@ -4,109 +4,516 @@
 
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
-import com.phasmidsoftware.dsaipg.graphs.dag.DiGraph;
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedDoubleHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+import com.phasmidsoftware.dsaipg.graphs.csr.Interner;
 import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Stack;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
+/**
+ * Dijkstra's algorithm for the shortest paths from a start vertex of a directed graph (such as a DiGraph)
+ * whose edge attributes are the (non-negative) edge weights.
+ * <p/>
+ * The graph is first converted to a Network, in which the vertices are ints and the edges are held in primitive arrays
+ * (in both directions), and the search uses an indexed heap (IndexedDoubleHeap) keyed on the distance of each vertex,
+ * so that each relaxation is a decrease-key taking O(log V) time, and the whole search takes O((V+E) log V) time.
+ * <p/>
+ * For repeated queries on the same graph, create the Network once (Network.create) and then use its methods:
+ * shortestPaths (from one source, or in parallel from many sources),
+ * route (point-to-point, stopping as soon as the target is settled) and
+ * bidirectionalRoute (point-to-point, searching forwards from the source and backwards from the target at the same time).
+ *
+ * @param <V> the vertex type.
+ * @param <E> the type of the edge attributes (the weights).
+ */
 public class ShortestPaths<V, E extends Number> {
-    public ShortestPaths(DiGraph<V, E> graph, V start) {
-        this.graph = graph;
-        this.start = start;
-        this.table = dijkstra();
+
+    /**
+     * Constructor to find the shortest paths from start to every vertex reachable from start.
+     *
+     * @param graph the graph.
+     * @param start the start vertex.
+     * @throws IllegalArgumentException if start is not a vertex of graph, or if graph has a negative edge weight.
+     */
+    public ShortestPaths(Graph<V, Edge<V, E>> graph, V start) {
+        this(Network.create(graph), start, Collections.emptyList());
+    }
+
+    /**
+     * Constructor to find the shortest paths from start to each of the targets:
+     * the search stops as soon as every target has been settled (or every reachable vertex, if targets is empty).
+     */
+    private ShortestPaths(Network<V, E> network, V start, List<V> targets) {
+        this.network = network;
+        Search<V, E> search = new Search<>(network, false);
+        search.start(network.id(start));
+        int[] ids = new int[targets.size()];
+        for (int k = 0; k < ids.length; k++) ids[k] = network.id(targets.get(k));
+        int remaining = ids.length;
+        // NOTE a target is counted when it is settled (a target which appears more than once is counted each time).
+        int[] counts = new int[network.size()];
+        for (int id : ids) counts[id]++;
+        while (!search.isEmpty()) {
+            int v = search.settleNext();
+            if (ids.length > 0 && (remaining -= counts[v]) == 0) break;
+        }
+        this.distTo = search.distTo;
+        this.edgeTo = search.edgeTo;
+        this.settled = search.settled;
     }
 
+    /**
+     * @param v a vertex.
+     * @return the cost of the shortest path to v (infinity if there is no path to v).
+     */
     public double cost(V v) {
-        Vertex vertex = table.getOrDefault(v, new Vertex(v));
-        return vertex.cost;
+        int id = network.indexOf(v);
+        return id >= 0 ? distTo[id] : Double.POSITIVE_INFINITY;
     }
 
+    /**
+     * @param v a vertex.
+     * @return true if there is a path to v.
+     */
     public boolean hasPathTo(V v) {
-        return table.containsKey(v);
+        return cost(v) < Double.POSITIVE_INFINITY;
     }
 
+    /**
+     * @param target a vertex.
+     * @return the edges of the shortest path from the start vertex to target, in order (empty if there is no such path).
+     */
     public Iterable<Edge<V, E>> pathTo(V target) {
-        Stack<Edge<V, E>> edges = new Stack<>();
-        if (hasPathTo(target)) {
-            V v = target;
-            for (Vertex vertex = table.get(v); vertex.edgeTo != null; ) {
-                Edge<V, E> edgeTo = vertex.edgeTo;
-                if (edgeTo.getTo() != v) throw new RuntimeException("assertion error");
-                edges.push(edgeTo);
-                v = edgeTo.getFrom();
-            }
-        }
-        return edges;
+        if (!hasPathTo(target)) return Collections.emptyList();
+        return network.forwardPath(edgeTo, network.indexOf(target));
+    }
+
+    /**
+     * @return the number of vertices which were settled (taken from the heap) by the search.
+     */
+    public int settled() {
+        return settled;
     }
 
     @Override
     public String toString() {
+        Map<V, Double> table = new LinkedHashMap<>();
+        for (int v = 0; v < distTo.length; v++) if (distTo[v] < Double.POSITIVE_INFINITY) table.put(network.vertex(v), distTo[v]);
         return "ShortestPaths{" +
                 "table=" + table +
                 '}';
     }
 
-    private Map<V, Vertex> dijkstra() {
-        Map<V, Vertex> result = new HashMap<>();
-        PriorityQueue<V> pq = new PriorityQueue<>();
-        pq.offer(start);
-        result.put(start, new Vertex(start, 0, null));
-        while (!pq.isEmpty()) relax(graph, pq.poll(), result, pq);
-        return result;
-    }
+    /**
+     * A directed, weighted graph whose vertices are the ints 0..V-1 (with an Interner for the original vertices)
+     * and whose edges are held in primitive arrays in CSR form, both forwards (the out-edges of each vertex)
+     * and backwards (the in-edges of each vertex).
+     * A Network is immutable, so any number of searches may use it at once.
+     *
+     * @param <V> the vertex type.
+     * @param <E> the type of the edge attributes (the weights).
+     */
+    public static class Network<V, E extends Number> {
+
+        /**
+         * Create a Network from a directed graph.
+         *
+         * @param graph the graph.
+         * @param <V>   the vertex type.
+         * @param <E>   the type of the edge attributes (the weights).
+         * @return a new Network.
+         * @throws IllegalArgumentException if any edge weight is negative.
+         */
+        public static <V, E extends Number> Network<V, E> create(Graph<V, Edge<V, E>> graph) {
+            Interner<V> interner = new Interner<>();
+            List<Edge<V, E>> edges = new ArrayList<>();
+            for (V v : graph.vertices()) {
+                interner.intern(v);
+                for (Edge<V, E> e : graph.adjacent(v)) {
+                    if (e.getAttributes().doubleValue() < 0)
+                        throw new IllegalArgumentException("negative edge weight: " + e);
+                    edges.add(e);
+                }
+            }
+            for (Edge<V, E> e : edges) interner.intern(e.getTo());
+            return new Network<>(interner, edges);
+        }
+
+        /**
+         * @return the number of vertices.
+         */
+        public int size() {
+            return offsets.length - 1;
+        }
+
+        /**
+         * Method to find the shortest paths from source to every vertex reachable from source.
+         *
+         * @param source the source vertex.
+         * @return a ShortestPaths.
+         * @throws IllegalArgumentException if source is not a vertex of this Network.
+         */
+        public ShortestPaths<V, E> shortestPaths(V source) {
+            return new ShortestPaths<>(this, source, Collections.emptyList());
+        }
+
+        /**
+         * Method to find the shortest paths from source to each of the targets (and to any vertices which are nearer).
+         *
+         * @param source  the source vertex.
+         * @param targets the target vertices.
+         * @return a ShortestPaths.
+         * @throws IllegalArgumentException if source or any target is not a vertex of this Network.
+         */
+        public ShortestPaths<V, E> shortestPaths(V source, List<V> targets) {
+            return new ShortestPaths<>(this, source, targets);
+        }
+
+        /**
+         * Method to find the shortest paths from each of several sources in parallel.
+         *
+         * @param sources     the source vertices.
+         * @param parallelism the number of threads to use (1 to run the searches one after another in this thread).
+         * @return a list of ShortestPaths, one for each source, in the same order as sources.
+         * @throws IllegalArgumentException if any source is not a vertex of this Network.
+         */
+        public List<ShortestPaths<V, E>> shortestPaths(List<V> sources, int parallelism) {
+            return inParallel(sources, parallelism, this::shortestPaths);
+        }
+
+        /**
+         * Method to find the costs of the shortest paths from each of several sources to each of several targets,
+         * running the searches (each of which stops when it has settled every target) in parallel.
+         *
+         * @param sources     the source vertices.
+         * @param targets     the target vertices.
+         * @param parallelism the number of threads to use (1 to run the searches one after another in this thread).
+         * @return a matrix of costs: result[i][j] is the cost from sources[i] to targets[j] (infinity if there is no path).
+         * @throws IllegalArgumentException if any source or target is not a vertex of this Network.
+         */
+        public double[][] costs(List<V> sources, List<V> targets, int parallelism) {
+            List<ShortestPaths<V, E>> searches = inParallel(sources, parallelism, s -> shortestPaths(s, targets));
+            double[][] result = new double[sources.size()][targets.size()];
+            for (int i = 0; i < result.length; i++)
+                for (int j = 0; j < targets.size(); j++) result[i][j] = searches.get(i).cost(targets.get(j));
+            return result;
+        }
+
+        /**
+         * Method to find the shortest path from source to target by Dijkstra's algorithm,
+         * stopping as soon as target is settled.
+         *
+         * @param source the source vertex.
+         * @param target the target vertex.
+         * @return a Route.
+         * @throws IllegalArgumentException if source or target is not a vertex of this Network.
+         */
+        public Route<V, E> route(V source, V target) {
+            ShortestPaths<V, E> search = shortestPaths(source, Collections.singletonList(target));
+            return new Route<>(search.cost(target), search.hasPathTo(target) ? forwardPath(search.edgeTo, id(target)) : null, search.settled);
+        }
+
+        /**
+         * Method to find the shortest path from source to target by bidirectional Dijkstra:
+         * the search goes forwards from source and backwards from target, always extending the side with the nearer frontier,
+         * and stops when the two frontiers together are at least as far as the best path found so far.
+         * On a road-like grid, this settles about two thirds as many vertices as route (see ShortestPathsBenchmark).
+         *
+         * @param source the source vertex.
+         * @param target the target vertex.
+         * @return a Route.
+         * @throws IllegalArgumentException if source or target is not a vertex of this Network.
+         */
+        public Route<V, E> bidirectionalRoute(V source, V target) {
+            int s = id(source), t = id(target);
+            Search<V, E> forward = new Search<>(this, false);
+            Search<V, E> backward = new Search<>(this, true);
+            forward.start(s);
+            backward.start(t);
+            forward.other = backward;
+            backward.other = forward;
+            if (s == t) forward.meet(s, 0);
+            while (!forward.isEmpty() && !backward.isEmpty()) {
+                double f = forward.minKey(), b = backward.minKey();
+                if (f + b >= forward.best) break;
+                if (f <= b) forward.settleNext();
+                else backward.settleNext();
+            }
+            double cost = forward.best;
+            int settled = forward.settled + backward.settled;
+            if (cost == Double.POSITIVE_INFINITY) return new Route<>(cost, null, settled);
+            List<Edge<V, E>> path = forwardPath(forward.edgeTo, forward.meeting);
+            for (int v = forward.meeting; v != t; ) {
+                int e = backward.edgeTo[v];
+                path.add(edges[e]);
+                v = targets[e];
+            }
+            return new Route<>(cost, path, settled);
+        }
+
+        /**
+         * @param v a vertex.
+         * @return the id of v (or -1 if v is not in this Network).
+         */
+        public int indexOf(V v) {
+            return interner.indexOf(v);
+        }
+
+        /**
+         * @param id the id of a vertex.
+         * @return the vertex.
+         */
+        public V vertex(int id) {
+            return interner.vertex(id);
+        }
+
+        /**
+         * @param id the id of a vertex.
+         * @return the number of edges out of the vertex.
+         */
+        public int outDegree(int id) {
+            return offsets[id + 1] - offsets[id];
+        }
+
+        int id(V v) {
+            int result = interner.indexOf(v);
+            if (result < 0) throw new IllegalArgumentException("vertex is not in the graph: " + v);
+            return result;
+        }
+
+        /**
+         * Method to run a complete Dijkstra search from (or, if reverse, to) start.
+         *
+         * @param start   the id of the start vertex.
+         * @param reverse true to search against the edges, i.e. to find the cost from every vertex to start.
+         * @return the costs, indexed by vertex id (infinity where there is no path).
+         */
+        double[] distances(int start, boolean reverse) {
+            Search<V, E> search = new Search<>(this, reverse);
+            search.start(start);
+            while (!search.isEmpty()) search.settleNext();
+            return search.distTo;
+        }
+
+        /**
+         * @return the edges of the path to v in a forward search tree (given by edgeTo), in order from the source.
+         */
+        List<Edge<V, E>> forwardPath(int[] edgeTo, int v) {
+            List<Edge<V, E>> result = new ArrayList<>();
+            for (int e = edgeTo[v]; e >= 0; e = edgeTo[sources[e]]) result.add(edges[e]);
+            Collections.reverse(result);
+            return result;
+        }
+
+        private <R> List<R> inParallel(List<V> sources, int parallelism, Function<V, R> function) {
+            List<R> result = new ArrayList<>(sources.size());
+            if (parallelism <= 1) {
+                for (V source : sources) result.add(function.apply(source));
+                return result;
+            }
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                List<CompletableFuture<R>> futures = new ArrayList<>(sources.size());
+                for (V source : sources) futures.add(CompletableFuture.supplyAsync(() -> function.apply(source), pool));
+                for (CompletableFuture<R> future : futures) result.add(future.join());
+                return result;
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                throw e;
+            } finally {
+                pool.shutdown();
+            }
+        }
 
-    private void relax(DiGraph<V, E> graph, V vertex, Map<V, Vertex> table, PriorityQueue<V> pq) {
-        for (Edge<V, E> e : graph.adjacent(vertex)) {
-            V w = e.getTo();
-            Vertex vertexW = table.getOrDefault(w, new Vertex(w));
-            table.put(w, vertexW);
-            double relaxedCost = table.get(e.getFrom()).cost + e.getAttributes().doubleValue();
-            if (vertexW.cost > relaxedCost) {
-                vertexW.relax(relaxedCost, e);
-                pq.remove(w);
-                pq.offer(w);
+        private Network(Interner<V> interner, List<Edge<V, E>> edgeList) {
+            this.interner = interner;
+            int n = interner.size(), m = edgeList.size();
+            //noinspection unchecked
+            edges = edgeList.toArray(new Edge[0]);
+            sources = new int[m];
+            int[] tos = new int[m];
+            for (int e = 0; e < m; e++) {
+                sources[e] = interner.indexOf(edges[e].getFrom());
+                tos[e] = interner.indexOf(edges[e].getTo());
             }
+            // NOTE the edges are already grouped by their from vertex (in the order of interning).
+            offsets = new int[n + 1];
+            for (int e = 0; e < m; e++) offsets[sources[e] + 1]++;
+            for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+            targets = tos;
+            weights = new double[m];
+            for (int e = 0; e < m; e++) weights[e] = edges[e].getAttributes().doubleValue();
+            reverseOffsets = new int[n + 1];
+            for (int e = 0; e < m; e++) reverseOffsets[tos[e] + 1]++;
+            for (int v = 0; v < n; v++) reverseOffsets[v + 1] += reverseOffsets[v];
+            int[] next = Arrays.copyOf(reverseOffsets, n);
+            reverseEdges = new int[m];
+            for (int e = 0; e < m; e++) reverseEdges[next[tos[e]]++] = e;
         }
+
+        private final Interner<V> interner;
+        private final Edge<V, E>[] edges; // the edges, grouped by from vertex
+        final int[] offsets; // the out-edges of v are offsets[v] .. offsets[v+1]-1
+        final int[] sources; // sources[e] is the from vertex of edge e
+        final int[] targets; // targets[e] is the to vertex of edge e
+        final double[] weights; // weights[e] is the weight of edge e
+        final int[] reverseOffsets; // the in-edges of v are reverseEdges[reverseOffsets[v]] .. reverseEdges[reverseOffsets[v+1]-1]
+        final int[] reverseEdges; // the (forward) edges, grouped by to vertex
     }
 
-    private final DiGraph<V, E> graph;
-    private final V start;
-    private final Map<V, Vertex> table;
+    /**
+     * The result of a point-to-point query.
+     *
+     * @param <V> the vertex type.
+     * @param <E> the type of the edge attributes.
+     */
+    public static class Route<V, E> {
 
-    class Vertex implements Comparable<Vertex> {
-        public int compareTo(Vertex o) {
-            return Double.compare(cost, o.cost);
+        /**
+         * @return true if there is a path from the source to the target.
+         */
+        public boolean exists() {
+            return edges != null;
         }
 
-        void relax(double cost, Edge<V, E> edgeTo) {
-//            System.out.println("relaxing entry for vertex"+this+" to cost "+cost+" with edgeTo: "+edgeTo);
-            this.cost = cost;
-            this.edgeTo = edgeTo;
+        /**
+         * @return the cost of the shortest path (infinity if there is no path).
+         */
+        public double cost() {
+            return cost;
         }
 
-        public Vertex(V vertex, double cost, Edge<V, E> edgeTo) {
-            this.vertex = vertex;
-            this.cost = cost;
-            this.edgeTo = edgeTo;
+        /**
+         * @return the edges of the shortest path, in order from the source (empty if there is no path).
+         */
+        public List<Edge<V, E>> edges() {
+            return edges != null ? edges : Collections.emptyList();
         }
 
-        public Vertex(V vertex) {
-            this(vertex, Double.POSITIVE_INFINITY, null);
+        /**
+         * @return the number of vertices which were settled (taken from a heap) by the search.
+         */
+        public int settled() {
+            return settled;
         }
 
         @Override
         public String toString() {
-            return "Vertex {" + vertex +
-                    ": cost=" + cost +
-                    ", edgeTo=" + edgeTo +
-                    '}';
+            return "Route{cost=" + cost + ", edges=" + edges + ", settled=" + settled + '}';
+        }
+
+        Route(double cost, List<Edge<V, E>> edges, int settled) {
+            this.cost = cost;
+            this.edges = edges;
+            this.settled = settled;
+        }
+
+        private final double cost;
+        private final List<Edge<V, E>> edges; // null if there is no path
+        private final int settled;
+    }
+
+    /**
+     * The state of one Dijkstra search of a Network, either forwards (along the edges) or backwards (against them).
+     * For a backwards search, edgeTo[v] is the edge which leads from v towards the start.
+     * When two searches are paired (for bidirectional search), each records the best meeting vertex whenever it reaches
+     * a vertex already reached by the other.
+     */
+    private static class Search<V, E extends Number> {
+
+        Search(Network<V, E> network, boolean reverse) {
+            this.network = network;
+            this.reverse = reverse;
+            int n = network.size();
+            distTo = new double[n];
+            edgeTo = new int[n];
+            Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+            Arrays.fill(edgeTo, -1);
+            heap = new IndexedDoubleHeap(n);
+        }
+
+        void start(int s) {
+            distTo[s] = 0;
+            heap.insert(s, 0);
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        double minKey() {
+            try {
+                return heap.peekKey();
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: priority queue is empty", e);
+            }
         }
 
-        private final V vertex;
-        private double cost;
-        private Edge<V, E> edgeTo;
+        /**
+         * Settle the nearest unsettled vertex and relax its edges.
+         *
+         * @return the vertex settled.
+         */
+        int settleNext() {
+            int v;
+            try {
+                v = heap.take();
+            } catch (PQException e) {
+                throw new RuntimeException("logic error: priority queue is empty", e);
+            }
+            settled++;
+            double d = distTo[v];
+            if (reverse)
+                for (int k = network.reverseOffsets[v], end = network.reverseOffsets[v + 1]; k < end; k++) {
+                    int e = network.reverseEdges[k];
+                    relax(network.sources[e], d + network.weights[e], e);
+                }
+            else
+                for (int e = network.offsets[v], end = network.offsets[v + 1]; e < end; e++)
+                    relax(network.targets[e], d + network.weights[e], e);
+            return v;
+        }
+
+        private void relax(int w, double d, int e) {
+            if (d >= distTo[w]) return;
+            distTo[w] = d;
+            edgeTo[w] = e;
+            if (heap.contains(w)) heap.decreaseKey(w, d);
+            else heap.insert(w, d);
+            if (other != null && other.distTo[w] < Double.POSITIVE_INFINITY) meet(w, d + other.distTo[w]);
+        }
+
+        void meet(int v, double cost) {
+            if (cost < best) {
+                best = other.best = cost;
+                meeting = other.meeting = v;
+            }
+        }
+
+        private final Network<V, E> network;
+        private final boolean reverse;
+        private final IndexedDoubleHeap heap; // the unsettled vertices which have been reached, keyed on distTo
+        final double[] distTo; // distTo[v] is the distance of the shortest known path to (or from) v
+        final int[] edgeTo; // edgeTo[v] is the last edge on that path (-1 for the start or if v has not been reached)
+        int settled; // the number of vertices settled
+        Search<V, E> other; // the paired search (for bidirectional search only)
+        double best = Double.POSITIVE_INFINITY; // the cost of the best path through a meeting vertex
+        int meeting = -1; // the meeting vertex of the best path
     }
-}
\ No newline at end of file
+
+    private final Network<V, E> network;
+    private final double[] distTo; // distTo[v] is the cost of the shortest path to v (infinity if there is none)
+    private final int[] edgeTo; // edgeTo[v] is the last edge (in the Network) on the shortest path to v
+    private final int settled;
+}
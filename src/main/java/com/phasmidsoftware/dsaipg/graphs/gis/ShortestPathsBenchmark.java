@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.phasmidsoftware.dsaipg.util.Benchmark_Timer.time;
+
+/**
+ * Benchmark of the point-to-point and many-source queries of ShortestPaths on a road-like graph:
+ * a square grid of intersections, each joined (in both directions) to its neighbours by roads of random length.
+ */
+public class ShortestPathsBenchmark {
+
+    public static void main(String[] args) {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int side = 500; // 250,000 vertices and about 10^6 edges
+        GridGraph graph = new GridGraph(side, new Random(0L));
+        ShortestPaths.Network<Integer, Double> network = ShortestPaths.Network.create(graph);
+        logger.info("Processors: " + processors + "; V=" + network.size());
+        Random random = new Random(1L);
+        int queries = 20;
+        int[] sources = new int[queries], targets = new int[queries];
+        for (int k = 0; k < queries; k++) {
+            sources[k] = random.nextInt(side * side);
+            targets[k] = random.nextInt(side * side);
+        }
+        long[] settled = new long[3];
+        for (int k = 0; k < queries; k++) {
+            settled[0] += network.shortestPaths(sources[k]).settled();
+            settled[1] += network.route(sources[k], targets[k]).settled();
+            settled[2] += network.bidirectionalRoute(sources[k], targets[k]).settled();
+        }
+        logger.info("Mean vertices settled: all=" + settled[0] / queries + ", route=" + settled[1] / queries + ", bidirectional=" + settled[2] / queries);
+        time("Dijkstra (all vertices) x " + queries, () -> {
+            for (int k = 0; k < queries; k++) network.shortestPaths(sources[k]);
+        }, 3);
+        time("route x " + queries, () -> {
+            for (int k = 0; k < queries; k++) network.route(sources[k], targets[k]);
+        }, 3);
+        time("bidirectionalRoute x " + queries, () -> {
+            for (int k = 0; k < queries; k++) network.bidirectionalRoute(sources[k], targets[k]);
+        }, 3);
+        List<Integer> many = new ArrayList<>();
+        for (int k = 0; k < 16; k++) many.add(sources[k]);
+        for (int threads = 1; threads <= Math.max(4, processors); threads *= 2) {
+            int t = threads;
+            time("shortestPaths (16 sources, " + t + " threads)", () -> network.shortestPaths(many, t), 3);
+        }
+    }
+
+    /**
+     * A grid of side x side vertices in which each vertex has an edge to (and from) each of its neighbours.
+     */
+    static class GridGraph implements Graph<Integer, Edge<Integer, Double>> {
+        GridGraph(int side, Random random) {
+            int n = side * side;
+            for (int v = 0; v < n; v++) adjacent.add(new ArrayList<>());
+            for (int v = 0; v < n; v++) {
+                int x = v % side, y = v / side;
+                if (x + 1 < side) addRoad(v, v + 1, 1 + random.nextDouble());
+                if (y + 1 < side) addRoad(v, v + side, 1 + random.nextDouble());
+            }
+            for (int v = 0; v < n; v++) vertices.add(v);
+        }
+
+        public SizedIterable<Integer> vertices() {
+            return SizedIterableImpl.create(vertices);
+        }
+
+        public Iterable<Edge<Integer, Double>> adjacent(Integer v) {
+            return adjacent.get(v);
+        }
+
+        private void addRoad(int v, int w, double length) {
+            adjacent.get(v).add(new Edge<>(v, w, length));
+            adjacent.get(w).add(new Edge<>(w, v, length));
+        }
+
+        private final List<Integer> vertices = new ArrayList<>();
+        private final List<List<Edge<Integer, Double>>> adjacent = new ArrayList<>();
+    }
+
+    final static LazyLogger logger = new LazyLogger(ShortestPathsBenchmark.class);
+}
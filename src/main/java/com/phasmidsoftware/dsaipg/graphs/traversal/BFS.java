@@ -6,6 +6,10 @@
 
 package com.phasmidsoftware.dsaipg.graphs.traversal;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.BitVector;
+import com.phasmidsoftware.dsaipg.adt.bqs.Deque_RingInt;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,12 +31,12 @@ public class BFS {
     }
 
     public List<Integer> traverse(int s) {
-        boolean[] visited = new boolean[V];
+        BitVector visited = new BitVector(V);
 
-        LinkedList<Integer> queue = new LinkedList<>();
+        Deque_RingInt queue = new Deque_RingInt();
 
-        visited[s] = true;
-        queue.add(s);
+        visited.set(s);
+        queue.offer(s);
         List<Integer> output = new ArrayList<>();
 
         while (!queue.isEmpty()) {
@@ -41,12 +45,23 @@ public class BFS {
 
             for (int n : adj[s]) {
                 //                System.out.println(n);
-                if (!visited[n]) {
-                    visited[n] = true;
-                    queue.add(n);
-                }
+                if (visited.add(n)) queue.offer(n);
             }
         }
         return output;
     }
-}
\ No newline at end of file
+
+    /**
+     * Method to convert this graph to CSR form (for example, for ParallelBFS or CSRBFS).
+     * The adjacencies of each vertex are in the same order as here.
+     *
+     * @return a CSRGraph whose vertices are the same ints as the vertices of this graph.
+     */
+    public CSRGraph<Integer> toCSRGraph() {
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+        for (int v = 0; v < V; v++) builder.addVertex(v);
+        for (int v = 0; v < V; v++)
+            for (int w : adj[v]) builder.addEdge(v, w);
+        return builder.build();
+    }
+}
@@ -43,7 +43,7 @@ public class Tunnels_Prim implements Iterable<Edge<Building, TunnelProperties>>
         setupZones();
         setupTunnels();
         // We arbitrarily limit the the length of any tunnel to 250m
-        Prim = new GeoPrim<>(createGraph(buildings, e -> e.getAttribute().length <= 250));
+        Prim = new GeoPrim<>(createGraph(buildings, MAX_LENGTH, e -> e.getAttribute().length <= MAX_LENGTH));
     }
 
     public Graph<Building, Edge<Building, TunnelProperties>> getMst() {
@@ -68,24 +68,21 @@ public class Tunnels_Prim implements Iterable<Edge<Building, TunnelProperties>>
     private final Prim<Building, TunnelProperties> Prim;
 
     /**
-     * Create a graph consisting of all possible edges connection the buildings.
-     * The resulting graph should contain N(N-1)/2 edges where N is length of the list buildings.
+     * Create a graph consisting of all possible edges connecting buildings which are within maxLength of each other.
+     * Rather than considering all N(N-1)/2 pairs of buildings (where N is length of the list buildings),
+     * we consider only the near neighbours of each building (see NearNeighbours).
+     * The resulting graph has the same edges as if all pairs had been considered.
      *
      * @param buildings a list of Buildings.
+     * @param maxLength the greatest length (in meters) of a tunnel.
      * @param predicate the predicate: only edges satisfying this predicate will be added to the graph.
      * @return a Geo&lt;Building, TunnelProperties&gt;
      */
-    private static EdgeGraph<Building, TunnelProperties> createGraph(List<Building> buildings, Predicate<Edge<Building, TunnelProperties>> predicate) {
+    private static EdgeGraph<Building, TunnelProperties> createGraph(List<Building> buildings, int maxLength, Predicate<Edge<Building, TunnelProperties>> predicate) {
         GeoGraphSpherical<Building, TunnelProperties> graph = new GeoGraphSpherical<>();
-        int len = buildings.size();
-        for (int i = 0; i < len; i++) {
-            Building b1 = buildings.get(i);
-            for (int j = i + 1; j < len; j++) {
-                Building b2 = buildings.get(j);
-                double length = graph.getDistance(b1, b2);
-                graph.addEdge(b1, b2, getTunnelProperties(b1, b2, length), predicate);
-            }
-        }
+        // NOTE the length of a tunnel is rounded, so we must look a little further than maxLength.
+        NearNeighbours<Building> neighbours = new NearNeighbours<>(buildings, maxLength + 0.5);
+        neighbours.forEachPair((b1, b2, length) -> graph.addEdge(b1, b2, getTunnelProperties(b1, b2, length), predicate));
         SizedIterable<Edge<Building, TunnelProperties>> edges = graph.edges();
         System.out.println("created " + edges.size() + " edges");
         return graph;
@@ -231,6 +228,8 @@ public class Tunnels_Prim implements Iterable<Edge<Building, TunnelProperties>>
         }
     }
 
+    private static final int MAX_LENGTH = 250; // meters
+
     private static final ArrayList<ExistingTunnel> tunnels = new ArrayList<>();
     private static final ArrayList<String> zones = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+package com.phasmidsoftware.dsaipg.graphs.union_find;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free Quick Union with randomized linking and path halving, which may be used by many threads at once.
+ * <p/>
+ * The parent links are held in an AtomicIntegerArray and every change to them is made by compare-and-set:
+ * union links one root beneath another only if it is still a root, and find halves the path
+ * (each site visited is made to point to its grandparent) only if its parent has not changed meanwhile.
+ * A failed compare-and-set means that another thread has made progress, so no thread ever waits for another.
+ * <p/>
+ * Each site is given a random priority (a random permutation of the sites) and a root is always linked beneath the root of
+ * higher priority. This takes the place of weighting by height or size (which could not be updated atomically with the link)
+ * and keeps the expected height of every tree logarithmic.
+ * See Jayanti and Tarjan, "A Randomized Concurrent Algorithm for Disjoint Set Union" (PODC 2016).
+ */
+public class UF_LockFree implements UF {
+
+    /**
+     * Initializes an empty union–find data structure with {@code n} sites
+     * {@code 0} through {@code n-1}. Each site is initially in its own
+     * component.
+     *
+     * @param n      the number of sites
+     * @param random the source of the random priorities
+     * @throws IllegalArgumentException if {@code n < 0}
+     */
+    public UF_LockFree(int n, Random random) {
+        if (n < 0) throw new IllegalArgumentException("n must not be negative: " + n);
+        parent = new AtomicIntegerArray(n);
+        priority = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+            priority[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = priority[i];
+            priority[i] = priority[j];
+            priority[j] = tmp;
+        }
+        count = new AtomicInteger(n);
+    }
+
+    /**
+     * Initializes an empty union–find data structure with {@code n} sites
+     * {@code 0} through {@code n-1}. Each site is initially in its own
+     * component.
+     *
+     * @param n the number of sites
+     * @throws IllegalArgumentException if {@code n < 0}
+     */
+    public UF_LockFree(int n) {
+        this(n, new Random());
+    }
+
+    /**
+     * Ensure that site {@code p} is connected to site {@code q},
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     */
+    public void connect(int p, int q) {
+        merge(p, q);
+    }
+
+    /**
+     * Returns the number of components.
+     * If other threads are performing unions, the result may already be out of date.
+     *
+     * @return the number of components (between {@code 1} and {@code n})
+     */
+    public int components() {
+        return count.get();
+    }
+
+    /**
+     * Returns the component identifier for the component containing site {@code p}.
+     * If other threads are performing unions, the result may already be out of date.
+     *
+     * @param p the integer representing one site
+     * @return the component identifier for the component containing site {@code p}
+     * @throws IllegalArgumentException unless {@code 0 <= p < n}
+     */
+    public int find(int p) {
+        validate(p);
+        return root(p);
+    }
+
+    /**
+     * Returns true if the two sites are in the same component.
+     * Unlike the default method, this is correct even when other threads are performing unions:
+     * if p and q were found to have different roots, the answer is false only if the first root is still a root.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @return {@code true} if the two sites {@code p} and {@code q} are in the same component;
+     * {@code false} otherwise
+     * @throws IllegalArgumentException unless
+     *                                  both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public boolean isConnected(int p, int q) {
+        validate(p);
+        validate(q);
+        while (true) {
+            int i = root(p), j = root(q);
+            if (i == j) return true;
+            if (parent.get(i) == i) return false;
+        }
+    }
+
+    /**
+     * Merges the component containing site {@code p} with the
+     * component containing site {@code q}.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @throws IllegalArgumentException unless
+     *                                  both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public void union(int p, int q) {
+        merge(p, q);
+    }
+
+    /**
+     * Merges the component containing site {@code p} with the
+     * component containing site {@code q}, unless they are already the same component.
+     * If several threads merge the same two components at once, exactly one of them returns true.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @return true if this call merged two components; false if p and q were already connected.
+     * @throws IllegalArgumentException unless
+     *                                  both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public boolean merge(int p, int q) {
+        validate(p);
+        validate(q);
+        while (true) {
+            int i = root(p), j = root(q);
+            if (i == j) return false;
+            if (priority[i] > priority[j]) {
+                int tmp = i;
+                i = j;
+                j = tmp;
+            }
+            // link the root of lower priority beneath the other, provided that it is still a root.
+            if (parent.compareAndSet(i, i, j)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements in the Union–Find data structure.
+     *
+     * @return the number of sites in the union–find data structure.
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    @Override
+    public String toString() {
+        return "UF_LockFree:" + "\n  count: " + count.get() +
+                "\n  parents: " + parent;
+    }
+
+    /**
+     * Find the root of site p, halving the path as we go.
+     */
+    private int root(int p) {
+        while (true) {
+            int q = parent.get(p);
+            if (q == p) return p;
+            int r = parent.get(q);
+            if (q != r) parent.compareAndSet(p, q, r);
+            p = r;
+        }
+    }
+
+    /**
+     * Validates that the given index is within the valid range for the union–find data structure.
+     *
+     * @param p the index to validate
+     * @throws IllegalArgumentException if {@code p} is not between 0 (inclusive) and {@code n-1} (inclusive),
+     *                                  where {@code n} is the size of the parent array.
+     */
+    private void validate(int p) {
+        int n = parent.length();
+        if (p < 0 || p >= n) {
+            throw new IllegalArgumentException("index " + p + " is not between 0 and " + (n - 1));
+        }
+    }
+
+    private final AtomicIntegerArray parent; // parent[i] = parent of i
+    private final int[] priority; // priority[i] = the (random) priority of i when it is a root
+    private final AtomicInteger count; // number of components
+}
@@ -9,6 +9,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatDecimal3Places;
 import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
 
 /**
@@ -61,6 +62,21 @@ public class Benchmark_Timer<T> implements Benchmark<T> {
         return new Timer().repeat(m, false, supplier, function, fPre, fPost);
     }
 
+    /**
+     * Run runnable m times (after the warmup runs), log the average time and return it.
+     * This is for benchmarks which simply compare several ways of doing the same thing, each of which needs no input.
+     *
+     * @param description the description of the benchmark (which begins the log message).
+     * @param runnable    the code whose timing you want to measure.
+     * @param m           the number of times runnable will be timed.
+     * @return the average number of milliseconds taken for each run of runnable.
+     */
+    public static double time(String description, Runnable runnable, int m) {
+        final double result = new Benchmark_Timer<>(description, x -> runnable.run()).runFromSupplier(() -> null, m);
+        logger.info(description + ": " + formatDecimal3Places(result) + " milliseconds");
+        return result;
+    }
+
     /**
      * Constructor for a Benchmark_Timer with the option of specifying all three functions.
      *
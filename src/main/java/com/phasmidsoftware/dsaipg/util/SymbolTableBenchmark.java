@@ -3,9 +3,20 @@
  */
 package com.phasmidsoftware.dsaipg.util;
 
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_Persistent;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_RH;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_SC;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.STMap;
+
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.phasmidsoftware.dsaipg.util.SortBenchmarkHelper.getWords;
@@ -18,6 +29,9 @@ import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
  * (2) build a Red-black tree and the values in key order.
  * <p>
  * Spoiler alert! RB tree is a little faster (as it should be).
+ * <p>
+ * It also compares the symbol tables HashMap (via STMap), HashTable_SC, HashTable_RH and HashTable_Persistent
+ * on a frequency count (a get and a put for each word).
  */
 public class SymbolTableBenchmark {
 
@@ -70,6 +84,87 @@ public class SymbolTableBenchmark {
         Random random = new Random();
         runHashTableBenchmark(words, nWords, nRuns, random);
         runRBTreeBenchmark(words, nWords, nRuns, random);
+        runFrequencyCountBenchmark("HashMap", STMap::new, words, nWords, nRuns, random);
+        // NOTE HashTable_SC does not resize, so we give it as many buckets as there are words.
+        runFrequencyCountBenchmark("HashTable_SC", () -> new HashTable_SC<>(Math.max(1, nWords)), words, nWords, nRuns, random);
+        runFrequencyCountBenchmark("HashTable_RH", HashTable_RH::new, words, nWords, nRuns, random);
+        runFrequencyCountBenchmark("HashTable_RH (presized)", () -> new HashTable_RH<>(nWords), words, nWords, nRuns, random);
+        runPersistentFrequencyCountBenchmark(words, nWords, nRuns, random);
+    }
+
+    /**
+     * Executes a benchmark which counts the frequencies of words in a symbol table.
+     *
+     * @param name    the name of the symbol table.
+     * @param factory a supplier of empty symbol tables.
+     * @param words   an array of words to be used as input for the benchmark.
+     * @param nWords  the number of words to be processed during the benchmark.
+     * @param nRuns   the number of times the benchmark process will be repeated.
+     * @param random  an instance of {@code Random} used to introduce randomness during the benchmarking process.
+     */
+    private static void runFrequencyCountBenchmark(String name, Supplier<ST<String, Integer>> factory, String[] words, int nWords, int nRuns, Random random) {
+        Benchmark<String[]> benchmark = new Benchmark_Timer<>(name, null, xs -> countFrequencies(factory.get(), xs), null);
+        doPureBenchmark(words, nWords, nRuns, random, benchmark);
+    }
+
+    /**
+     * Executes a benchmark which counts the frequencies of words in a HashTable_Persistent,
+     * and then times the reopening of such a table (which is what a program which persists its counts saves at startup).
+     * NOTE each run includes the closing of the table (which forces it to the disk); the table is deleted after each run.
+     *
+     * @param words  an array of words to be used as input for the benchmark.
+     * @param nWords the number of words to be processed during the benchmark.
+     * @param nRuns  the number of times the benchmark process will be repeated.
+     * @param random an instance of {@code Random} used to introduce randomness during the benchmarking process.
+     */
+    private static void runPersistentFrequencyCountBenchmark(String[] words, int nWords, int nRuns, Random random) {
+        try {
+            Path directory = Files.createTempDirectory("frequencies");
+            try {
+                Benchmark<String[]> benchmark = new Benchmark_Timer<>("HashTable_Persistent", null, xs -> countFrequencies(directory, xs), xs -> deleteFiles(directory));
+                doPureBenchmark(words, nWords, nRuns, random, benchmark);
+                countFrequencies(directory, Utilities.fillRandomArray(String.class, random, nWords, r -> words[r.nextInt(words.length)]));
+                Benchmark<Object> reopen = new Benchmark_Timer<>("HashTable_Persistent reopen", x -> countFrequencies(directory, new String[0]));
+                logger.info("HashTable_Persistent reopen (" + formatWhole(nWords) + " words): " + reopen.runFromSupplier(() -> null, nRuns) + " milliseconds");
+            } finally {
+                deleteFiles(directory);
+                Files.delete(directory);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to benchmark HashTable_Persistent", e);
+        }
+    }
+
+    /**
+     * Counts the occurrences of each string in the input array, in the HashTable_Persistent in the given directory.
+     *
+     * @param directory the directory of the table (which is opened and then closed).
+     * @param xs        an array of strings.
+     */
+    private static void countFrequencies(Path directory, String[] xs) {
+        try (HashTable_Persistent<String, Integer> st = HashTable_Persistent.open(directory, HashTable_Persistent.Codec.STRING, HashTable_Persistent.Codec.INTEGER)) {
+            countFrequencies(st, xs);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteFiles(Path directory) {
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+            for (Path path : paths) Files.delete(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Counts the occurrences of each string in the input array.
+     *
+     * @param st an empty symbol table.
+     * @param xs an array of strings.
+     */
+    private static void countFrequencies(ST<String, Integer> st, String[] xs) {
+        for (String x : xs) st.put(x, st.getOrDefault(x, () -> 0) + 1);
     }
 
     /**
@@ -0,0 +1,164 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.*;
+
+public class BitVectorTest {
+
+    @Test
+    public void testAddRemove() {
+        BitVector target = new BitVector(10);
+        assertTrue(target.isEmpty());
+        assertTrue(target.add(3));
+        assertFalse(target.add(3));
+        target.set(64);
+        target.set(1000); // beyond the initial capacity
+        assertTrue(target.get(3));
+        assertTrue(target.get(1000));
+        assertFalse(target.get(4));
+        assertFalse(target.get(100_000));
+        assertEquals(3, target.cardinality());
+        assertEquals("{3, 64, 1000}", target.toString());
+        assertTrue(target.remove(64));
+        assertFalse(target.remove(64));
+        target.clear(1000);
+        assertEquals("{3}", target.toString());
+        assertEquals(1, target.cardinality());
+        assertThrows(IllegalArgumentException.class, () -> target.add(-1));
+        target.clear();
+        assertTrue(target.isEmpty());
+    }
+
+    @Test
+    public void testSetOperations() {
+        Random random = new Random(0L);
+        for (int trial = 0; trial < 20; trial++) {
+            BitSet x = randomBitSet(random, random.nextInt(2000)), y = randomBitSet(random, random.nextInt(2000));
+            check(x, and(x, y), BitVector::and, y);
+            check(x, or(x, y), BitVector::or, y);
+            check(x, andNot(x, y), BitVector::andNot, y);
+            check(x, xor(x, y), BitVector::xor, y);
+        }
+    }
+
+    @Test
+    public void testRankSelect() {
+        Random random = new Random(1L);
+        BitSet expected = randomBitSet(random, 10_000);
+        BitVector target = toBitVector(expected);
+        assertArrayEquals(new int[]{0}, new BitVector(0).directory());
+        int rank = 0;
+        for (int i = 0; i <= 10_100; i++) {
+            assertEquals(rank, target.rank(i));
+            if (expected.get(i)) {
+                assertEquals(i, target.select(rank));
+                rank++;
+            }
+        }
+        assertEquals(expected.cardinality(), rank);
+        assertThrows(IllegalArgumentException.class, () -> target.select(expected.cardinality()));
+        // The directory must be rebuilt after a change.
+        target.add(20_000);
+        assertEquals(rank, target.rank(20_000));
+        assertEquals(20_000, target.select(rank));
+    }
+
+    @Test
+    public void testIteration() {
+        BitVector target = new BitVector();
+        int[] xs = {0, 1, 63, 64, 127, 128, 500};
+        for (int x : xs) target.add(x);
+        List<Integer> members = new ArrayList<>();
+        for (int x : target) members.add(x);
+        assertEquals(List.of(0, 1, 63, 64, 127, 128, 500), members);
+        List<Integer> viaForEach = new ArrayList<>();
+        target.forEachInt(viaForEach::add);
+        assertEquals(members, viaForEach);
+        assertEquals(63, target.nextSetBit(2));
+        assertEquals(64, target.nextSetBit(64));
+        assertEquals(-1, target.nextSetBit(501));
+        target.asSet().removeIf(x -> x % 2 == 0);
+        assertEquals("{1, 63, 127}", target.toString());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        BitVector x = new BitVector(10), y = new BitVector(10_000);
+        x.add(5);
+        y.add(5);
+        assertEquals(x, y);
+        assertEquals(x.hashCode(), y.hashCode());
+        y.add(9_999);
+        assertNotEquals(x, y);
+    }
+
+    @Test
+    public void testMySetOfIntegers() {
+        Set<Integer> target = MySet.ofIntegers(100);
+        assertTrue(target.add(42));
+        assertTrue(target.add(7));
+        assertTrue(target.add(1_000));
+        assertFalse(target.add(42));
+        assertTrue(target.contains(7));
+        assertFalse(target.contains(8));
+        assertFalse(target.contains("7"));
+        assertEquals(3, target.size());
+        assertEquals(List.of(7, 42, 1_000), new ArrayList<>(target));
+        assertTrue(target.containsAll(Set.of(7, 42)));
+        assertTrue(target.removeAll(Set.of(42, 43)));
+        assertEquals(new TreeSet<>(List.of(7, 1_000)), new TreeSet<>(target));
+    }
+
+    private static void check(BitSet x, BitSet expected, BiConsumer<BitVector, BitVector> operation, BitSet y) {
+        BitVector target = toBitVector(x);
+        operation.accept(target, toBitVector(y));
+        assertEquals(toBitVector(expected), target);
+        assertEquals(expected.cardinality(), target.cardinality());
+        assertEquals(expected.toString(), target.toString());
+    }
+
+    private static BitSet randomBitSet(Random random, int n) {
+        BitSet result = new BitSet();
+        for (int i = 0; i < n; i++) if (random.nextInt(3) == 0) result.set(i);
+        return result;
+    }
+
+    private static BitVector toBitVector(BitSet bitSet) {
+        BitVector result = new BitVector();
+        bitSet.stream().forEach(result::add);
+        return result;
+    }
+
+    private static BitSet and(BitSet x, BitSet y) {
+        BitSet result = (BitSet) x.clone();
+        result.and(y);
+        return result;
+    }
+
+    private static BitSet or(BitSet x, BitSet y) {
+        BitSet result = (BitSet) x.clone();
+        result.or(y);
+        return result;
+    }
+
+    private static BitSet andNot(BitSet x, BitSet y) {
+        BitSet result = (BitSet) x.clone();
+        result.andNot(y);
+        return result;
+    }
+
+    private static BitSet xor(BitSet x, BitSet y) {
+        BitSet result = (BitSet) x.clone();
+        result.xor(y);
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class BitVector_AtomicTest {
+
+    @Test
+    public void testSetClear() {
+        BitVector_Atomic target = new BitVector_Atomic(130);
+        assertEquals(130, target.length());
+        assertEquals(3, target.words());
+        assertTrue(target.set(129));
+        assertFalse(target.set(129));
+        assertTrue(target.get(129));
+        target.orWord(0, 0b1010L);
+        assertEquals(0b1010L, target.word(0));
+        assertEquals(3, target.cardinality());
+        assertEquals("{1, 3, 129}", target.toString());
+        assertTrue(target.clear(3));
+        assertFalse(target.clear(3));
+        assertEquals(2, target.snapshot().cardinality());
+        assertThrows(IndexOutOfBoundsException.class, () -> target.set(130));
+        assertThrows(IndexOutOfBoundsException.class, () -> target.get(-1));
+    }
+
+    @Test
+    public void testConcurrentClaims() throws InterruptedException {
+        int n = 100_000, threads = 4;
+        BitVector_Atomic target = new BitVector_Atomic(n);
+        AtomicInteger claims = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        // Every thread tries to claim every bit (in a different order): each bit must be claimed exactly once.
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 7919;
+            workers.add(new Thread(() -> {
+                int k = 0;
+                for (int i = 0; i < n; i++) if (target.set((i + offset) % n)) k++;
+                claims.addAndGet(k);
+            }));
+        }
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        assertEquals(n, claims.get());
+        assertEquals(n, target.cardinality());
+    }
+}
@@ -0,0 +1,67 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Deque_RingIntTest {
+
+    @Test
+    public void testQueueAndStack() {
+        Deque_RingInt target = new Deque_RingInt(1);
+        assertTrue(target.isEmpty());
+        assertThrows(NoSuchElementException.class, target::poll);
+        for (int i = 0; i < 100; i++) target.offer(i);
+        for (int i = 0; i < 100; i++) assertEquals(i, target.poll());
+        target.push(1);
+        target.push(2);
+        assertEquals(2, target.pop());
+        assertEquals(1, target.pop());
+        assertThrows(NoSuchElementException.class, target::peekFirst);
+    }
+
+    @Test
+    public void testRandomAgainstArrayDeque() {
+        Random random = new Random(0L);
+        Deque_RingInt target = new Deque_RingInt();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 100_000; i++) {
+            int choice = random.nextInt(5);
+            if (choice == 0) {
+                target.offerFirst(i);
+                expected.offerFirst(i);
+            } else if (choice < 3) {
+                target.offerLast(i);
+                expected.offerLast(i);
+            } else if (!expected.isEmpty())
+                assertEquals((int) (choice == 3 ? expected.pollFirst() : expected.pollLast()), choice == 3 ? target.pollFirst() : target.pollLast());
+            assertEquals(expected.size(), target.size());
+            if (!expected.isEmpty()) {
+                assertEquals((int) expected.peekFirst(), target.peekFirst());
+                assertEquals((int) expected.peekLast(), target.peekLast());
+            }
+        }
+        assertArrayEquals(expected.stream().mapToInt(x -> x).toArray(), target.toArray());
+    }
+
+    @Test
+    public void testOfferAllAndDrainTo() {
+        Deque_RingInt target = new Deque_RingInt(8);
+        for (int i = 0; i < 6; i++) target.offer(-1);
+        for (int i = 0; i < 6; i++) target.poll();
+        target.offerAll(new int[]{0, 1, 2, 3, 4});
+        target.offerAll(new int[]{5, 6, 7, 8, 9, 10, 11});
+        assertEquals("Deque_RingInt[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11]", target.toString());
+        int[] xs = new int[5];
+        assertEquals(5, target.drainTo(xs));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, xs);
+        int[] ys = new int[10];
+        assertEquals(7, target.drainTo(ys));
+        assertArrayEquals(new int[]{5, 6, 7, 8, 9, 10, 11, 0, 0, 0}, ys);
+        assertTrue(target.isEmpty());
+    }
+}
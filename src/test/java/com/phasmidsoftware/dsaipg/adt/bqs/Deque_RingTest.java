@@ -0,0 +1,100 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Deque_RingTest {
+
+    @Test
+    public void testQueue() {
+        Queue<Integer> queue = new Deque_Ring<>(2);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        for (int i = 0; i < 100; i++) queue.offer(i);
+        assertFalse(queue.isEmpty());
+        for (int i = 0; i < 100; i++) assertEquals(Integer.valueOf(i), queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testStack() throws BQSException {
+        Stack<String> stack = new Deque_Ring<>();
+        stack.push("a");
+        stack.push("b");
+        assertEquals("b", stack.peek());
+        assertEquals("b", stack.pop());
+        assertEquals("a", stack.pop());
+        assertNull(stack.peek());
+        assertThrows(BQSException.class, stack::pop);
+    }
+
+    @Test
+    public void testRandomAgainstArrayDeque() {
+        Random random = new Random(0L);
+        Deque_Ring<Integer> target = new Deque_Ring<>(1);
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 100_000; i++) {
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    target.offerFirst(i);
+                    expected.offerFirst(i);
+                }
+                case 1, 2 -> {
+                    target.offerLast(i);
+                    expected.offerLast(i);
+                }
+                case 3 -> assertEquals(expected.pollFirst(), target.pollFirst());
+                default -> assertEquals(expected.pollLast(), target.pollLast());
+            }
+            assertEquals(expected.size(), target.size());
+            assertEquals(expected.peekFirst(), target.peekFirst());
+            assertEquals(expected.peekLast(), target.peekLast());
+        }
+        assertEquals(new ArrayList<>(expected), target.toList());
+    }
+
+    @Test
+    public void testOfferAllAndDrainTo() {
+        Deque_Ring<Integer> target = new Deque_Ring<>(8);
+        // Move the first index so that both operations must wrap around.
+        for (int i = 0; i < 6; i++) target.offer(-1);
+        for (int i = 0; i < 6; i++) target.poll();
+        target.offerAll(List.of(0, 1, 2, 3, 4));
+        target.offerAll(() -> List.of(5, 6, 7).iterator());
+        target.offerAll(List.of(8, 9, 10, 11, 12, 13, 14, 15, 16, 17));
+        assertEquals(18, target.size());
+        List<Integer> result = new ArrayList<>();
+        assertEquals(7, target.drainTo(result, 7));
+        assertEquals(11, target.drainTo(result));
+        assertEquals(0, target.drainTo(result));
+        assertTrue(target.isEmpty());
+        for (int i = 0; i < 18; i++) assertEquals(Integer.valueOf(i), result.get(i));
+    }
+
+    @Test
+    public void testIterator() {
+        Deque_Ring<Integer> target = new Deque_Ring<>(4);
+        target.offer(2);
+        target.offer(3);
+        target.push(1);
+        target.push(0);
+        target.offer(4);
+        assertEquals(List.of(0, 1, 2, 3, 4), target.toList());
+        assertEquals("Deque_Ring[0, 1, 2, 3, 4]", target.toString());
+        Iterator<Integer> iterator = target.iterator();
+        assertEquals(Integer.valueOf(0), iterator.next());
+        target.poll();
+        assertThrows(RuntimeException.class, iterator::next);
+        target.clear();
+        assertTrue(target.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> target.iterator().next());
+    }
+}
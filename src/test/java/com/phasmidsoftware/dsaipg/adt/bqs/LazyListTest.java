@@ -3,6 +3,7 @@ package com.phasmidsoftware.dsaipg.adt.bqs;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 
@@ -65,4 +66,19 @@ public class LazyListTest {
         assertEquals(Integer.valueOf(2), list.get(1));
         assertEquals(Integer.valueOf(3), list.get(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testMemoization() {
+        AtomicInteger count = new AtomicInteger();
+        LazyList<Integer> lazyList = LazyList.iterate(1, x -> {
+            count.incrementAndGet();
+            return x + 1;
+        });
+        assertEquals(List.of(1, 2, 3, 4, 5), lazyList.take(5));
+        assertEquals(5, count.get());
+        assertEquals(List.of(1, 2, 3, 4, 5), lazyList.take(5));
+        assertEquals(5, count.get());
+        assertEquals(Integer.valueOf(6), LazyList.map(lazyList, x -> x * 2).tailFunction.get().tailFunction.get().head);
+        assertEquals(5, count.get());
+    }
+}
@@ -0,0 +1,118 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class LazyList_ChunkedTest {
+
+    @Test
+    public void testHeadTailGet() {
+        LazyList_Chunked<Integer> target = LazyList_Chunked.from(1);
+        assertEquals(Integer.valueOf(1), target.head());
+        assertEquals(Integer.valueOf(2), target.tail().head());
+        assertEquals(Integer.valueOf(1001), target.get(1000));
+        assertEquals(Integer.valueOf(65), target.drop(64).head());
+        LazyList_Chunked<Integer> tail = target;
+        for (int i = 0; i < 200; i++) tail = tail.tail();
+        assertEquals(Integer.valueOf(201), tail.head());
+        assertFalse(tail.isEmpty());
+    }
+
+    @Test
+    public void testEmpty() {
+        LazyList_Chunked<Integer> target = LazyList_Chunked.empty();
+        assertTrue(target.isEmpty());
+        assertThrows(NoSuchElementException.class, target::head);
+        assertThrows(NoSuchElementException.class, target::tail);
+        assertEquals(List.of(), target.toList());
+        LazyList_Chunked<Integer> one = LazyList_Chunked.from(List.of(1));
+        assertTrue(one.tail().isEmpty());
+        assertTrue(one.drop(5).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> one.get(1));
+    }
+
+    @Test
+    public void testMemoization() {
+        AtomicInteger count = new AtomicInteger();
+        LazyList_Chunked<Integer> target = LazyList_Chunked.generate(count::incrementAndGet).map(x -> x * 2);
+        assertEquals(0, count.get());
+        assertEquals(Integer.valueOf(2), target.head());
+        assertEquals(LazyList_Chunked.CHUNK, count.get());
+        List<Integer> first = target.take(1000).toList();
+        List<Integer> second = target.take(1000).toList();
+        assertEquals(first, second);
+        assertEquals(1024, count.get());
+        for (int i = 0; i < 1000; i++) assertEquals(Integer.valueOf(2 * i + 2), first.get(i));
+    }
+
+    @Test
+    public void testFilterTakeWhile() {
+        // NOTE: these would not terminate if filter or takeWhile forced more of an infinite list than necessary.
+        LazyList_Chunked<Integer> small = LazyList_Chunked.from(1).filter(x -> x < 10);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9), small.take(9).toList());
+        assertEquals(List.of(3, 6, 9), LazyList_Chunked.from(1).filter(x -> x % 3 == 0).takeWhile(x -> x < 10).toList());
+        LazyList_Chunked<Integer> evens = LazyList_Chunked.from(0).filter(x -> x % 2 == 0);
+        assertEquals(Integer.valueOf(20_000), evens.get(10_000));
+        assertEquals(List.of(), LazyList_Chunked.from(0).takeWhile(x -> x < 0).toList());
+        assertEquals(500, LazyList_Chunked.from(0).takeWhile(x -> x < 500).toList().size());
+    }
+
+    @Test
+    public void testZip() {
+        LazyList_Chunked<Integer> odds = LazyList_Chunked.from(1, 2).filter(x -> x % 3 != 0);
+        LazyList_Chunked<String> target = LazyList_Chunked.from(0).zip(odds, (i, x) -> i + ":" + x);
+        assertEquals(List.of("0:1", "1:5", "2:7", "3:11"), target.take(4).toList());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) expected.add(i + 100 + i);
+        assertEquals(expected, LazyList_Chunked.from(0).zip(LazyList_Chunked.from(100).take(100), Integer::sum).toList());
+    }
+
+    @Test
+    public void testFlatMap() {
+        LazyList_Chunked<Integer> target = LazyList_Chunked.from(1).flatMap(x -> IntStream.range(0, x % 4).boxed().toList());
+        assertEquals(List.of(0, 0, 1, 0, 1, 2, 0, 0, 1, 0, 1, 2), target.take(12).toList());
+        // The inner lists may themselves be infinite.
+        assertEquals(List.of(10, 11, 12), LazyList_Chunked.from(10).flatMap(LazyList_Chunked::from).take(3).toList());
+        assertEquals(List.of(1, 2), LazyList_Chunked.from(List.of(1, 2, 3, 4)).flatMap(x -> x < 3 ? List.of(x) : List.of()).toList());
+    }
+
+    @Test
+    public void testIterator() {
+        int sum = 0;
+        for (int x : LazyList_Chunked.from(1).take(100)) sum += x;
+        assertEquals(5050, sum);
+    }
+
+    @Test
+    public void testConcurrentForcing() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        LazyList_Chunked<Integer> target = LazyList_Chunked.iterate(0, x -> {
+            count.incrementAndGet();
+            return x + 1;
+        });
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++)
+            threads.add(new Thread(() -> {
+                try {
+                    int i = 0;
+                    for (int x : target.take(100_000)) if (x != i++) throw new AssertionError("wrong element: " + x);
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            }));
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        assertTrue(errors.isEmpty());
+        // Every chunk is forced exactly once: the function is applied once for each element but the first.
+        assertEquals((100_000 + LazyList_Chunked.CHUNK - 1) / LazyList_Chunked.CHUNK * LazyList_Chunked.CHUNK - 1, count.get());
+    }
+}
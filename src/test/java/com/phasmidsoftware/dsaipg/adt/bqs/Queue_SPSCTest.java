@@ -0,0 +1,80 @@
+package com.phasmidsoftware.dsaipg.adt.bqs;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class Queue_SPSCTest {
+
+    @Test
+    public void testSingleThread() {
+        Queue_SPSC<Integer> target = new Queue_SPSC<>(3);
+        assertEquals(4, target.capacity());
+        assertTrue(target.isEmpty());
+        assertNull(target.poll());
+        for (int i = 0; i < 4; i++) assertTrue(target.tryOffer(i));
+        assertFalse(target.tryOffer(4));
+        assertEquals(4, target.size());
+        assertEquals(Integer.valueOf(0), target.poll());
+        assertTrue(target.tryOffer(4));
+        List<Integer> snapshot = new ArrayList<>();
+        target.forEach(snapshot::add);
+        assertEquals(List.of(1, 2, 3, 4), snapshot);
+        List<Integer> result = new ArrayList<>();
+        assertEquals(2, target.drainTo(result, 2));
+        assertEquals(2, target.drainTo(result, 10));
+        assertEquals(List.of(1, 2, 3, 4), result);
+        assertTrue(target.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> target.offer(null));
+        assertThrows(IllegalArgumentException.class, () -> new Queue_SPSC<>(0));
+    }
+
+    @Test(timeout = 60_000)
+    public void testProducerConsumer() throws InterruptedException {
+        int n = 1_000_000;
+        Queue_SPSC<Integer> target = new Queue_SPSC<>(64);
+        Thread producer = new Thread(() -> {
+            List<Integer> batch = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (i % 3 == 0) target.offer(i);
+                else {
+                    batch.add(i);
+                    if (batch.size() == 100) {
+                        target.offerAll(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            target.offerAll(batch);
+        });
+        producer.start();
+        // The consumer sees every item exactly once, and the items of the two streams each in order.
+        int count = 0, last0 = -1, last1 = -1, spins = 0;
+        List<Integer> buffer = new ArrayList<>();
+        while (count < n) {
+            Integer x = target.poll();
+            if (x == null) {
+                target.drainTo(buffer, 50);
+                if (buffer.isEmpty()) Queue_SPSC.backOff(spins++);
+                else spins = 0;
+            } else buffer.add(x);
+            for (int y : buffer) {
+                if (y % 3 == 0) {
+                    assertTrue(y > last0);
+                    last0 = y;
+                } else {
+                    assertTrue(y > last1);
+                    last1 = y;
+                }
+                count++;
+            }
+            buffer.clear();
+        }
+        producer.join();
+        assertTrue(target.isEmpty());
+        assertEquals(n, count);
+    }
+}
@@ -6,7 +6,9 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -85,4 +87,35 @@ public class UnorderedIteratorTest {
         assertTrue(set.contains(35));
         assertTrue(set.contains(45));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSameOrderAsRemovalFromList() {
+        // The order for a given seed is that of repeatedly removing a random element from a list.
+        for (long seed = 0; seed < 5; seed++) {
+            List<Integer> list = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) list.add(i);
+            Iterator<Integer> target = UnorderedIterator.createDeterministic(list, seed);
+            Random random = new Random(seed);
+            List<Integer> expected = new ArrayList<>(list);
+            while (!expected.isEmpty()) assertEquals(expected.remove(random.nextInt(expected.size())), target.next());
+            assertFalse(target.hasNext());
+            assertEquals(1000, list.size());
+        }
+    }
+
+    @Test
+    public void testLarge() {
+        int n = 1_000_000;
+        Integer[] array = new Integer[n];
+        for (int i = 0; i < n; i++) array[i] = i;
+        Iterator<Integer> target = new UnorderedIterator<>(array, new Random(0L));
+        boolean[] seen = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int x = target.next();
+            assertFalse(seen[x]);
+            seen[x] = true;
+        }
+        assertFalse(target.hasNext());
+        assertEquals(Integer.valueOf(0), array[0]);
+    }
+}
@@ -0,0 +1,120 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FibonacciHeapTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>(Integer::compare);
+        assertTrue(heap.isEmpty());
+        heap.give(3);
+        heap.give(1);
+        heap.give(2);
+        assertEquals(3, heap.size());
+        assertEquals(Integer.valueOf(1), heap.peek());
+        assertEquals(Integer.valueOf(1), heap.take());
+        assertEquals(Integer.valueOf(2), heap.take());
+        assertEquals(Integer.valueOf(3), heap.take());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new FibonacciHeap<>(Integer::compare).take();
+    }
+
+    @Test
+    public void testDecreaseKey() throws PQException {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>(Integer::compare);
+        List<FibonacciHeap.Node<Integer>> nodes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) nodes.add(heap.insert(10 * i));
+        assertEquals(Integer.valueOf(0), heap.take()); // forces consolidation so that there are non-root nodes.
+        heap.decreaseKey(nodes.get(15), 5);
+        heap.decreaseKey(nodes.get(19), -1);
+        assertEquals(Integer.valueOf(-1), heap.take());
+        assertEquals(Integer.valueOf(5), heap.take());
+        assertEquals(Integer.valueOf(10), heap.take());
+        assertEquals(16, heap.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyWrongWay() {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>(Integer::compare);
+        FibonacciHeap.Node<Integer> node = heap.insert(1);
+        heap.decreaseKey(node, 2);
+    }
+
+    @Test
+    public void testDelete() throws PQException {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>(Integer::compare);
+        List<FibonacciHeap.Node<Integer>> nodes = new ArrayList<>();
+        for (int i = 0; i < 10; i++) nodes.add(heap.insert(i));
+        heap.take();
+        heap.delete(nodes.get(5));
+        heap.delete(nodes.get(1));
+        assertEquals(7, heap.size());
+        int[] expected = new int[]{2, 3, 4, 6, 7, 8, 9};
+        for (int x : expected) assertEquals(Integer.valueOf(x), heap.take());
+    }
+
+    @Test
+    public void testMeld() throws PQException {
+        FibonacciHeap<Integer> heap1 = new FibonacciHeap<>(Integer::compare);
+        FibonacciHeap<Integer> heap2 = new FibonacciHeap<>(Integer::compare);
+        for (int i = 0; i < 10; i += 2) heap1.give(i);
+        for (int i = 1; i < 10; i += 2) heap2.give(i);
+        heap1.meld(heap2);
+        assertEquals(10, heap1.size());
+        assertTrue(heap2.isEmpty());
+        for (int i = 0; i < 10; i++) assertEquals(Integer.valueOf(i), heap1.take());
+    }
+
+    @Test
+    public void testIterator() throws PQException {
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>(Integer::compare);
+        for (int i = 0; i < 10; i++) heap.give(i);
+        heap.take();
+        int count = 0, sum = 0;
+        Iterator<Integer> iterator = heap.iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.next();
+            count++;
+        }
+        assertEquals(9, count);
+        assertEquals(45, sum);
+    }
+
+    @Test
+    public void testRandom() throws PQException {
+        Random random = new Random(0L);
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) keys.add(i);
+        Collections.shuffle(keys, random);
+        FibonacciHeap<Integer> heap = new FibonacciHeap<>(Integer::compare);
+        List<FibonacciHeap.Node<Integer>> nodes = new ArrayList<>();
+        for (int key : keys) nodes.add(heap.insert(key));
+        for (int i = 0; i < 100; i++) assertEquals(Integer.valueOf(i), heap.take());
+        // Keys less than 100 have been taken: only the nodes which remain in the heap may be decreased.
+        for (FibonacciHeap.Node<Integer> node : nodes)
+            if (node.getKey() >= 100 && random.nextInt(4) == 0)
+                heap.decreaseKey(node, node.getKey() - random.nextInt(1000));
+        int previous = Integer.MIN_VALUE;
+        int count = 0;
+        while (!heap.isEmpty()) {
+            int x = heap.take();
+            assertTrue(x >= previous);
+            previous = x;
+            count++;
+        }
+        assertEquals(1900, count);
+    }
+}
@@ -0,0 +1,50 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FourAryHeapTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        FourAryHeap<Integer> pq = new FourAryHeap<>(10, true, Integer::compare, false);
+        for (int i = 0; i < 10; i++) pq.give(i);
+        assertEquals(10, pq.size());
+        for (int i = 9; i >= 0; i--) assertEquals(Integer.valueOf(i), pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testRandom() throws PQException {
+        Random random = new Random(0L);
+        for (boolean floyd : new boolean[]{false, true}) {
+            FourAryHeap<Integer> pq = new FourAryHeap<>(16, true, Integer::compare, floyd, true);
+            for (int i = 0; i < 1000; i++) pq.give(random.nextInt(100));
+            assertEquals(1000, pq.size());
+            int previous = Integer.MAX_VALUE;
+            while (!pq.isEmpty()) {
+                int x = pq.take();
+                assertTrue(x <= previous);
+                previous = x;
+            }
+        }
+    }
+
+    @Test
+    public void testGiveAll() throws PQException {
+        Integer[] keys = new Integer[100];
+        Random random = new Random(1L);
+        for (int i = 0; i < keys.length; i++) keys[i] = random.nextInt(1000);
+        FourAryHeap<Integer> pq = new FourAryHeap<>(1, false, Integer::compare, true, true);
+        pq.giveAll(keys);
+        int previous = Integer.MIN_VALUE;
+        while (!pq.isEmpty()) {
+            int x = pq.take();
+            assertTrue(x >= previous);
+            previous = x;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IndexedDoubleHeapTest {
+
+    @Test
+    public void testInsertTake() throws PQException {
+        IndexedDoubleHeap pq = new IndexedDoubleHeap(2);
+        assertTrue(pq.isEmpty());
+        pq.insert(7, 3.0);
+        pq.insert(2, 1.0);
+        pq.insert(5, 2.0);
+        assertEquals(3, pq.size());
+        assertTrue(pq.contains(7));
+        assertFalse(pq.contains(3));
+        assertFalse(pq.contains(-1));
+        assertEquals(3.0, pq.keyOf(7), 0.0);
+        assertEquals(2, pq.peek());
+        assertEquals(1.0, pq.peekKey(), 0.0);
+        assertEquals(2, pq.take());
+        assertEquals(5, pq.take());
+        assertEquals(7, pq.take());
+        assertFalse(pq.contains(7));
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new IndexedDoubleHeap(2).take();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertDuplicate() {
+        IndexedDoubleHeap pq = new IndexedDoubleHeap(2);
+        pq.insert(1, 3.0);
+        pq.insert(1, 2.0);
+    }
+
+    @Test
+    public void testDecreaseKey() throws PQException {
+        IndexedDoubleHeap pq = new IndexedDoubleHeap(4);
+        pq.insert(0, 5.0);
+        pq.insert(1, 3.0);
+        pq.insert(2, 4.0);
+        pq.decreaseKey(0, 1.0);
+        assertEquals(0, pq.take());
+        assertEquals(1, pq.take());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyWrongWay() {
+        IndexedDoubleHeap pq = new IndexedDoubleHeap(4);
+        pq.insert(0, 5.0);
+        pq.decreaseKey(0, 6.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDecreaseKeyMissing() {
+        new IndexedDoubleHeap(4).decreaseKey(0, 6.0);
+    }
+
+    @Test
+    public void testPutDeleteClear() throws PQException {
+        IndexedDoubleHeap pq = new IndexedDoubleHeap(4, 4);
+        for (int i = 0; i < 20; i++) pq.put(i, i);
+        pq.put(19, -1);
+        pq.put(0, 100);
+        pq.delete(1);
+        assertEquals(19, pq.size());
+        assertEquals(19, pq.take());
+        assertEquals(2, pq.take());
+        int last = -1;
+        while (!pq.isEmpty()) last = pq.take();
+        assertEquals(0, last);
+        pq.put(3, 3);
+        pq.clear();
+        assertTrue(pq.isEmpty());
+        assertFalse(pq.contains(3));
+    }
+
+    @Test
+    public void testRandom() throws PQException {
+        Random random = new Random(0L);
+        for (int arity = 2; arity <= 5; arity++) {
+            IndexedDoubleHeap pq = new IndexedDoubleHeap(8, arity);
+            double[] keys = new double[1000];
+            for (int i = 0; i < keys.length; i++) pq.insert(i, keys[i] = random.nextDouble());
+            for (int i = 0; i < keys.length; i += 3) pq.decreaseKey(i, keys[i] -= random.nextDouble() / 10);
+            for (int i = 1; i < keys.length; i += 7) pq.changeKey(i, keys[i] = random.nextDouble());
+            double previous = Double.NEGATIVE_INFINITY;
+            while (!pq.isEmpty()) {
+                int i = pq.take();
+                assertTrue(keys[i] >= previous);
+                previous = keys[i];
+            }
+        }
+    }
+}
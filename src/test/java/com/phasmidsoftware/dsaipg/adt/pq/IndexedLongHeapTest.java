@@ -0,0 +1,51 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IndexedLongHeapTest {
+
+    @Test
+    public void testInsertTake() throws PQException {
+        IndexedLongHeap pq = new IndexedLongHeap(2);
+        pq.insert(7, 3L);
+        pq.insert(2, Long.MIN_VALUE);
+        pq.insert(5, Long.MAX_VALUE);
+        assertEquals(3, pq.size());
+        assertEquals(Long.MIN_VALUE, pq.peekKey());
+        assertEquals(2, pq.take());
+        assertEquals(7, pq.take());
+        assertEquals(5, pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyWrongWay() {
+        IndexedLongHeap pq = new IndexedLongHeap(4);
+        pq.insert(0, 5L);
+        pq.decreaseKey(0, 6L);
+    }
+
+    @Test
+    public void testRandom() throws PQException {
+        Random random = new Random(0L);
+        IndexedLongHeap pq = new IndexedLongHeap(8, 4);
+        long[] keys = new long[1000];
+        for (int i = 0; i < keys.length; i++) pq.insert(i, keys[i] = random.nextLong());
+        for (int i = 0; i < keys.length; i += 3) pq.decreaseKey(i, keys[i] = Math.min(keys[i], random.nextLong()));
+        for (int i = 0; i < keys.length; i += 11) pq.delete(i);
+        long previous = Long.MIN_VALUE;
+        int count = 0;
+        while (!pq.isEmpty()) {
+            int i = pq.take();
+            assertNotEquals(0, i % 11);
+            assertTrue(keys[i] >= previous);
+            previous = keys[i];
+            count++;
+        }
+        assertEquals(909, count);
+    }
+}
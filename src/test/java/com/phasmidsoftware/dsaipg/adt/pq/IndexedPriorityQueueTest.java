@@ -0,0 +1,172 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IndexedPriorityQueueTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>(10, Comparator.comparing(String::toString));
+        assertTrue(pq.isEmpty());
+        pq.give("A");
+        pq.give("C");
+        pq.give("B");
+        assertEquals(3, pq.size());
+        assertEquals("C", pq.take());
+        assertEquals("B", pq.take());
+        assertEquals("A", pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>(10, Comparator.comparing(String::toString));
+        pq.give("A");
+        pq.take();
+        pq.take();
+    }
+
+    @Test
+    public void testGrow() throws PQException {
+        // Test that we can give many more elements than the initial capacity
+        IndexedPriorityQueue<Integer> pq = new IndexedPriorityQueue<>(1, false, Integer::compare);
+        for (int i = 100; i > 0; i--) pq.give(i);
+        assertEquals(100, pq.size());
+        for (int i = 1; i <= 100; i++) assertEquals(Integer.valueOf(i), pq.take());
+    }
+
+    @Test
+    public void testInsertWithHandle() throws PQException {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(2, false, Double::compare);
+        pq.insert(7, 3.0);
+        pq.insert(2, 1.0);
+        pq.insert(5, 2.0);
+        assertTrue(pq.contains(7));
+        assertFalse(pq.contains(3));
+        assertFalse(pq.contains(-1));
+        assertEquals(Double.valueOf(3.0), pq.keyOf(7));
+        assertEquals(2, pq.peekHandle());
+        assertEquals(2, pq.takeHandle());
+        assertEquals(5, pq.takeHandle());
+        assertEquals(7, pq.takeHandle());
+        assertFalse(pq.contains(7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertDuplicateHandle() {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(2, false, Double::compare);
+        pq.insert(1, 3.0);
+        pq.insert(1, 2.0);
+    }
+
+    @Test
+    public void testDecreaseKey() throws PQException {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(4, false, Double::compare);
+        pq.insert(0, 5.0);
+        pq.insert(1, 3.0);
+        pq.insert(2, 4.0);
+        pq.decreaseKey(0, 1.0);
+        assertEquals(0, pq.peekHandle());
+        assertEquals(Double.valueOf(1.0), pq.peek());
+    }
+
+    @Test
+    public void testDecreaseKeyMax() throws PQException {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(4, true, Double::compare);
+        pq.insert(0, 5.0);
+        pq.insert(1, 3.0);
+        pq.insert(2, 4.0);
+        pq.decreaseKey(0, 1.0);
+        assertEquals(2, pq.takeHandle());
+        assertEquals(1, pq.takeHandle());
+        assertEquals(0, pq.takeHandle());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyWrongWay() {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(4, false, Double::compare);
+        pq.insert(0, 5.0);
+        pq.decreaseKey(0, 6.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDecreaseKeyMissing() {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(4, false, Double::compare);
+        pq.decreaseKey(0, 6.0);
+    }
+
+    @Test
+    public void testIncreaseKey() throws PQException {
+        IndexedPriorityQueue<Double> pq = new IndexedPriorityQueue<>(4, false, Double::compare);
+        pq.insert(0, 1.0);
+        pq.insert(1, 3.0);
+        pq.insert(2, 4.0);
+        pq.increaseKey(0, 10.0);
+        assertEquals(1, pq.takeHandle());
+        assertEquals(2, pq.takeHandle());
+        assertEquals(0, pq.takeHandle());
+    }
+
+    @Test
+    public void testChangeKeyAndDelete() throws PQException {
+        IndexedPriorityQueue<Integer> pq = new IndexedPriorityQueue<>(4, 4, false, Integer::compare);
+        for (int i = 0; i < 20; i++) pq.insert(i, i);
+        pq.changeKey(19, -1);
+        pq.changeKey(0, 100);
+        pq.delete(1);
+        assertEquals(19, pq.size());
+        assertEquals(19, pq.takeHandle());
+        assertEquals(2, pq.takeHandle());
+        int last = -1;
+        while (!pq.isEmpty()) last = pq.takeHandle();
+        assertEquals(0, last);
+    }
+
+    @Test
+    public void testHandleReuse() throws PQException {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>(4, Comparator.comparing(String::toString));
+        int a = pq.insert("A");
+        int b = pq.insert("B");
+        assertNotEquals(a, b);
+        assertEquals("B", pq.take());
+        assertEquals(b, pq.insert("C"));
+    }
+
+    @Test
+    public void testIterator() {
+        IndexedPriorityQueue<String> pq = new IndexedPriorityQueue<>(4, Comparator.comparing(String::toString));
+        pq.give("A");
+        pq.give("B");
+        Iterator<String> iterator = pq.iterator();
+        assertTrue(iterator.hasNext());
+        assertEquals("B", iterator.next());
+        assertTrue(iterator.hasNext());
+        assertEquals("A", iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(2, pq.size());
+    }
+
+    @Test
+    public void testRandom() throws PQException {
+        Random random = new Random(0L);
+        for (int arity = 2; arity <= 5; arity++) {
+            IndexedPriorityQueue<Integer> pq = new IndexedPriorityQueue<>(8, arity, false, Integer::compare);
+            int[] keys = new int[1000];
+            for (int i = 0; i < keys.length; i++) pq.insert(i, keys[i] = random.nextInt(10000));
+            for (int i = 0; i < keys.length; i += 3) pq.decreaseKey(i, keys[i] -= random.nextInt(100));
+            int previous = Integer.MIN_VALUE;
+            while (!pq.isEmpty()) {
+                int i = pq.takeHandle();
+                assertTrue(keys[i] >= previous);
+                previous = keys[i];
+            }
+        }
+    }
+}
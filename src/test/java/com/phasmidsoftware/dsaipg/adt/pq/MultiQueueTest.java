@@ -0,0 +1,83 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.*;
+
+public class MultiQueueTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        MultiQueue<Integer> pq = new MultiQueue<>(2, 2, false, Integer::compare);
+        assertEquals(4, pq.heaps());
+        assertTrue(pq.isEmpty());
+        for (int i = 0; i < 100; i++) pq.give(i);
+        assertEquals(100, pq.size());
+        List<Integer> taken = new ArrayList<>();
+        while (!pq.isEmpty()) taken.add(pq.take());
+        Collections.sort(taken);
+        for (int i = 0; i < 100; i++) assertEquals(Integer.valueOf(i), taken.get(i));
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        MultiQueue<Integer> pq = new MultiQueue<>(1, 1, false, Integer::compare);
+        pq.give(1);
+        pq.take();
+        pq.take();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRelaxation() {
+        new MultiQueue<>(1, 0, false, Integer::compare);
+    }
+
+    @Test
+    public void testNearlyOrdered() throws PQException {
+        // With a single heap per thread and one thread, the relaxation is small.
+        MultiQueue<Integer> pq = new MultiQueue<>(1, 1, true, Integer::compare);
+        for (int i = 0; i < 1000; i++) pq.give(i);
+        int x = pq.take();
+        assertTrue(x >= 900);
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        int threads = 4;
+        int n = 10000;
+        MultiQueue<Integer> pq = new MultiQueue<>(threads, 2, false, Integer::compare);
+        ConcurrentLinkedQueue<Integer> taken = new ConcurrentLinkedQueue<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * n;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < n; i++) {
+                    pq.give(offset + i);
+                    if (i % 2 == 1)
+                        try {
+                            taken.add(pq.take());
+                        } catch (PQException e) {
+                            fail("queue should not be empty");
+                        }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        assertEquals(threads * n / 2, pq.size());
+        List<Integer> all = new ArrayList<>(taken);
+        try {
+            while (!pq.isEmpty()) all.add(pq.take());
+        } catch (PQException e) {
+            fail("queue should not be empty");
+        }
+        Collections.sort(all);
+        assertEquals(threads * n, all.size());
+        for (int i = 0; i < all.size(); i++) assertEquals(Integer.valueOf(i), all.get(i));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -288,4 +289,82 @@ public class PriorityQueueTest {
         final PrivateMethodTester tester = new PrivateMethodTester(pq);
         assertEquals(false, tester.invokePrivate("getMax"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGiveGrowable() throws PQException {
+        // Test that a growable PQ keeps all of the elements given
+        PriorityQueue<Integer> pq = new PriorityQueue<>(1, false, Integer::compare, true, true);
+        for (int i = 50; i > 0; i--) pq.give(i);
+        assertEquals(50, pq.size());
+        for (int i = 1; i <= 50; i++) assertEquals(Integer.valueOf(i), pq.take());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test
+    public void testPeek() throws PQException {
+        PriorityQueue<String> pq = new PriorityQueue<>(10, Comparator.comparing(String::toString));
+        pq.give("A");
+        pq.give("B");
+        assertEquals("B", pq.peek());
+        assertEquals(2, pq.size());
+    }
+
+    @Test(expected = PQException.class)
+    public void testPeekEmpty() throws PQException {
+        new PriorityQueue<>(10, Comparator.comparing(String::toString)).peek();
+    }
+
+    @Test
+    public void testCreate() throws PQException {
+        Integer[] keys = new Integer[]{5, 3, 9, 1, 7, 2, 8, 6, 4, 0};
+        PriorityQueue<Integer> pq = PriorityQueue.create(keys, true, Integer::compare, true);
+        assertEquals(10, pq.size());
+        for (int i = 9; i >= 0; i--) assertEquals(Integer.valueOf(i), pq.take());
+        assertEquals(Integer.valueOf(5), keys[0]);
+    }
+
+    @Test
+    public void testGiveAllFixedCapacity() throws PQException {
+        PriorityQueue<Integer> pq = new PriorityQueue<>(3, false, Integer::compare, false);
+        pq.giveAll(new Integer[]{5, 3, 9, 1});
+        assertEquals(3, pq.size());
+        assertEquals(Integer.valueOf(1), pq.take());
+    }
+
+    @Test
+    public void testRandom() throws PQException {
+        Random random = new Random(0L);
+        for (boolean floyd : new boolean[]{false, true}) {
+            PriorityQueue<Integer> pq = new PriorityQueue<>(16, false, Integer::compare, floyd, true);
+            for (int i = 0; i < 1000; i++) pq.give(random.nextInt(100));
+            int previous = Integer.MIN_VALUE;
+            while (!pq.isEmpty()) {
+                int x = pq.take();
+                assertTrue(x >= previous);
+                previous = x;
+            }
+        }
+    }
+
+    @Test
+    public void testDary() throws PQException {
+        Random random = new Random(1L);
+        for (int arity : new int[]{2, 3, 8})
+            for (boolean floyd : new boolean[]{false, true}) {
+                PriorityQueue<Integer> pq = PriorityQueue.dary(1, arity, true, Integer::compare, floyd, true);
+                for (int i = 0; i < 1000; i++) pq.give(random.nextInt(100));
+                assertEquals(1000, pq.size());
+                int previous = Integer.MAX_VALUE;
+                while (!pq.isEmpty()) {
+                    int x = pq.take();
+                    assertTrue(x <= previous);
+                    previous = x;
+                }
+            }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDaryInvalidArity() {
+        PriorityQueue.dary(10, 1, false, Integer::compare, false, false);
+    }
+}
@@ -0,0 +1,88 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RadixHeapTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        RadixHeap pq = new RadixHeap(2);
+        assertTrue(pq.isEmpty());
+        pq.give(1, 30);
+        pq.give(2, 10);
+        pq.give(3, 20);
+        pq.give(4, 10);
+        assertEquals(4, pq.size());
+        int first = pq.take();
+        assertEquals(10, pq.lastKey());
+        int second = pq.take();
+        assertEquals(10, pq.lastKey());
+        assertEquals(6, first + second);
+        assertEquals(3, pq.take());
+        assertEquals(20, pq.lastKey());
+        pq.give(5, 25);
+        assertEquals(5, pq.take());
+        assertEquals(1, pq.take());
+        assertEquals(30, pq.lastKey());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        new RadixHeap(2).take();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotMonotone() throws PQException {
+        RadixHeap pq = new RadixHeap(2);
+        pq.give(1, 10);
+        pq.take();
+        pq.give(2, 9);
+    }
+
+    @Test
+    public void testClear() throws PQException {
+        RadixHeap pq = new RadixHeap(2);
+        pq.give(1, 10);
+        pq.take();
+        pq.give(2, 12);
+        pq.clear();
+        assertTrue(pq.isEmpty());
+        assertEquals(0, pq.lastKey());
+        pq.give(3, 0);
+        assertEquals(3, pq.take());
+    }
+
+    @Test
+    public void testRandomMonotone() throws PQException {
+        Random random = new Random(0L);
+        RadixHeap pq = new RadixHeap(4);
+        for (int i = 0; i < 100; i++) pq.give(i, random.nextInt(1 << 20));
+        long previous = 0;
+        int count = 0;
+        while (!pq.isEmpty()) {
+            pq.take();
+            assertTrue(pq.lastKey() >= previous);
+            previous = pq.lastKey();
+            // Simulate Dijkstra: give keys no smaller than the one just taken.
+            if (count++ < 2000) pq.give(count, previous + random.nextInt(1000));
+        }
+        assertEquals(2100, count);
+    }
+
+    @Test
+    public void testCapacity() throws PQException {
+        // A heap for a million vertices must not reserve space for them before they are given.
+        RadixHeap pq = new RadixHeap(1_000_000);
+        assertEquals(65 * 16, pq.capacity());
+        for (int i = 0; i < 10_000; i++) pq.give(i, 5);
+        assertTrue(pq.capacity() < 65 * 16 + 2 * 10_000);
+        for (int i = 0; i < 10_000; i++) pq.take();
+        assertTrue(pq.isEmpty());
+        assertEquals(5, pq.lastKey());
+    }
+}
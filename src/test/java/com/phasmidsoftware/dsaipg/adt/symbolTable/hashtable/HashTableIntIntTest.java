@@ -0,0 +1,94 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class HashTableIntIntTest {
+
+    @Test
+    public void testPutAndGet() {
+        HashTable_IntInt target = new HashTable_IntInt();
+        assertTrue(target.isEmpty());
+        assertEquals(0, target.put(3, 30));
+        assertEquals(30, target.put(3, 31));
+        assertEquals(0, target.put(0, 7));
+        assertEquals(0, target.put(-5, 50));
+        assertEquals(3, target.size());
+        assertEquals(31, target.get(3));
+        assertEquals(7, target.get(0));
+        assertEquals(50, target.get(-5));
+        assertEquals(0, target.get(4));
+        assertEquals(-1, target.getOrDefault(4, -1));
+        assertFalse(target.containsKey(4));
+        assertArrayEquals(new int[]{-5, 0, 3}, target.keyArray());
+    }
+
+    @Test
+    public void testST() {
+        HashTable_IntInt target = new HashTable_IntInt();
+        assertNull(target.put(Integer.valueOf(1), Integer.valueOf(10)));
+        assertEquals(Integer.valueOf(10), target.put(Integer.valueOf(1), Integer.valueOf(11)));
+        assertEquals(Integer.valueOf(11), target.get(Integer.valueOf(1)));
+        assertNull(target.get(Integer.valueOf(2)));
+        assertEquals(Set.of(1), target.keys());
+        // A FrequencyCounter can use this table as its map.
+        FrequencyCounter<Integer> counter = new FrequencyCounter<>(target);
+        assertEquals(Integer.valueOf(11), counter.get(1));
+        assertEquals(Integer.valueOf(0), counter.get(2));
+    }
+
+    @Test
+    public void testAdd() {
+        HashTable_IntInt target = new HashTable_IntInt();
+        for (int i = 0; i < 10; i++) target.add(i % 3, 1);
+        assertEquals(4, target.get(0));
+        assertEquals(3, target.get(1));
+        assertEquals(3, target.get(2));
+        assertEquals(5, target.add(0, 1));
+    }
+
+    @Test
+    public void testDelete() {
+        HashTable_IntInt target = new HashTable_IntInt();
+        target.put(0, 1);
+        target.put(1, 2);
+        assertTrue(target.delete(0));
+        assertFalse(target.delete(0));
+        assertTrue(target.delete(1));
+        assertFalse(target.delete(1));
+        assertTrue(target.isEmpty());
+    }
+
+    @Test
+    public void testGrowth() {
+        HashTable_IntInt target = new HashTable_IntInt(12);
+        assertEquals(16, target.length());
+        for (int i = 1; i <= 1000; i++) target.put(i, -i);
+        assertEquals(2048, target.length());
+        for (int i = 1; i <= 1000; i++) assertEquals(-i, target.get(i));
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        HashTable_IntInt target = new HashTable_IntInt();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Multiples of 2^16 all have the same low bits, which must not matter.
+            int key = random.nextInt(1000) << (random.nextBoolean() ? 16 : 0);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.remove(key) != null, target.delete(key));
+                case 1 -> assertEquals((int) expected.merge(key, 1, Integer::sum), target.add(key, 1));
+                default -> assertEquals(expected.getOrDefault(key, 0).intValue(), target.get(key));
+            }
+        }
+        assertEquals(expected.size(), target.size());
+        assertEquals(expected.keySet(), target.keys());
+    }
+}
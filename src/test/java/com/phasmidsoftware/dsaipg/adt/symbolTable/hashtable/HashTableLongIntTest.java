@@ -0,0 +1,46 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class HashTableLongIntTest {
+
+    @Test
+    public void testPutAndGet() {
+        HashTable_LongInt target = new HashTable_LongInt();
+        assertEquals(0, target.put(1L << 40, 1));
+        assertEquals(0, target.put(0L, 2));
+        assertEquals(1, target.put(1L << 40, 3));
+        assertEquals(2, target.size());
+        assertEquals(3, target.get(1L << 40));
+        assertEquals(2, target.get(0L));
+        assertEquals(0, target.get(1L));
+        assertArrayEquals(new long[]{0L, 1L << 40}, target.keyArray());
+        assertNull(target.get(Long.valueOf(1L)));
+        assertEquals(Set.of(0L, 1L << 40), target.keys());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        HashTable_LongInt target = new HashTable_LongInt();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // Multiples of 2^32 all have the same low bits, which must not matter.
+            long key = (long) random.nextInt(1000) << (random.nextBoolean() ? 32 : 0);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.remove(key) != null, target.delete(key));
+                case 1 -> assertEquals((int) expected.merge(key, 1, Integer::sum), target.add(key, 1));
+                default -> assertEquals(expected.getOrDefault(key, 0).intValue(), target.get(key));
+            }
+        }
+        assertEquals(expected.size(), target.size());
+        assertEquals(expected.keySet(), target.keys());
+    }
+}
@@ -0,0 +1,52 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class HashTableLongObjectTest {
+
+    @Test
+    public void testKey() {
+        assertEquals(0x0000000100000002L, HashTable_LongObject.key(1, 2));
+        assertEquals(0xFFFFFFFFFFFFFFFFL, HashTable_LongObject.key(-1, -1));
+        assertNotEquals(HashTable_LongObject.key(0, -1), HashTable_LongObject.key(-1, 0));
+    }
+
+    @Test
+    public void testPutGetAndDelete() {
+        HashTable_LongObject<String> target = new HashTable_LongObject<>();
+        assertNull(target.put(5L, "five"));
+        assertNull(target.put(0L, "zero"));
+        assertEquals("five", target.put(5L, "FIVE"));
+        assertEquals("FIVE", target.get(5L));
+        assertEquals("zero", target.get(Long.valueOf(0L)));
+        assertNull(target.get(6L));
+        assertEquals(2, target.size());
+        assertEquals("zero", target.delete(0L));
+        assertNull(target.delete(0L));
+        assertEquals("FIVE", target.delete(5L));
+        assertTrue(target.isEmpty());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        HashTable_LongObject<Integer> target = new HashTable_LongObject<>();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = HashTable_LongObject.key(random.nextInt(100), random.nextInt(100));
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.remove(key), target.delete(key));
+                case 1 -> assertEquals(expected.put(key, i), target.put(key, Integer.valueOf(i)));
+                default -> assertEquals(expected.get(key), target.get(key));
+            }
+        }
+        assertEquals(expected.size(), target.size());
+        assertEquals(expected.keySet(), target.keys());
+    }
+}
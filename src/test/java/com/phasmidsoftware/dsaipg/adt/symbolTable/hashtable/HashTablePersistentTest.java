@@ -0,0 +1,168 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_Persistent.Codec.INTEGER;
+import static com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_Persistent.Codec.STRING;
+import static org.junit.Assert.*;
+
+public class HashTablePersistentTest {
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("persistent");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testPutGetDelete() throws IOException {
+        try (HashTable_Persistent<String, Integer> target = HashTable_Persistent.open(directory, STRING, INTEGER)) {
+            assertEquals(0, target.size());
+            assertNull(target.get("a"));
+            assertNull(target.put("a", 1));
+            assertNull(target.put("b", 2));
+            assertEquals(Integer.valueOf(1), target.put("a", 3));
+            assertEquals(Integer.valueOf(3), target.get("a"));
+            assertEquals(2, target.size());
+            assertEquals(new TreeSet<>(List.of("a", "b")), target.keys());
+            assertEquals(Integer.valueOf(2), target.delete("b"));
+            assertNull(target.delete("b"));
+            assertNull(target.get("b"));
+            assertEquals(1, target.size());
+            assertEquals(Integer.valueOf(0), new FrequencyCounter<>(target).get("b"));
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        long length;
+        try (HashTable_Persistent<String, Integer> target = HashTable_Persistent.open(directory, STRING, INTEGER)) {
+            for (int i = 0; i < 10_000; i++) target.put("k" + i, i);
+            for (int i = 0; i < 10_000; i += 2) target.delete("k" + i);
+            length = target.logLength();
+        }
+        try (HashTable_Persistent<String, Integer> target = HashTable_Persistent.open(directory, STRING, INTEGER)) {
+            assertEquals(5_000, target.size());
+            assertEquals(length, target.logLength());
+            for (int i = 0; i < 10_000; i++) assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), target.get("k" + i));
+            target.put("k0", -1);
+        }
+        try (HashTable_Persistent<String, Integer> target = HashTable_Persistent.open(directory, STRING, INTEGER)) {
+            assertEquals(5_001, target.size());
+            assertEquals(Integer.valueOf(-1), target.get("k0"));
+        }
+    }
+
+    @Test
+    public void testRecoveryAfterCrash() throws IOException {
+        // A table which is synced but never closed (as if its program died), and whose log then gets a torn record.
+        HashTable_Persistent<String, Integer> crashed = HashTable_Persistent.open(directory, STRING, INTEGER);
+        for (int i = 0; i < 1000; i++) crashed.put("k" + i, i);
+        crashed.delete("k7");
+        crashed.sync();
+        long length = crashed.logLength();
+        try (FileChannel log = FileChannel.open(directory.resolve("log.0"), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            log.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 2, 0, 0, 0, 4, 'k'}));
+        }
+        try (HashTable_Persistent<String, Integer> target = HashTable_Persistent.open(directory, STRING, INTEGER)) {
+            assertEquals(999, target.size());
+            assertEquals(length, target.logLength());
+            assertNull(target.get("k7"));
+            for (int i = 8; i < 1000; i++) assertEquals(Integer.valueOf(i), target.get("k" + i));
+        }
+        assertEquals(length, Files.size(directory.resolve("log.0")));
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        try (HashTable_Persistent<String, Integer> target = HashTable_Persistent.open(directory, STRING, INTEGER)) {
+            for (int round = 0; round < 300; round++)
+                for (int i = 0; i < 1000; i++) target.put("k" + i, round);
+            assertTrue(target.generation() > 0);
+            // Each live record is 8 + 4 + 4 bytes plus its key, so the log is at most twice the live data plus the threshold.
+            assertTrue(target.logLength() < 2 * 1000 * 20 + (1 << 20));
+            for (int i = 0; i < 1000; i++) assertEquals(Integer.valueOf(299), target.get("k" + i));
+        }
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(1, paths.filter(p -> p.getFileName().toString().startsWith("log.")).count());
+        }
+        try (HashTable_Persistent<String, Integer> target = HashTable_Persistent.open(directory, STRING, INTEGER)) {
+            assertEquals(1000, target.size());
+            assertEquals(Integer.valueOf(299), target.get("k999"));
+        }
+    }
+
+    @Test
+    public void testLargeRecords() throws IOException {
+        // Values larger than the 64 KB staging buffer are written to the log directly.
+        String big = "b".repeat(100_000), bigger = "c".repeat(300_000);
+        try (HashTable_Persistent<String, String> target = HashTable_Persistent.open(directory, STRING, STRING)) {
+            target.put("big", big);
+            target.put("small", "s");
+            target.put("bigger", bigger);
+            target.put("last", "l");
+            assertEquals(big, target.get("big"));
+            assertEquals("s", target.get("small"));
+            assertEquals(bigger, target.get("bigger"));
+            assertEquals("l", target.get("last"));
+        }
+        try (HashTable_Persistent<String, String> target = HashTable_Persistent.open(directory, STRING, STRING)) {
+            assertEquals(4, target.size());
+            assertEquals(big, target.get("big"));
+            assertEquals("s", target.get("small"));
+            target.compact();
+            assertEquals(big, target.get("big"));
+            assertEquals("s", target.get("small"));
+            assertEquals(bigger, target.get("bigger"));
+            assertEquals("l", target.get("last"));
+        }
+        try (HashTable_Persistent<String, String> target = HashTable_Persistent.open(directory, STRING, STRING)) {
+            assertEquals(4, target.size());
+            assertEquals(big, target.get("big"));
+            assertEquals("s", target.get("small"));
+            assertEquals(bigger, target.get("bigger"));
+            assertEquals("l", target.get("last"));
+        }
+    }
+
+    @Test
+    public void testRandom() throws IOException {
+        Random random = new Random(0L);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int session = 0; session < 4; session++)
+            try (HashTable_Persistent<Integer, Integer> target = HashTable_Persistent.open(directory, INTEGER, INTEGER)) {
+                for (Map.Entry<Integer, Integer> entry : expected.entrySet()) assertEquals(entry.getValue(), target.get(entry.getKey()));
+                for (int i = 0; i < 20_000; i++) {
+                    int key = random.nextInt(3000);
+                    if (random.nextInt(3) == 0) assertEquals(expected.remove(key), target.delete(key));
+                    else assertEquals(expected.put(key, i), target.put(key, i));
+                }
+                assertEquals(expected.size(), target.size());
+                assertEquals(new TreeSet<>(expected.keySet()), target.keys());
+            }
+    }
+
+    private Path directory;
+}
@@ -0,0 +1,159 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class HashTableRHTest {
+
+    @Test
+    public void testPutAndGet() {
+        HashTable_RH<String, Integer> target = new HashTable_RH<>();
+        assertTrue(target.isEmpty());
+        assertNull(target.put("Hello", 1));
+        assertNull(target.put("World", 2));
+        assertEquals(Integer.valueOf(1), target.put("Hello", 3));
+        assertEquals(2, target.size());
+        assertEquals(Integer.valueOf(3), target.get("Hello"));
+        assertEquals(Integer.valueOf(2), target.get("World"));
+        assertNull(target.get("Goodbye"));
+        assertEquals(Set.of("Hello", "World"), target.keys());
+        assertEquals(List.of("Hello", "World"), List.copyOf(target.keys()));
+    }
+
+    @Test
+    public void testDelete() {
+        HashTable_RH<String, Integer> target = new HashTable_RH<>();
+        target.put("a", 1);
+        target.put("b", 2);
+        assertEquals(Integer.valueOf(1), target.delete("a"));
+        assertNull(target.delete("a"));
+        assertNull(target.get("a"));
+        assertEquals(1, target.size());
+        assertEquals(Integer.valueOf(2), target.get("b"));
+    }
+
+    @Test
+    public void testNullValue() {
+        HashTable_RH<String, Integer> target = new HashTable_RH<>();
+        target.put("a", null);
+        assertEquals(1, target.size());
+        assertNull(target.delete("a"));
+        assertEquals(0, target.size());
+    }
+
+    @Test
+    public void testGrowth() {
+        HashTable_RH<Integer, Integer> target = new HashTable_RH<>(12);
+        assertEquals(16, target.length());
+        for (int i = 0; i < 12; i++) target.put(i, i);
+        assertEquals(16, target.length());
+        target.put(12, 12);
+        assertEquals(32, target.length());
+        assertTrue(target.isMigrating());
+        for (int i = 0; i <= 12; i++) assertEquals(Integer.valueOf(i), target.get(i));
+        for (int i = 13; i < 1000; i++) target.put(i, i);
+        assertEquals(1000, target.size());
+        for (int i = 0; i < 1000; i++) assertEquals(Integer.valueOf(i), target.get(i));
+    }
+
+    @Test
+    public void testCollisions() {
+        // All of these keys have the same hash code and so the same home slot.
+        HashTable_RH<Colliding, Integer> target = new HashTable_RH<>(4);
+        for (int i = 0; i < 100; i++) target.put(new Colliding(i), i);
+        for (int i = 0; i < 100; i += 2) assertEquals(Integer.valueOf(i), target.delete(new Colliding(i)));
+        for (int i = 0; i < 100; i++) assertEquals(i % 2 == 0 ? null : Integer.valueOf(i), target.get(new Colliding(i)));
+        assertEquals(50, target.size());
+    }
+
+    @Test
+    public void testDeleteFromWrappedClusterDuringMigration() {
+        // Eleven keys whose home is the last slot (15) fill slots 15 and 0 thru 9, and one more key takes slot 12.
+        HashTable_RH<Homed, Integer> target = new HashTable_RH<>(12);
+        assertEquals(16, target.length());
+        for (int i = 0; i < 11; i++) target.put(new Homed(i, 15), i);
+        target.put(new Homed(11, 12), 11);
+        // This put starts a resize, which migrates slots 0 thru 3 of the old table: the cluster is now split.
+        target.put(new Homed(12, 3), 12);
+        assertTrue(target.isMigrating());
+        // Deleting the key in slot 15 must shift the rest of the cluster back across the migrated slots.
+        assertEquals(Integer.valueOf(0), target.delete(new Homed(0, 15)));
+        assertEquals(12, target.size());
+        for (int i = 1; i <= 12; i++) assertEquals(Integer.valueOf(i), target.get(new Homed(i, i < 11 ? 15 : i == 11 ? 12 : 3)));
+        assertEquals(Integer.valueOf(10), target.put(new Homed(10, 15), 100));
+        assertEquals(12, target.size());
+        assertEquals(12, target.keys().size());
+        for (int i = 13; i < 100; i++) target.put(new Homed(i, i), i);
+        assertFalse(target.isMigrating());
+        assertEquals(99, target.size());
+        assertEquals(Integer.valueOf(100), target.get(new Homed(10, 15)));
+    }
+
+    @Test
+    public void testRandom() {
+        // A mix of puts and deletes, many of which take place during an (incremental) resize, compared with HashMap.
+        Random random = new Random(0L);
+        for (double loadFactor : new double[]{0.5, 0.8, 0.95}) {
+            HashTable_RH<Integer, Integer> target = new HashTable_RH<>(0, loadFactor);
+            Map<Integer, Integer> expected = new HashMap<>();
+            boolean migrated = false;
+            for (int i = 0; i < 200_000; i++) {
+                Integer key = random.nextInt(20_000);
+                if (random.nextInt(3) == 0) assertEquals(expected.remove(key), target.delete(key));
+                else assertEquals(expected.put(key, i), target.put(key, i));
+                if (target.isMigrating()) {
+                    migrated = true;
+                    Integer probe = random.nextInt(20_000);
+                    assertEquals(expected.get(probe), target.get(probe));
+                }
+            }
+            assertTrue(migrated);
+            assertEquals(expected.size(), target.size());
+            assertEquals(expected.keySet(), target.keys());
+            for (Map.Entry<Integer, Integer> entry : expected.entrySet())
+                assertEquals(entry.getValue(), target.get(entry.getKey()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidLoadFactor() {
+        new HashTable_RH<String, Integer>(10, 1.0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKey() {
+        new HashTable_RH<String, Integer>().put(null, 1);
+    }
+
+    /**
+     * A key whose hash code (and so, in a table of length 16, whose home slot) is given.
+     */
+    private record Homed(int x, int home) implements Comparable<Homed> {
+        @Override
+        public int hashCode() {
+            return home;
+        }
+
+        public int compareTo(Homed o) {
+            return Integer.compare(x, o.x);
+        }
+    }
+
+    private record Colliding(int x) implements Comparable<Colliding> {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        public int compareTo(Colliding o) {
+            return Integer.compare(x, o.x);
+        }
+    }
+}
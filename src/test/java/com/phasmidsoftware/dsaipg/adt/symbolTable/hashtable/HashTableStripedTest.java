@@ -0,0 +1,54 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class HashTableStripedTest {
+
+    @Test
+    public void testPutGetAndDelete() {
+        HashTable_Striped<String, Integer> target = new HashTable_Striped<>();
+        assertNull(target.put("a", 1));
+        assertNull(target.put("b", 2));
+        assertEquals(Integer.valueOf(1), target.put("a", 3));
+        assertEquals(Integer.valueOf(3), target.get("a"));
+        assertEquals(2, target.size());
+        assertEquals(Set.of("a", "b"), target.keys());
+        assertEquals(Integer.valueOf(2), target.delete("b"));
+        assertNull(target.get("b"));
+        assertEquals(1, target.size());
+    }
+
+    @Test
+    public void testSingleStripe() {
+        HashTable_Striped<Integer, Integer> target = new HashTable_Striped<>(1, 0);
+        for (int i = 0; i < 100; i++) target.put(i, i);
+        for (int i = 0; i < 100; i++) assertEquals(Integer.valueOf(i), target.get(i));
+    }
+
+    @Test
+    public void testConcurrentMerge() throws InterruptedException {
+        HashTable_Striped<Integer, Integer> target = new HashTable_Striped<>(8, 0);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) target.merge(i % 1000, 1, Integer::sum);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+        assertEquals(1000, target.size());
+        for (int i = 0; i < 1000; i++) assertEquals(Integer.valueOf(400), target.get(i));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoStripes() {
+        new HashTable_Striped<String, Integer>(0, 10);
+    }
+}
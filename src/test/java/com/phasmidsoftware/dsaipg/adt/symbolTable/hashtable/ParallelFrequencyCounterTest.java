@@ -0,0 +1,63 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.util.SymbolTableBenchmark;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ParallelFrequencyCounterTest {
+
+    @Test
+    public void testBuild() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) lines.add("a b " + (i % 2 == 0 ? "c" : "a"));
+        for (int parallelism : new int[]{1, 3}) {
+            FrequencyCounter<String> target = ParallelFrequencyCounter.build(lines, line -> Arrays.asList(line.split(" ")), parallelism);
+            assertEquals(3000, target.total());
+            assertEquals(3, target.size());
+            assertEquals(Integer.valueOf(1500), target.get("a"));
+            assertEquals(Integer.valueOf(1000), target.get("b"));
+            assertEquals(Integer.valueOf(500), target.get("c"));
+            assertEquals(Integer.valueOf(0), target.get("d"));
+            assertEquals(0.5, target.relativeFrequency("a"), 1E-12);
+        }
+    }
+
+    @Test
+    public void testLeipzig() throws IOException {
+        URL url = getClass().getClassLoader().getResource("eng-uk_web_2002_10K-sentences.txt");
+        assertNotNull(url);
+        File file = new File(url.getFile());
+        FrequencyCounter<String> expected = ParallelFrequencyCounter.build(file, SymbolTableBenchmark::getLeipzigWords, 1);
+        FrequencyCounter<String> actual = ParallelFrequencyCounter.build(file, SymbolTableBenchmark::getLeipzigWords, 4);
+        Map<String, Integer> counts = new HashMap<>();
+        long total = 0;
+        for (String line : Files.readAllLines(file.toPath()))
+            for (String word : SymbolTableBenchmark.getLeipzigWords(line)) {
+                counts.merge(word, 1, Integer::sum);
+                total++;
+            }
+        assertEquals(total, expected.total());
+        assertEquals(total, actual.total());
+        assertEquals(counts.keySet(), actual.keys());
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            assertEquals(entry.getValue(), expected.get(entry.getKey()));
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadParallelism() {
+        ParallelFrequencyCounter.build(List.of("a"), line -> List.of(line), 0);
+    }
+}
@@ -0,0 +1,157 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class BPlusTreeTest {
+
+    @Test
+    public void testOrderedOperations() {
+        for (int fanout : new int[]{3, 4, 64}) {
+            BPlusTree<Integer, String> target = new BPlusTree<>(fanout);
+            for (int i = 10; i <= 100; i += 10) target.put(i, "x" + i);
+            target.validate();
+            assertEquals(Integer.valueOf(10), target.min());
+            assertEquals(Integer.valueOf(100), target.max());
+            assertEquals(Integer.valueOf(40), target.floor(45));
+            assertEquals(Integer.valueOf(40), target.floor(40));
+            assertNull(target.floor(5));
+            assertEquals(Integer.valueOf(50), target.ceiling(45));
+            assertNull(target.ceiling(101));
+            assertEquals(0, target.rank(10));
+            assertEquals(4, target.rank(45));
+            assertEquals(4, target.rank(50));
+            assertEquals(10, target.rank(1000));
+            assertEquals(Integer.valueOf(30), target.select(2));
+            assertEquals(List.of(30, 40, 50), target.keys(25, 50));
+            assertEquals(3, target.size(25, 50));
+            assertEquals(0, target.size(50, 25));
+            assertTrue(target.keys(101, 200).isEmpty());
+            assertEquals(List.of(10, 20, 30, 40, 50, 60, 70, 80, 90, 100), new ArrayList<>(target.keySet()));
+            assertEquals("x70", target.get(70));
+            assertEquals("x70", target.put(70, "y70"));
+            assertEquals("y70", target.get(70));
+            assertTrue(target.contains(70));
+            assertFalse(target.contains(75));
+            assertEquals(-1, target.depth(75));
+            assertEquals(target.depth() - 1, target.depth(70));
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        for (int fanout : new int[]{3, 4, 5, 16}) {
+            BPlusTree<Integer, Integer> target = new BPlusTree<>(fanout);
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            for (int i = 0; i < 20_000; i++) {
+                int key = random.nextInt(2000);
+                if (random.nextInt(3) == 0) {
+                    target.delete(key);
+                    expected.remove(key);
+                } else assertEquals(expected.put(key, i), target.put(key, i));
+                if (i % 1000 == 0) target.validate();
+            }
+            target.validate();
+            assertEquals(expected.size(), target.size());
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(target.keySet()));
+            for (int k = 0; k < expected.size(); k++) assertEquals(expected.keySet().toArray()[k], target.select(k));
+            for (int key = -1; key <= 2000; key += 7) {
+                assertEquals(expected.get(key), target.get(key));
+                assertEquals(expected.headMap(key).size(), target.rank(key));
+                assertEquals(expected.floorKey(key), target.floor(key));
+                assertEquals(expected.ceilingKey(key), target.ceiling(key));
+                assertEquals(new ArrayList<>(expected.subMap(key, true, key + 50, true).keySet()), target.keys(key, key + 50));
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.firstKey(), target.min());
+                target.deleteMin();
+                expected.pollFirstEntry();
+                if (expected.size() % 100 == 0) target.validate();
+            }
+            assertEquals(0, target.size());
+            assertEquals(0, target.depth());
+        }
+    }
+
+    @Test
+    public void testBulkLoad() {
+        for (int n : new int[]{0, 1, 63, 64, 1000, 4097}) {
+            Integer[] keys = new Integer[n];
+            Integer[] values = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = 2 * i;
+                values[i] = -i;
+            }
+            for (int fanout : new int[]{3, 8, 64}) {
+                BPlusTree<Integer, Integer> target = BPlusTree.bulkLoad(fanout, keys, values);
+                target.validate();
+                assertEquals(n, target.size());
+                for (int i = 0; i < n; i++) assertEquals(Integer.valueOf(-i), target.get(2 * i));
+                assertNull(target.get(1));
+                // The bulk-loaded tree remains fully updatable.
+                for (int i = 0; i < n; i += 3) target.put(2 * i + 1, i);
+                for (int i = 0; i < n; i += 2) target.delete(2 * i);
+                target.validate();
+            }
+        }
+    }
+
+    @Test
+    public void testBulkLoadUnsorted() {
+        Integer[] keys = {5, 3, 9, 3, 1, 5, 7};
+        BPlusTree<Integer, String> target = BPlusTree.bulkLoad(3, keys, k -> "v" + k);
+        target.validate();
+        assertEquals(List.of(1, 3, 5, 7, 9), new ArrayList<>(target.keySet()));
+        assertEquals("v7", target.get(7));
+        assertArrayEquals(new Integer[]{5, 3, 9, 3, 1, 5, 7}, keys);
+    }
+
+    @Test
+    public void testSortedInsertion() {
+        // A wide fanout gives a very shallow tree.
+        int n = 1 << 16;
+        BPlusTree<Integer, Integer> target = new BPlusTree<>(64);
+        for (int i = 0; i < n; i++) target.put(i, i);
+        target.validate();
+        assertTrue(target.depth() <= 4);
+        assertEquals(target.depth() - 1, target.meanDepth(), 0);
+        assertEquals(n / 2, target.keys(n / 4, 3 * n / 4 - 1).size());
+    }
+
+    @Test
+    public void testEmpty() {
+        BPlusTree<String, Integer> target = new BPlusTree<>();
+        assertEquals(0, target.size());
+        assertEquals(0, target.depth());
+        assertEquals(0, target.meanDepth(), 0);
+        assertNull(target.get("x"));
+        assertNull(target.floor("x"));
+        assertNull(target.ceiling("x"));
+        target.delete("x");
+        assertTrue(target.keySet().isEmpty());
+        assertEquals("{}", target.toString());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinEmpty() {
+        new BPlusTree<String, Integer>().min();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFanoutTooSmall() {
+        new BPlusTree<String, Integer>(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBulkLoadOutOfOrder() {
+        BPlusTree.bulkLoad(4, new Integer[]{1, 3, 2}, new String[]{"a", "b", "c"});
+    }
+}
@@ -0,0 +1,124 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.tree;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class BalancedBSTTest {
+
+    @Test
+    public void testOrderedOperations() {
+        for (BalancedBST<Integer, String> target : List.<BalancedBST<Integer, String>>of(new RedBlackBST<>(), new AVLTree<>())) {
+            for (int i = 10; i <= 100; i += 10) target.put(i, "x" + i);
+            assertEquals(Integer.valueOf(10), target.min());
+            assertEquals(Integer.valueOf(100), target.max());
+            assertEquals(Integer.valueOf(40), target.floor(45));
+            assertEquals(Integer.valueOf(40), target.floor(40));
+            assertNull(target.floor(5));
+            assertEquals(Integer.valueOf(50), target.ceiling(45));
+            assertNull(target.ceiling(101));
+            assertEquals(0, target.rank(10));
+            assertEquals(4, target.rank(45));
+            assertEquals(4, target.rank(50));
+            assertEquals(10, target.rank(1000));
+            assertEquals(Integer.valueOf(30), target.select(2));
+            assertEquals(List.of(30, 40, 50), target.keys(25, 50));
+            assertEquals(3, target.size(25, 50));
+            assertEquals(0, target.size(50, 25));
+            assertTrue(target.keys(101, 200).isEmpty());
+            assertEquals(List.of(10, 20, 30, 40, 50, 60, 70, 80, 90, 100), new ArrayList<>(target.keySet()));
+            assertEquals("x70", target.get(70));
+            assertEquals("x70", target.put(70, "y70"));
+            assertEquals("y70", target.get(70));
+            assertTrue(target.contains(70));
+            assertFalse(target.contains(75));
+            assertEquals(-1, target.depth(75));
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        for (BalancedBST<Integer, Integer> target : List.<BalancedBST<Integer, Integer>>of(new RedBlackBST<>(), new AVLTree<>())) {
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            for (int i = 0; i < 20_000; i++) {
+                int key = random.nextInt(2000);
+                if (random.nextInt(3) == 0) {
+                    target.delete(key);
+                    expected.remove(key);
+                } else assertEquals(expected.put(key, i), target.put(key, i));
+                if (i % 1000 == 0) validate(target);
+            }
+            validate(target);
+            assertEquals(expected.size(), target.size());
+            assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(target.keySet()));
+            for (int k = 0; k < expected.size(); k++) assertEquals(expected.keySet().toArray()[k], target.select(k));
+            for (int key = -1; key <= 2000; key += 7) {
+                assertEquals(expected.get(key), target.get(key));
+                assertEquals(expected.headMap(key).size(), target.rank(key));
+                assertEquals(expected.floorKey(key), target.floor(key));
+                assertEquals(expected.ceilingKey(key), target.ceiling(key));
+                assertEquals(new ArrayList<>(expected.subMap(key, true, key + 50, true).keySet()), target.keys(key, key + 50));
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.firstKey(), target.min());
+                target.deleteMin();
+                expected.pollFirstEntry();
+            }
+            validate(target);
+            assertEquals(0, target.size());
+        }
+    }
+
+    @Test
+    public void testSortedInsertion() {
+        // The height of a balanced tree is logarithmic, even for sorted insertions.
+        int n = 1 << 16;
+        RedBlackBST<Integer, Integer> redBlack = new RedBlackBST<>();
+        AVLTree<Integer, Integer> avl = new AVLTree<>();
+        for (int i = 0; i < n; i++) {
+            redBlack.put(i, i);
+            avl.put(n - i, i);
+        }
+        redBlack.validate();
+        avl.validate();
+        assertTrue(redBlack.depth() <= 2 * 16);
+        assertTrue(avl.depth() <= 1.45 * 16);
+        assertTrue(redBlack.meanDepth() < 16);
+        assertTrue(avl.meanDepth() < 16);
+    }
+
+    @Test
+    public void testEmpty() {
+        RedBlackBST<String, Integer> target = new RedBlackBST<>();
+        assertEquals(0, target.size());
+        assertEquals(0, target.depth());
+        assertEquals(0, target.meanDepth(), 0);
+        assertNull(target.get("x"));
+        target.delete("x");
+        assertTrue(target.keySet().isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinEmpty() {
+        new AVLTree<String, Integer>().min();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelectOutOfRange() {
+        AVLTree<String, Integer> target = new AVLTree<>();
+        target.put("a", 1);
+        target.select(1);
+    }
+
+    private static void validate(BalancedBST<Integer, Integer> target) {
+        if (target instanceof RedBlackBST<Integer, Integer> redBlack) redBlack.validate();
+        else ((AVLTree<Integer, Integer>) target).validate();
+    }
+}
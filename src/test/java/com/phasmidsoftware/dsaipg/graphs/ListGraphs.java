@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs;
+
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Minimal graphs, backed by Lists, for use by the graph tests.
+ * NOTE: the graphs of the main code (Graph_Edges, DAG_Impl) cannot be used by these tests because Bag_Array does not (yet) grow.
+ * Vertices are iterated in the order in which they were first seen.
+ */
+public class ListGraphs {
+
+    /**
+     * An undirected EdgeGraph: each edge is adjacent to (only) the vertex which is its first end.
+     *
+     * @param <V> the vertex type.
+     * @param <E> the edge attribute type.
+     */
+    public static class Undirected<V, E> implements EdgeGraph<V, E> {
+        public SizedIterable<com.phasmidsoftware.dsaipg.graphs.undirected.Edge<V, E>> edges() {
+            return SizedIterableImpl.create(edges);
+        }
+
+        public void addEdge(com.phasmidsoftware.dsaipg.graphs.undirected.Edge<V, E> edge, Predicate<com.phasmidsoftware.dsaipg.graphs.undirected.Edge<V, E>> predicate) {
+            if (!predicate.test(edge)) return;
+            edges.add(edge);
+            V v = edge.get();
+            adjacent.computeIfAbsent(v, k -> new ArrayList<>()).add(edge);
+            adjacent.computeIfAbsent(edge.getOther(v), k -> new ArrayList<>());
+        }
+
+        public void addEdge(V from, V to, E attribute, Predicate<com.phasmidsoftware.dsaipg.graphs.undirected.Edge<V, E>> predicate) {
+            addEdge(new com.phasmidsoftware.dsaipg.graphs.undirected.Edge<>(from, to, attribute), predicate);
+        }
+
+        public SizedIterable<V> vertices() {
+            return SizedIterableImpl.create(adjacent.keySet());
+        }
+
+        public Iterable<com.phasmidsoftware.dsaipg.graphs.undirected.Edge<V, E>> adjacent(V v) {
+            return adjacent.get(v);
+        }
+
+        private final List<com.phasmidsoftware.dsaipg.graphs.undirected.Edge<V, E>> edges = new ArrayList<>();
+        private final Map<V, List<com.phasmidsoftware.dsaipg.graphs.undirected.Edge<V, E>>> adjacent = new LinkedHashMap<>();
+    }
+
+    /**
+     * A directed Graph (which may or may not be acyclic) whose edges are the directed Edges of the dag package.
+     *
+     * @param <V> the vertex type.
+     * @param <E> the edge attribute type.
+     */
+    public static class Directed<V, E> implements Graph<V, Edge<V, E>> {
+        public void addEdge(Edge<V, E> edge) {
+            adjacent.computeIfAbsent(edge.getFrom(), k -> new ArrayList<>()).add(edge);
+            adjacent.computeIfAbsent(edge.getTo(), k -> new ArrayList<>());
+        }
+
+        public SizedIterable<V> vertices() {
+            return SizedIterableImpl.create(adjacent.keySet());
+        }
+
+        public Iterable<Edge<V, E>> adjacent(V v) {
+            return adjacent.get(v);
+        }
+
+        private final Map<V, List<Edge<V, E>>> adjacent = new LinkedHashMap<>();
+    }
+}
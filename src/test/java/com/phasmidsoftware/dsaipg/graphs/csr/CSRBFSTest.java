@@ -0,0 +1,31 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CSRBFSTest {
+
+    @Test
+    public void testBFS() {
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+        for (int v = 0; v < 5; v++) builder.addVertex(v);
+        builder.addEdge(0, 1).addEdge(0, 2).addEdge(1, 3).addEdge(2, 3).addEdge(3, 0);
+        CSRGraph<Integer> graph = builder.build();
+        CSRBFS bfs = new CSRBFS(graph, 0);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, bfs.order());
+        assertEquals(0, bfs.distTo(0));
+        assertEquals(1, bfs.distTo(2));
+        assertEquals(2, bfs.distTo(3));
+        assertEquals(1, bfs.parent(3));
+        assertArrayEquals(new int[]{0, 1, 3}, bfs.pathTo(3));
+        assertFalse(bfs.hasPathTo(4));
+        assertEquals(-1, bfs.distTo(4));
+        assertNull(bfs.pathTo(4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadSource() {
+        new CSRBFS(new CSRGraph.Builder<Integer>().addEdge(0, 1).build(), 2);
+    }
+}
@@ -0,0 +1,44 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CSRDFSTest {
+
+    @Test
+    public void testDFS() {
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+        for (int v = 0; v < 6; v++) builder.addVertex(v);
+        builder.addEdge(0, 1).addEdge(0, 2).addEdge(1, 3).addEdge(2, 3).addEdge(3, 0).addEdge(4, 5);
+        CSRGraph<Integer> graph = builder.build();
+        CSRDFS dfs = new CSRDFS(graph, 0);
+        assertArrayEquals(new int[]{0, 1, 3, 2}, dfs.preOrder());
+        assertArrayEquals(new int[]{3, 1, 2, 0}, dfs.postOrder());
+        assertEquals(4, dfs.count());
+        assertEquals(0, dfs.parent(2));
+        assertEquals(-1, dfs.parent(0));
+        assertFalse(dfs.marked(4));
+    }
+
+    @Test
+    public void testAll() {
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+        builder.addEdge(0, 1).addEdge(2, 1).addEdge(1, 3);
+        CSRDFS dfs = CSRDFS.create(builder.build());
+        assertEquals(4, dfs.count());
+        // The reverse of the post-order is a topological order.
+        assertArrayEquals(new int[]{3, 1, 0, 2}, dfs.postOrder());
+    }
+
+    @Test
+    public void testDeep() {
+        // A path of a million vertices would overflow the stack of a recursive DFS.
+        int n = 1_000_000;
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+        for (int v = 0; v < n - 1; v++) builder.addEdge(v, v + 1);
+        CSRDFS dfs = new CSRDFS(builder.build(), 0);
+        assertEquals(n, dfs.count());
+        assertEquals(n - 1, dfs.postOrder()[0]);
+    }
+}
@@ -0,0 +1,50 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.Dijkstra;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CSRDijkstraTest {
+
+    @Test
+    public void testSmall() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(5);
+        ewd.addEdge(new DirectedEdge(0, 1, 4));
+        ewd.addEdge(new DirectedEdge(0, 2, 1));
+        ewd.addEdge(new DirectedEdge(2, 1, 2));
+        ewd.addEdge(new DirectedEdge(1, 3, 1));
+        CSRDijkstra dijkstra = new CSRDijkstra(CSRGraph.create(ewd), 0);
+        assertEquals(3.0, dijkstra.distTo(1), 0.0);
+        assertEquals(4.0, dijkstra.distTo(3), 0.0);
+        assertArrayEquals(new int[]{0, 2, 1, 3}, dijkstra.pathTo(3));
+        assertFalse(dijkstra.hasPathTo(4));
+        assertNull(dijkstra.pathTo(4));
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        int n = 1000;
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(n);
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<Integer>().withIntWeights();
+        for (int v = 0; v < n; v++) builder.addVertex(v);
+        for (int k = 0; k < 5000; k++) {
+            int v = random.nextInt(n), w = random.nextInt(n), weight = random.nextInt(100);
+            ewd.addEdge(new DirectedEdge(v, w, weight));
+            builder.addEdge(v, w, weight);
+        }
+        Dijkstra.ShortestPaths expected = new Dijkstra(ewd).shortestPaths(0);
+        CSRDijkstra actual = new CSRDijkstra(CSRGraph.create(ewd), 0);
+        CSRDijkstra actualInt = new CSRDijkstra(builder.build(), 0);
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected.hasPathTo(v), actual.hasPathTo(v));
+            assertEquals(expected.distTo(v), actual.distTo(v), 0.0);
+            assertEquals(expected.distTo(v), actualInt.distTo(v), 0.0);
+        }
+    }
+}
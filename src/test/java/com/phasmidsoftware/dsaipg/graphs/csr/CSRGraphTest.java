@@ -0,0 +1,99 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CSRGraphTest {
+
+    @Test
+    public void testBuilder() {
+        CSRGraph.Builder<String> builder = new CSRGraph.Builder<>();
+        builder.addVertex("isolated");
+        builder.addEdge("A", "B", 2.0).addEdge("B", "C", 3.0).addEdge("A", "C").addEdge("C", "A", 0.5);
+        CSRGraph<String> graph = builder.build();
+        assertEquals(4, graph.V());
+        assertEquals(4, graph.E());
+        int a = graph.indexOf("A");
+        assertEquals("A", graph.vertex(a));
+        assertEquals(-1, graph.indexOf("Z"));
+        assertEquals(0, graph.degree(graph.indexOf("isolated")));
+        assertEquals(2, graph.degree(a));
+        // The out-edges of A are in the order in which they were added.
+        int e = graph.firstEdge(a);
+        assertEquals("B", graph.vertex(graph.target(e)));
+        assertEquals(2.0, graph.weight(e), 0.0);
+        assertEquals("C", graph.vertex(graph.target(e + 1)));
+        assertEquals(1.0, graph.weight(e + 1), 0.0);
+        assertEquals(e + 2, graph.endEdge(a));
+        assertFalse(graph.hasIntWeights());
+    }
+
+    @Test
+    public void testIntWeights() {
+        CSRGraph<Integer> graph = new CSRGraph.Builder<Integer>().withIntWeights().addUndirectedEdge(1, 2, 7).build();
+        assertTrue(graph.hasIntWeights());
+        assertEquals(2, graph.E());
+        assertEquals(7, graph.intWeight(0));
+        assertEquals(7.0, graph.weight(1), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIntWeightsBad() {
+        new CSRGraph.Builder<Integer>().withIntWeights().addEdge(1, 2, 0.5);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testIntWeightNotAvailable() {
+        new CSRGraph.Builder<Integer>().addEdge(1, 2, 0.5).build().intWeight(0);
+    }
+
+    @Test
+    public void testCreateEdgeGraph() {
+        EdgeGraph<String, Double> edgeGraph = new ListGraphs.Undirected<>();
+        edgeGraph.addEdge("A", "B", 1.0);
+        edgeGraph.addEdge("B", "C", 2.0);
+        CSRGraph<String> graph = CSRGraph.create(edgeGraph, Double::doubleValue);
+        assertEquals(3, graph.V());
+        assertEquals(4, graph.E());
+        assertEquals(2, graph.degree(graph.indexOf("B")));
+        assertEquals(1, graph.degree(graph.indexOf("C")));
+    }
+
+    @Test
+    public void testCreateDiGraph() {
+        ListGraphs.Directed<String, Integer> diGraph = new ListGraphs.Directed<>();
+        diGraph.addEdge(new Edge<>("A", "B", 3));
+        diGraph.addEdge(new Edge<>("B", "C", 4));
+        CSRGraph<String> graph = CSRGraph.create(diGraph, Integer::doubleValue);
+        assertEquals(3, graph.V());
+        assertEquals(2, graph.E());
+        assertEquals(0, graph.degree(graph.indexOf("C")));
+        int b = graph.indexOf("B");
+        assertEquals("C", graph.vertex(graph.target(graph.firstEdge(b))));
+        assertEquals(4.0, graph.weight(graph.firstEdge(b)), 0.0);
+    }
+
+    @Test
+    public void testCreateEdgeWeightedDigraph() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(4);
+        ewd.addEdge(new DirectedEdge(0, 1, 0.5));
+        ewd.addEdge(new DirectedEdge(0, 2, 1.5));
+        ewd.addEdge(new DirectedEdge(2, 3, 2.5));
+        CSRGraph<Integer> graph = CSRGraph.create(ewd);
+        assertEquals(4, graph.V());
+        assertEquals(3, graph.E());
+        assertEquals(2, graph.degree(0));
+        assertEquals(Integer.valueOf(3), graph.vertex(3));
+        assertEquals(2, graph.indexOf(2));
+        assertEquals(-1, graph.indexOf(4));
+        assertEquals(3, graph.target(graph.firstEdge(2)));
+        assertEquals(2.5, graph.weight(graph.firstEdge(2)), 0.0);
+        assertEquals(5 * 4 + 3 * 4 + 3 * 8, graph.arrayBytes());
+    }
+}
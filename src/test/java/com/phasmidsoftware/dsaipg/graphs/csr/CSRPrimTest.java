@@ -0,0 +1,38 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CSRPrimTest {
+
+    @Test
+    public void testPrim() {
+        // The example graph from Sedgewick and Wayne (tinyEWG.txt): the MST has weight 1.81.
+        double[][] edges = {
+                {4, 5, 0.35}, {4, 7, 0.37}, {5, 7, 0.28}, {0, 7, 0.16}, {1, 5, 0.32}, {0, 4, 0.38}, {2, 3, 0.17}, {1, 7, 0.19},
+                {0, 2, 0.26}, {1, 2, 0.36}, {1, 3, 0.29}, {2, 7, 0.34}, {6, 2, 0.40}, {3, 6, 0.52}, {6, 0, 0.58}, {6, 4, 0.93}
+        };
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+        for (int v = 0; v < 8; v++) builder.addVertex(v);
+        for (double[] e : edges) builder.addUndirectedEdge((int) e[0], (int) e[1], e[2]);
+        CSRGraph<Integer> graph = builder.build();
+        CSRPrim prim = new CSRPrim(graph);
+        assertEquals(7, prim.size());
+        assertEquals(1.81, prim.weight(), 1E-9);
+        assertEquals(-1, prim.parent(0));
+        assertEquals(7, prim.parent(1));
+        assertEquals(1, graph.target(prim.edgeTo(1)));
+    }
+
+    @Test
+    public void testForest() {
+        CSRGraph<String> graph = new CSRGraph.Builder<String>()
+                .addUndirectedEdge("A", "B", 1).addUndirectedEdge("B", "C", 2).addUndirectedEdge("A", "C", 3)
+                .addUndirectedEdge("X", "Y", 5).build();
+        CSRPrim prim = new CSRPrim(graph);
+        assertEquals(3, prim.size());
+        assertEquals(8.0, prim.weight(), 0.0);
+        assertEquals(-1, prim.parent(graph.indexOf("X")));
+    }
+}
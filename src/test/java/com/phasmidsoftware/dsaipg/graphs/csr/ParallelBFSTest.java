@@ -0,0 +1,85 @@
+package com.phasmidsoftware.dsaipg.graphs.csr;
+
+import com.phasmidsoftware.dsaipg.graphs.traversal.BFS;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallelBFSTest {
+
+    @Test
+    public void testSmall() {
+        BFS bfs = new BFS(5);
+        bfs.addEdge(0, 1);
+        bfs.addEdge(0, 2);
+        bfs.addEdge(1, 3);
+        bfs.addEdge(2, 3);
+        CSRGraph<Integer> graph = bfs.toCSRGraph();
+        ParallelBFS search = ParallelBFS.directed(graph, 0);
+        assertArrayEquals(new int[]{0, 1, 1, 2, -1}, search.distances());
+        assertEquals(-1, search.parent(0));
+        assertEquals(0, search.parent(1));
+        assertTrue(search.parent(3) == 1 || search.parent(3) == 2);
+        assertFalse(search.hasPathTo(4));
+        assertEquals(4, search.count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoTranspose() {
+        CSRGraph<Integer> graph = new CSRGraph.Builder<Integer>().addEdge(0, 1).build();
+        new ParallelBFS(graph, null, 0, 1, ParallelBFS.ALPHA, ParallelBFS.BETA);
+    }
+
+    @Test
+    public void testRandomUndirected() {
+        CSRGraph<Integer> graph = randomGraph(20000, 100000, true);
+        CSRBFS expected = new CSRBFS(graph, 0);
+        check(graph, expected, new ParallelBFS(graph, graph, 0, 1, 0, ParallelBFS.BETA));
+        check(graph, expected, new ParallelBFS(graph, graph, 0, 4, 0, ParallelBFS.BETA));
+        check(graph, expected, new ParallelBFS(graph, graph, 0, 4, ParallelBFS.ALPHA, ParallelBFS.BETA));
+        // Always bottom-up (after the first level).
+        ParallelBFS bottomUp = new ParallelBFS(graph, graph, 0, 4, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertTrue(bottomUp.bottomUpLevels() > 1);
+        check(graph, expected, bottomUp);
+    }
+
+    @Test
+    public void testRandomDirected() {
+        CSRGraph<Integer> graph = randomGraph(20000, 60000, false);
+        CSRGraph<Integer> reverse = graph.transpose();
+        assertEquals(graph.E(), reverse.E());
+        CSRBFS expected = new CSRBFS(graph, 0);
+        check(graph, expected, new ParallelBFS(graph, reverse, 0, 3, ParallelBFS.ALPHA, ParallelBFS.BETA));
+        check(graph, expected, new ParallelBFS(graph, reverse, 0, 3, Integer.MAX_VALUE, Integer.MAX_VALUE));
+    }
+
+    private static void check(CSRGraph<Integer> graph, CSRBFS expected, ParallelBFS actual) {
+        int count = 0;
+        for (int v = 0; v < graph.V(); v++) {
+            assertEquals(expected.distTo(v), actual.distTo(v));
+            if (actual.hasPathTo(v)) count++;
+            int p = actual.parent(v);
+            if (p >= 0) {
+                assertEquals(actual.distTo(v) - 1, actual.distTo(p));
+                boolean found = false;
+                for (int e = graph.firstEdge(p); e < graph.endEdge(p); e++) if (graph.target(e) == v) found = true;
+                assertTrue(found);
+            }
+        }
+        assertEquals(count, actual.count());
+    }
+
+    private static CSRGraph<Integer> randomGraph(int n, int m, boolean undirected) {
+        Random random = new Random(0L);
+        CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>();
+        for (int v = 0; v < n; v++) builder.addVertex(v);
+        for (int k = 0; k < m; k++) {
+            int v = random.nextInt(n), w = random.nextInt(n);
+            if (undirected) builder.addUndirectedEdge(v, w, 1);
+            else builder.addEdge(v, w);
+        }
+        return builder.build();
+    }
+}
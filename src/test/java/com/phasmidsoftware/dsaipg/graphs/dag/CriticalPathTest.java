@@ -0,0 +1,82 @@
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CriticalPathTest {
+
+    @Test
+    public void testProject() {
+        // Tasks (with durations): A (3), B (2), C (4), D (2), then Finish; B and C follow A; D follows B and C.
+        ListGraphs.Directed<String, Integer> dag = new ListGraphs.Directed<>();
+        Edge<String, Integer> ac = new Edge<>("A", "C", 3), cd = new Edge<>("C", "D", 4), df = new Edge<>("D", "Finish", 2);
+        dag.addEdge(new Edge<>("A", "B", 3));
+        dag.addEdge(ac);
+        dag.addEdge(new Edge<>("B", "D", 2));
+        dag.addEdge(cd);
+        dag.addEdge(df);
+        CriticalPath<String, Integer> target = new CriticalPath<>(TopologicalSort.create(dag, 1));
+        assertEquals(9, target.makespan(), 0);
+        assertEquals(0, target.earliestStart("A"), 0);
+        assertEquals(3, target.earliestStart("B"), 0);
+        assertEquals(5, target.latestStart("B"), 0);
+        assertEquals(2, target.slack("B"), 0);
+        assertEquals(7, target.earliestStart("D"), 0);
+        assertFalse(target.isCritical("B"));
+        for (String v : List.of("A", "C", "D", "Finish")) assertTrue(target.isCritical(v));
+        assertEquals(List.of(ac, cd, df), target.criticalPath());
+    }
+
+    @Test
+    public void testIndependentTasks() {
+        ListGraphs.Directed<String, Double> dag = new ListGraphs.Directed<>();
+        Edge<String, Double> cd = new Edge<>("C", "D", 5.0);
+        dag.addEdge(new Edge<>("A", "B", 1.0));
+        dag.addEdge(cd);
+        CriticalPath<String, Double> target = new CriticalPath<>(TopologicalSort.create(dag, 1));
+        assertEquals(5, target.makespan(), 0);
+        assertEquals(4, target.slack("A"), 0);
+        assertEquals(4, target.slack("B"), 0);
+        assertTrue(target.isCritical("C"));
+        assertEquals(List.of(cd), target.criticalPath());
+    }
+
+    @Test
+    public void testEmpty() {
+        CriticalPath<String, Double> target = new CriticalPath<>(TopologicalSort.create(new ListGraphs.Directed<>(), 1));
+        assertEquals(0, target.makespan(), 0);
+        assertTrue(target.criticalPath().isEmpty());
+    }
+
+    @Test
+    public void testRandom() {
+        int n = 30_000;
+        TopologicalSortBenchmark.IntDag dag = TopologicalSortBenchmark.IntDag.random(n, 3, n, new Random(2L));
+        CriticalPath<Integer, Double> expected = new CriticalPath<>(TopologicalSort.create(dag, 1));
+        CriticalPath<Integer, Double> actual = new CriticalPath<>(TopologicalSort.create(dag, 4));
+        assertEquals(expected.makespan(), actual.makespan(), 0);
+        double total = 0;
+        Integer previous = null;
+        for (Edge<Integer, Double> e : actual.criticalPath()) {
+            if (previous != null) assertEquals(previous, e.getFrom());
+            assertTrue(actual.isCritical(e.getFrom()));
+            total += e.getAttributes();
+            previous = e.getTo();
+        }
+        assertEquals(actual.makespan(), total, 0);
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected.earliestStart(v), actual.earliestStart(v), 0);
+            assertEquals(expected.latestStart(v), actual.latestStart(v), 0);
+            assertTrue(actual.slack(v) >= 0);
+            for (Edge<Integer, Double> e : dag.adjacent(v)) {
+                assertTrue(actual.earliestStart(v) + e.getAttributes() <= actual.earliestStart(e.getTo()));
+                assertTrue(actual.latestStart(v) + e.getAttributes() <= actual.latestStart(e.getTo()));
+            }
+        }
+    }
+}
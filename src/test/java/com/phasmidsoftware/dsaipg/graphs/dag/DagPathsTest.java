@@ -0,0 +1,82 @@
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DagPathsTest {
+
+    @Test
+    public void testShortestAndLongest() {
+        ListGraphs.Directed<String, Double> dag = new ListGraphs.Directed<>();
+        Edge<String, Double> ab = new Edge<>("A", "B", 2.0), bc = new Edge<>("B", "C", 1.0), bd = new Edge<>("B", "D", 7.0), cd = new Edge<>("C", "D", 3.0);
+        dag.addEdge(ab);
+        dag.addEdge(new Edge<>("A", "C", 5.0));
+        dag.addEdge(bc);
+        dag.addEdge(bd);
+        dag.addEdge(cd);
+        dag.addEdge(new Edge<>("E", "D", 1.0));
+        TopologicalSort<String, Double> sort = TopologicalSort.create(dag, 1);
+        DagPaths<String, Double> shortest = DagPaths.shortest(sort, "A");
+        assertEquals(0, shortest.cost("A"), 0);
+        assertEquals(3, shortest.cost("C"), 0);
+        assertEquals(6, shortest.cost("D"), 0);
+        assertEquals(List.of(ab, bc, cd), shortest.pathTo("D"));
+        assertFalse(shortest.hasPathTo("E"));
+        assertEquals(Double.POSITIVE_INFINITY, shortest.cost("E"), 0);
+        assertTrue(shortest.pathTo("E").isEmpty());
+        assertTrue(shortest.pathTo("A").isEmpty());
+        DagPaths<String, Double> longest = DagPaths.longest(sort, "A");
+        assertEquals(5, longest.cost("C"), 0);
+        assertEquals(9, longest.cost("D"), 0);
+        assertEquals(List.of(ab, bd), longest.pathTo("D"));
+        assertEquals(Double.NEGATIVE_INFINITY, longest.cost("E"), 0);
+    }
+
+    @Test
+    public void testNegativeWeights() {
+        ListGraphs.Directed<Integer, Integer> dag = new ListGraphs.Directed<>();
+        dag.addEdge(new Edge<>(0, 1, 4));
+        dag.addEdge(new Edge<>(0, 2, 1));
+        dag.addEdge(new Edge<>(1, 2, -5));
+        DagPaths<Integer, Integer> target = DagPaths.shortest(TopologicalSort.create(dag, 1), 0);
+        assertEquals(-1, target.cost(2), 0);
+    }
+
+    @Test
+    public void testRandom() {
+        int n = 30_000;
+        TopologicalSortBenchmark.IntDag dag = TopologicalSortBenchmark.IntDag.random(n, 3, n, new Random(1L));
+        // Since every edge leads to a higher-numbered vertex, the vertices in numerical order are topologically sorted.
+        double[] shortest = new double[n], longest = new double[n];
+        Arrays.fill(shortest, Double.POSITIVE_INFINITY);
+        Arrays.fill(longest, Double.NEGATIVE_INFINITY);
+        shortest[10] = longest[10] = 0;
+        for (int v = 10; v < n; v++)
+            for (Edge<Integer, Double> e : dag.adjacent(v)) {
+                shortest[e.getTo()] = Math.min(shortest[e.getTo()], shortest[v] + e.getAttributes());
+                longest[e.getTo()] = Math.max(longest[e.getTo()], longest[v] + e.getAttributes());
+            }
+        for (int parallelism : new int[]{1, 4}) {
+            TopologicalSort<Integer, Double> sort = TopologicalSort.create(dag, parallelism);
+            DagPaths<Integer, Double> s = DagPaths.shortest(sort, 10), l = DagPaths.longest(sort, 10);
+            for (int v = 0; v < n; v++) {
+                assertEquals(shortest[v], s.cost(v), 0);
+                assertEquals(longest[v], l.cost(v), 0);
+            }
+            double total = 0;
+            for (Edge<Integer, Double> e : l.pathTo(n - 1)) total += e.getAttributes();
+            assertEquals(longest[n - 1], total, 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAVertex() {
+        DagPaths.shortest(TopologicalSort.create(TopologicalSortTest.standardDAG(), 1), 7);
+    }
+}
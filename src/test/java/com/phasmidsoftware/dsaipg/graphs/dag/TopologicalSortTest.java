@@ -0,0 +1,88 @@
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TopologicalSortTest {
+
+    @Test
+    public void testStandardDAG() {
+        TopologicalSort<Integer, Double> target = TopologicalSort.create(standardDAG(), 1);
+        assertEquals(7, target.size());
+        assertEquals(List.of(3, 6, 0, 1, 5, 2, 4), target.sorted());
+        assertEquals(5, target.layers());
+        assertEquals(List.of(3), target.layer(0));
+        assertEquals(List.of(1, 5), target.layer(3));
+        assertEquals(List.of(2, 4), target.layer(4));
+        assertEquals(0, target.depth(3));
+        assertEquals(4, target.depth(4));
+    }
+
+    @Test
+    public void testRandom() {
+        TopologicalSortBenchmark.IntDag dag = TopologicalSortBenchmark.IntDag.random(50_000, 3, 50_000, new Random(0L));
+        TopologicalSort<Integer, Double> target = TopologicalSort.create(dag, 1);
+        checkOrder(dag, target.sorted());
+        int[] depths = new int[50_000];
+        for (int v = 0; v < 50_000; v++)
+            for (Edge<Integer, Double> e : dag.adjacent(v)) depths[e.getTo()] = Math.max(depths[e.getTo()], depths[v] + 1);
+        for (int v = 0; v < 50_000; v++) assertEquals(depths[v], target.depth(v));
+        // The result does not depend on the parallelism.
+        assertEquals(target.sorted(), TopologicalSort.create(dag, 4).sorted());
+    }
+
+    @Test
+    public void testDeepChain() {
+        // A recursive depth-first search would overflow the stack.
+        TopologicalSortBenchmark.IntDag dag = TopologicalSortBenchmark.IntDag.random(200_000, 1, 1, new Random(0L));
+        TopologicalSort<Integer, Double> target = TopologicalSort.create(dag, 2);
+        assertEquals(200_000, target.layers());
+        checkOrder(dag, target.sorted());
+    }
+
+    @Test
+    public void testEmpty() {
+        TopologicalSort<String, Double> target = TopologicalSort.create(new ListGraphs.Directed<>());
+        assertEquals(0, target.size());
+        assertEquals(0, target.layers());
+        assertTrue(target.sorted().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCycle() {
+        ListGraphs.Directed<Integer, Double> dag = standardDAG();
+        dag.addEdge(new Edge<>(4, 3, 1.0));
+        TopologicalSort.create(dag, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAVertex() {
+        TopologicalSort.create(standardDAG(), 1).depth(7);
+    }
+
+    /**
+     * The DAG of DAGTest.
+     */
+    static ListGraphs.Directed<Integer, Double> standardDAG() {
+        ListGraphs.Directed<Integer, Double> result = new ListGraphs.Directed<>();
+        int[][] edges = {{0, 1}, {0, 2}, {0, 5}, {1, 4}, {3, 2}, {3, 4}, {3, 5}, {3, 6}, {5, 2}, {6, 0}, {6, 4}};
+        for (int[] edge : edges) result.addEdge(new Edge<>(edge[0], edge[1], 1.0));
+        return result;
+    }
+
+    private static void checkOrder(Graph<Integer, Edge<Integer, Double>> dag, List<Integer> sorted) {
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) positions.put(sorted.get(i), i);
+        assertEquals(sorted.size(), positions.size());
+        for (Integer v : dag.vertices())
+            for (Edge<Integer, Double> e : dag.adjacent(v)) assertTrue(positions.get(e.getFrom()) < positions.get(e.getTo()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ContractionHierarchyTest {
+
+    @Test
+    public void testSmall() {
+        // The graph of DijkstraTest.
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(9);
+        int[][] edges = {{0, 1, 4}, {0, 7, 8}, {1, 2, 8}, {1, 7, 11}, {7, 6, 1}, {7, 8, 11}, {2, 8, 2}, {2, 3, 7}, {2, 5, 4}, {8, 6, 6}, {6, 5, 2}, {3, 5, 14}, {3, 4, 9}, {5, 4, 10}};
+        for (int[] edge : edges) ewd.addEdge(new DirectedEdge(edge[0], edge[1], edge[2]));
+        ContractionHierarchy.Query query = ContractionHierarchy.build(ewd).query();
+        double[] expected = {0, 4, 12, 19, 21, 11, 9, 8, 14};
+        for (int v = 0; v < 9; v++) assertEquals(expected[v], query.distance(0, v), 0);
+        assertEquals(Double.POSITIVE_INFINITY, query.distance(4, 0), 0);
+        assertNull(query.path(4, 0));
+        checkPath(ewd, query.path(0, 4), 0, 4, 21);
+        assertTrue(query.path(3, 3).isEmpty());
+    }
+
+    @Test
+    public void testRandomGrid() {
+        EdgeWeightedDigraph G = ContractionHierarchyBenchmark.gridGraph(30, new Random(0L));
+        checkAgainstDijkstra(G, ContractionHierarchy.build(G), 200);
+    }
+
+    @Test
+    public void testRandomGraph() {
+        EdgeWeightedDigraph G = DijkstraHeapBenchmark.randomGraph(300, 4, new Random(1L));
+        checkAgainstDijkstra(G, ContractionHierarchy.build(G), 200);
+    }
+
+    @Test
+    public void testOneWayStreets() {
+        // A random digraph (with parallel edges and self-loops) in which many pairs of vertices are not connected.
+        Random random = new Random(2L);
+        EdgeWeightedDigraph G = new EdgeWeightedDigraph(200);
+        for (int i = 0; i < 400; i++) G.addEdge(new DirectedEdge(random.nextInt(200), random.nextInt(200), random.nextInt(10)));
+        checkAgainstDijkstra(G, ContractionHierarchy.build(G), 400);
+    }
+
+    @Test
+    public void testRank() {
+        EdgeWeightedDigraph G = ContractionHierarchyBenchmark.gridGraph(10, new Random(3L));
+        ContractionHierarchy target = ContractionHierarchy.build(G);
+        assertEquals(100, target.V());
+        Set<Integer> ranks = new HashSet<>();
+        for (int v = 0; v < 100; v++) ranks.add(target.rank(v));
+        assertEquals(100, ranks.size());
+        assertEquals(G.E() + target.shortcuts(), target.E());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        EdgeWeightedDigraph G = ContractionHierarchyBenchmark.gridGraph(20, new Random(4L));
+        ContractionHierarchy expected = ContractionHierarchy.build(G);
+        File file = File.createTempFile("hierarchy", ".ch");
+        try {
+            expected.save(file);
+            ContractionHierarchy actual = ContractionHierarchy.load(file);
+            assertEquals(expected.V(), actual.V());
+            assertEquals(expected.E(), actual.E());
+            assertEquals(expected.shortcuts(), actual.shortcuts());
+            for (int v = 0; v < G.V(); v++) assertEquals(expected.rank(v), actual.rank(v));
+            checkAgainstDijkstra(G, actual, 100);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadNotHierarchy() throws IOException {
+        File file = File.createTempFile("hierarchy", ".ch");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+                out.writeInt(42);
+            }
+            ContractionHierarchy.load(file);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        EdgeWeightedDigraph G = new EdgeWeightedDigraph(2);
+        G.addEdge(new DirectedEdge(0, 1, -1));
+        ContractionHierarchy.build(G);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadVertex() {
+        ContractionHierarchy.build(new EdgeWeightedDigraph(2)).query().distance(0, 2);
+    }
+
+    private static void checkAgainstDijkstra(EdgeWeightedDigraph G, ContractionHierarchy hierarchy, int queries) {
+        Random random = new Random(0L);
+        Dijkstra dijkstra = new Dijkstra(G);
+        ContractionHierarchy.Query query = hierarchy.query();
+        for (int q = 0; q < queries; q++) {
+            int s = random.nextInt(G.V()), t = random.nextInt(G.V());
+            Dijkstra.ShortestPaths expected = dijkstra.shortestPaths(s);
+            assertEquals(expected.distTo(t), query.distance(s, t), 1E-9);
+            List<DirectedEdge> path = query.path(s, t);
+            if (expected.hasPathTo(t)) checkPath(G, path, s, t, expected.distTo(t));
+            else assertNull(path);
+        }
+    }
+
+    private static void checkPath(EdgeWeightedDigraph G, List<DirectedEdge> path, int s, int t, double cost) {
+        int v = s;
+        double total = 0;
+        for (DirectedEdge e : path) {
+            assertEquals(v, e.from());
+            boolean found = false;
+            for (DirectedEdge f : G.adj(v)) found |= f.to() == e.to() && f.weight() == e.weight();
+            assertTrue("no such edge: " + e, found);
+            total += e.weight();
+            v = e.to();
+        }
+        assertEquals(t, v);
+        assertEquals(cost, total, 1E-9);
+    }
+}
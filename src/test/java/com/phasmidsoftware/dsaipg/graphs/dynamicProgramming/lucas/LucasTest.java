@@ -2,6 +2,8 @@ package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.lucas;
 
 import org.junit.Test;
 
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 
 public class LucasTest {
@@ -41,4 +43,13 @@ public class LucasTest {
     public void testGet4() {
         assertEquals(6440026026380244498L, new Lucas().get(90));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSequence() {
+        Lucas lucas = new Lucas();
+        List<Long> sequence = Lucas.sequence().take(91).toList();
+        assertEquals(91, sequence.size());
+        for (int n = 0; n <= 90; n++) assertEquals(lucas.get(n), (long) sequence.get(n));
+        assertEquals(List.of(2L, 4L, 18L, 76L), Lucas.sequence().filter(x -> x % 2 == 0).take(4).toList());
+    }
+}
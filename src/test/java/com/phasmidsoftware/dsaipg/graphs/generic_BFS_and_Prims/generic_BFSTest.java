@@ -1,5 +1,7 @@
 package com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_Prims;
 
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.ParallelBFS;
 import com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_prims.GBFS;
 import com.phasmidsoftware.dsaipg.graphs.generic_BFS_and_prims.Graph;
 import org.junit.Assert;
@@ -172,4 +174,22 @@ public class generic_BFSTest {
         final List bfs = b.bfs(g, 0);
         Assert.assertEquals(expected, bfs);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testParallelBFS() {
+        Graph<String> g = new Graph<>(4);
+        g.addVertex("a");
+        g.addVertex("b");
+        g.addVertex("c");
+        g.addVertex("d");
+        g.addEdge("a", "b");
+        g.addEdge("b", "c");
+        g.addEdge("c", "d");
+
+        CSRGraph<String> csr = g.toCSRGraph();
+        Assert.assertEquals(6, csr.E());
+        ParallelBFS search = ParallelBFS.undirected(csr, csr.indexOf("a"));
+        Assert.assertEquals(3, search.distTo(csr.indexOf("d")));
+        Assert.assertEquals("c", csr.vertex(search.parent(csr.indexOf("d"))));
+    }
+}
@@ -0,0 +1,91 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AStarTest {
+
+    @Test
+    public void testGreatCircle() {
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = ShortestPaths.Network.create(new AStarBenchmark.GeoGridGraph(40, new Random(0L)));
+        checkAgainstDijkstra(network, new AStar<>(network, AStar.greatCircle(network, 1)), 50);
+    }
+
+    @Test
+    public void testLandmarks() {
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = ShortestPaths.Network.create(new AStarBenchmark.GeoGridGraph(40, new Random(1L)));
+        Landmarks landmarks = Landmarks.select(network, 8, new Random(0L));
+        checkAgainstDijkstra(network, new AStar<>(network, landmarks), 50);
+        checkAgainstDijkstra(network, new AStar<>(network, AStar.max(AStar.greatCircle(network, 1), landmarks)), 50);
+    }
+
+    @Test
+    public void testInconsistentHeuristic() {
+        // An admissible heuristic which is not consistent: a random fraction of the true cost.
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = ShortestPaths.Network.create(new AStarBenchmark.GeoGridGraph(20, new Random(2L)));
+        Random random = new Random(3L);
+        for (int q = 0; q < 20; q++) {
+            int t = random.nextInt(network.size());
+            double[] costs = network.distances(t, true);
+            AStar<AStarBenchmark.Intersection, Double> target = new AStar<>(network, (v, x) -> costs[v] * random.nextDouble());
+            AStarBenchmark.Intersection source = network.vertex(random.nextInt(network.size()));
+            assertEquals(costs[network.indexOf(source)], target.route(source, network.vertex(t)).cost(), 1E-9);
+        }
+    }
+
+    @Test
+    public void testNoPath() {
+        MockGeoPoint a = new MockGeoPoint("A", new Position_Spherical(42.3398, -71.0892));
+        MockGeoPoint b = new MockGeoPoint("B", new Position_Spherical(42.3601, -71.0589));
+        ListGraphs.Directed<MockGeoPoint, Double> graph = new ListGraphs.Directed<>();
+        graph.addEdge(new Edge<>(a, b, 3000.0));
+        ShortestPaths.Network<MockGeoPoint, Double> network = ShortestPaths.Network.create(graph);
+        AStar<MockGeoPoint, Double> target = new AStar<>(network, AStar.greatCircle(network, 1));
+        ShortestPaths.Route<MockGeoPoint, Double> route = target.route(b, a);
+        assertFalse(route.exists());
+        assertEquals(Double.POSITIVE_INFINITY, route.cost(), 0);
+        assertTrue(route.edges().isEmpty());
+        route = target.route(a, b);
+        assertTrue(route.exists());
+        assertEquals(3000.0, route.cost(), 0);
+        assertEquals(2, route.settled());
+        route = target.route(a, a);
+        assertEquals(0, route.cost(), 0);
+        assertTrue(route.edges().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCostPerMeter() {
+        AStar.greatCircle(ShortestPaths.Network.create(new ListGraphs.Directed<MockGeoPoint, Double>()), -1);
+    }
+
+    private static <V> void checkAgainstDijkstra(ShortestPaths.Network<V, Double> network, AStar<V, Double> target, int queries) {
+        Random random = new Random(0L);
+        long dijkstra = 0, aStar = 0;
+        for (int q = 0; q < queries; q++) {
+            V s = network.vertex(random.nextInt(network.size())), t = network.vertex(random.nextInt(network.size()));
+            ShortestPaths.Route<V, Double> expected = network.route(s, t);
+            ShortestPaths.Route<V, Double> actual = target.route(s, t);
+            assertEquals(expected.cost(), actual.cost(), 1E-9);
+            List<Edge<V, Double>> edges = actual.edges();
+            double cost = 0;
+            V v = s;
+            for (Edge<V, Double> edge : edges) {
+                assertEquals(v, edge.getFrom());
+                cost += edge.getAttributes();
+                v = edge.getTo();
+            }
+            assertEquals(t, v);
+            assertEquals(actual.cost(), cost, 1E-9);
+            dijkstra += expected.settled();
+            aStar += actual.settled();
+        }
+        assertTrue(aStar < dijkstra);
+    }
+}
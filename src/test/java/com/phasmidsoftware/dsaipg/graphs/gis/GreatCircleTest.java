@@ -0,0 +1,98 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class GreatCircleTest {
+
+    @Test
+    public void testDistance() {
+        List<MockGeoPoint> points = randomPoints(200, 3L);
+        GreatCircle target = new GreatCircle(points);
+        GeoGraphSpherical<MockGeoPoint, String> graph = new GeoGraphSpherical<>();
+        assertEquals(200, target.size());
+        for (int i = 0; i < points.size(); i++)
+            for (int j = 0; j < points.size(); j++)
+                assertEquals(graph.getDistance(points.get(i), points.get(j)), target.distance(i, j), 0);
+    }
+
+    @Test
+    public void testDistanceLondonBoston() {
+        GreatCircle target = new GreatCircle(new double[]{51.5, 42.35}, new double[]{-0.5, -71});
+        assertEquals(GeoGraphSphericalTest.londonToBoston, target.distance(0, 1), 4000);
+    }
+
+    @Test
+    public void testBatchDistances() {
+        List<MockGeoPoint> points = randomPoints(100, 4L);
+        GreatCircle target = new GreatCircle(points);
+        int[] js = {5, 17, 99, 0};
+        double[] result = new double[4];
+        target.distances(3, js, 4, result);
+        for (int k = 0; k < js.length; k++) assertEquals(target.distance(3, js[k]), result[k], 0);
+        int[] is = {1, 2, 3, 4};
+        target.distances(is, js, result);
+        for (int k = 0; k < js.length; k++) assertEquals(target.distance(is[k], js[k]), result[k], 0);
+    }
+
+    @Test
+    public void testApproximateDistance() {
+        Random random = new Random(5L);
+        for (double latitude : new double[]{0, 42.34, 70, 85}) {
+            double[] lats = new double[1000], lons = new double[1000];
+            for (int i = 0; i < lats.length; i++) {
+                lats[i] = latitude + 0.01 * random.nextDouble();
+                lons[i] = -71.09 + 0.01 * random.nextDouble();
+            }
+            GreatCircle target = new GreatCircle(lats, lons);
+            for (int i = 1; i < lats.length; i++) {
+                double exact = target.distance(0, i);
+                double bound = GreatCircle.approximationError(exact, Math.toRadians(latitude + 0.01));
+                assertEquals(exact, target.approximateDistance(0, i), exact * bound);
+            }
+        }
+    }
+
+    @Test
+    public void testApproximationError() {
+        // a 250 m tunnel in Boston
+        assertTrue(GreatCircle.approximationError(250, Math.toRadians(42.34)) < 1E-8);
+        assertTrue(GreatCircle.approximationError(100_000, Math.toRadians(80)) > 1E-3);
+    }
+
+    @Test
+    public void testIsWithin() {
+        List<MockGeoPoint> points = randomPoints(500, 6L);
+        GreatCircle target = new GreatCircle(points);
+        for (int i = 1; i < points.size(); i++) {
+            double d = target.distance(0, i);
+            assertTrue(target.isWithin(0, i, d));
+            assertFalse(target.isWithin(0, i, Math.nextDown(d)));
+            assertEquals(d <= 1000, target.isWithin(0, i, 1000));
+        }
+    }
+
+    @Test
+    public void testAntimeridian() {
+        GreatCircle target = new GreatCircle(new double[]{0, 0}, new double[]{179.999, -179.999});
+        assertEquals(target.distance(0, 1), target.approximateDistance(0, 1), 1E-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadArrays() {
+        new GreatCircle(new double[2], new double[3]);
+    }
+
+    private static List<MockGeoPoint> randomPoints(int n, long seed) {
+        Random random = new Random(seed);
+        List<MockGeoPoint> result = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            result.add(new MockGeoPoint("p" + i, new Position_Spherical(42.33 + 0.02 * random.nextDouble(), -71.1 + 0.02 * random.nextDouble())));
+        return result;
+    }
+}
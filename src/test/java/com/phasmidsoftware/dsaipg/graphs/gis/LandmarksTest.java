@@ -0,0 +1,121 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class LandmarksTest {
+
+    @Test
+    public void testLowerBound() {
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = grid(12, 0L);
+        Landmarks target = Landmarks.select(network, 4, new Random(0L));
+        assertEquals(4, target.size());
+        for (int t = 0; t < network.size(); t++) {
+            double[] costs = network.distances(t, true);
+            for (int v = 0; v < network.size(); v++) assertTrue(target.estimate(v, t) <= costs[v] + 1E-9);
+            assertEquals(0, target.estimate(t, t), 0);
+        }
+    }
+
+    @Test
+    public void testConsistent() {
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = grid(12, 1L);
+        Landmarks target = Landmarks.select(network, 4, new Random(0L));
+        for (int t = 0; t < network.size(); t += 7)
+            for (int e = 0; e < network.targets.length; e++)
+                assertTrue(target.estimate(network.sources[e], t) <= network.weights[e] + target.estimate(network.targets[e], t) + 1E-9);
+    }
+
+    @Test
+    public void testExact() {
+        // The bound is exact when the target is a landmark.
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = grid(10, 2L);
+        Landmarks target = Landmarks.select(network, 2, new Random(0L));
+        int landmark = target.landmark(1);
+        double[] costs = network.distances(landmark, true);
+        for (int v = 0; v < network.size(); v++) assertEquals(costs[v], target.estimate(v, landmark), 1E-9);
+    }
+
+    @Test
+    public void testDistinct() {
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = grid(3, 3L);
+        Landmarks target = Landmarks.select(network, 9, new Random(0L));
+        Set<Integer> landmarks = new HashSet<>();
+        for (int i = 0; i < target.size(); i++) landmarks.add(target.landmark(i));
+        assertEquals(9, landmarks.size());
+    }
+
+    @Test
+    public void testUnreachable() {
+        ListGraphs.Directed<String, Double> graph = new ListGraphs.Directed<>();
+        graph.addEdge(new Edge<>("A", "B", 1.0));
+        graph.addEdge(new Edge<>("B", "C", 2.0));
+        ShortestPaths.Network<String, Double> network = ShortestPaths.Network.create(graph);
+        Landmarks target = Landmarks.select(network, 2, new Random(0L));
+        int a = network.indexOf("A"), b = network.indexOf("B"), c = network.indexOf("C");
+        assertEquals(Double.POSITIVE_INFINITY, target.estimate(c, a), 0);
+        assertTrue(target.estimate(a, c) <= 3.0);
+        assertTrue(target.estimate(b, c) <= 2.0);
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        ShortestPaths.Network<AStarBenchmark.Intersection, Double> network = grid(10, 4L);
+        Landmarks expected = Landmarks.select(network, 3, new Random(0L));
+        File file = File.createTempFile("landmarks", ".alt");
+        try {
+            expected.save(file);
+            Landmarks actual = Landmarks.load(file, network);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) assertEquals(expected.landmark(i), actual.landmark(i));
+            for (int t = 0; t < network.size(); t += 3)
+                for (int v = 0; v < network.size(); v++) assertEquals(expected.estimate(v, t), actual.estimate(v, t), 0);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadWrongNetwork() throws IOException {
+        File file = File.createTempFile("landmarks", ".alt");
+        try {
+            Landmarks.select(grid(10, 5L), 2, new Random(0L)).save(file);
+            Landmarks.load(file, grid(11, 5L));
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadNotLandmarks() throws IOException {
+        File file = File.createTempFile("landmarks", ".alt");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+                out.writeInt(42);
+            }
+            Landmarks.load(file);
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyLandmarks() {
+        Landmarks.select(grid(3, 6L), 10, new Random(0L));
+    }
+
+    private static ShortestPaths.Network<AStarBenchmark.Intersection, Double> grid(int side, long seed) {
+        return ShortestPaths.Network.create(new AStarBenchmark.GeoGridGraph(side, new Random(seed)));
+    }
+}
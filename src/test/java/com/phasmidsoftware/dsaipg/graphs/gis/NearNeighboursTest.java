@@ -0,0 +1,71 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class NearNeighboursTest {
+
+    @Test
+    public void testForEachPairBoston() {
+        checkAgainstAllPairs(randomPoints(3000, 42.34, -71.09, 0.02, 1L), 250);
+    }
+
+    @Test
+    public void testForEachPairFarNorth() {
+        // At 78 degrees north, a degree of longitude is only about 23 km.
+        checkAgainstAllPairs(randomPoints(2000, 78.2, 15.6, 0.05, 2L), 500);
+    }
+
+    @Test
+    public void testForEachPairSparse() {
+        List<MockGeoPoint> points = new ArrayList<>();
+        points.add(new MockGeoPoint("A", new Position_Spherical(42.3398, -71.0892)));
+        points.add(new MockGeoPoint("B", new Position_Spherical(42.3400, -71.0890)));
+        points.add(new MockGeoPoint("C", new Position_Spherical(42.3601, -71.0589)));
+        NearNeighbours<MockGeoPoint> target = new NearNeighbours<>(points, 250, new GeoGraphSpherical<MockGeoPoint, String>()::getDistance);
+        List<String> pairs = new ArrayList<>();
+        target.forEachPair((v1, v2, d) -> pairs.add(v1.getName() + v2.getName()));
+        assertEquals(List.of("AB"), pairs);
+        assertEquals(2, target.cells());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadRadius() {
+        new NearNeighbours<>(new ArrayList<MockGeoPoint>(), 0, (v1, v2) -> 0);
+    }
+
+    private static void checkAgainstAllPairs(List<MockGeoPoint> points, double radius) {
+        GeoGraphSpherical<MockGeoPoint, String> graph = new GeoGraphSpherical<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++)
+            for (int j = i + 1; j < points.size(); j++)
+                if (graph.getDistance(points.get(i), points.get(j)) <= radius)
+                    expected.add(points.get(i).getName() + "-" + points.get(j).getName());
+        List<String> actual = new ArrayList<>();
+        new NearNeighbours<>(points, radius, graph::getDistance).forEachPair((v1, v2, d) -> {
+            assertTrue(d <= radius);
+            actual.add(v1.getName() + "-" + v2.getName());
+        });
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+        List<String> fast = new ArrayList<>();
+        new NearNeighbours<>(points, radius).forEachPair((v1, v2, d) -> {
+            assertEquals(graph.getDistance(v1, v2), d, 0);
+            fast.add(v1.getName() + "-" + v2.getName());
+        });
+        assertEquals(expected, fast);
+    }
+
+    private static List<MockGeoPoint> randomPoints(int n, double latitude, double longitude, double spread, long seed) {
+        Random random = new Random(seed);
+        List<MockGeoPoint> result = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            result.add(new MockGeoPoint("p" + i, new Position_Spherical(latitude + spread * random.nextDouble(), longitude + spread * random.nextDouble())));
+        return result;
+    }
+}
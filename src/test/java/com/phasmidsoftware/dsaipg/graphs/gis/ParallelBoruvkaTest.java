@@ -0,0 +1,142 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.csr.CSRPrim;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ParallelBoruvkaTest {
+
+    @Test
+    public void testSmall() {
+        ListGraphs.Undirected<String, Weight> graph = new ListGraphs.Undirected<>();
+        graph.addEdge("A", "B", new Weight(4));
+        graph.addEdge("A", "C", new Weight(1));
+        graph.addEdge("B", "C", new Weight(2));
+        graph.addEdge("C", "D", new Weight(5));
+        graph.addEdge("B", "D", new Weight(3));
+        List<Edge<String, Weight>> mst = toList(new ParallelBoruvka<>(graph, 1));
+        assertEquals(3, mst.size());
+        assertEquals(1.0, mst.get(0).getAttribute().value, 0);
+        assertEquals(2.0, mst.get(1).getAttribute().value, 0);
+        assertEquals(3.0, mst.get(2).getAttribute().value, 0);
+    }
+
+    @Test
+    public void testTies() {
+        // A square with equal weights: the first three edges (in Kruskal order) are chosen.
+        ListGraphs.Undirected<Integer, Weight> graph = new ListGraphs.Undirected<>();
+        List<Edge<Integer, Weight>> edges = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Edge<Integer, Weight> edge = new Edge<>(i, (i + 1) % 4, new Weight(1));
+            edges.add(edge);
+            graph.addEdge(edge);
+        }
+        List<Edge<Integer, Weight>> mst = toList(new ParallelBoruvka<>(graph, 2));
+        assertEquals(edges.subList(0, 3), mst);
+    }
+
+    @Test
+    public void testForest() {
+        ListGraphs.Undirected<Integer, Weight> graph = new ListGraphs.Undirected<>();
+        graph.addEdge(0, 1, new Weight(1));
+        graph.addEdge(1, 2, new Weight(2));
+        graph.addEdge(0, 2, new Weight(3));
+        graph.addEdge(3, 4, new Weight(1));
+        assertEquals(3, toList(new ParallelBoruvka<>(graph, 1)).size());
+    }
+
+    @Test
+    public void testRandomGeometricGraph() {
+        ListGraphs.Undirected<Integer, Weight> graph = randomGeometricGraph(20_000, 0.02, 0L);
+        List<Edge<Integer, Weight>> sequential = toList(new ParallelBoruvka<>(graph, 1));
+        List<Edge<Integer, Weight>> parallel = toList(new ParallelBoruvka<>(graph, 4));
+        assertEquals(sequential, parallel);
+        for (int i = 1; i < parallel.size(); i++)
+            assertTrue(parallel.get(i - 1).getAttribute().compareTo(parallel.get(i).getAttribute()) <= 0);
+        CSRPrim prim = new CSRPrim(CSRGraph.create(graph, w -> w.value));
+        assertEquals(prim.size(), parallel.size());
+        double weight = 0;
+        for (Edge<Integer, Weight> edge : parallel) weight += edge.getAttribute().value;
+        assertEquals(prim.weight(), weight, 1E-9);
+    }
+
+    @Test
+    public void testSpanningForest() {
+        int[] from = {0, 1, 2, 0, 3};
+        int[] to = {1, 2, 0, 3, 4};
+        double[] weights = {5, 1, 2, 7, 1};
+        assertArrayEquals(new int[]{1, 2, 3, 4}, ParallelBoruvka.spanningForest(6, from, to, weights, 2));
+        assertArrayEquals(new int[]{0, 1, 3, 4}, ParallelBoruvka.spanningForest(6, from, to, null, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSpanningForestBad() {
+        ParallelBoruvka.spanningForest(2, new int[]{0}, new int[]{2}, null, 1);
+    }
+
+    private static <V> List<Edge<V, Weight>> toList(ParallelBoruvka<V, Weight> boruvka) {
+        List<Edge<V, Weight>> result = new ArrayList<>();
+        for (Edge<V, Weight> edge : boruvka) result.add(edge);
+        return result;
+    }
+
+    /**
+     * Points at random in the unit square, joined by an edge whenever they are within radius of each other.
+     */
+    private static ListGraphs.Undirected<Integer, Weight> randomGeometricGraph(int n, double radius, long seed) {
+        Random random = new Random(seed);
+        double[] xs = new double[n], ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+        }
+        int cells = (int) (1 / radius);
+        List<List<Integer>> grid = new ArrayList<>();
+        for (int c = 0; c < cells * cells; c++) grid.add(new ArrayList<>());
+        for (int i = 0; i < n; i++) grid.get(cell(xs[i], cells) * cells + cell(ys[i], cells)).add(i);
+        ListGraphs.Undirected<Integer, Weight> result = new ListGraphs.Undirected<>();
+        for (int i = 0; i < n; i++) {
+            int cx = cell(xs[i], cells), cy = cell(ys[i], cells);
+            for (int x = Math.max(0, cx - 1); x <= Math.min(cells - 1, cx + 1); x++)
+                for (int y = Math.max(0, cy - 1); y <= Math.min(cells - 1, cy + 1); y++)
+                    for (int j : grid.get(x * cells + y)) {
+                        double d = Math.hypot(xs[i] - xs[j], ys[i] - ys[j]);
+                        if (i < j && d <= radius) result.addEdge(i, j, new Weight(d));
+                    }
+        }
+        return result;
+    }
+
+    private static int cell(double z, int cells) {
+        return Math.min(cells - 1, (int) (z * cells));
+    }
+
+    static class Weight implements Comparable<Weight>, Sequenced {
+        Weight(double value) {
+            this.value = value;
+        }
+
+        public int compareTo(Weight o) {
+            return Double.compare(value, o.value);
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+
+        public void setSequence(int sequence) {
+            this.sequence = sequence;
+        }
+
+        final double value;
+        private int sequence;
+    }
+}
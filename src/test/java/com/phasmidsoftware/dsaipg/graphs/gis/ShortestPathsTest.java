@@ -1,11 +1,16 @@
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
+import com.phasmidsoftware.dsaipg.graphs.ListGraphs;
 import com.phasmidsoftware.dsaipg.graphs.dag.DiGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
 
 public class ShortestPathsTest {
 
@@ -109,4 +114,114 @@ public class ShortestPathsTest {
         assertEquals(7.0, shortestPaths.cost("H"), 0);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testShortestPathsListGraph() {
+        ListGraphs.Directed<String, Double> graph = new ListGraphs.Directed<>();
+        graph.addEdge(new Edge<>("A", "B", 1.0));
+        graph.addEdge(new Edge<>("B", "C", 2.0));
+        graph.addEdge(new Edge<>("C", "D", 1.0));
+        graph.addEdge(new Edge<>("A", "E", 4.0));
+        graph.addEdge(new Edge<>("A", "F", 8.0));
+        graph.addEdge(new Edge<>("B", "F", 6.0));
+        graph.addEdge(new Edge<>("B", "G", 6.0));
+        graph.addEdge(new Edge<>("C", "G", 2.0));
+        graph.addEdge(new Edge<>("D", "G", 1.0));
+        graph.addEdge(new Edge<>("D", "H", 4.0));
+        graph.addEdge(new Edge<>("E", "F", 5.0));
+        graph.addEdge(new Edge<>("G", "F", 1.0));
+        graph.addEdge(new Edge<>("G", "H", 1.0));
+        ShortestPaths<String, Double> shortestPaths = new ShortestPaths<>(graph, "A");
+        assertTrue(shortestPaths.hasPathTo("H"));
+        assertEquals(6.0, shortestPaths.cost("H"), 0);
+        List<String> path = new ArrayList<>();
+        for (Edge<String, Double> e : shortestPaths.pathTo("H")) path.add(e.getFrom() + e.getTo());
+        assertEquals(Arrays.asList("AB", "BC", "CG", "GH"), path);
+        assertFalse(new ShortestPaths<>(graph, "H").hasPathTo("A"));
+        assertEquals(Double.POSITIVE_INFINITY, shortestPaths.cost("Z"), 0);
+    }
+
+    @Test
+    public void testRoutes() {
+        ListGraphs.Directed<Integer, Double> graph = randomGraph(2000, 4, 7L);
+        ShortestPaths.Network<Integer, Double> network = ShortestPaths.Network.create(graph);
+        Random random = new Random(8L);
+        for (int k = 0; k < 20; k++) {
+            int s = random.nextInt(2000), t = random.nextInt(2000);
+            ShortestPaths<Integer, Double> all = network.shortestPaths(s);
+            ShortestPaths.Route<Integer, Double> route = network.route(s, t);
+            ShortestPaths.Route<Integer, Double> bidirectional = network.bidirectionalRoute(s, t);
+            assertEquals(all.cost(t), route.cost(), 1E-9);
+            assertEquals(all.cost(t), bidirectional.cost(), 1E-9);
+            assertEquals(all.hasPathTo(t), bidirectional.exists());
+            assertTrue(route.settled() <= all.settled());
+            checkPath(s, t, route.cost(), route.edges());
+            checkPath(s, t, bidirectional.cost(), bidirectional.edges());
+        }
+        ShortestPaths.Route<Integer, Double> self = network.bidirectionalRoute(3, 3);
+        assertEquals(0.0, self.cost(), 0);
+        assertTrue(self.edges().isEmpty());
+    }
+
+    @Test
+    public void testNoRoute() {
+        ListGraphs.Directed<String, Double> graph = new ListGraphs.Directed<>();
+        graph.addEdge(new Edge<>("A", "B", 1.0));
+        graph.addEdge(new Edge<>("C", "B", 1.0));
+        ShortestPaths.Network<String, Double> network = ShortestPaths.Network.create(graph);
+        assertFalse(network.route("A", "C").exists());
+        assertFalse(network.bidirectionalRoute("A", "C").exists());
+        assertEquals(Double.POSITIVE_INFINITY, network.bidirectionalRoute("A", "C").cost(), 0);
+    }
+
+    @Test
+    public void testManySources() {
+        ListGraphs.Directed<Integer, Double> graph = randomGraph(1000, 3, 9L);
+        ShortestPaths.Network<Integer, Double> network = ShortestPaths.Network.create(graph);
+        List<Integer> sources = Arrays.asList(0, 10, 20, 30, 40, 50);
+        List<Integer> targets = Arrays.asList(5, 15, 25, 999);
+        List<ShortestPaths<Integer, Double>> searches = network.shortestPaths(sources, 4);
+        double[][] costs = network.costs(sources, targets, 4);
+        assertEquals(sources.size(), searches.size());
+        for (int i = 0; i < sources.size(); i++) {
+            ShortestPaths<Integer, Double> expected = network.shortestPaths(sources.get(i));
+            for (int v = 0; v < 1000; v++) assertEquals(expected.cost(v), searches.get(i).cost(v), 0);
+            for (int j = 0; j < targets.size(); j++) assertEquals(expected.cost(targets.get(j)), costs[i][j], 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        ListGraphs.Directed<String, Double> graph = new ListGraphs.Directed<>();
+        graph.addEdge(new Edge<>("A", "B", -1.0));
+        new ShortestPaths<>(graph, "A");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStart() {
+        ListGraphs.Directed<String, Double> graph = new ListGraphs.Directed<>();
+        graph.addEdge(new Edge<>("A", "B", 1.0));
+        ShortestPaths.Network.create(graph).route("A", "Z");
+    }
+
+    private static void checkPath(int s, int t, double cost, List<Edge<Integer, Double>> edges) {
+        if (cost == Double.POSITIVE_INFINITY) return;
+        int v = s;
+        double total = 0;
+        for (Edge<Integer, Double> e : edges) {
+            assertEquals(v, (int) e.getFrom());
+            v = e.getTo();
+            total += e.getAttributes();
+        }
+        assertEquals(t, v);
+        assertEquals(cost, total, 1E-9);
+    }
+
+    private static ListGraphs.Directed<Integer, Double> randomGraph(int n, int degree, long seed) {
+        Random random = new Random(seed);
+        ListGraphs.Directed<Integer, Double> result = new ListGraphs.Directed<>();
+        for (int v = 0; v < n; v++)
+            for (int k = 0; k < degree; k++)
+                result.addEdge(new Edge<>(v, random.nextInt(n), 1 + random.nextInt(100) / 10.0));
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package com.phasmidsoftware.dsaipg.graphs.union_find;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class UF_LockFreeTest {
+
+    @Test
+    public void testFind0() {
+        UF uf = new UF_LockFree(10);
+        assertEquals(0, uf.find(0));
+        assertEquals(10, uf.components());
+        assertEquals(10, uf.size());
+    }
+
+    @Test
+    public void testUnion() {
+        UF uf = new UF_LockFree(10, new Random(0L));
+        uf.union(0, 1);
+        uf.union(2, 3);
+        assertEquals(uf.find(0), uf.find(1));
+        assertNotEquals(uf.find(0), uf.find(2));
+        assertTrue(uf.isConnected(2, 3));
+        assertFalse(uf.isConnected(1, 2));
+        uf.union(1, 3);
+        assertTrue(uf.isConnected(0, 2));
+        assertEquals(7, uf.components());
+        uf.union(0, 3);
+        assertEquals(7, uf.components());
+    }
+
+    @Test
+    public void testConnect() {
+        Connections connections = new UF_LockFree(4);
+        connections.connect(0, 1);
+        connections.connect(1, 0);
+        assertTrue(connections.isConnected(0, 1));
+        assertFalse(connections.isConnected(0, 2));
+    }
+
+    @Test
+    public void testMerge() {
+        UF_LockFree uf = new UF_LockFree(3);
+        assertTrue(uf.merge(0, 1));
+        assertFalse(uf.merge(1, 0));
+        assertTrue(uf.merge(2, 0));
+        assertEquals(1, uf.components());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadIndex() {
+        new UF_LockFree(3).find(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadUnion() {
+        new UF_LockFree(3).union(0, -1);
+    }
+
+    @Test
+    public void testConcurrent() throws InterruptedException {
+        int n = 100_000, pairs = 60_000, threads = 4;
+        Random random = new Random(0L);
+        int[] ps = new int[pairs], qs = new int[pairs];
+        for (int k = 0; k < pairs; k++) {
+            ps[k] = random.nextInt(n);
+            qs[k] = random.nextInt(n);
+        }
+        UF_LockFree uf = new UF_LockFree(n);
+        AtomicInteger merges = new AtomicInteger();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            workers[t] = new Thread(() -> {
+                // every thread performs every union (in a different order), so many of them race.
+                for (int i = 0; i < pairs; i++) {
+                    int k = (i + offset * pairs / threads) % pairs;
+                    if (uf.merge(ps[k], qs[k])) merges.incrementAndGet();
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        WQUPC expected = new WQUPC(n);
+        for (int k = 0; k < pairs; k++) if (!expected.connected(ps[k], qs[k])) expected.union(ps[k], qs[k]);
+        assertEquals(expected.count(), uf.components());
+        assertEquals(n - expected.count(), merges.get());
+        for (int k = 0; k < n; k++) {
+            int p = random.nextInt(n), q = random.nextInt(n);
+            assertEquals(expected.connected(p, q), uf.isConnected(p, q));
+        }
+    }
+}
@@ -63,6 +63,14 @@ public class BenchmarkTest {
     }
 
 
+    @Test
+    public void testTime() {
+        int[] count = new int[1];
+        double x = Benchmark_Timer.time("testTime", () -> count[0]++, 5);
+        assertEquals(5 + Benchmark_Timer.getWarmupRuns(5), count[0]);
+        assertTrue(x >= 0);
+    }
+
     /**
      * Test the runFromSupplier method for a case where no preprocessing or postprocessing is done.
      * Ensures that the method executes the provided supplier and run functions without exceptions.